@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.core.context.notification.RingBufferNotificationDispatcher.OverflowPolicy.BLOCK;
+import static org.mule.runtime.core.context.notification.RingBufferNotificationDispatcher.OverflowPolicy.DROP;
+import static org.mule.runtime.core.context.notification.ServerNotificationManager.NOTIFICATION_DISPATCHER_PROPERTY;
+import static org.mule.runtime.core.context.notification.ServerNotificationManager.RING_BUFFER_DISPATCHER;
+import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
+import org.mule.runtime.core.api.context.WorkManager;
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.resource.spi.work.ExecutionContext;
+import javax.resource.spi.work.Work;
+import javax.resource.spi.work.WorkListener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class RingBufferNotificationDispatcherTestCase extends AbstractMuleTestCase {
+
+  private static final int NOTIFICATIONS = 100;
+
+  private ServerNotificationManager manager;
+  private WorkManager workManager;
+
+  @Before
+  public void before() throws Exception {
+    manager = new ServerNotificationManager();
+    manager.addInterfaceToType(Listener1.class, SubEvent1.class);
+    manager.addInterfaceToType(Listener2.class, Event2.class);
+
+    workManager = mock(WorkManager.class);
+    doAnswer(invocation -> {
+      new Thread((Work) invocation.getArguments()[0]).start();
+      return null;
+    }).when(workManager).scheduleWork(any(Work.class), anyLong(), any(ExecutionContext.class), any(WorkListener.class));
+  }
+
+  @After
+  public void after() {
+    manager.dispose();
+  }
+
+  @Test
+  public void notificationsAreDeliveredInOrderToEveryGroup() throws Exception {
+    manager.setRingBufferDispatcher(new RingBufferNotificationDispatcher(manager, 16, 2, BLOCK));
+    RecordingListener1 listener1 = new RecordingListener1(NOTIFICATIONS);
+    RecordingListener2 listener2 = new RecordingListener2(NOTIFICATIONS);
+    manager.addListener(listener1);
+    manager.addListener(listener2);
+    manager.start(workManager, null);
+
+    List<ServerNotification> fired = new ArrayList<>();
+    for (int i = 0; i < NOTIFICATIONS; ++i) {
+      ServerNotification notification = i % 2 == 0 ? new SubEvent1() : new Event2();
+      fired.add(notification);
+      manager.fireNotification(notification);
+    }
+
+    assertThat(listener1.latch.await(5, SECONDS), is(true));
+    assertThat(listener2.latch.await(5, SECONDS), is(true));
+    assertThat(listener1.notifications, equalTo(everyOther(fired, 0)));
+    assertThat(listener2.notifications, equalTo(everyOther(fired, 1)));
+    assertThat(manager.getQueuedNotificationsCount(), is((long) NOTIFICATIONS));
+    assertThat(manager.getDroppedNotificationsCount(), is(0L));
+  }
+
+  @Test
+  public void notificationsWithoutListenersAreSkipped() throws Exception {
+    manager.setRingBufferDispatcher(new RingBufferNotificationDispatcher(manager, 16, 1, BLOCK));
+    manager.addListener(new RecordingListener1(1));
+
+    manager.fireNotification(new Event2());
+    manager.fireNotification(new Event3());
+
+    assertThat(manager.getSkippedNotificationsCount(), is(2L));
+    assertThat(manager.getQueuedNotificationsCount(), is(0L));
+    assertThat(manager.getPendingNotificationsCount(), is(0L));
+  }
+
+  @Test
+  public void notificationsAreDroppedWhenFull() throws Exception {
+    manager.setRingBufferDispatcher(new RingBufferNotificationDispatcher(manager, 2, 1, DROP));
+    manager.addListener(new RecordingListener1(1));
+
+    for (int i = 0; i < 3; ++i) {
+      manager.fireNotification(new SubEvent1());
+    }
+
+    assertThat(manager.getQueuedNotificationsCount(), is(2L));
+    assertThat(manager.getDroppedNotificationsCount(), is(1L));
+    assertThat(manager.getPendingNotificationsCount(), is(2L));
+  }
+
+  @Test
+  public void dispatcherIsChosenThroughSystemProperty() throws Exception {
+    testWithSystemProperty(NOTIFICATION_DISPATCHER_PROPERTY, RING_BUFFER_DISPATCHER, () -> {
+      ServerNotificationManager ringBufferManager = new ServerNotificationManager();
+      ringBufferManager.addInterfaceToType(Listener1.class, SubEvent1.class);
+      RecordingListener1 listener = new RecordingListener1(1);
+      ringBufferManager.addListener(listener);
+      ringBufferManager.start(workManager, null);
+      try {
+        ringBufferManager.fireNotification(new SubEvent1());
+        assertThat(listener.latch.await(5, SECONDS), is(true));
+        assertThat(ringBufferManager.getQueuedNotificationsCount(), is(1L));
+      } finally {
+        ringBufferManager.dispose();
+      }
+    });
+  }
+
+  @Test
+  public void queueDispatcherByDefault() throws Exception {
+    testWithSystemProperty(NOTIFICATION_DISPATCHER_PROPERTY, null, () -> {
+      ServerNotificationManager queueManager = new ServerNotificationManager();
+      queueManager.addInterfaceToType(Listener1.class, SubEvent1.class);
+      queueManager.addListener(new RecordingListener1(1));
+      queueManager.fireNotification(new SubEvent1());
+
+      assertThat(queueManager.getQueuedNotificationsCount(), is(1L));
+      assertThat(queueManager.getPendingNotificationsCount(), is(1L));
+      assertThat(queueManager.getDroppedNotificationsCount(), is(0L));
+      queueManager.dispose();
+    });
+  }
+
+  private List<ServerNotification> everyOther(List<ServerNotification> notifications, int offset) {
+    List<ServerNotification> result = new ArrayList<>();
+    for (int i = offset; i < notifications.size(); i += 2) {
+      result.add(notifications.get(i));
+    }
+    return result;
+  }
+
+  private static class RecordingListener1 extends Listener1 {
+
+    private final List<ServerNotification> notifications = new ArrayList<>();
+    private final CountDownLatch latch;
+
+    private RecordingListener1(int expected) {
+      latch = new CountDownLatch(expected);
+    }
+
+    @Override
+    public void onNotification(ServerNotification notification) {
+      notifications.add(notification);
+      latch.countDown();
+    }
+  }
+
+  private static class RecordingListener2 extends Listener2 {
+
+    private final List<ServerNotification> notifications = new ArrayList<>();
+    private final CountDownLatch latch;
+
+    private RecordingListener2(int expected) {
+      latch = new CountDownLatch(expected);
+    }
+
+    @Override
+    public void onNotification(ServerNotification notification) {
+      notifications.add(notification);
+      latch.countDown();
+    }
+  }
+}
@@ -156,6 +156,17 @@ public class MVELExpressionExecutorTestCase extends AbstractELTestCase {
                                          });
   }
 
+  @Test
+  public void keepsPrecompiledExpressionsWhenCacheIsDisabled() throws Exception {
+    MuleTestUtils.testWithSystemProperty(MVELExpressionExecutor.DISABLE_MEL_EXPRESSION_CACHE, "", () -> {
+      setupMVEL();
+
+      final Serializable precompiledExpression = mvel.precompile(SIMPLE_EXPRESSION);
+      assertThat(mvel.isPrecompiled(SIMPLE_EXPRESSION), is(true));
+      assertThat(mvel.getCompiledExpression(SIMPLE_EXPRESSION), is(precompiledExpression));
+    });
+  }
+
   static class MyClassClassLoader extends ClassLoader {
 
     @Override
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.el.mvel;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.expression.InvalidExpressionException;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.metadata.DefaultTypedValue;
+import org.mule.runtime.core.util.AttributeEvaluator;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class MVELPrecompiledExpressionTestCase extends AbstractMuleContextTestCase {
+
+  private MVELExpressionLanguage mvel;
+  private Event event;
+
+  @Before
+  public void setupMVEL() throws Exception {
+    mvel = new MVELExpressionLanguage(muleContext);
+    mvel.initialise();
+    event = eventBuilder().message(InternalMessage.of("hello")).addVariable("count", 2).build();
+  }
+
+  @Test
+  public void evaluatesAgainstEvent() {
+    PrecompiledExpression expression = mvel.precompile("#[payload + flowVars.count]");
+
+    assertThat(expression.getExpression(), is("payload + flowVars.count"));
+    assertThat(mvel.evaluate(expression, event, Event.builder(event), null), is("hello2"));
+  }
+
+  @Test
+  public void evaluatesWithoutEvent() {
+    assertThat(mvel.evaluate(mvel.precompile("2*2"), null, null, null), is(4));
+  }
+
+  @Test
+  public void evaluatesTyped() {
+    DefaultTypedValue typedValue = mvel.evaluateTyped(mvel.precompile("#[payload]"), event, Event.builder(event), null);
+
+    assertThat(typedValue.getValue(), is("hello"));
+    assertThat(typedValue.getDataType().getType(), equalTo(String.class));
+  }
+
+  @Test(expected = InvalidExpressionException.class)
+  public void failsOnInvalidExpression() {
+    mvel.precompile("#[2*'2]");
+  }
+
+  @Test
+  public void precompilesEveryExpressionOfTemplates() {
+    mvel.precompileAll(asList("#[payload]", "count is #[flowVars.count] of #[2*2]", "static", null, "#[2*'2]"));
+
+    assertThat(mvel.expressionExecutor.isPrecompiled("payload"), is(true));
+    assertThat(mvel.expressionExecutor.isPrecompiled("flowVars.count"), is(true));
+    assertThat(mvel.expressionExecutor.isPrecompiled("2*2"), is(true));
+    assertThat(mvel.expressionExecutor.isPrecompiled("static"), is(false));
+    assertThat(mvel.expressionExecutor.isPrecompiled("2*'2"), is(false));
+    assertThat(mvel.parse("count is #[flowVars.count]", event, null), is("count is 2"));
+  }
+
+  @Test
+  public void keepsPrecompiledExpressionsWhenReinitialised() throws Exception {
+    mvel.precompileAll(asList("#[payload]"));
+    mvel.initialise();
+
+    assertThat(mvel.expressionExecutor.isPrecompiled("payload"), is(true));
+  }
+
+  @Test
+  public void fallsBackWhenCompiledByPreviousConfiguration() throws Exception {
+    PrecompiledExpression expression = mvel.precompile("#[payload]");
+    mvel.initialise();
+
+    assertThat(mvel.evaluate(expression, event, Event.builder(event), null), is("hello"));
+  }
+
+  @Test
+  public void attributeEvaluatorUsesPrecompiledExpression() {
+    mvel.setPrecompileExpressions(true);
+    AttributeEvaluator attributeEvaluator = new AttributeEvaluator("#[flowVars.count]").initialize(mvel);
+
+    assertThat(attributeEvaluator.resolveIntegerValue(event), is(2));
+    assertThat(mvel.expressionExecutor.isPrecompiled("flowVars.count"), is(true));
+    assertThat(attributeEvaluator.resolveTypedValue(event, Event.builder(event)).getValue(), is(2));
+  }
+}
@@ -12,6 +12,13 @@ import static org.hamcrest.Matchers.equalTo;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.junit4.rule.SystemProperty;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -149,4 +156,53 @@ public class ComponentStatisticsTestCase extends AbstractMuleTestCase {
     stats.addExecutionBranchTime(true, 100L, 100L);
     assertValues(stats, 2L, 200L, 100L, 100L, 100L);
   }
+
+  @Test
+  public void percentiles() {
+    ComponentStatistics stats = new ComponentStatistics();
+    for (long i = 1; i <= 1000; ++i) {
+      stats.addExecutionTime(i);
+    }
+    assertThat(stats.getExecutionTimeP50(), equalTo(511L));
+    assertThat(stats.getExecutionTimeP99(), equalTo(991L));
+    assertThat(stats.getExecutionTimeP999(), equalTo(1023L));
+    stats.clear();
+    assertThat(stats.getExecutionTimeP50(), equalTo(0L));
+  }
+
+  @Test
+  public void branchPercentilesUseCompleteTime() {
+    ComponentStatistics stats = new ComponentStatistics();
+    stats.addExecutionBranchTime(true, 1L, 1L);
+    stats.addExecutionBranchTime(false, 1L, 2L);
+    assertThat(stats.getExecutionTimeP50(), equalTo(0L));
+    stats.addCompleteExecutionTime(2L);
+    assertThat(stats.getExecutionTimeP50(), equalTo(2L));
+  }
+
+  @Test
+  public void concurrentRecording() throws Exception {
+    final ComponentStatistics stats = new ComponentStatistics();
+    final int threads = 4;
+    final int eventsPerThread = 10000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Callable<Void>> tasks = new ArrayList<>();
+      for (int i = 0; i < threads; ++i) {
+        tasks.add(() -> {
+          for (int j = 1; j <= eventsPerThread; ++j) {
+            stats.addExecutionTime(j % 10 + 1);
+          }
+          return null;
+        });
+      }
+      for (Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertValues(stats, threads * eventsPerThread, threads * eventsPerThread * 11L / 2, 5L, 10L, 1L);
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class ExecutionTimeHistogramTestCase extends AbstractMuleTestCase {
+
+  private final ExecutionTimeHistogram histogram = new ExecutionTimeHistogram();
+
+  @Test
+  public void empty() {
+    assertThat(histogram.getCount(), equalTo(0L));
+    assertThat(histogram.getPercentile(50), equalTo(0L));
+  }
+
+  @Test
+  public void smallValuesAreExact() {
+    for (long i = 1; i <= 10; ++i) {
+      histogram.record(i);
+    }
+    assertThat(histogram.getCount(), equalTo(10L));
+    assertThat(histogram.getPercentile(50), equalTo(5L));
+    assertThat(histogram.getPercentile(100), equalTo(10L));
+  }
+
+  @Test
+  public void percentilesWithinPrecision() {
+    for (long i = 1; i <= 100000; ++i) {
+      histogram.record(i);
+    }
+    assertWithinPrecision(histogram.getPercentile(50), 50000);
+    assertWithinPrecision(histogram.getPercentile(99), 99000);
+    assertWithinPrecision(histogram.getPercentile(99.9), 99900);
+  }
+
+  @Test
+  public void bucketsCoverWholeRange() {
+    for (long value : new long[] {0, 15, 16, 17, 31, 32, 1000, Integer.MAX_VALUE}) {
+      long highest = ExecutionTimeHistogram.highestEquivalentValue(ExecutionTimeHistogram.bucketIndex(value));
+      assertThat(highest, greaterThanOrEqualTo(value));
+      assertWithinPrecision(highest, value);
+    }
+    assertThat(ExecutionTimeHistogram.highestEquivalentValue(ExecutionTimeHistogram.bucketIndex(Long.MAX_VALUE)),
+               equalTo(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void clear() {
+    histogram.record(100);
+    histogram.clear();
+    assertThat(histogram.getCount(), equalTo(0L));
+  }
+
+  private void assertWithinPrecision(long actual, long expected) {
+    long tolerance = expected / 16;
+    assertThat(actual, allOf(greaterThanOrEqualTo(expected - tolerance), lessThanOrEqualTo(expected + tolerance)));
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.tck.MuleTestUtils.getTestFlow;
+import static reactor.core.Exceptions.unwrap;
+import static reactor.core.publisher.Mono.just;
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.routing.ResponseTimeoutException;
+import org.mule.runtime.core.util.concurrent.Latch;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+public class ScatterGatherRouterTestCase extends AbstractMuleContextTestCase {
+
+  private final Latch release = new Latch();
+  private final List<ScatterGatherRouter> routers = new ArrayList<>();
+
+  @Override
+  protected void doTearDown() throws Exception {
+    release.countDown();
+    routers.forEach(ScatterGatherRouter::dispose);
+    super.doTearDown();
+  }
+
+  @Test
+  public void responsesAreAggregatedInRouteOrder() throws Exception {
+    ScatterGatherRouter router = createRouter(payloadSetter("first"), payloadSetter("second"), payloadSetter("third"));
+
+    Event response = Mono.from(router.apply(just(testEvent()))).block();
+
+    assertThat(getPayloads(response), contains("first", "second", "third"));
+    for (int i = 0; i < 3; ++i) {
+      assertThat(router.getRouteLatency(i).getCount(), is(1L));
+    }
+  }
+
+  @Test
+  public void routesAreExecutedInParallel() throws Exception {
+    CountDownLatch bothRunning = new CountDownLatch(2);
+    Processor waitForOtherRoute = event -> {
+      bothRunning.countDown();
+      try {
+        if (!bothRunning.await(RECEIVE_TIMEOUT, MILLISECONDS)) {
+          throw new DefaultMuleException("Routes were not executed in parallel");
+        }
+      } catch (InterruptedException e) {
+        throw new DefaultMuleException(e);
+      }
+      return event;
+    };
+    ScatterGatherRouter router = createRouter(waitForOtherRoute, waitForOtherRoute);
+
+    Mono.from(router.apply(just(testEvent()))).block();
+  }
+
+  @Test
+  public void routeTimeout() throws Exception {
+    ScatterGatherRouter router = new ScatterGatherRouter();
+    router.setRouteTimeout(100);
+    initialise(router, payloadSetter("first"), blockedRoute());
+
+    assertTimeoutOnSecondRoute(router);
+  }
+
+  @Test
+  public void overallTimeout() throws Exception {
+    ScatterGatherRouter router = new ScatterGatherRouter();
+    router.setTimeout(100);
+    initialise(router, payloadSetter("first"), blockedRoute());
+
+    assertTimeoutOnSecondRoute(router);
+  }
+
+  @Test
+  public void timeoutIsNotAppliedToFasterRoutes() throws Exception {
+    ScatterGatherRouter router = new ScatterGatherRouter();
+    router.setTimeout(RECEIVE_TIMEOUT);
+    router.setRouteTimeout(RECEIVE_TIMEOUT);
+    initialise(router, payloadSetter("first"), payloadSetter("second"));
+
+    Event response = Mono.from(router.apply(just(testEvent()))).block();
+
+    assertThat(getPayloads(response), contains("first", "second"));
+    assertThat(router.getRouteLatency(0).getCount(), equalTo(1L));
+  }
+
+  private void assertTimeoutOnSecondRoute(ScatterGatherRouter router) throws Exception {
+    try {
+      Mono.from(router.apply(just(testEvent()))).block();
+      fail("was expecting a failure");
+    } catch (Exception e) {
+      Throwable cause = unwrap(e);
+      assertThat(cause, is(instanceOf(CompositeRoutingException.class)));
+      CompositeRoutingException routingException = (CompositeRoutingException) cause;
+      assertThat(routingException.getExceptions().size(), is(1));
+      assertThat(routingException.getExceptionForRouteIndex(1), is(instanceOf(ResponseTimeoutException.class)));
+    }
+  }
+
+  private List<Object> getPayloads(Event response) {
+    List<InternalMessage> messages = (List<InternalMessage>) response.getMessage().getPayload().getValue();
+    return messages.stream().map(message -> message.getPayload().getValue()).collect(Collectors.toList());
+  }
+
+  private Processor blockedRoute() {
+    return event -> {
+      try {
+        release.await(RECEIVE_TIMEOUT, MILLISECONDS);
+      } catch (InterruptedException e) {
+        throw new DefaultMuleException(e);
+      }
+      return event;
+    };
+  }
+
+  private Processor payloadSetter(String payload) {
+    return event -> Event.builder(event).message(InternalMessage.builder(event.getMessage()).payload(payload).build()).build();
+  }
+
+  private ScatterGatherRouter createRouter(Processor... routes) throws Exception {
+    ScatterGatherRouter router = new ScatterGatherRouter();
+    initialise(router, routes);
+    return router;
+  }
+
+  private void initialise(ScatterGatherRouter router, Processor... routes) throws Exception {
+    router.setMuleContext(muleContext);
+    router.setFlowConstruct(getTestFlow(muleContext));
+    for (Processor route : routes) {
+      router.addRoute(route);
+    }
+    router.initialise();
+    router.start();
+    routers.add(router);
+  }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.routing.correlation;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -167,6 +169,31 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
     verify(mockEventGroup, times(1)).getMessageCollectionEvent();
   }
 
+  @Test
+  public void expiredGroupsAreAccounted() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(true);
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    eventCorrelator.addEventGroup(mockEventGroup);
+    assertThat(eventCorrelator.getOpenGroupsCount(), is(1));
+
+    try {
+      eventCorrelator.forceGroupExpiry(TEST_GROUP_ID);
+    } catch (CorrelationTimeoutException e) {
+      // expected, failOnTimeout is enabled
+    }
+
+    assertThat(eventCorrelator.getOpenGroupsCount(), is(0));
+    assertThat(eventCorrelator.getExpiredGroupsCount(), is(1L));
+  }
+
+  @Test
+  public void groupsAreNotTrackedInSecondaryNode() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(false);
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    eventCorrelator.addEventGroup(mockEventGroup);
+    assertThat(eventCorrelator.getOpenGroupsCount(), is(0));
+  }
+
   private EventCorrelator createEventCorrelator() throws Exception {
     when(mockMuleContext.getRegistry().get(MuleProperties.OBJECT_STORE_MANAGER)).thenReturn(mockObjectStoreManager);
     memoryObjectStore.store(TEST_GROUP_ID, mockEventGroup, "prefix.eventGroups");
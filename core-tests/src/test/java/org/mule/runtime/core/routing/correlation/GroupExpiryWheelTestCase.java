@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing.correlation;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class GroupExpiryWheelTestCase extends AbstractMuleTestCase {
+
+  private static final long TICK = 10;
+
+  private final GroupExpiryWheel wheel = new GroupExpiryWheel(TICK, 8);
+
+  @Test
+  public void expiresOnlyReachedDeadlines() {
+    wheel.schedule("a", 1000);
+    wheel.schedule("b", 1050);
+    wheel.schedule("c", 5000);
+
+    assertThat(wheel.expire(999), is(empty()));
+    assertThat(wheel.expire(1001), contains("a"));
+    assertThat(wheel.expire(1060), contains("b"));
+    assertThat(wheel.size(), is(1));
+  }
+
+  @Test
+  public void deadlinesBeyondOneTurnAreKept() {
+    // 5000 and 1000 fall in the same bucket of the wheel
+    wheel.schedule("near", 1000);
+    wheel.schedule("far", 5000);
+
+    assertThat(wheel.expire(1001), contains("near"));
+    assertThat(wheel.expire(4000), is(empty()));
+    assertThat(wheel.expire(5001), is(singletonList("far")));
+  }
+
+  @Test
+  public void cancelledGroupsDoNotExpire() {
+    wheel.schedule("a", 1000);
+    wheel.schedule("b", 1000);
+
+    assertThat(wheel.cancel("a"), is(true));
+    assertThat(wheel.cancel("a"), is(false));
+    assertThat(wheel.expire(2000), contains("b"));
+  }
+
+  @Test
+  public void pastDeadlinesScheduledLateAreNotMissed() {
+    wheel.schedule("a", 1000);
+    assertThat(wheel.expire(1001), contains("a"));
+
+    wheel.schedule("b", 500);
+    wheel.schedule("c", 990);
+
+    assertThat(wheel.expire(1011), containsInAnyOrder("b", "c"));
+  }
+
+  @Test
+  public void rescheduleReplacesDeadline() {
+    wheel.schedule("a", 1000);
+    wheel.schedule("a", 3000);
+
+    assertThat(wheel.expire(1001), is(empty()));
+    assertThat(wheel.expire(3001), contains("a"));
+    assertThat(wheel.size(), is(0));
+  }
+
+  @Test
+  public void clearStopsTrackingGroups() {
+    wheel.schedule("a", 1000);
+    wheel.schedule("b", 5000);
+    wheel.clear();
+
+    assertThat(wheel.size(), is(0));
+    assertThat(wheel.expire(6000), is(empty()));
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.serialization.internal.CompactObjectSerializer;
+import org.mule.runtime.core.serialization.internal.JavaObjectSerializer;
+
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CompactSerializationProtocolTestCase extends AbstractSerializerProtocolContractTestCase {
+
+  private SerializationProtocol javaSerializerProtocol;
+
+  @Override
+  protected void doSetUp() throws Exception {
+    final CompactObjectSerializer serializer = new CompactObjectSerializer();
+    serializer.setMuleContext(muleContext);
+    serializerProtocol = serializer.getExternalProtocol();
+
+    final JavaObjectSerializer javaSerializer = new JavaObjectSerializer();
+    javaSerializer.setMuleContext(muleContext);
+    javaSerializerProtocol = javaSerializer.getExternalProtocol();
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializerProtocol.serialize(new Object());
+  }
+
+  @Test
+  public void commonPayloads() throws Exception {
+    assertRoundTrip("Hello World");
+    assertRoundTrip("");
+    assertRoundTrip(0);
+    assertRoundTrip(-1);
+    assertRoundTrip(Integer.MIN_VALUE);
+    assertRoundTrip(Integer.MAX_VALUE);
+    assertRoundTrip(Long.MIN_VALUE);
+    assertRoundTrip(Long.MAX_VALUE);
+    assertRoundTrip(true);
+    assertRoundTrip(false);
+    assertRoundTrip(1.5d);
+    assertRoundTrip(1.5f);
+    assertRoundTrip((short) 7);
+    assertRoundTrip((byte) 7);
+    assertRoundTrip('m');
+  }
+
+  @Test
+  public void byteArray() throws Exception {
+    final byte[] bytes = "Hello World".getBytes();
+    assertThat(serializerProtocol.deserialize(serializerProtocol.serialize(bytes)), equalTo(bytes));
+  }
+
+  @Test
+  public void collections() throws Exception {
+    final Map<String, Object> map = new LinkedHashMap<>();
+    map.put("name", "mule");
+    map.put("count", 3L);
+    map.put("nested", new ArrayList<>(asList("a", null, 4)));
+    map.put("set", new HashSet<>(asList(1, 2)));
+    map.put("object", new SerializableBean("bean"));
+
+    final Map<String, Object> deserialized = serializerProtocol.deserialize(serializerProtocol.serialize(map));
+    assertThat(deserialized, instanceOf(LinkedHashMap.class));
+    assertThat(deserialized, equalTo(map));
+    assertThat(new ArrayList<>(deserialized.keySet()), equalTo(new ArrayList<>(map.keySet())));
+  }
+
+  @Test
+  public void sharedReferencesInCollections() throws Exception {
+    final SerializableBean bean = new SerializableBean("bean");
+    final Map<String, Object> map = new HashMap<>();
+    map.put("first", bean);
+    map.put("second", bean);
+
+    final Map<String, Object> deserialized = serializerProtocol.deserialize(serializerProtocol.serialize(map));
+    assertThat(deserialized, equalTo(map));
+    assertThat(deserialized.get("first"), sameInstance(deserialized.get("second")));
+  }
+
+  @Test
+  public void cyclicCollections() throws Exception {
+    final List<Object> list = new ArrayList<>();
+    final Map<String, Object> map = new LinkedHashMap<>();
+    list.add("element");
+    list.add(map);
+    map.put("list", list);
+
+    final List<Object> deserialized = serializerProtocol.deserialize(serializerProtocol.serialize(list));
+    assertThat(deserialized.get(0), equalTo("element"));
+    final Map<String, Object> deserializedMap = (Map<String, Object>) deserialized.get(1);
+    assertThat(deserializedMap.get("list"), sameInstance(deserialized));
+  }
+
+  @Test
+  public void selfContainingCollection() throws Exception {
+    final List<Object> list = new ArrayList<>();
+    list.add(list);
+
+    final List<Object> deserialized = serializerProtocol.deserialize(serializerProtocol.serialize(list));
+    assertThat(deserialized.get(0), sameInstance(deserialized));
+  }
+
+  @Test
+  public void event() throws Exception {
+    final Event event = eventBuilder().message(InternalMessage.of("Hello World")).addVariable("count", 1).build();
+
+    final Event deserialized = serializerProtocol.deserialize(serializerProtocol.serialize(event));
+    assertThat(deserialized.getMessage().getPayload().getValue(), equalTo("Hello World"));
+    assertThat(deserialized.getVariable("count").getValue(), equalTo(1));
+  }
+
+  @Test
+  public void smallerThanJavaSerialization() throws Exception {
+    final Map<String, Object> map = new HashMap<>();
+    for (int i = 0; i < 10; ++i) {
+      map.put("key" + i, i);
+    }
+    final InternalMessage message = InternalMessage.of(map);
+
+    assertThat(serializerProtocol.serialize(map).length, lessThan(javaSerializerProtocol.serialize(map).length));
+    assertThat(serializerProtocol.serialize(message).length, lessThan(javaSerializerProtocol.serialize(message).length));
+  }
+
+  @Test
+  public void bigObjectsAfterBufferReuse() throws Exception {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100000; ++i) {
+      builder.append('m');
+    }
+
+    assertRoundTrip(builder.toString());
+    assertRoundTrip("Hello World");
+  }
+
+  @Test
+  public void differentRegisteredClassesAreDetected() throws Exception {
+    final CompactObjectSerializer otherSerializer = new CompactObjectSerializer();
+    otherSerializer.setRegisteredClasses(asList(SerializableBean.class.getName()));
+    otherSerializer.setMuleContext(muleContext);
+
+    final byte[] bytes = otherSerializer.getExternalProtocol().serialize(new SerializableBean("bean"));
+    assertThat(otherSerializer.getExternalProtocol().deserialize(bytes), equalTo(new SerializableBean("bean")));
+    try {
+      serializerProtocol.deserialize(bytes);
+      fail("Deserialization was expected to fail");
+    } catch (SerializationException e) {
+      assertThat(e.getCause(), instanceOf(StreamCorruptedException.class));
+    }
+  }
+
+  private void assertRoundTrip(Object value) throws Exception {
+    final Object deserialized = serializerProtocol.deserialize(serializerProtocol.serialize(value));
+    assertThat(deserialized, instanceOf(value.getClass()));
+    assertThat(deserialized, equalTo(value));
+  }
+
+  private static class SerializableBean implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+
+    SerializableBean(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof SerializableBean && ((SerializableBean) obj).name.equals(name);
+    }
+
+    @Override
+    public int hashCode() {
+      return name.hashCode();
+    }
+  }
+}
@@ -7,6 +7,8 @@
 package org.mule.runtime.core.util.lock;
 
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
@@ -59,6 +61,71 @@ public class InstanceLockGroupTestCase extends AbstractMuleTestCase {
     lockUnlockThenDestroy(5);
   }
 
+  @Test
+  public void reentrantLockIsReleasedAfterLastUnlock() throws Exception {
+    instanceLockGroup.lock(sharedKeyA);
+    instanceLockGroup.lock(sharedKeyA);
+    instanceLockGroup.unlock(sharedKeyA);
+    assertThat(instanceLockGroup.getStatistics(sharedKeyA).isPresent(), is(true));
+
+    instanceLockGroup.unlock(sharedKeyA);
+    assertThat(instanceLockGroup.getStatistics(sharedKeyA).isPresent(), is(false));
+    assertThat(instanceLockGroup.getStatistics().get().getAcquiredCount(), is(2L));
+    assertThat(instanceLockGroup.getStatistics().get().getContendedCount(), is(0L));
+  }
+
+  @Test
+  public void unrelatedLocksDoNotContend() throws Exception {
+    instanceLockGroup.lock(sharedKeyA);
+    try {
+      Thread locker = new Thread(() -> {
+        instanceLockGroup.lock(sharedKeyB);
+        instanceLockGroup.unlock(sharedKeyB);
+      });
+      locker.start();
+      locker.join(5000);
+      assertThat(locker.isAlive(), is(false));
+    } finally {
+      instanceLockGroup.unlock(sharedKeyA);
+    }
+    assertThat(instanceLockGroup.getStatistics().get().getContendedCount(), is(0L));
+  }
+
+  @Test
+  public void contentionIsRecorded() throws Exception {
+    instanceLockGroup.lock(sharedKeyA);
+    Thread contender = new Thread(() -> {
+      try {
+        assertThat(instanceLockGroup.tryLock(sharedKeyA, 10, TimeUnit.MILLISECONDS), is(false));
+        assertThat(instanceLockGroup.tryLock(sharedKeyA), is(false));
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    contender.start();
+    contender.join(5000);
+
+    LockStatistics lockStatistics = instanceLockGroup.getStatistics(sharedKeyA).get();
+    assertThat(lockStatistics.getAcquiredCount(), is(1L));
+    // The untimed tryLock doesn't wait, so only the timed one is contended
+    assertThat(lockStatistics.getContendedCount(), is(1L));
+    assertThat(lockStatistics.getFailedCount(), is(2L));
+    assertThat(lockStatistics.getMaxWaitTime(NANOSECONDS), greaterThan(0L));
+    instanceLockGroup.unlock(sharedKeyA);
+  }
+
+  @Test
+  public void tryLockIgnoresInterruption() throws Exception {
+    Thread.currentThread().interrupt();
+    try {
+      assertThat(instanceLockGroup.tryLock(sharedKeyA), is(true));
+    } finally {
+      Thread.interrupted();
+    }
+    instanceLockGroup.unlock(sharedKeyA);
+    assertThat(instanceLockGroup.getStatistics().get().getContendedCount(), is(0L));
+  }
+
   private void lockUnlockThenDestroy(int lockTimes) {
     mockLockProvider = Mockito.mock(LockProvider.class, Answers.RETURNS_DEEP_STUBS.get());
     InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
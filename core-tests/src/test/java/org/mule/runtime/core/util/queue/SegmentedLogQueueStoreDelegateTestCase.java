@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.MuleTestUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.Serializable;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class SegmentedLogQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_QUEUE_NAME = "test:/queue";
+  private static final int SMALL_SEGMENT_SIZE = 256;
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  private MuleContext mockMuleContext;
+
+  @Before
+  public void before() {
+    mockMuleContext = mock(MuleContext.class);
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(mockMuleContext);
+  }
+
+  @Test
+  public void keepsOrderIncludingUntakenElements() throws Exception {
+    SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.putNow("second");
+    queueStore.putNow("third");
+    queueStore.untake("first");
+
+    assertThat(queueStore.getSize(), is(3));
+    assertThat((String) queueStore.poll(0), is("first"));
+    assertThat((String) queueStore.poll(0), is("second"));
+    assertThat((String) queueStore.poll(0), is("third"));
+    assertThat(queueStore.poll(0), is(nullValue()));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void containsAndRemove() throws Exception {
+    SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.putNow("a");
+    queueStore.putNow("b");
+    queueStore.putNow("c");
+
+    assertThat(queueStore.contains("b"), is(true));
+    queueStore.remove("b");
+    assertThat(queueStore.contains("b"), is(false));
+    assertThat(queueStore.getSize(), is(2));
+    assertThat((String) queueStore.poll(0), is("a"));
+    assertThat((String) queueStore.poll(0), is("c"));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void containsAndRemoveUseEquals() throws Exception {
+    SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.putNow(new EqualById(1, "stored"));
+    queueStore.putNow(new EqualById(2, "stored"));
+
+    // Equal to the stored element, although its serialized form is different
+    assertThat(queueStore.contains(new EqualById(1, "other")), is(true));
+    queueStore.remove(new EqualById(1, "other"));
+    assertThat(queueStore.contains(new EqualById(1, "stored")), is(false));
+    assertThat(queueStore.getSize(), is(1));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void containsAndRemoveAfterRecovery() throws Exception {
+    SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < 5; ++i) {
+      queueStore.putNow(createTestDataForIndex(i));
+    }
+    queueStore.close();
+
+    queueStore = createTestQueueStore();
+    queueStore.poll(0);
+    assertThat(queueStore.contains(createTestDataForIndex(0)), is(false));
+    assertThat(queueStore.contains(createTestDataForIndex(3)), is(true));
+    queueStore.remove(createTestDataForIndex(3));
+    assertThat(queueStore.contains(createTestDataForIndex(3)), is(false));
+    assertThat(queueStore.getSize(), is(3));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void removeKeepsOrderOfRemainingElements() throws Exception {
+    SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+    for (int i = 0; i < 5; ++i) {
+      queueStore.putNow(createTestDataForIndex(i));
+    }
+
+    queueStore.remove(createTestDataForIndex(0));
+    queueStore.remove(createTestDataForIndex(2));
+    queueStore.remove(createTestDataForIndex(4));
+    queueStore.remove("missing");
+
+    assertThat(queueStore.getSize(), is(2));
+    assertThat((String) queueStore.poll(0), is(createTestDataForIndex(1)));
+    assertThat((String) queueStore.poll(0), is(createTestDataForIndex(3)));
+    assertThat(queueStore.poll(0), is(nullValue()));
+    queueStore.dispose();
+  }
+
+  @Test
+  public void recoversAcrossSegmentsAfterClose() throws Exception {
+    MuleTestUtils.testWithSystemProperty(SegmentedLogQueueStoreDelegate.SEGMENT_SIZE_PROPERTY_KEY,
+                                         String.valueOf(SMALL_SEGMENT_SIZE), () -> {
+                                           SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+                                           for (int i = 0; i < 50; ++i) {
+                                             queueStore.putNow(createTestDataForIndex(i));
+                                           }
+                                           for (int i = 0; i < 20; ++i) {
+                                             queueStore.poll(0);
+                                           }
+                                           queueStore.untake(createTestDataForIndex(19));
+                                           queueStore.close();
+
+                                           queueStore = createTestQueueStore();
+                                           assertThat(queueStore.getSize(), is(31));
+                                           for (int i = 19; i < 50; ++i) {
+                                             assertThat((String) queueStore.poll(0), is(createTestDataForIndex(i)));
+                                           }
+                                           queueStore.dispose();
+                                         });
+  }
+
+  @Test
+  public void allFilesDeletedAfterDispose() {
+    SegmentedLogQueueStoreDelegate queueStore = createTestQueueStore();
+    queueStore.putNow("item");
+
+    File queueFolder = new File(workingDirectory.getRoot().getAbsolutePath() + "/queuestore");
+    assertThat(queueFolder.listFiles().length, is(1));
+
+    queueStore.dispose();
+    assertThat(queueFolder.listFiles().length, is(0));
+  }
+
+  private static class EqualById implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int id;
+    private final String description;
+
+    EqualById(int id, String description) {
+      this.id = id;
+      this.description = description;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof EqualById && ((EqualById) obj).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+      return id;
+    }
+  }
+
+  private String createTestDataForIndex(int index) {
+    return "some value " + index;
+  }
+
+  private SegmentedLogQueueStoreDelegate createTestQueueStore() {
+    return new SegmentedLogQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext, 0);
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.util.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.store.ObjectStoreManager.UNBOUNDED;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  @Mock
+  private MuleContext muleContext;
+
+  @Mock
+  private MuleConfiguration muleConfiguration;
+
+  private LogStructuredObjectStorePartition<String> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
+    when(muleConfiguration.getWorkingDirectory()).thenReturn(objectStoreFolder.getRoot().getParent());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = createPartition();
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws Exception {
+    partition.store("key", "value");
+    assertTrue(partition.contains("key"));
+    assertEquals("value", partition.retrieve("key"));
+
+    assertEquals("value", partition.remove("key"));
+    assertFalse(partition.contains("key"));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws Exception {
+    partition.store("key", "value");
+    partition.store("key", "otherValue");
+  }
+
+  @Test
+  public void indicatesUnexistentKeyOnRetrieveError() throws Exception {
+    try {
+      partition.retrieve("nonExistentKey");
+      fail("Supposed to thrown an exception as key is not valid");
+    } catch (ObjectDoesNotExistException e) {
+      assertTrue(e.getMessage().contains("nonExistentKey"));
+    }
+  }
+
+  @Test
+  public void reloadWithSnapshot() throws Exception {
+    partition.store("key1", "value1");
+    partition.store("key2", "value2");
+    partition.close();
+
+    partition = createPartition();
+    partition.store("key3", "value3");
+    partition.remove("key1");
+    partition.close();
+
+    partition = createPartition();
+    assertEquals(2, partition.allKeys().size());
+    assertEquals("value2", partition.retrieve("key2"));
+    assertEquals("value3", partition.retrieve("key3"));
+  }
+
+  @Test
+  public void discardsIncompleteRecord() throws Exception {
+    partition.store("key1", "value1");
+    partition.store("key2", "value2");
+
+    final File dataFile = new File(objectStoreFolder.getRoot(), LogStructuredObjectStorePartition.DATA_FILE);
+    try (RandomAccessFile file = new RandomAccessFile(dataFile, "rw")) {
+      file.setLength(file.length() - 2);
+    }
+
+    partition = createPartition();
+    assertEquals(1, partition.allKeys().size());
+    assertEquals("value1", partition.retrieve("key1"));
+    partition.store("key2", "otherValue2");
+    assertEquals("otherValue2", partition.retrieve("key2"));
+  }
+
+  @Test
+  public void skipsUnwrittenRecordInTheMiddle() throws Exception {
+    partition.store("key1", "value1");
+    partition.store("key2", "value2");
+    partition.store("key3", "value3");
+
+    // Simulates a crash before the record for key2 was written, while the record for key3 was
+    final File dataFile = new File(objectStoreFolder.getRoot(), LogStructuredObjectStorePartition.DATA_FILE);
+    try (RandomAccessFile file = new RandomAccessFile(dataFile, "rw")) {
+      final int recordSize = (int) (file.length() / 3);
+      file.seek(recordSize);
+      file.write(new byte[recordSize]);
+    }
+
+    partition = createPartition();
+    assertEquals(2, partition.allKeys().size());
+    assertEquals("value1", partition.retrieve("key1"));
+    assertEquals("value3", partition.retrieve("key3"));
+    assertFalse(partition.contains("key2"));
+
+    partition.store("key4", "value4");
+    partition.close();
+
+    partition = createPartition();
+    assertEquals(3, partition.allKeys().size());
+    assertEquals("value4", partition.retrieve("key4"));
+  }
+
+  @Test
+  public void expireByMaxEntries() throws Exception {
+    for (int i = 0; i < 10; ++i) {
+      partition.store("key" + i, "value" + i);
+    }
+
+    partition.expire(UNBOUNDED, 4);
+
+    assertEquals(4, partition.allKeys().size());
+    for (int i = 6; i < 10; ++i) {
+      assertTrue(partition.contains("key" + i));
+    }
+  }
+
+  @Test
+  public void expireByTtl() throws Exception {
+    partition.store("key", "value");
+    Thread.sleep(20);
+
+    partition.expire(10, UNBOUNDED);
+
+    assertFalse(partition.contains("key"));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    partition.store("key", "value");
+    partition.clear();
+
+    assertFalse(partition.contains("key"));
+    partition.store("key", "value");
+    assertEquals("value", partition.retrieve("key"));
+  }
+
+  private LogStructuredObjectStorePartition<String> createPartition() throws Exception {
+    LogStructuredObjectStorePartition<String> partition =
+        new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot());
+    partition.open();
+    return partition;
+  }
+}
@@ -30,4 +30,9 @@ public interface Scheduler extends ScheduledExecutorService {
    * @param unit the time unit of the {@code timeout} argument
    */
   void stop(long gracefulShutdownTimeout, TimeUnit unit);
+
+  /**
+   * @return the live metrics of the thread pool backing this scheduler, shared with the other {@link Scheduler}s backed by it.
+   */
+  SchedulerMetrics getMetrics();
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.scheduler;
+
+import org.mule.runtime.core.management.stats.ExecutionTimeHistogram;
+
+/**
+ * Live saturation metrics of the thread pool backing a {@link Scheduler}.
+ * <p>
+ * The metrics are shared by all the {@link Scheduler}s backed by the same pool, so the ones returned by different calls to the
+ * same method of {@link SchedulerService} account for the tasks dispatched through any of them.
+ *
+ * @since 4.0
+ */
+public interface SchedulerMetrics {
+
+  /**
+   * @return the amount of tasks accepted by the pool.
+   */
+  long getSubmittedTasks();
+
+  /**
+   * @return the amount of tasks of the pool that finished running.
+   */
+  long getCompletedTasks();
+
+  /**
+   * @return the amount of tasks that were rejected by the pool.
+   */
+  long getRejectedTasks();
+
+  /**
+   * @return the amount of tasks waiting to be run in the pool, or {@code -1} if it cannot be determined.
+   */
+  long getQueueDepth();
+
+  /**
+   * @return the amount of threads of the pool that are running tasks, or {@code -1} if it cannot be determined.
+   */
+  int getActiveThreads();
+
+  /**
+   * @return the histogram of the time tasks spent waiting for a thread, in nanoseconds.
+   */
+  ExecutionTimeHistogram getQueueLatency();
+
+  /**
+   * @return the histogram of the time tasks spent running, in nanoseconds.
+   */
+  ExecutionTimeHistogram getExecutionLatency();
+}
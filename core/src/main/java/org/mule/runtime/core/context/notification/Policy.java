@@ -17,6 +17,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
 
 /**
  * For a particular configuration, this describes what events should be delivered where. It is read-only and a lazy instance is
@@ -84,14 +85,24 @@ class Policy {
   }
 
   void dispatch(ServerNotification notification) {
+    dispatch(notification, sender -> true);
+  }
+
+  /**
+   * Dispatches the notification only to the {@link Sender}s accepted by the given {@code senderFilter}
+   *
+   * @param notification the notification to dispatch
+   * @param senderFilter the {@link Predicate} which decides which senders take part of the dispatching
+   */
+  void dispatch(ServerNotification notification, Predicate<Sender> senderFilter) {
     if (null != notification) {
       Class notfnClass = notification.getClass();
       // search if we don't know about this event, or if we do know it is used
       if (!knownEventsExact.containsKey(notfnClass)) {
-        boolean found = doDispatch(notification, notfnClass);
+        boolean found = doDispatch(notification, notfnClass, senderFilter);
         knownEventsExact.put(notfnClass, Boolean.valueOf(found));
       } else if (((Boolean) knownEventsExact.get(notfnClass)).booleanValue()) {
-        boolean found = doDispatch(notification, notfnClass);
+        boolean found = doDispatch(notification, notfnClass, senderFilter);
         // reduce contention on the map by not writing the same value over and over again.
         if (!found) {
           knownEventsExact.put(notfnClass, Boolean.valueOf(found));
@@ -100,19 +111,43 @@ class Policy {
     }
   }
 
-  protected boolean doDispatch(ServerNotification notification, Class<? extends ServerNotification> notfnClass) {
+  protected boolean doDispatch(ServerNotification notification, Class<? extends ServerNotification> notfnClass,
+                               Predicate<Sender> senderFilter) {
     boolean found = false;
     for (Class<? extends ServerNotification> event : eventToSenders.keySet()) {
       if (event.isAssignableFrom(notfnClass)) {
         found = true;
         for (Sender sender : eventToSenders.get(event)) {
-          sender.dispatch(notification);
+          if (senderFilter.test(sender)) {
+            sender.dispatch(notification);
+          }
         }
       }
     }
     return found;
   }
 
+  /**
+   * Unlike {@link #isNotificationEnabled(Class)}, this returns whether a notification of exactly the given class would be
+   * dispatched to any listener, so that notifications which would be discarded anyway don't need to be queued.
+   *
+   * @param notfnClass the class of the notification being fired
+   * @return false if there is no listener for such notification
+   */
+  boolean isNotificationDispatchable(Class notfnClass) {
+    Boolean known = (Boolean) knownEventsExact.get(notfnClass);
+    if (known == null) {
+      boolean found = false;
+      for (Iterator events = eventToSenders.keySet().iterator(); events.hasNext() && !found;) {
+        Class event = (Class) events.next();
+        found = event.isAssignableFrom(notfnClass);
+      }
+      knownEventsExact.put(notfnClass, Boolean.valueOf(found));
+      return found;
+    }
+    return known.booleanValue();
+  }
+
   /**
    * This returns a very "conservative" value - it is true if the notification or any subclass would be accepted. So if it returns
    * false then you can be sure that there is no need to send the notification. On the other hand, if it returns true there is no
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.context.notification;
+
+import static java.lang.Math.floorMod;
+import static java.lang.String.format;
+import static java.lang.System.identityHashCode;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import org.mule.runtime.core.api.context.WorkManager;
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+import org.mule.runtime.core.api.lifecycle.LifecycleException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.resource.spi.work.Work;
+import javax.resource.spi.work.WorkException;
+import javax.resource.spi.work.WorkListener;
+
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches asynchronous notifications through a multi-producer ring buffer instead of a locked queue.
+ * <p>
+ * The listeners are split in {@link #CONSUMERS_PROPERTY groups}, each of them served by its own batching consumer, so a slow
+ * listener only delays the listeners in its group. Every listener always belongs to the same group, so it keeps receiving the
+ * notifications in the order in which they were fired.
+ * <p>
+ * When the ring buffer is full, the {@link OverflowPolicy} decides whether the firing thread waits for a free slot or the
+ * notification is dropped, which is left to the {@link ServerNotificationManager} to account for.
+ *
+ * @since 4.0
+ */
+final class RingBufferNotificationDispatcher {
+
+  /**
+   * The amount of notifications the ring buffer can hold. Rounded up to the next power of two.
+   */
+  static final String RING_BUFFER_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.ringBufferSize";
+
+  /**
+   * The amount of groups in which the listeners are split, each one with its own consumer.
+   */
+  static final String CONSUMERS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.consumers";
+
+  /**
+   * The name of the {@link OverflowPolicy} to apply when the ring buffer is full.
+   */
+  static final String OVERFLOW_POLICY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.overflowPolicy";
+
+  static final int DEFAULT_RING_BUFFER_SIZE = 4096;
+  static final int DEFAULT_CONSUMERS = 1;
+
+  /**
+   * What to do with a notification fired while the ring buffer is full
+   */
+  enum OverflowPolicy {
+    /**
+     * The firing thread waits until there's room for the notification
+     */
+    BLOCK,
+
+    /**
+     * The notification is discarded and counted as dropped
+     */
+    DROP
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(RingBufferNotificationDispatcher.class);
+
+  private final ServerNotificationManager notificationManager;
+  private final OverflowPolicy overflowPolicy;
+  private final RingBuffer<NotificationSlot> ringBuffer;
+  private final List<BatchEventProcessor<NotificationSlot>> consumers;
+
+  /**
+   * Creates a dispatcher configured through the {@link #RING_BUFFER_SIZE_PROPERTY}, {@link #CONSUMERS_PROPERTY} and
+   * {@link #OVERFLOW_POLICY_PROPERTY} system properties
+   *
+   * @param notificationManager the manager which owns the listeners
+   */
+  RingBufferNotificationDispatcher(ServerNotificationManager notificationManager) {
+    this(notificationManager, Integer.getInteger(RING_BUFFER_SIZE_PROPERTY, DEFAULT_RING_BUFFER_SIZE),
+         Integer.getInteger(CONSUMERS_PROPERTY, DEFAULT_CONSUMERS),
+         OverflowPolicy.valueOf(System.getProperty(OVERFLOW_POLICY_PROPERTY, OverflowPolicy.BLOCK.name()).toUpperCase()));
+  }
+
+  RingBufferNotificationDispatcher(ServerNotificationManager notificationManager, int ringBufferSize, int consumerCount,
+                                   OverflowPolicy overflowPolicy) {
+    this.notificationManager = notificationManager;
+    this.overflowPolicy = overflowPolicy;
+
+    ringBuffer = RingBuffer.createMultiProducer(NotificationSlot::new, nextPowerOfTwo(ringBufferSize), new BlockingWaitStrategy());
+
+    final int groups = Math.max(1, consumerCount);
+    consumers = new ArrayList<>(groups);
+    for (int group = 0; group < groups; ++group) {
+      BatchEventProcessor<NotificationSlot> consumer =
+          new BatchEventProcessor<>(ringBuffer, ringBuffer.newBarrier(), new GroupHandler(group, groups));
+      consumer.setExceptionHandler(new LoggingExceptionHandler());
+      ringBuffer.addGatingSequences(consumer.getSequence());
+      consumers.add(consumer);
+    }
+  }
+
+  private static int nextPowerOfTwo(int size) {
+    return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+  }
+
+  /**
+   * Schedules a {@link Work} for each of the consumers
+   */
+  void start(WorkManager workManager, WorkListener workListener) throws LifecycleException {
+    try {
+      for (BatchEventProcessor<NotificationSlot> consumer : consumers) {
+        workManager.scheduleWork(new ConsumerWork(consumer), WorkManager.INDEFINITE, null, workListener);
+      }
+    } catch (WorkException e) {
+      throw new LifecycleException(e, notificationManager);
+    }
+  }
+
+  /**
+   * Publishes a notification for the consumers to deliver it
+   *
+   * @param notification the notification to publish
+   * @return whether the notification was published or it was dropped because the ring buffer is full
+   */
+  boolean publish(ServerNotification notification) {
+    long sequence;
+    if (overflowPolicy == OverflowPolicy.DROP) {
+      try {
+        sequence = ringBuffer.tryNext();
+      } catch (InsufficientCapacityException e) {
+        return false;
+      }
+    } else {
+      sequence = ringBuffer.next();
+    }
+
+    try {
+      ringBuffer.get(sequence).notification = notification;
+    } finally {
+      ringBuffer.publish(sequence);
+    }
+    return true;
+  }
+
+  /**
+   * Stops the consumers. The notifications not delivered yet are discarded.
+   */
+  void dispose() {
+    for (BatchEventProcessor<NotificationSlot> consumer : consumers) {
+      consumer.halt();
+    }
+  }
+
+  /**
+   * @return the amount of notifications published but not yet delivered by every consumer
+   */
+  long getPendingCount() {
+    return ringBuffer.getBufferSize() - ringBuffer.remainingCapacity();
+  }
+
+  private static final class NotificationSlot {
+
+    private ServerNotification notification;
+  }
+
+  /**
+   * Delivers the notifications to the listeners in its group
+   */
+  private final class GroupHandler implements EventHandler<NotificationSlot> {
+
+    private final int group;
+    private final int groups;
+
+    private GroupHandler(int group, int groups) {
+      this.group = group;
+      this.groups = groups;
+    }
+
+    @Override
+    public void onEvent(NotificationSlot slot, long sequence, boolean endOfBatch) {
+      final ServerNotification notification = slot.notification;
+      if (groups == 1) {
+        // no other consumer reads this slot, so it doesn't need to retain the notification until it's reused
+        slot.notification = null;
+        notificationManager.notifyListeners(notification);
+      } else {
+        notificationManager.notifyListeners(notification,
+                                            sender -> floorMod(identityHashCode(sender.getListener()), groups) == group);
+      }
+    }
+  }
+
+  private final class ConsumerWork implements Work {
+
+    private final BatchEventProcessor<NotificationSlot> consumer;
+
+    private ConsumerWork(BatchEventProcessor<NotificationSlot> consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void run() {
+      consumer.run();
+    }
+
+    @Override
+    public void release() {
+      consumer.halt();
+    }
+  }
+
+  private static final class LoggingExceptionHandler implements ExceptionHandler {
+
+    @Override
+    public void handleEventException(Throwable ex, long sequence, Object event) {
+      logger.error(format("Failed to deliver notification at sequence %d", sequence), ex);
+    }
+
+    @Override
+    public void handleOnStartException(Throwable ex) {
+      logger.error("Failed to start notification consumer", ex);
+    }
+
+    @Override
+    public void handleOnShutdownException(Throwable ex) {
+      logger.error("Failed to stop notification consumer", ex);
+    }
+  }
+}
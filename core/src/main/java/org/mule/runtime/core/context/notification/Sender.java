@@ -7,6 +7,7 @@
 package org.mule.runtime.core.context.notification;
 
 import org.mule.runtime.core.api.context.notification.ServerNotification;
+import org.mule.runtime.core.api.context.notification.ServerNotificationListener;
 import org.mule.runtime.core.routing.filters.WildcardFilter;
 
 /**
@@ -24,6 +25,10 @@ class Sender {
     subscriptionFilter.setCaseSensitive(false);
   }
 
+  ServerNotificationListener getListener() {
+    return pair.getListener();
+  }
+
   public void dispatch(ServerNotification notification) {
     if (pair.isNullSubscription()
         || (null != notification.getResourceIdentifier() && subscriptionFilter.accept(notification.getResourceIdentifier()))) {
@@ -7,7 +7,7 @@
 package org.mule.runtime.core.context.notification;
 
 import static java.lang.Thread.currentThread;
-
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.context.WorkManager;
@@ -27,6 +27,8 @@ import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
 import javax.resource.spi.work.Work;
 import javax.resource.spi.work.WorkException;
@@ -60,10 +62,26 @@ import org.slf4j.LoggerFactory;
  * <li>Disabling an event or interface disables all uses of that class or any subclass.</li>
  * <li>Enquiring whether an event is enabled returns true if any subclass is enabled.</li>
  * </ul>
+ *
+ * <p>
+ * Notifications which no listener would receive are discarded as soon as they are fired. The rest are delivered asynchronously
+ * by a single thread draining a queue, unless the {@link #NOTIFICATION_DISPATCHER_PROPERTY} system property is set to
+ * {@link #RING_BUFFER_DISPATCHER}, in which case they go through a lock-free ring buffer drained by batching consumers, which
+ * may also drop notifications when it's full instead of blocking the firing thread. The amount of queued, dropped and skipped
+ * notifications is kept in both cases.
  */
 public class ServerNotificationManager implements Work, Disposable, ServerNotificationHandler, MuleContextAware {
 
   public static final String NULL_SUBSCRIPTION = "NULL";
+
+  /**
+   * System property to choose how asynchronous notifications are dispatched, either {@link #QUEUE_DISPATCHER} (the default) or
+   * {@link #RING_BUFFER_DISPATCHER}
+   */
+  public static final String NOTIFICATION_DISPATCHER_PROPERTY = SYSTEM_PROPERTY_PREFIX + "notifications.dispatcher";
+  public static final String QUEUE_DISPATCHER = "queue";
+  public static final String RING_BUFFER_DISPATCHER = "ringBuffer";
+
   protected Logger logger = LoggerFactory.getLogger(getClass());
   private boolean dynamic = false;
   private Configuration configuration = new Configuration();
@@ -71,6 +89,20 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
   private volatile Thread runningThread;
   private BlockingDeque<ServerNotification> eventQueue = new LinkedBlockingDeque<ServerNotification>();
   private MuleContext muleContext;
+  private RingBufferNotificationDispatcher ringBufferDispatcher;
+
+  private final LongAdder queuedCount = new LongAdder();
+  private final LongAdder droppedCount = new LongAdder();
+  private final LongAdder skippedCount = new LongAdder();
+
+  public ServerNotificationManager() {
+    final String dispatcher = System.getProperty(NOTIFICATION_DISPATCHER_PROPERTY, QUEUE_DISPATCHER);
+    if (RING_BUFFER_DISPATCHER.equals(dispatcher)) {
+      ringBufferDispatcher = new RingBufferNotificationDispatcher(this);
+    } else if (!QUEUE_DISPATCHER.equals(dispatcher)) {
+      logger.warn("Unknown notification dispatcher '" + dispatcher + "', using '" + QUEUE_DISPATCHER + "'");
+    }
+  }
 
   @Override
   public boolean isNotificationDynamic() {
@@ -87,6 +119,11 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
   }
 
   public void start(WorkManager workManager, WorkListener workListener) throws LifecycleException {
+    if (ringBufferDispatcher != null) {
+      ringBufferDispatcher.start(workManager, workListener);
+      return;
+    }
+
     try {
       workManager.scheduleWork(this, WorkManager.INDEFINITE, null, workListener);
     } catch (WorkException e) {
@@ -148,12 +185,27 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
   @Override
   public void fireNotification(ServerNotification notification) {
     if (!disposed.get()) {
+      if (!isNotificationDispatchable(notification)) {
+        skippedCount.increment();
+        return;
+      }
+
       notification.setMuleContext(muleContext);
       if (notification instanceof BlockingServerEvent) {
         notifyListeners(notification);
+      } else if (ringBufferDispatcher != null) {
+        if (ringBufferDispatcher.publish(notification)) {
+          queuedCount.increment();
+        } else {
+          droppedCount.increment();
+          if (logger.isDebugEnabled()) {
+            logger.debug("Notification dropped because the notification dispatcher is full: " + notification);
+          }
+        }
       } else {
         try {
           eventQueue.put(notification);
+          queuedCount.increment();
         } catch (InterruptedException e) {
           if (!disposed.get()) {
             logger.error("Failed to queue notification: " + notification, e);
@@ -165,6 +217,15 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
     }
   }
 
+  private boolean isNotificationDispatchable(ServerNotification notification) {
+    final Configuration currentConfiguration = configuration;
+    if (currentConfiguration == null) {
+      return true;
+    }
+    final Policy policy = currentConfiguration.getPolicy();
+    return policy == null || policy.isNotificationDispatchable(notification.getClass());
+  }
+
   @Override
   public boolean isNotificationEnabled(Class<? extends ServerNotification> type) {
     boolean enabled = false;
@@ -181,6 +242,9 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
   public void dispose() {
     disposed.set(true);
     configuration = null;
+    if (ringBufferDispatcher != null) {
+      ringBufferDispatcher.dispose();
+    }
     if (runningThread != null) {
       runningThread.interrupt();
     }
@@ -194,6 +258,42 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
     }
   }
 
+  void notifyListeners(ServerNotification notification, Predicate<Sender> senderFilter) {
+    if (!disposed.get()) {
+      configuration.getPolicy().dispatch(notification, senderFilter);
+    } else {
+      logger.warn("Notification not delivered after ServerNotificationManager disposal: " + notification);
+    }
+  }
+
+  /**
+   * @return the amount of notifications queued to be delivered asynchronously since this manager was created
+   */
+  public long getQueuedNotificationsCount() {
+    return queuedCount.sum();
+  }
+
+  /**
+   * @return the amount of notifications dropped because the {@link #RING_BUFFER_DISPATCHER ring buffer} was full
+   */
+  public long getDroppedNotificationsCount() {
+    return droppedCount.sum();
+  }
+
+  /**
+   * @return the amount of notifications discarded when fired because no listener would receive them
+   */
+  public long getSkippedNotificationsCount() {
+    return skippedCount.sum();
+  }
+
+  /**
+   * @return the amount of notifications queued but not yet delivered
+   */
+  public long getPendingNotificationsCount() {
+    return ringBufferDispatcher != null ? ringBufferDispatcher.getPendingCount() : eventQueue.size();
+  }
+
   @Override
   public void release() {
     dispose();
@@ -233,6 +333,10 @@ public class ServerNotificationManager implements Work, Disposable, ServerNotifi
 
   // for tests -------------------------------------------------------
 
+  void setRingBufferDispatcher(RingBufferNotificationDispatcher ringBufferDispatcher) {
+    this.ringBufferDispatcher = ringBufferDispatcher;
+  }
+
   Policy getPolicy() {
     return configuration.getPolicy();
   }
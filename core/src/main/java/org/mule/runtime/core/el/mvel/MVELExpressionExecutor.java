@@ -24,6 +24,8 @@ import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +47,11 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
 
   protected LoadingCache<String, Serializable> compiledExpressionsCache;
 
+  /**
+   * Expressions compiled ahead of time. Unlike {@link #compiledExpressionsCache} these are never evicted.
+   */
+  protected final Map<String, Serializable> precompiledExpressions = new ConcurrentHashMap<>();
+
   public MVELExpressionExecutor(final ParserConfiguration parserConfiguration) {
     this.parserConfiguration = parserConfiguration;
 
@@ -90,6 +97,10 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
    * @return A {@link Serializable} object representing the compiled expression
    */
   public Serializable getCompiledExpression(final String expression) {
+    final Serializable precompiled = precompiledExpressions.get(expression);
+    if (precompiled != null) {
+      return precompiled;
+    }
     try {
       return compiledExpressionsCache.getUnchecked(expression);
     } catch (UncheckedExecutionException e) {
@@ -102,4 +113,24 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
       }
     }
   }
+
+  /**
+   * Compiles an expression and keeps the compilation output for as long as this executor lives, regardless of the size of the
+   * compiled expressions cache.
+   *
+   * @param expression Expression to be compiled
+   * @return A {@link Serializable} object representing the compiled expression
+   */
+  public Serializable precompile(final String expression) {
+    return precompiledExpressions.computeIfAbsent(expression,
+                                                  key -> MVEL.compileExpression(key, new ParserContext(parserConfiguration)));
+  }
+
+  /**
+   * @param expression Expression to look for
+   * @return whether the expression was compiled through {@link #precompile(String)}
+   */
+  public boolean isPrecompiled(final String expression) {
+    return precompiledExpressions.containsKey(expression);
+  }
 }
@@ -6,10 +6,13 @@
  */
 package org.mule.runtime.core.el.mvel;
 
+import static java.lang.Boolean.getBoolean;
 import static java.util.Collections.singletonMap;
 import static org.apache.commons.lang.StringUtils.replace;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import org.mule.mvel2.MVEL;
 import org.mule.mvel2.ParserConfiguration;
 import org.mule.mvel2.ast.Function;
 import org.mule.mvel2.compiler.ExpressionCompiler;
@@ -38,9 +41,12 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
@@ -56,6 +62,13 @@ import org.slf4j.Logger;
 public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable {
 
   public static final String OBJECT_FOR_ENRICHMENT = "__object_for_enrichment";
+
+  /**
+   * System property that enables compiling every expression of the application when it is deployed, and having components
+   * evaluate their expressions through a {@link PrecompiledExpression}.
+   */
+  public static final String PRECOMPILE_EXPRESSIONS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "mel.precompileExpressions";
+
   private static final Logger logger = getLogger(MVELExpressionLanguage.class);
 
   protected ParserConfiguration parserConfiguration;
@@ -64,6 +77,7 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
 
   protected VariableResolverFactory staticContext;
   protected VariableResolverFactory globalContext;
+  protected VariableResolverFactory staticAndGlobalContext;
 
   // Configuration
   protected String globalFunctionsString;
@@ -74,6 +88,10 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
   protected boolean autoResolveVariables = true;
   protected MvelDataTypeResolver dataTypeResolver = new MvelDataTypeResolver();
   protected MvelEnricherDataTypePropagator dataTypePropagator = new MvelEnricherDataTypePropagator();
+  protected boolean precompileExpressions = getBoolean(PRECOMPILE_EXPRESSIONS_PROPERTY);
+
+  // Expressions to compile ahead of time, kept so they can be compiled again if the executor is recreated
+  private final Set<String> expressionsToPrecompile = ConcurrentHashMap.newKeySet();
 
   // default style parser
   private TemplateParser parser = TemplateParser.createMuleStyleParser();
@@ -91,11 +109,16 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
     expressionExecutor = new MVELExpressionExecutor(parserConfiguration);
     loadGlobalFunctions();
     createStaticContext();
+    for (String expression : expressionsToPrecompile) {
+      precompileQuietly(expression);
+    }
   }
 
   protected void createStaticContext() {
     staticContext = new StaticVariableResolverFactory(parserConfiguration, muleContext);
     globalContext = new GlobalVariableResolverFactory(getAliases(), getGlobalFunctions(), parserConfiguration, muleContext);
+    // Holds no per evaluation state, so it is shared by every evaluation that has no event
+    staticAndGlobalContext = new DelegateVariableResolverFactory(staticContext, globalContext);
   }
 
   protected void loadGlobalFunctions() throws InitialisationException {
@@ -123,14 +146,7 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
   @Override
   @SuppressWarnings("unchecked")
   public <T> T evaluate(String expression, Map<String, Object> vars) {
-    MVELExpressionLanguageContext context = createExpressionLanguageContext();
-    if (vars != null) {
-      context.setNextFactory(new CachedMapVariableResolverFactory(vars, new DelegateVariableResolverFactory(staticContext,
-                                                                                                            globalContext)));
-    } else {
-      context.setNextFactory(new DelegateVariableResolverFactory(staticContext, globalContext));
-    }
-    return (T) evaluateInternal(expression, context);
+    return (T) evaluateInternal(expression, createStaticExpressionLanguageContext(vars));
   }
 
   @Override
@@ -155,19 +171,116 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
     if (event == null) {
       return evaluate(expression, vars);
     }
-    MVELExpressionLanguageContext context = createExpressionLanguageContext();
-    final DelegateVariableResolverFactory innerDelegate =
-        new DelegateVariableResolverFactory(globalContext, createVariableVariableResolverFactory(event, eventBuilder));
-    final DelegateVariableResolverFactory delegate =
-        new DelegateVariableResolverFactory(staticContext, new EventVariableResolverFactory(parserConfiguration, muleContext,
-                                                                                            event, eventBuilder, flowConstruct,
-                                                                                            innerDelegate));
-    if (vars != null) {
-      context.setNextFactory(new CachedMapVariableResolverFactory(vars, delegate));
-    } else {
-      context.setNextFactory(delegate);
+    return evaluateInternal(expression, createEventExpressionLanguageContext(event, eventBuilder, flowConstruct, vars));
+  }
+
+  /**
+   * Evaluates an expression previously compiled by {@link #precompile(String)}.
+   *
+   * @param expression the precompiled expression
+   * @param event the event to evaluate the expression against. May be {@code null}.
+   * @param eventBuilder the builder to use for any changes the expression does to the event
+   * @param flowConstruct the flow where the evaluation happens
+   * @return the result of the evaluation
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T evaluate(PrecompiledExpression expression, Event event, Event.Builder eventBuilder,
+                        FlowConstruct flowConstruct) {
+    if (!expression.isCompiledBy(expressionExecutor)) {
+      // The language was reconfigured after the expression was compiled
+      return evaluate(expression.getExpression(), event, eventBuilder, flowConstruct);
+    }
+    final MVELExpressionLanguageContext context = event == null ? createStaticExpressionLanguageContext(null)
+        : createEventExpressionLanguageContext(event, eventBuilder, flowConstruct, null);
+    try {
+      return (T) MVEL.executeExpression(expression.getCompiledExpression(), context);
+    } catch (Exception e) {
+      throw new ExpressionRuntimeException(CoreMessages.expressionEvaluationFailed(expression.getExpression()), e);
+    }
+  }
+
+  /**
+   * Evaluates an expression previously compiled by {@link #precompile(String)}, resolving the {@link DataType} of the result.
+   *
+   * @param expression the precompiled expression
+   * @param event the event to evaluate the expression against
+   * @param eventBuilder the builder to use for any changes the expression does to the event
+   * @param flowConstruct the flow where the evaluation happens
+   * @return the result of the evaluation along with its data type
+   */
+  public DefaultTypedValue evaluateTyped(PrecompiledExpression expression, Event event, Event.Builder eventBuilder,
+                                         FlowConstruct flowConstruct) {
+    final Object value = evaluate(expression, event, eventBuilder, flowConstruct);
+    final Serializable compiledExpression = expression.isCompiledBy(expressionExecutor) ? expression.getCompiledExpression()
+        : expressionExecutor.getCompiledExpression(expression.getExpression());
+    return new DefaultTypedValue(value, dataTypeResolver.resolve(value, event, compiledExpression));
+  }
+
+  /**
+   * Validates and compiles an expression, returning a handle that can be evaluated without doing that work again.
+   * <p>
+   * The compiled expression is kept for as long as this language is not reconfigured, regardless of the size of the compiled
+   * expressions cache.
+   *
+   * @param expression a single expression, with or without the expression marker
+   * @return the handle to the compiled expression
+   * @throws InvalidExpressionException if the expression is not valid
+   */
+  public PrecompiledExpression precompile(String expression) throws InvalidExpressionException {
+    validate(expression);
+    final String rawExpression = removeExpressionMarker(expression);
+    return new PrecompiledExpression(rawExpression, expressionExecutor.precompile(rawExpression), expressionExecutor);
+  }
+
+  /**
+   * Compiles ahead of time every expression found in the given values, so the first evaluations don't pay for the compilation
+   * and the compiled expressions are not evicted from the cache when there are many of them. Values may be templates with many
+   * expressions, values with no expression are ignored.
+   * <p>
+   * Invalid expressions are skipped, failing when they are evaluated just as if they had not been precompiled.
+   *
+   * @param values the values to look for expressions in
+   */
+  public void precompileAll(Collection<String> values) {
+    for (String value : values) {
+      if (value == null || !value.contains(DEFAULT_EXPRESSION_PREFIX)) {
+        continue;
+      }
+      try {
+        parser.parse(token -> {
+          if (expressionsToPrecompile.add(token)) {
+            precompileQuietly(token);
+          }
+          return null;
+        }, value);
+      } catch (Exception e) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Could not precompile expressions in: " + value, e);
+        }
+      }
     }
-    return evaluateInternal(expression, context);
+  }
+
+  private void precompileQuietly(String expression) {
+    try {
+      expressionExecutor.precompile(expression);
+    } catch (Exception e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not precompile expression: " + expression, e);
+      }
+    }
+  }
+
+  /**
+   * @return whether expressions are compiled when the application is deployed and evaluated through
+   *         {@link PrecompiledExpression}s by the components that support it.
+   */
+  public boolean isPrecompileExpressions() {
+    return precompileExpressions;
+  }
+
+  public void setPrecompileExpressions(boolean precompileExpressions) {
+    this.precompileExpressions = precompileExpressions;
   }
 
   @Override
@@ -210,9 +323,12 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
 
   @SuppressWarnings("unchecked")
   protected <T> T evaluateInternal(String expression, MVELExpressionLanguageContext variableResolverFactory) {
-    validate(expression);
-
-    expression = removeExpressionMarker(expression);
+    final String rawExpression = removeExpressionMarker(expression);
+    // Precompiled expressions were already validated when compiled
+    if (!expressionExecutor.isPrecompiled(rawExpression)) {
+      validate(expression);
+    }
+    expression = rawExpression;
 
     try {
       return (T) expressionExecutor.execute(expression, variableResolverFactory);
@@ -274,6 +390,36 @@ public class MVELExpressionLanguage implements ExpressionLanguage, Initialisable
     return new MVELExpressionLanguageContext(parserConfiguration, muleContext);
   }
 
+  private MVELExpressionLanguageContext createStaticExpressionLanguageContext(Map<String, Object> vars) {
+    MVELExpressionLanguageContext context = createExpressionLanguageContext();
+    final VariableResolverFactory delegate = staticAndGlobalContext != null ? staticAndGlobalContext
+        : new DelegateVariableResolverFactory(staticContext, globalContext);
+    if (vars != null) {
+      context.setNextFactory(new CachedMapVariableResolverFactory(vars, delegate));
+    } else {
+      context.setNextFactory(delegate);
+    }
+    return context;
+  }
+
+  private MVELExpressionLanguageContext createEventExpressionLanguageContext(Event event, Event.Builder eventBuilder,
+                                                                             FlowConstruct flowConstruct,
+                                                                             Map<String, Object> vars) {
+    MVELExpressionLanguageContext context = createExpressionLanguageContext();
+    final DelegateVariableResolverFactory innerDelegate =
+        new DelegateVariableResolverFactory(globalContext, createVariableVariableResolverFactory(event, eventBuilder));
+    final DelegateVariableResolverFactory delegate =
+        new DelegateVariableResolverFactory(staticContext, new EventVariableResolverFactory(parserConfiguration, muleContext,
+                                                                                            event, eventBuilder, flowConstruct,
+                                                                                            innerDelegate));
+    if (vars != null) {
+      context.setNextFactory(new CachedMapVariableResolverFactory(vars, delegate));
+    } else {
+      context.setNextFactory(delegate);
+    }
+    return context;
+  }
+
   public static ParserConfiguration createParserConfiguration(Map<String, Class<?>> imports) {
     ParserConfiguration ParserConfiguration = new ParserConfiguration();
     configureParserConfiguration(ParserConfiguration, imports);
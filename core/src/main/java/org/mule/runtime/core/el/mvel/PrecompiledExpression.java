@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.el.mvel;
+
+import java.io.Serializable;
+
+/**
+ * Handle to an expression already validated and compiled by a {@link MVELExpressionLanguage}.
+ * <p>
+ * Components that evaluate the same expression for every event can hold one of these so each evaluation goes straight to the
+ * compiled form, skipping the validation, expression marker removal and cache lookup done when evaluating a {@link String}.
+ *
+ * @since 4.0
+ */
+public final class PrecompiledExpression {
+
+  private final String expression;
+  private final Serializable compiledExpression;
+  private final MVELExpressionExecutor executor;
+
+  PrecompiledExpression(String expression, Serializable compiledExpression, MVELExpressionExecutor executor) {
+    this.expression = expression;
+    this.compiledExpression = compiledExpression;
+    this.executor = executor;
+  }
+
+  /**
+   * @return the expression, without the expression marker.
+   */
+  public String getExpression() {
+    return expression;
+  }
+
+  Serializable getCompiledExpression() {
+    return compiledExpression;
+  }
+
+  /**
+   * @return whether this was compiled by the given executor, so it was compiled using its parser configuration.
+   */
+  boolean isCompiledBy(MVELExpressionExecutor executor) {
+    return this.executor == executor;
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+}
@@ -8,7 +8,7 @@ package org.mule.runtime.core.management.stats;
 
 import org.mule.runtime.core.api.management.stats.Statistics;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Statistics common to flows and services
@@ -21,8 +21,8 @@ public abstract class AbstractFlowConstructStatistics implements Statistics {
   protected String name;
   protected boolean enabled = false;
   private long samplePeriod = 0;
-  protected final AtomicLong receivedEventSync = new AtomicLong(0);
-  protected final AtomicLong receivedEventASync = new AtomicLong(0);
+  protected final LongAdder receivedEventSync = new LongAdder();
+  protected final LongAdder receivedEventASync = new LongAdder();
 
   public AbstractFlowConstructStatistics(String flowConstructType, String name) {
     this.name = name;
@@ -52,26 +52,26 @@ public abstract class AbstractFlowConstructStatistics implements Statistics {
   }
 
   public synchronized void clear() {
-    receivedEventSync.set(0);
-    receivedEventASync.set(0);
+    receivedEventSync.reset();
+    receivedEventASync.reset();
     samplePeriod = System.currentTimeMillis();
   }
 
 
   public void incReceivedEventSync() {
-    receivedEventSync.addAndGet(1);
+    receivedEventSync.increment();
   }
 
   public void incReceivedEventASync() {
-    receivedEventASync.addAndGet(1);
+    receivedEventASync.increment();
   }
 
   public long getAsyncEventsReceived() {
-    return receivedEventASync.get();
+    return receivedEventASync.sum();
   }
 
   public long getSyncEventsReceived() {
-    return receivedEventSync.get();
+    return receivedEventSync.sum();
   }
 
   public long getTotalEventsReceived() {
@@ -11,13 +11,18 @@ import org.mule.runtime.core.management.stats.printers.SimplePrinter;
 import org.mule.runtime.core.util.StringUtils;
 
 import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api. This class is not thread-safe -
- * occasional errors in reported statistics should be expected, especially when the {@link #clear()} method is used.
+ * ComponentStatistics is a basic metrics aggregation class that is accessible via the JMX api. Recording does not lock, so it may
+ * be done concurrently from many threads, but values are not updated atomically as a whole - occasional errors in reported
+ * statistics should be expected, especially when the {@link #clear()} method is used.
+ * <p/>
+ * Besides the minimum, maximum and average, execution times are kept in an {@link ExecutionTimeHistogram} to report percentiles.
  */
 public class ComponentStatistics implements Statistics {
 
@@ -28,14 +33,14 @@ public class ComponentStatistics implements Statistics {
    */
   private static final long serialVersionUID = -2086999226732861674L;
 
-  private long minExecutionTime = 0;
-  private long maxExecutionTime = 0;
-  private long averageExecutionTime = 0;
-  private long executedEvent = 0;
-  private long totalExecTime = 0;
-  private boolean enabled = false;
+  private final AtomicLong minExecutionTime = new AtomicLong(0);
+  private final AtomicLong maxExecutionTime = new AtomicLong(0);
+  private final LongAdder executedEvent = new LongAdder();
+  private final LongAdder totalExecTime = new LongAdder();
+  private final ExecutionTimeHistogram executionTimeHistogram = new ExecutionTimeHistogram();
+  private volatile boolean enabled = false;
   private long intervalTime = 0;
-  private long currentIntervalStartTime = 0;
+  private final AtomicLong currentIntervalStartTime = new AtomicLong(0);
   private boolean statIntervalTimeEnabled = false;
 
   /**
@@ -67,11 +72,11 @@ public class ComponentStatistics implements Statistics {
    * If called while a branch is being executed, then statistics may be slightly erroneous.
    */
   public void clear() {
-    minExecutionTime = 0;
-    maxExecutionTime = 0;
-    executedEvent = 0;
-    totalExecTime = 0;
-    averageExecutionTime = 0;
+    minExecutionTime.set(0);
+    maxExecutionTime.set(0);
+    executedEvent.reset();
+    totalExecTime.reset();
+    executionTimeHistogram.clear();
   }
 
   /**
@@ -112,7 +117,7 @@ public class ComponentStatistics implements Statistics {
    * @return The maximum time, or zero if no events have been started.
    */
   public long getMaxExecutionTime() {
-    return maxExecutionTime;
+    return maxExecutionTime.get();
   }
 
   /**
@@ -121,7 +126,7 @@ public class ComponentStatistics implements Statistics {
    * @return The maximum time, or zero if no events have been completed.
    */
   public long getMinExecutionTime() {
-    return minExecutionTime;
+    return minExecutionTime.get();
   }
 
   /**
@@ -131,7 +136,7 @@ public class ComponentStatistics implements Statistics {
    * @return The total cumulative execution time, in milliseconds.
    */
   public long getTotalExecutionTime() {
-    return totalExecTime;
+    return totalExecTime.sum();
   }
 
   /**
@@ -143,7 +148,7 @@ public class ComponentStatistics implements Statistics {
    * @return The number of events executed since last cleared.
    */
   public long getExecutedEvents() {
-    return executedEvent;
+    return executedEvent.sum();
   }
 
   /**
@@ -153,34 +158,20 @@ public class ComponentStatistics implements Statistics {
    * @param branch the time to execute this branch
    * @param total the total time (so far) for processing this event
    */
-  public synchronized void addExecutionBranchTime(boolean first, long branch, long total) {
+  public void addExecutionBranchTime(boolean first, long branch, long total) {
     // TODO MULE-9151 - ComponentStatistics should really create distinct Event
     // objects that can be used to aggregate statistics and then atomically
     // log them at completion time.
 
-    if (statIntervalTimeEnabled) {
-      long currentTime = System.currentTimeMillis();
-      if (currentIntervalStartTime == 0) {
-        currentIntervalStartTime = currentTime;
-      }
-
-      if ((currentTime - currentIntervalStartTime) > intervalTime) {
-        clear();
-        currentIntervalStartTime = currentTime;
-      }
-    }
+    checkInterval();
 
     if (first) {
-      executedEvent++;
+      executedEvent.increment();
     }
 
-    if (executedEvent > 0) {
-      totalExecTime += ProcessingTime.getEffectiveTime(branch);
-      long effectiveTotal = ProcessingTime.getEffectiveTime(total);
-      if (maxExecutionTime == 0 || effectiveTotal > maxExecutionTime) {
-        maxExecutionTime = effectiveTotal;
-      }
-      averageExecutionTime = totalExecTime / executedEvent;
+    if (executedEvent.sum() > 0) {
+      totalExecTime.add(ProcessingTime.getEffectiveTime(branch));
+      updateMax(ProcessingTime.getEffectiveTime(total));
     }
   }
 
@@ -191,12 +182,11 @@ public class ComponentStatistics implements Statistics {
    * 
    * @param time the total time required to process this event
    */
-  public synchronized void addCompleteExecutionTime(long time) {
-    if (executedEvent > 0) {
+  public void addCompleteExecutionTime(long time) {
+    if (executedEvent.sum() > 0) {
       long effectiveTime = ProcessingTime.getEffectiveTime(time);
-      if (minExecutionTime == 0 || effectiveTime < minExecutionTime) {
-        minExecutionTime = effectiveTime;
-      }
+      updateMin(effectiveTime);
+      executionTimeHistogram.record(effectiveTime);
     }
   }
 
@@ -207,31 +197,21 @@ public class ComponentStatistics implements Statistics {
    *
    * @param time The total event time to be logged/recorded.
    */
-  public synchronized void addExecutionTime(long time) {
-    if (statIntervalTimeEnabled) {
-      long currentTime = System.currentTimeMillis();
-      if (currentIntervalStartTime == 0) {
-        currentIntervalStartTime = currentTime;
-      }
-
-      if ((currentTime - currentIntervalStartTime) > intervalTime) {
-        clear();
-        currentIntervalStartTime = currentTime;
-      }
-    }
+  public void addExecutionTime(long time) {
+    checkInterval();
 
-    executedEvent++;
+    executedEvent.increment();
 
     long effectiveTime = ProcessingTime.getEffectiveTime(time);
-    totalExecTime += effectiveTime;
+    totalExecTime.add(effectiveTime);
 
-    if (minExecutionTime == 0 || effectiveTime < minExecutionTime) {
-      minExecutionTime = time;
+    if (updateMin(effectiveTime)) {
+      minExecutionTime.set(time);
     }
-    if (maxExecutionTime == 0 || effectiveTime > maxExecutionTime) {
-      maxExecutionTime = time;
+    if (updateMax(effectiveTime)) {
+      maxExecutionTime.set(time);
     }
-    averageExecutionTime = totalExecTime / executedEvent;
+    executionTimeHistogram.record(effectiveTime);
   }
 
   /**
@@ -240,7 +220,83 @@ public class ComponentStatistics implements Statistics {
    * @return the total event time accumulated to this point, divided by the total number of events recorded.
    */
   public long getAverageExecutionTime() {
-    return averageExecutionTime;
+    final long executed = executedEvent.sum();
+    return executed > 0 ? totalExecTime.sum() / executed : 0;
+  }
+
+  /**
+   * Estimates the execution time below which the given percentage of the events executed since last cleared fall.
+   * <p/>
+   * Only complete event times are accounted, see {@link #addExecutionTime(long)} and {@link #addCompleteExecutionTime(long)}.
+   *
+   * @param percentile the percentile to estimate, between 0 and 100
+   * @return the execution time at the given percentile, or zero if no events have been completed.
+   */
+  public long getExecutionTimePercentile(double percentile) {
+    return executionTimeHistogram.getPercentile(percentile);
+  }
+
+  /**
+   * @return the median execution time since last cleared.
+   */
+  public long getExecutionTimeP50() {
+    return getExecutionTimePercentile(50);
+  }
+
+  /**
+   * @return the 99th percentile of the execution time since last cleared.
+   */
+  public long getExecutionTimeP99() {
+    return getExecutionTimePercentile(99);
+  }
+
+  /**
+   * @return the 99.9th percentile of the execution time since last cleared.
+   */
+  public long getExecutionTimeP999() {
+    return getExecutionTimePercentile(99.9);
+  }
+
+  private void checkInterval() {
+    if (statIntervalTimeEnabled) {
+      long currentTime = System.currentTimeMillis();
+      currentIntervalStartTime.compareAndSet(0, currentTime);
+
+      long intervalStartTime = currentIntervalStartTime.get();
+      // Only the thread that moves the interval forward resets the statistics
+      if ((currentTime - intervalStartTime) > intervalTime
+          && currentIntervalStartTime.compareAndSet(intervalStartTime, currentTime)) {
+        clear();
+      }
+    }
+  }
+
+  /**
+   * @return {@code true} if the given time is the new minimum.
+   */
+  private boolean updateMin(long time) {
+    long current;
+    do {
+      current = minExecutionTime.get();
+      if (current != 0 && time >= current) {
+        return false;
+      }
+    } while (!minExecutionTime.compareAndSet(current, time));
+    return true;
+  }
+
+  /**
+   * @return {@code true} if the given time is the new maximum.
+   */
+  private boolean updateMax(long time) {
+    long current;
+    do {
+      current = maxExecutionTime.get();
+      if (current != 0 && time <= current) {
+        return false;
+      }
+    } while (!maxExecutionTime.compareAndSet(current, time));
+    return true;
   }
 
 }
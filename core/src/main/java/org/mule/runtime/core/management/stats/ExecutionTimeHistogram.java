@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+import static java.lang.Long.numberOfLeadingZeros;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of execution times, used to estimate percentiles without keeping every recorded value.
+ * <p>
+ * Values are bucketed the way HdrHistogram does: each power of two range is split in {@value #SUB_BUCKET_COUNT} linear sub
+ * buckets, so the reported value of any percentile is within 1/{@value #SUB_BUCKET_COUNT} of the actual recorded value, no matter
+ * its magnitude. Recording is a single atomic increment, so many threads may record concurrently without contention on a lock.
+ * <p>
+ * As with the rest of the statistics, a {@link #clear()} concurrent with recordings may leave some of them out.
+ *
+ * @since 4.0
+ */
+public final class ExecutionTimeHistogram implements Serializable {
+
+  private static final long serialVersionUID = -3950785466396412738L;
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  // Values below SUB_BUCKET_COUNT get a bucket each, then every power of two up to 2^62 gets SUB_BUCKET_COUNT buckets
+  private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+  /**
+   * Records a value. Negative values are recorded as zero.
+   *
+   * @param value the value to record
+   */
+  public void record(long value) {
+    counts.incrementAndGet(bucketIndex(Math.max(0, value)));
+  }
+
+  /**
+   * @return the amount of values recorded since last cleared.
+   */
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Estimates the value below which the given percentage of the recorded values fall.
+   *
+   * @param percentile the percentile to estimate, between 0 and 100
+   * @return the highest value equivalent to the one at the given percentile, or zero if nothing was recorded.
+   */
+  public long getPercentile(double percentile) {
+    final long[] snapshot = new long[BUCKET_COUNT];
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+
+    final long target = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+    long accumulated = 0;
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      accumulated += snapshot[i];
+      if (accumulated >= target) {
+        return highestEquivalentValue(i);
+      }
+    }
+    return highestEquivalentValue(BUCKET_COUNT - 1);
+  }
+
+  /**
+   * Discards every recorded value.
+   */
+  public void clear() {
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      counts.set(i, 0);
+    }
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    final int magnitude = 63 - numberOfLeadingZeros(value);
+    final int shift = magnitude - SUB_BUCKET_BITS;
+    return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+  }
+
+  static long highestEquivalentValue(int bucketIndex) {
+    if (bucketIndex < SUB_BUCKET_COUNT) {
+      return bucketIndex;
+    }
+    final int shift = (bucketIndex - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+    final long lowest = ((long) (SUB_BUCKET_COUNT + (bucketIndex - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT)) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
@@ -9,13 +9,13 @@ package org.mule.runtime.core.management.stats;
 import org.mule.runtime.core.api.processor.ProcessingStrategy;
 import org.mule.runtime.core.processor.strategy.AsynchronousProcessingStrategy;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class FlowConstructStatistics extends AbstractFlowConstructStatistics implements QueueStatistics {
 
   private static final long serialVersionUID = 5337576392583767442L;
-  private final AtomicLong executionError = new AtomicLong(0);
-  private final AtomicLong fatalError = new AtomicLong(0);
+  private final LongAdder executionError = new LongAdder();
+  private final LongAdder fatalError = new LongAdder();
   private int threadPoolSize = 0;
   protected final ComponentStatistics flowStatistics = new ComponentStatistics();
 
@@ -59,11 +59,11 @@ public class FlowConstructStatistics extends AbstractFlowConstructStatistics imp
   }
 
   public void incExecutionError() {
-    executionError.addAndGet(1);
+    executionError.increment();
   }
 
   public void incFatalError() {
-    fatalError.addAndGet(1);
+    fatalError.increment();
   }
 
   /**
@@ -77,8 +77,8 @@ public class FlowConstructStatistics extends AbstractFlowConstructStatistics imp
   public synchronized void clear() {
     super.clear();
 
-    executionError.set(0);
-    fatalError.set(0);
+    executionError.reset();
+    fatalError.reset();
     if (flowStatistics != null) {
       flowStatistics.clear();
     }
@@ -112,12 +112,33 @@ public class FlowConstructStatistics extends AbstractFlowConstructStatistics imp
     return flowStatistics.getTotalExecutionTime();
   }
 
+  /**
+   * @return the median processing time of the events since last cleared.
+   */
+  public long getProcessingTimeP50() {
+    return flowStatistics.getExecutionTimeP50();
+  }
+
+  /**
+   * @return the 99th percentile of the processing time of the events since last cleared.
+   */
+  public long getProcessingTimeP99() {
+    return flowStatistics.getExecutionTimeP99();
+  }
+
+  /**
+   * @return the 99.9th percentile of the processing time of the events since last cleared.
+   */
+  public long getProcessingTimeP999() {
+    return flowStatistics.getExecutionTimeP999();
+  }
+
   public long getExecutionErrors() {
-    return executionError.get();
+    return executionError.sum();
   }
 
   public long getFatalErrors() {
-    return fatalError.get();
+    return fatalError.sum();
   }
 
   public int getThreadPoolSize() {
@@ -130,7 +151,7 @@ public class FlowConstructStatistics extends AbstractFlowConstructStatistics imp
     if (queuedEvent > maxQueuedEvent) {
       maxQueuedEvent = queuedEvent;
     }
-    averageQueueSize = receivedEventASync.get() / totalQueuedEvent;
+    averageQueueSize = receivedEventASync.sum() / totalQueuedEvent;
   }
 
   public synchronized void decQueuedEvent() {
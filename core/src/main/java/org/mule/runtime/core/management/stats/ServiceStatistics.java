@@ -76,7 +76,7 @@ public class ServiceStatistics extends FlowConstructStatistics implements QueueS
     if (queuedEvent > maxQueuedEvent) {
       maxQueuedEvent = queuedEvent;
     }
-    averageQueueSize = receivedEventASync.get() / totalQueuedEvent;
+    averageQueueSize = receivedEventASync.sum() / totalQueuedEvent;
   }
 
   public synchronized void decQueuedEvent() {
@@ -7,18 +7,23 @@
 
 package org.mule.runtime.core.routing;
 
+import static java.lang.Math.max;
 import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 import static org.mule.runtime.core.api.Event.setCurrentEvent;
 import static org.mule.runtime.core.api.processor.MessageProcessors.newExplicitChain;
+import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.config.i18n.CoreMessages.noEndpointsForRouter;
 import static org.mule.runtime.core.routing.AbstractRoutingStrategy.validateMessageIsNotConsumable;
 import static org.mule.runtime.core.util.rx.Exceptions.checkedConsumer;
 import static org.mule.runtime.core.util.rx.Exceptions.checkedFunction;
 import static reactor.core.publisher.Flux.from;
-import static reactor.core.publisher.Flux.fromIterable;
 import static reactor.core.publisher.Flux.just;
+import static reactor.core.publisher.Flux.range;
+import static reactor.core.scheduler.Schedulers.fromExecutor;
 import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.MuleException;
@@ -38,6 +43,8 @@ import org.mule.runtime.core.api.routing.ResponseTimeoutException;
 import org.mule.runtime.core.api.routing.RoutePathNotFoundException;
 import org.mule.runtime.core.config.i18n.I18nMessageFactory;
 import org.mule.runtime.core.exception.MessagingException;
+import org.mule.runtime.core.management.stats.ExecutionTimeHistogram;
+import org.mule.runtime.core.message.ErrorBuilder;
 import org.mule.runtime.core.processor.AbstractMessageProcessorOwner;
 import org.mule.runtime.core.processor.chain.ExplicitMessageProcessorChainBuilder;
 import org.mule.runtime.core.routing.outbound.MulticastingRouter;
@@ -48,10 +55,12 @@ import org.mule.runtime.core.util.concurrent.ThreadNameHelper;
 import org.mule.runtime.core.work.ProcessingMuleEventWork;
 import org.mule.runtime.core.work.SerialWorkManager;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.resource.spi.work.WorkException;
 
@@ -59,6 +68,11 @@ import org.apache.commons.collections.CollectionUtils;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * <p>
@@ -83,6 +97,12 @@ import org.slf4j.LoggerFactory;
  * For advanced use cases, a custom {@link AggregationStrategy} can be applied to customize the logic used to aggregate the route
  * responses back into one single element or to throw exception
  * <p>
+ * When used on a reactive pipeline through {@link #apply(Publisher)}, the routes are subscribed on the router's
+ * {@link WorkManager} and their responses are joined as they complete, so no thread is parked waiting for them. In that case the
+ * {@link #setTimeout(long) timeout} is enforced through a timer from the moment the message is scattered, the
+ * {@link #setRouteTimeout(long) route timeout} from the moment each route starts executing, and the latency of each route is
+ * recorded on its {@link #getRouteLatency(int) histogram}.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/BroadcastAggregate.html"<a/>
  * </p>
  * 
@@ -97,6 +117,12 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
    */
   private long timeout = 0;
 
+  /**
+   * Timeout in milliseconds to be applied to each route, measured from the moment it starts executing on the reactive pipeline.
+   * Values lower or equal to zero means no timeout
+   */
+  private long routeTimeout = 0;
+
   /**
    * The routes that the message will be sent to
    */
@@ -127,6 +153,16 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
    */
   private WorkManager workManager;
 
+  /**
+   * {@link Scheduler} backed by the {@link #workManager} on which the routes are subscribed on the reactive pipeline
+   */
+  private Scheduler routeScheduler;
+
+  /**
+   * Latency in milliseconds of each route executed on the reactive pipeline, in the same order as the {@link #routes}
+   */
+  private List<ExecutionTimeHistogram> routeLatencies = emptyList();
+
   @Override
   public Event process(Event event) throws MuleException {
     assertMorethanOneRoute();
@@ -157,8 +193,82 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
     return from(publisher).doOnNext(checkedConsumer(event -> {
       assertMorethanOneRoute();
       validateMessageIsNotConsumable(event, event.getMessage());
-    })).concatMap(event -> from(fromIterable(routeChains).concatMap(processor -> just(event).transform(processor))).collectList()
-        .map(checkedFunction(list -> aggregationStrategy.aggregate(new AggregationContext(event, list)))));
+    })).concatMap(event -> scatter(event)
+        .map(checkedFunction(responses -> aggregationStrategy.aggregate(new AggregationContext(event, responses))))
+        .map(response -> Event.builder(response).session(new DefaultMuleSession(response.getSession())).build()));
+  }
+
+  /**
+   * Subscribes every route with the given {@code event} and joins their responses once all of them completed.
+   *
+   * @param event the event to route
+   * @return a {@link Mono} with the responses of the routes, in the same order as the routes themselves
+   */
+  private Mono<List<Event>> scatter(Event event) {
+    final long deadline = timeout == Long.MAX_VALUE ? Long.MAX_VALUE : currentTimeMillis() + timeout;
+
+    return range(0, routeChains.size())
+        .flatMap(routeIndex -> routeResponse(event, routeIndex, deadline).map(response -> Tuples.of(routeIndex, response)))
+        .collectList()
+        .map(responses -> responses.stream().sorted(comparing(Tuple2::getT1)).map(Tuple2::getT2).collect(toList()));
+  }
+
+  private Mono<Event> routeResponse(Event event, int routeIndex, long deadline) {
+    final Processor routeChain = routeChains.get(routeIndex);
+
+    Mono<Event> response = Mono.defer(() -> {
+      final long startedAt = currentTimeMillis();
+      Mono<Event> routeResponse = Mono.from(just(event).transform(routeChain));
+      if (routeTimeout != Long.MAX_VALUE) {
+        routeResponse = routeResponse.timeout(Duration.ofMillis(routeTimeout));
+      }
+
+      return routeResponse.doOnSuccess(result -> recordLatency(event, routeIndex, startedAt, null))
+          .doOnError(e -> recordLatency(event, routeIndex, startedAt, e));
+    }).subscribeOn(routeScheduler);
+
+    if (deadline != Long.MAX_VALUE) {
+      response = response.timeout(Duration.ofMillis(max(0, deadline - currentTimeMillis())));
+    }
+
+    return response.map(result -> Event.builder(result).session(new DefaultMuleSession(result.getSession())).build())
+        .otherwise(e -> Mono.just(failedRouteResponse(event, routeIndex, Exceptions.unwrap(e))));
+  }
+
+  private void recordLatency(Event event, int routeIndex, long startedAt, Throwable exception) {
+    final long latency = currentTimeMillis() - startedAt;
+    routeLatencies.get(routeIndex).record(latency);
+
+    if (logger.isDebugEnabled()) {
+      if (exception == null) {
+        logger.debug(format("route %d executed successfully in %d ms for event %s", routeIndex, latency, event));
+      } else {
+        logger.debug(format("route %d generated exception after %d ms for MuleEvent %s", routeIndex, latency, event), exception);
+      }
+    }
+  }
+
+  private Event failedRouteResponse(Event event, int routeIndex, Throwable throwable) {
+    final Processor route = routes.get(routeIndex);
+
+    Exception exception;
+    if (throwable instanceof TimeoutException) {
+      exception = new ResponseTimeoutException(createStaticMessage("Processing did not completed in time"), route);
+    } else if (throwable instanceof Exception) {
+      exception = wrapInDispatchException(routeIndex, route, (Exception) throwable);
+    } else {
+      exception = new DispatchException(createStaticMessage(format("route number %d failed to be executed", routeIndex)), route,
+                                        throwable);
+    }
+
+    Event response = throwable instanceof MessagingException ? ((MessagingException) throwable).getEvent() : event;
+    Event.Builder builder = Event.builder(response).session(new DefaultMuleSession(response.getSession()));
+    if (!response.getError().isPresent()) {
+      builder.error(ErrorBuilder.builder(exception).errorType(muleContext.getErrorTypeLocator().lookupErrorType(exception))
+          .build());
+    }
+
+    return builder.build();
   }
 
   private Event processResponses(Event event, List<ProcessingMuleEventWork> works)
@@ -256,12 +366,22 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
         timeout = Long.MAX_VALUE;
       }
 
+      if (routeTimeout <= 0) {
+        routeTimeout = Long.MAX_VALUE;
+      }
+
       if (threadingProfile.isDoThreading()) {
         workManager = threadingProfile.createWorkManager(ThreadNameHelper.getPrefix(muleContext) + "ScatterGatherWorkManager",
                                                          muleContext.getConfiguration().getShutdownTimeout());
       } else {
         workManager = new SerialWorkManager();
       }
+      routeScheduler = fromExecutor(workManager);
+
+      routeLatencies = new ArrayList<>(routes.size());
+      for (int i = 0; i < routes.size(); ++i) {
+        routeLatencies.add(new ExecutionTimeHistogram());
+      }
     } catch (Exception e) {
       throw new InitialisationException(e, this);
     }
@@ -338,6 +458,22 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
     this.timeout = timeout;
   }
 
+  public void setRouteTimeout(long routeTimeout) {
+    this.routeTimeout = routeTimeout;
+  }
+
+  /**
+   * Provides the latency in milliseconds of the executions of a route on the reactive pipeline, including the ones which failed
+   * or exceeded the {@link #setRouteTimeout(long) route timeout}.
+   *
+   * @param routeIndex the index of the route, in the order in which the routes were added
+   * @return the {@link ExecutionTimeHistogram} of the route
+   * @throws IndexOutOfBoundsException if there's no route for the given index or the router is not initialised yet
+   */
+  public ExecutionTimeHistogram getRouteLatency(int routeIndex) {
+    return routeLatencies.get(routeIndex);
+  }
+
   public void setRoutes(List<Processor> routes) {
     this.routes = routes;
   }
@@ -43,10 +43,19 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Correlates events into {@link EventGroup}s, aggregating them through an {@link EventCorrelatorCallback} once a group is
+ * complete.
+ * <p>
+ * Groups are sharded by their correlation id, so events of different groups are evaluated concurrently. The deadlines of the open
+ * groups are tracked in a {@link GroupExpiryWheel}, so the cost of checking for timed out groups depends on the groups that
+ * actually expire and not on all of the open groups.
+ */
 public class EventCorrelator implements Startable, Stoppable, Disposable {
 
   /**
@@ -58,13 +67,21 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
   private static final long ONE_DAY_IN_MILLI = 1000 * 60 * 60 * 24;
 
+  private static final int GROUP_LOCK_SHARDS = 64;
+  private static final int EXPIRY_WHEEL_TICKS = 512;
+
   protected long groupTimeToLive = ONE_DAY_IN_MILLI;
 
-  protected final Object groupsLock = new Object();
+  private final Object[] groupLocks = new Object[GROUP_LOCK_SHARDS];
 
-  // @GuardedBy groupsLock
+  // @GuardedBy the lock of the shard of each group id
   protected ObjectStore<Long> processedGroups = null;
 
+  private final GroupExpiryWheel expiryWheel =
+      new GroupExpiryWheel(ExpiringGroupMonitoringThread.DELAY_TIME, EXPIRY_WHEEL_TICKS);
+  private final LongAdder expiredGroups = new LongAdder();
+  private final LongAdder aggregatedGroups = new LongAdder();
+
   private long timeout = -1; // undefined
 
   private boolean failOnTimeout = true;
@@ -105,6 +122,20 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     this.correlatorStore = correlatorStore;
     this.storePrefix = storePrefix;
     this.processedGroups = processedGroups;
+
+    for (int i = 0; i < GROUP_LOCK_SHARDS; ++i) {
+      groupLocks[i] = new Object();
+    }
+  }
+
+  /**
+   * @param groupId the id of an event group
+   * @return the lock that guards the evaluation of the given group.
+   */
+  protected Object lockFor(Object groupId) {
+    int hash = groupId == null ? 0 : groupId.hashCode();
+    hash ^= (hash >>> 16);
+    return groupLocks[hash & (GROUP_LOCK_SHARDS - 1)];
   }
 
   public void forceGroupExpiry(String groupId) throws MuleException {
@@ -175,7 +206,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       }
 
       // ensure that only one thread at a time evaluates this EventGroup
-      synchronized (groupsLock) {
+      synchronized (lockFor(groupId)) {
         if (logger.isDebugEnabled()) {
           logger.debug("Adding event to aggregator group: " + groupId);
         }
@@ -200,6 +231,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
           } catch (ObjectStoreException e) {
             throw new RoutingException(timeoutMessageProcessor, e);
           }
+          aggregatedGroups.increment();
 
           return returnEvent;
         } else {
@@ -229,15 +261,21 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
   protected EventGroup addEventGroup(EventGroup group) throws ObjectStoreException {
     try {
       correlatorStore.store((Serializable) group.getGroupId(), group, getEventGroupsPartitionKey());
+      scheduleExpiry(group);
       return group;
     } catch (ObjectAlreadyExistsException e) {
-      return getEventGroup((String) group.getGroupId());
+      EventGroup existingGroup = getEventGroup((String) group.getGroupId());
+      if (existingGroup != null) {
+        scheduleExpiry(existingGroup);
+      }
+      return existingGroup;
     }
   }
 
   protected void removeEventGroup(EventGroup group) throws ObjectStoreException {
     final Object groupId = group.getGroupId();
-    synchronized (groupsLock) {
+    synchronized (lockFor(groupId)) {
+      expiryWheel.cancel((Serializable) groupId);
       if (!isGroupAlreadyProcessed(groupId)) {
         correlatorStore.remove((Serializable) groupId, getEventGroupsPartitionKey());
         addProcessedGroup(groupId);
@@ -246,13 +284,13 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
   }
 
   protected void addProcessedGroup(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
+    synchronized (lockFor(id)) {
       processedGroups.store((Serializable) id, System.currentTimeMillis());
     }
   }
 
   protected boolean isGroupAlreadyProcessed(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
+    synchronized (lockFor(id)) {
       return processedGroups.contains((Serializable) id);
     }
   }
@@ -273,12 +311,62 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     this.timeout = timeout;
   }
 
+  /**
+   * @return the amount of event groups known to be open, waiting for more events or to expire.
+   */
+  public int getOpenGroupsCount() {
+    return expiryWheel.size();
+  }
+
+  /**
+   * @return the amount of event groups that timed out since this correlator was created.
+   */
+  public long getExpiredGroupsCount() {
+    return expiredGroups.sum();
+  }
+
+  /**
+   * @return the amount of event groups that were complete and aggregated since this correlator was created.
+   */
+  public long getAggregatedGroupsCount() {
+    return aggregatedGroups.sum();
+  }
+
+  private void scheduleExpiry(EventGroup group) {
+    // Only the primary node expires groups, the others would never cancel the groups expired or completed by the primary.
+    // Tracking starts from the stored groups when this node becomes the primary one.
+    if (!muleContext.isPrimaryPollingInstance()) {
+      return;
+    }
+    expiryWheel.schedule((Serializable) group.getGroupId(),
+                         timeout != 0 ? group.getCreated() + timeout : Long.MAX_VALUE);
+  }
+
+  /**
+   * Tracks the expiry of the groups in the store, including the ones that were not created by this correlator, like the groups
+   * restored from a persistent store or created by other nodes of a cluster.
+   */
+  private void scheduleStoredGroupsExpiry() {
+    try {
+      for (Serializable groupId : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
+        EventGroup group = getEventGroup(groupId);
+        // group may have been removed by another thread right after eventGroups.allKeys()
+        if (group != null) {
+          scheduleExpiry(group);
+        }
+      }
+    } catch (ObjectStoreException e) {
+      logger.warn("Could not load the event groups to expire due to ObjectStoreException " + e);
+    }
+  }
+
   protected void handleGroupExpiry(EventGroup group) throws MuleException {
     try {
       removeEventGroup(group);
     } catch (ObjectStoreException e) {
       throw new DefaultMuleException(e);
     }
+    expiredGroups.increment();
 
     if (isFailOnTimeout()) {
       Event messageCollectionEvent = group.getMessageCollectionEvent();
@@ -331,6 +419,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
   public void start() throws MuleException {
     logger.info("Starting event correlator: " + name);
     if (timeout != 0) {
+      scheduleStoredGroupsExpiry();
       expiringGroupMonitoringThread = new ExpiringGroupMonitoringThread();
       expiringGroupMonitoringThread.start();
     }
@@ -349,6 +438,8 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     private ExpiryMonitor expiryMonitor;
     public static final long DELAY_TIME = 10;
 
+    private boolean primary = true;
+
     public ExpiringGroupMonitoringThread() {
       super(name, DELAY_TIME);
       this.expiryMonitor = new ExpiryMonitor(name, 1000 * 60, muleContext, true);
@@ -374,6 +465,9 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       } catch (ObjectStoreException e) {
         logger.warn("Expiration of objects failed due to ObjectStoreException " + e + ".");
       }
+
+      // Pick up groups that other nodes of a cluster may have stored
+      scheduleStoredGroupsExpiry();
     }
 
     @Override
@@ -383,16 +477,27 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       //// start the thread on the primary node only, and then use a notification schema to start a new thread
       //// in a different node when the primary goes down.
       if (!muleContext.isPrimaryPollingInstance()) {
+        if (primary) {
+          // The new primary node takes care of the groups tracked so far
+          primary = false;
+          expiryWheel.clear();
+        }
         return;
+      } else if (!primary) {
+        // This node just became the primary one, the groups of the previous primary have to be tracked now
+        primary = true;
+        scheduleStoredGroupsExpiry();
       }
 
       List<EventGroup> expired = new ArrayList<>(1);
       try {
-        for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
+        for (Serializable o : expiryWheel.expire(System.currentTimeMillis())) {
           EventGroup group = getEventGroup(o);
-          // group may have been removed by another thread right after eventGroups.allKeys()
+          // group may have been removed by another thread after it was taken from the wheel
           if (group != null && group.getCreated() + getTimeout() < System.currentTimeMillis()) {
             expired.add(group);
+          } else if (group != null) {
+            scheduleExpiry(group);
           }
         }
       } catch (ObjectStoreException e) {
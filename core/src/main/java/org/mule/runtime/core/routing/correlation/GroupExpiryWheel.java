@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing.correlation;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hashed timer wheel that keeps track of the deadlines of the open event groups of an {@link EventCorrelator}.
+ * <p>
+ * Each group is placed in the bucket corresponding to the tick of its deadline, so finding the expired groups only requires
+ * visiting the buckets for the ticks elapsed since the last check instead of every open group. Groups whose deadline is more than
+ * a full turn of the wheel away are just skipped when their bucket is visited.
+ * <p>
+ * Scheduling, cancelling and expiring are serialized, so a group is never left with a deadline but out of its bucket.
+ *
+ * @since 4.0
+ */
+class GroupExpiryWheel {
+
+  private final long tickMillis;
+  private final int mask;
+  private final Set<Serializable>[] buckets;
+  private final Map<Serializable, Deadline> deadlines = new ConcurrentHashMap<>();
+
+  private volatile long lastTick = -1;
+
+  /**
+   * @param tickMillis the resolution of the wheel.
+   * @param ticksPerWheel the amount of buckets in the wheel. Rounded up to a power of two.
+   */
+  @SuppressWarnings("unchecked")
+  GroupExpiryWheel(long tickMillis, int ticksPerWheel) {
+    this.tickMillis = tickMillis;
+    int size = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+    this.mask = size - 1;
+    this.buckets = new Set[size];
+    for (int i = 0; i < size; ++i) {
+      buckets[i] = ConcurrentHashMap.newKeySet();
+    }
+  }
+
+  /**
+   * Tracks the group with the given id, replacing its previous deadline if it was already tracked.
+   *
+   * @param groupId the id of the group
+   * @param deadline the time in millis after which the group is expired
+   */
+  synchronized void schedule(Serializable groupId, long deadline) {
+    // Deadlines for ticks already visited go to the next bucket to visit, so they are not missed for a whole turn
+    final Deadline entry = new Deadline(deadline, (int) (Math.max(deadline / tickMillis, lastTick + 1) & mask));
+    final Deadline previous = deadlines.put(groupId, entry);
+    if (previous != null && previous.bucket != entry.bucket) {
+      buckets[previous.bucket].remove(groupId);
+    }
+    buckets[entry.bucket].add(groupId);
+  }
+
+  /**
+   * Stops tracking the group with the given id.
+   *
+   * @param groupId the id of the group
+   * @return {@code true} if the group was being tracked.
+   */
+  synchronized boolean cancel(Serializable groupId) {
+    final Deadline deadline = deadlines.remove(groupId);
+    if (deadline != null) {
+      buckets[deadline.bucket].remove(groupId);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Stops tracking and returns the groups whose deadline has been reached.
+   *
+   * @param now the current time in millis
+   * @return the ids of the expired groups.
+   */
+  synchronized List<Serializable> expire(long now) {
+    final long currentTick = now / tickMillis;
+    final long fromTick = lastTick < 0 || currentTick - lastTick > mask ? currentTick - mask : lastTick + 1;
+    final List<Serializable> expired = new ArrayList<>();
+
+    // Always revisit the current bucket since it may get new entries until its tick is over
+    for (long tick = Math.min(fromTick, currentTick); tick <= currentTick; ++tick) {
+      final Set<Serializable> bucket = buckets[(int) (tick & mask)];
+      for (Serializable groupId : bucket) {
+        final Deadline deadline = deadlines.get(groupId);
+        if (deadline != null && deadline.time < now) {
+          deadlines.remove(groupId);
+          bucket.remove(groupId);
+          expired.add(groupId);
+        }
+      }
+    }
+    lastTick = currentTick - 1;
+    return expired;
+  }
+
+  /**
+   * Stops tracking all the groups.
+   */
+  synchronized void clear() {
+    deadlines.clear();
+    for (Set<Serializable> bucket : buckets) {
+      bucket.clear();
+    }
+  }
+
+  /**
+   * @return the amount of groups being tracked.
+   */
+  int size() {
+    return deadlines.size();
+  }
+
+  private static final class Deadline {
+
+    private final long time;
+    private final int bucket;
+
+    private Deadline(long time, int bucket) {
+      this.time = time;
+      this.bucket = bucket;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.core.DefaultEventContext;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.message.DefaultEventBuilder.EventImplementation;
+import org.mule.runtime.core.message.DefaultMessageBuilder.MessageImplementation;
+import org.mule.runtime.core.message.NullAttributes;
+import org.mule.runtime.core.metadata.DefaultCollectionDataType;
+import org.mule.runtime.core.metadata.DefaultTypedValue;
+import org.mule.runtime.core.metadata.SimpleDataType;
+import org.mule.runtime.core.session.DefaultMuleSession;
+import org.mule.runtime.core.util.CaseInsensitiveMapWrapper;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Serializes objects using {@link CompactSerializationProtocol}, which is more compact and faster than
+ * {@link JavaObjectSerializer} for events, messages and the most common payloads.
+ * <p/>
+ * An application uses it by declaring it as a bean and referencing it from the {@code defaultObjectSerializer-ref} attribute of
+ * its configuration. All the nodes that share serialized objects, for instance through a persistent object store or a cluster,
+ * must use the same serializer with the same {@link #setRegisteredClasses(List) registered classes}.
+ *
+ * @since 4.0
+ */
+public class CompactObjectSerializer implements ObjectSerializer, MuleContextAware {
+
+  /**
+   * Classes registered by default, in the order that defines their ids. New classes must be added at the end.
+   */
+  public static final List<String> DEFAULT_REGISTERED_CLASSES =
+      unmodifiableList(asList(EventImplementation.class.getName(), MessageImplementation.class.getName(),
+                              DefaultEventContext.class.getName(), DefaultMuleSession.class.getName(),
+                              DefaultTypedValue.class.getName(), SimpleDataType.class.getName(),
+                              DefaultCollectionDataType.class.getName(), MediaType.class.getName(),
+                              NullAttributes.class.getName(), CaseInsensitiveMapWrapper.class.getName(),
+                              HashMap.class.getName(), LinkedHashMap.class.getName(), ArrayList.class.getName(),
+                              Date.class.getName(), Number.class.getName(), Integer.class.getName(),
+                              Long.class.getName(), Boolean.class.getName()));
+
+  private volatile CompactSerializationProtocol serializationProtocol =
+      new CompactSerializationProtocol(DEFAULT_REGISTERED_CLASSES);
+  private MuleContext muleContext;
+
+  @Override
+  public SerializationProtocol getInternalProtocol() {
+    return serializationProtocol;
+  }
+
+  @Override
+  public SerializationProtocol getExternalProtocol() {
+    return serializationProtocol;
+  }
+
+  /**
+   * Registers additional classes, so their descriptors are replaced by an id when serialized. The ids of these classes follow
+   * the ones of {@link #DEFAULT_REGISTERED_CLASSES}, in the given order.
+   *
+   * @param registeredClasses names of the classes to register
+   */
+  public void setRegisteredClasses(List<String> registeredClasses) {
+    final List<String> allClasses = new ArrayList<>(DEFAULT_REGISTERED_CLASSES);
+    allClasses.addAll(registeredClasses);
+
+    final CompactSerializationProtocol protocol = new CompactSerializationProtocol(allClasses);
+    if (muleContext != null) {
+      protocol.setMuleContext(muleContext);
+    }
+    serializationProtocol = protocol;
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    this.muleContext = context;
+    serializationProtocol.setMuleContext(context);
+  }
+}
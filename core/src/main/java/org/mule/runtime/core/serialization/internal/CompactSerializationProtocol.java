@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import org.mule.runtime.core.api.serialization.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.input.ClassLoaderObjectInputStream;
+
+/**
+ * {@link org.mule.runtime.core.api.serialization.SerializationProtocol} with a compact binary format.
+ * <p/>
+ * Strings, byte arrays, boxed primitives and the most common collections and maps holding only those values are written with
+ * dedicated codecs, without any class information. Any other object, such as events, messages or collections of other objects,
+ * is written as a whole using Java serialization, so shared references and cycles are kept, but the descriptors of the
+ * registered classes are replaced by their id and serial version UID. Because of that, both sides must register the same classes
+ * in the same order, and a registered class must have the same fields when it's deserialized.
+ * <p/>
+ * Serialization uses a buffer per thread, which is reused as long as it doesn't grow over {@link #MAX_RETAINED_BUFFER_SIZE}.
+ *
+ * @since 4.0
+ */
+public class CompactSerializationProtocol extends AbstractSerializationProtocol {
+
+  /**
+   * Serialization buffers bigger than this are discarded after use instead of kept for the next serialization
+   */
+  static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+  private static final int INITIAL_BUFFER_SIZE = 512;
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte BYTE_ARRAY = 2;
+  private static final byte INTEGER = 3;
+  private static final byte LONG = 4;
+  private static final byte TRUE = 5;
+  private static final byte FALSE = 6;
+  private static final byte DOUBLE = 7;
+  private static final byte FLOAT = 8;
+  private static final byte SHORT = 9;
+  private static final byte BYTE = 10;
+  private static final byte CHARACTER = 11;
+  private static final byte ARRAY_LIST = 12;
+  private static final byte HASH_MAP = 13;
+  private static final byte LINKED_HASH_MAP = 14;
+  private static final byte HASH_SET = 15;
+  // Java serialization up to the end of the stream
+  private static final byte JAVA = 16;
+
+  private static final byte REGISTERED_CLASS = 0;
+  private static final byte UNREGISTERED_CLASS = 1;
+
+  private final ThreadLocal<SerializationBuffer> buffers = ThreadLocal.withInitial(SerializationBuffer::new);
+  private final List<String> registeredClasses;
+  private final Map<String, Integer> classIds = new HashMap<>();
+
+  /**
+   * @param registeredClasses names of the classes which descriptors are replaced by an id
+   */
+  public CompactSerializationProtocol(List<String> registeredClasses) {
+    this.registeredClasses = new ArrayList<>(registeredClasses);
+    for (String className : this.registeredClasses) {
+      classIds.putIfAbsent(className, classIds.size());
+    }
+  }
+
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    SerializationBuffer buffer = buffers.get();
+    if (buffer.inUse) {
+      // Serialization of a nested object from a writeObject method
+      buffer = new SerializationBuffer();
+    }
+
+    buffer.inUse = true;
+    try {
+      write(object, new DataOutputStream(buffer));
+      return buffer.toByteArray();
+    } finally {
+      buffer.inUse = false;
+      buffer.reset();
+      if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+        buffers.remove();
+      }
+    }
+  }
+
+  private void write(Object object, DataOutputStream out) throws IOException {
+    if (!writeSimple(object, out)) {
+      if (object.getClass() == ArrayList.class && hasSimpleElements((Collection<?>) object)) {
+        out.writeByte(ARRAY_LIST);
+        writeElements((Collection<?>) object, out);
+      } else if (object.getClass() == HashSet.class && hasSimpleElements((Collection<?>) object)) {
+        out.writeByte(HASH_SET);
+        writeElements((Collection<?>) object, out);
+      } else if (object.getClass() == HashMap.class && hasSimpleEntries((Map<?, ?>) object)) {
+        out.writeByte(HASH_MAP);
+        writeEntries((Map<?, ?>) object, out);
+      } else if (object.getClass() == LinkedHashMap.class && hasSimpleEntries((Map<?, ?>) object)) {
+        out.writeByte(LINKED_HASH_MAP);
+        writeEntries((Map<?, ?>) object, out);
+      } else {
+        writeJava(object, out);
+      }
+    }
+  }
+
+  /**
+   * Writes values that can't hold references to other objects
+   *
+   * @return whether the value was written
+   */
+  private boolean writeSimple(Object object, DataOutputStream out) throws IOException {
+    if (object == null) {
+      out.writeByte(NULL);
+    } else if (object instanceof String) {
+      out.writeByte(STRING);
+      writeBytes(((String) object).getBytes(UTF_8), out);
+    } else if (object instanceof byte[]) {
+      out.writeByte(BYTE_ARRAY);
+      writeBytes((byte[]) object, out);
+    } else if (object instanceof Integer) {
+      out.writeByte(INTEGER);
+      writeVarLong((Integer) object, out);
+    } else if (object instanceof Long) {
+      out.writeByte(LONG);
+      writeVarLong((Long) object, out);
+    } else if (object instanceof Boolean) {
+      out.writeByte((Boolean) object ? TRUE : FALSE);
+    } else if (object instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) object);
+    } else if (object instanceof Float) {
+      out.writeByte(FLOAT);
+      out.writeFloat((Float) object);
+    } else if (object instanceof Short) {
+      out.writeByte(SHORT);
+      out.writeShort((Short) object);
+    } else if (object instanceof Byte) {
+      out.writeByte(BYTE);
+      out.writeByte((Byte) object);
+    } else if (object instanceof Character) {
+      out.writeByte(CHARACTER);
+      out.writeChar((Character) object);
+    } else {
+      return false;
+    }
+    return true;
+  }
+
+  private boolean isSimple(Object object) {
+    return object == null || object instanceof String || object instanceof byte[] || object instanceof Integer
+        || object instanceof Long || object instanceof Boolean || object instanceof Double || object instanceof Float
+        || object instanceof Short || object instanceof Byte || object instanceof Character;
+  }
+
+  // Collections holding other objects are written with a single ObjectOutputStream instead, so shared references and cycles
+  // within the graph are preserved
+  private boolean hasSimpleElements(Collection<?> elements) {
+    for (Object element : elements) {
+      if (!isSimple(element)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean hasSimpleEntries(Map<?, ?> entries) {
+    for (Map.Entry<?, ?> entry : entries.entrySet()) {
+      if (!isSimple(entry.getKey()) || !isSimple(entry.getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void writeElements(Collection<?> elements, DataOutputStream out) throws IOException {
+    writeVarInt(elements.size(), out);
+    for (Object element : elements) {
+      writeSimple(element, out);
+    }
+  }
+
+  private void writeEntries(Map<?, ?> entries, DataOutputStream out) throws IOException {
+    writeVarInt(entries.size(), out);
+    for (Map.Entry<?, ?> entry : entries.entrySet()) {
+      writeSimple(entry.getKey(), out);
+      writeSimple(entry.getValue(), out);
+    }
+  }
+
+  private void writeJava(Object object, DataOutputStream out) throws IOException {
+    if (!(object instanceof Serializable)) {
+      throw new SerializationException(String.format("Was expecting a Serializable type. %s was found instead",
+                                                     object.getClass().getName()));
+    }
+
+    out.writeByte(JAVA);
+    writeObject(object, out);
+  }
+
+  private void writeObject(Object object, OutputStream out) throws IOException {
+    final ObjectOutputStream objectOut = new RegisteredClassesObjectOutputStream(out);
+    objectOut.writeObject(object);
+    objectOut.flush();
+  }
+
+  private void writeBytes(byte[] bytes, DataOutputStream out) throws IOException {
+    writeVarInt(bytes.length, out);
+    out.write(bytes);
+  }
+
+  private void writeVarInt(int value, DataOutputStream out) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  private void writeVarLong(long value, DataOutputStream out) throws IOException {
+    // Zig-zag encoding, so small negative numbers also take few bytes
+    long zigZag = (value << 1) ^ (value >> 63);
+    while ((zigZag & ~0x7FL) != 0) {
+      out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+      zigZag >>>= 7;
+    }
+    out.writeByte((int) zigZag);
+  }
+
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    return (T) read(new DataInputStream(inputStream), classLoader);
+  }
+
+  private Object read(DataInputStream in, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+    final byte type = in.readByte();
+    switch (type) {
+      case NULL:
+        return null;
+      case STRING:
+        return new String(readBytes(in), UTF_8);
+      case BYTE_ARRAY:
+        return readBytes(in);
+      case INTEGER:
+        return (int) readVarLong(in);
+      case LONG:
+        return readVarLong(in);
+      case TRUE:
+        return true;
+      case FALSE:
+        return false;
+      case DOUBLE:
+        return in.readDouble();
+      case FLOAT:
+        return in.readFloat();
+      case SHORT:
+        return in.readShort();
+      case BYTE:
+        return in.readByte();
+      case CHARACTER:
+        return in.readChar();
+      case ARRAY_LIST:
+        return readElements(new ArrayList<>(), in, classLoader);
+      case HASH_SET:
+        return readElements(new HashSet<>(), in, classLoader);
+      case HASH_MAP:
+        return readEntries(new HashMap<>(), in, classLoader);
+      case LINKED_HASH_MAP:
+        return readEntries(new LinkedHashMap<>(), in, classLoader);
+      case JAVA:
+        return readObject(in, classLoader);
+      default:
+        throw new StreamCorruptedException("Unknown type " + type);
+    }
+  }
+
+  private Collection<Object> readElements(Collection<Object> elements, DataInputStream in, ClassLoader classLoader)
+      throws IOException, ClassNotFoundException {
+    final int size = readVarInt(in);
+    for (int i = 0; i < size; ++i) {
+      elements.add(read(in, classLoader));
+    }
+    return elements;
+  }
+
+  private Map<Object, Object> readEntries(Map<Object, Object> entries, DataInputStream in, ClassLoader classLoader)
+      throws IOException, ClassNotFoundException {
+    final int size = readVarInt(in);
+    for (int i = 0; i < size; ++i) {
+      entries.put(read(in, classLoader), read(in, classLoader));
+    }
+    return entries;
+  }
+
+  private Object readObject(InputStream in, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+    return new RegisteredClassesObjectInputStream(classLoader, in).readObject();
+  }
+
+  private byte[] readBytes(DataInputStream in) throws IOException {
+    final byte[] bytes = new byte[readVarInt(in)];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private int readVarInt(DataInputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      final int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new StreamCorruptedException("Malformed variable length integer");
+  }
+
+  private long readVarLong(DataInputStream in) throws IOException {
+    long zigZag = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final int b = in.readUnsignedByte();
+      zigZag |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+      }
+    }
+    throw new StreamCorruptedException("Malformed variable length long");
+  }
+
+  /**
+   * @return the names of the classes which descriptors are replaced by an id, the id being the position in the list.
+   */
+  public List<String> getRegisteredClasses() {
+    return registeredClasses;
+  }
+
+  /**
+   * Writes the id of the registered classes instead of their full descriptor
+   */
+  private class RegisteredClassesObjectOutputStream extends ObjectOutputStream {
+
+    RegisteredClassesObjectOutputStream(OutputStream out) throws IOException {
+      super(out);
+    }
+
+    @Override
+    protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+      final Integer classId = classIds.get(desc.getName());
+      if (classId != null) {
+        writeByte(REGISTERED_CLASS);
+        writeShort(classId);
+        writeLong(desc.getSerialVersionUID());
+      } else {
+        writeByte(UNREGISTERED_CLASS);
+        super.writeClassDescriptor(desc);
+      }
+    }
+  }
+
+  /**
+   * Resolves the ids written by {@link RegisteredClassesObjectOutputStream} using the local descriptor of the class
+   */
+  private class RegisteredClassesObjectInputStream extends ClassLoaderObjectInputStream {
+
+    private final ClassLoader classLoader;
+
+    RegisteredClassesObjectInputStream(ClassLoader classLoader, InputStream in) throws IOException {
+      super(classLoader, in);
+      this.classLoader = classLoader;
+    }
+
+    @Override
+    protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+      if (readByte() == UNREGISTERED_CLASS) {
+        return super.readClassDescriptor();
+      }
+
+      final int classId = readUnsignedShort();
+      final long serialVersionUID = readLong();
+      if (classId >= registeredClasses.size()) {
+        throw new StreamCorruptedException("Unknown class id " + classId);
+      }
+      final String className = registeredClasses.get(classId);
+      final ObjectStreamClass desc = ObjectStreamClass.lookup(Class.forName(className, false, classLoader));
+      if (desc == null || desc.getSerialVersionUID() != serialVersionUID) {
+        throw new InvalidClassException(className, "local class incompatible with the serialized one");
+      }
+      return desc;
+    }
+  }
+
+  /**
+   * Serialization buffer which is reused by a thread
+   */
+  private static class SerializationBuffer extends ByteArrayOutputStream {
+
+    private boolean inUse;
+
+    SerializationBuffer() {
+      super(INITIAL_BUFFER_SIZE);
+    }
+
+    int capacity() {
+      return buf.length;
+    }
+  }
+}
@@ -11,6 +11,8 @@ import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.api.el.ExpressionLanguage;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.el.mvel.MVELExpressionLanguage;
+import org.mule.runtime.core.el.mvel.PrecompiledExpression;
 import org.mule.runtime.core.metadata.DefaultTypedValue;
 
 import java.util.regex.Pattern;
@@ -30,6 +32,8 @@ public class AttributeEvaluator {
   private final String attributeValue;
   private ExpressionLanguage expressionLanguage;
   private AttributeType attributeType;
+  private MVELExpressionLanguage precompilingExpressionLanguage;
+  private volatile PrecompiledExpression precompiledExpression;
 
   public AttributeEvaluator(String attributeValue) {
     this.attributeValue = attributeValue;
@@ -38,9 +42,26 @@ public class AttributeEvaluator {
   public AttributeEvaluator initialize(final ExpressionLanguage expressionLanguage) {
     this.expressionLanguage = expressionLanguage;
     resolveAttributeType();
+    if (isExpression() && expressionLanguage instanceof MVELExpressionLanguage
+        && ((MVELExpressionLanguage) expressionLanguage).isPrecompileExpressions()) {
+      precompilingExpressionLanguage = (MVELExpressionLanguage) expressionLanguage;
+    }
     return this;
   }
 
+  /**
+   * Compiled on first use rather than on {@link #initialize(ExpressionLanguage)} so invalid expressions keep failing when
+   * evaluated.
+   */
+  private PrecompiledExpression getPrecompiledExpression() {
+    PrecompiledExpression expression = precompiledExpression;
+    if (expression == null) {
+      expression = precompilingExpressionLanguage.precompile(attributeValue);
+      precompiledExpression = expression;
+    }
+    return expression;
+  }
+
   private void resolveAttributeType() {
     if (attributeValue != null && SINGLE_EXPRESSION_REGEX_PATTERN.matcher(attributeValue).matches()) {
       this.attributeType = AttributeType.EXPRESSION;
@@ -69,7 +90,9 @@ public class AttributeEvaluator {
   }
 
   public DefaultTypedValue resolveTypedValue(Event event, Event.Builder eventBuilder) {
-    if (isExpression()) {
+    if (precompilingExpressionLanguage != null) {
+      return precompilingExpressionLanguage.evaluateTyped(getPrecompiledExpression(), event, eventBuilder, null);
+    } else if (isExpression()) {
       return expressionLanguage.evaluateTyped(attributeValue, event, eventBuilder, null);
     } else if (isParseExpression()) {
       final String value = expressionLanguage.parse(attributeValue, event, null);
@@ -81,7 +104,9 @@ public class AttributeEvaluator {
   }
 
   public Object resolveValue(Event event) {
-    if (isExpression()) {
+    if (precompilingExpressionLanguage != null) {
+      return precompilingExpressionLanguage.evaluate(getPrecompiledExpression(), event, Event.builder(event), null);
+    } else if (isExpression()) {
       return expressionLanguage.evaluate(attributeValue, event, null);
     } else if (isParseExpression()) {
       return expressionLanguage.parse(attributeValue, event, null);
@@ -6,130 +6,170 @@
  */
 package org.mule.runtime.core.util.lock;
 
-import java.util.HashMap;
-import java.util.Map;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
 
 /**
  * {@link LockGroup} implementation for holding references to created locks inside a mule instance.
+ * <p/>
+ * Locks are kept in a concurrent map while referenced, that is, while held or waited for. Creating, referencing and releasing
+ * them only synchronizes on the map's bin for the lock id, so operations over unrelated locks don't contend with each other. Each
+ * lock keeps its own {@link LockStatistics} while referenced, which are also added to the ones of the whole group.
  */
 public class InstanceLockGroup implements LockGroup {
 
-  private Map<String, LockEntry> locks;
-  private Object lockAccessMonitor = new Object();
+  private final ConcurrentMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+  private final LockStatistics statistics = new LockStatistics();
   private LockProvider lockProvider;
 
   public InstanceLockGroup(LockProvider lockProvider) {
     this.lockProvider = lockProvider;
-    this.locks = new HashMap<String, LockEntry>();
   }
 
   @Override
   public void lock(String lockId) {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
-      }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
-    lockEntry.getLock().lock();
+    acquire(lockId, lock -> {
+      lock.lock();
+      return true;
+    });
   }
 
   @Override
   public void unlock(String key) {
-    synchronized (lockAccessMonitor) {
-      LockEntry lockEntry = locks.get(key);
-      if (lockEntry != null) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(key);
-        }
-        lockEntry.getLock().unlock();
-      }
-      lockAccessMonitor.notifyAll();
+    LockEntry lockEntry = locks.get(key);
+    if (lockEntry != null) {
+      lockEntry.getLock().unlock();
+      release(key, lockEntry);
     }
   }
 
   @Override
   public boolean tryLock(String lockId, long timeout, TimeUnit timeUnit) throws InterruptedException {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
-      }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
-    boolean lockAcquired = lockEntry.getLock().tryLock(timeout, timeUnit);
-    if (!lockAcquired) {
-      synchronized (lockAccessMonitor) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(lockId);
-        }
-      }
-    }
-    return lockAcquired;
+    return acquire(lockId, lock -> lock.tryLock(timeout, timeUnit));
   }
 
   @Override
   public boolean tryLock(String lockId) {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
+    // Like Lock.tryLock(), barges on fair locks and ignores interruption. It never waits, so no wait is recorded.
+    return acquire(lockId, Lock::tryLock, null);
+  }
+
+  @Override
+  public void lockInterruptibly(String lockId) throws InterruptedException {
+    acquire(lockId, lock -> {
+      lock.lockInterruptibly();
+      return true;
+    });
+  }
+
+  private <E extends Exception> boolean acquire(String lockId, ContendedAcquisition<E> contendedAcquisition) throws E {
+    return acquire(lockId, this::tryLockImmediately, contendedAcquisition);
+  }
+
+  /**
+   * References the lock for the given id, creating it if needed, and acquires it with {@code immediateAcquisition}, falling back
+   * to {@code contendedAcquisition}, if any, when it's not immediately available. The reference is released if the lock is not
+   * acquired.
+   */
+  private <E extends Exception> boolean acquire(String lockId, Predicate<Lock> immediateAcquisition,
+                                                ContendedAcquisition<E> contendedAcquisition)
+      throws E {
+    final LockEntry lockEntry = reference(lockId);
+    boolean acquired = false;
+    try {
+      final Lock lock = lockEntry.getLock();
+      acquired = immediateAcquisition.test(lock);
+      if (!acquired && contendedAcquisition != null) {
+        final long waitStart = nanoTime();
+        try {
+          acquired = contendedAcquisition.acquire(lock);
+        } finally {
+          lockEntry.recordWait(nanoTime() - waitStart);
+        }
+      }
+      return acquired;
+    } finally {
+      if (acquired) {
+        lockEntry.recordAcquired();
       } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
+        lockEntry.recordFailed();
+        release(lockId, lockEntry);
       }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
     }
-    boolean lockAcquired = lockEntry.getLock().tryLock();
-    if (!lockAcquired) {
-      synchronized (lockAccessMonitor) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(lockId);
-        }
-      }
+  }
+
+  private boolean tryLockImmediately(Lock lock) {
+    try {
+      // Unlike tryLock(), a timed tryLock honors the fairness of the lock
+      return lock.tryLock(0, NANOSECONDS);
+    } catch (InterruptedException e) {
+      // Let the contended acquisition decide how to handle the interruption
+      currentThread().interrupt();
+      return false;
     }
-    return lockAcquired;
   }
 
-  @Override
-  public void lockInterruptibly(String lockId) throws InterruptedException {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
+  private LockEntry reference(String lockId) {
+    return locks.compute(lockId, (id, lockEntry) -> {
+      if (lockEntry == null) {
+        lockEntry = new LockEntry(lockProvider.createLock(id), statistics);
       }
       lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
-    lockEntry.getLock().lockInterruptibly();
+      return lockEntry;
+    });
+  }
+
+  private void release(String lockId, LockEntry lockEntry) {
+    locks.computeIfPresent(lockId, (id, currentEntry) -> {
+      if (currentEntry != lockEntry) {
+        // The group was disposed while the lock was referenced
+        return currentEntry;
+      }
+      currentEntry.decrementLockCount();
+      return currentEntry.hasPendingLocks() ? currentEntry : null;
+    });
+  }
+
+  @Override
+  public Optional<LockStatistics> getStatistics() {
+    return Optional.of(statistics);
+  }
+
+  @Override
+  public Optional<LockStatistics> getStatistics(String lockId) {
+    LockEntry lockEntry = locks.get(lockId);
+    return lockEntry != null ? Optional.of(lockEntry.getStatistics()) : Optional.empty();
+  }
+
+  @FunctionalInterface
+  private interface ContendedAcquisition<E extends Exception> {
+
+    boolean acquire(Lock lock) throws E;
   }
 
   public static class LockEntry {
 
     private AtomicInteger lockCount = new AtomicInteger(0);
     private Lock lock;
+    private final LockStatistics statistics = new LockStatistics();
+    private final LockStatistics groupStatistics;
 
     public LockEntry(Lock lock) {
+      this(lock, null);
+    }
+
+    private LockEntry(Lock lock, LockStatistics groupStatistics) {
       this.lock = lock;
+      this.groupStatistics = groupStatistics;
     }
 
     public Lock getLock() {
@@ -147,12 +187,38 @@ public class InstanceLockGroup implements LockGroup {
     public boolean hasPendingLocks() {
       return lockCount.get() > 0;
     }
+
+    /**
+     * @return the statistics of this lock since it was created
+     */
+    public LockStatistics getStatistics() {
+      return statistics;
+    }
+
+    private void recordAcquired() {
+      statistics.recordAcquired();
+      if (groupStatistics != null) {
+        groupStatistics.recordAcquired();
+      }
+    }
+
+    private void recordFailed() {
+      statistics.recordFailed();
+      if (groupStatistics != null) {
+        groupStatistics.recordFailed();
+      }
+    }
+
+    private void recordWait(long waitNanos) {
+      statistics.recordWait(waitNanos);
+      if (groupStatistics != null) {
+        groupStatistics.recordWait(waitNanos);
+      }
+    }
   }
 
   @Override
   public void dispose() {
-    synchronized (lockAccessMonitor) {
-      locks.clear();
-    }
+    locks.clear();
   }
 }
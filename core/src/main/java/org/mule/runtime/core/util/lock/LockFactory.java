@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.util.lock;
 
+import java.util.Optional;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -28,4 +29,24 @@ public interface LockFactory {
    */
   Lock createLock(String lockId);
 
+  /**
+   * Provides the acquisition and contention statistics of every lock created by this factory.
+   *
+   * @return the {@link LockStatistics}, or an empty {@link Optional} if this factory doesn't keep them
+   */
+  default Optional<LockStatistics> getLockStatistics() {
+    return Optional.empty();
+  }
+
+  /**
+   * Provides the acquisition and contention statistics of the lock for a certain lockId. Locks which are not held or waited for
+   * may be discarded along with their statistics.
+   *
+   * @param lockId Id of the lock
+   * @return the {@link LockStatistics}, or an empty {@link Optional} if this factory doesn't keep them for the lockId
+   */
+  default Optional<LockStatistics> getLockStatistics(String lockId) {
+    return Optional.empty();
+  }
+
 }
@@ -8,6 +8,7 @@ package org.mule.runtime.core.util.lock;
 
 import org.mule.runtime.core.api.lifecycle.Disposable;
 
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -39,4 +40,20 @@ public interface LockGroup extends Disposable {
   boolean tryLock(String lockId);
 
   void lockInterruptibly(String lockId) throws InterruptedException;
+
+  /**
+   * @return the statistics of every lock in this group, if this group keeps them
+   */
+  default Optional<LockStatistics> getStatistics() {
+    return Optional.empty();
+  }
+
+  /**
+   * @param lockId id of the lock
+   * @return the statistics of the lock identified with lockId, if this group keeps them and the lock is currently held or waited
+   *         for
+   */
+  default Optional<LockStatistics> getStatistics(String lockId) {
+    return Optional.empty();
+  }
 }
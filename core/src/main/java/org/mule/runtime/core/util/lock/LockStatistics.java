@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.lock;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acquisition and contention statistics of one or many locks.
+ * <p/>
+ * An acquisition is contended when the lock was not immediately available, in which case the time the thread spent waiting for
+ * it is recorded, whether it finally got the lock or not.
+ *
+ * @since 4.0
+ */
+public final class LockStatistics {
+
+  private final LongAdder acquiredCount = new LongAdder();
+  private final LongAdder contendedCount = new LongAdder();
+  private final LongAdder failedCount = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+
+  void recordAcquired() {
+    acquiredCount.increment();
+  }
+
+  void recordFailed() {
+    failedCount.increment();
+  }
+
+  void recordWait(long waitNanos) {
+    contendedCount.increment();
+    totalWaitNanos.add(waitNanos);
+    long max = maxWaitNanos.get();
+    while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+      max = maxWaitNanos.get();
+    }
+  }
+
+  /**
+   * @return the amount of times the lock was acquired.
+   */
+  public long getAcquiredCount() {
+    return acquiredCount.sum();
+  }
+
+  /**
+   * @return the amount of times the lock was not immediately available.
+   */
+  public long getContendedCount() {
+    return contendedCount.sum();
+  }
+
+  /**
+   * @return the amount of times the lock could not be acquired, either because a {@code tryLock} timed out or the waiting
+   *         thread was interrupted.
+   */
+  public long getFailedCount() {
+    return failedCount.sum();
+  }
+
+  /**
+   * @param unit the unit in which to return the time
+   * @return the total time threads spent waiting for the lock.
+   */
+  public long getTotalWaitTime(TimeUnit unit) {
+    return unit.convert(totalWaitNanos.sum(), NANOSECONDS);
+  }
+
+  /**
+   * @param unit the unit in which to return the time
+   * @return the longest time a thread spent waiting for the lock.
+   */
+  public long getMaxWaitTime(TimeUnit unit) {
+    return unit.convert(maxWaitNanos.get(), NANOSECONDS);
+  }
+}
@@ -13,6 +13,7 @@ import org.mule.runtime.core.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 
+import java.util.Optional;
 import java.util.concurrent.locks.Lock;
 
 public class MuleLockFactory implements LockFactory, MuleContextAware, Initialisable, Disposable {
@@ -25,6 +26,16 @@ public class MuleLockFactory implements LockFactory, MuleContextAware, Initialis
     return new LockAdapter(lockId, lockGroup);
   }
 
+  @Override
+  public Optional<LockStatistics> getLockStatistics() {
+    return lockGroup.getStatistics();
+  }
+
+  @Override
+  public Optional<LockStatistics> getLockStatistics(String lockId) {
+    return lockGroup.getStatistics(lockId);
+  }
+
   @Override
   public void dispose() {
     lockGroup.dispose();
@@ -6,17 +6,38 @@
  */
 package org.mule.runtime.core.util.lock;
 
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * {@link LockProvider} implementation for applications running in a single mule server
+ * <p/>
+ * Locks are fair by default, granting access to the longest waiting thread. Unfair locks give a higher throughput under
+ * contention, and can be used instead by setting the {@link #FAIR_LOCKS_PROPERTY} system property to {@code false}.
  */
 public class SingleServerLockProvider implements LockProvider {
 
+  public static final String FAIR_LOCKS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lock.fair";
+
+  private final boolean fair;
+
+  public SingleServerLockProvider() {
+    this(Boolean.parseBoolean(System.getProperty(FAIR_LOCKS_PROPERTY, "true")));
+  }
+
+  /**
+   * @param fair whether the created locks use a fair ordering policy
+   * @since 4.0
+   */
+  public SingleServerLockProvider(boolean fair) {
+    this.fair = fair;
+  }
+
   @Override
   public Lock createLock(String lockId) {
-    return new ReentrantLock(true);
+    return new ReentrantLock(fair);
   }
 
 }
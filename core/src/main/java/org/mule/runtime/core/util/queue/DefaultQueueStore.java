@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.util.queue;
 
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_PERSISTENT_QUEUE_STORE;
+
 import org.mule.runtime.core.api.MuleContext;
 
 import java.io.Serializable;
@@ -17,6 +19,13 @@ import org.apache.commons.lang.NotImplementedException;
  */
 public class DefaultQueueStore implements RecoverableQueueStore {
 
+  /**
+   * Value of the {@link org.mule.runtime.core.api.config.MuleProperties#MULE_PERSISTENT_QUEUE_STORE} system property that makes
+   * persistent queues use a {@link SegmentedLogQueueStoreDelegate}. Otherwise a {@link DualRandomAccessFileQueueStoreDelegate}
+   * is used.
+   */
+  public static final String SEGMENTED_LOG_QUEUE_STORE = "segmentedLog";
+
   private QueueConfiguration config;
   private String name;
   private QueueStoreDelegate delegate;
@@ -40,7 +49,11 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     if (this.config == null) {
       this.config = new DefaultQueueConfiguration();
     }
-    if (this.config.isPersistent()) {
+    if (this.config.isPersistent()
+        && SEGMENTED_LOG_QUEUE_STORE.equals(System.getProperty(MULE_PERSISTENT_QUEUE_STORE))) {
+      delegate = new SegmentedLogQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(), muleContext,
+                                                    this.config.getCapacity());
+    } else if (this.config.isPersistent()) {
       delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
                                                             muleContext, this.config.getCapacity());
     } else {
@@ -0,0 +1,585 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.util.FileUtils;
+import org.mule.runtime.core.util.Preconditions;
+import org.mule.runtime.core.util.concurrent.DaemonThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation backed by an append-only log split in memory-mapped segments.
+ * <p/>
+ * Every element is appended to the current segment together with a sequence number, and an in-memory index keeps the queue
+ * order and the location of each element, so {@link #contains(Serializable)} and {@link #remove(Serializable)} do not need to
+ * scan and deserialize the whole store. Removing an element only flags its record in the segment.
+ * <p/>
+ * Elements are indexed by their {@code hashCode()}, and {@link #contains(Serializable)} and {@link #remove(Serializable)}
+ * deserialize the elements with the same hash and compare them using {@code equals()}. Elements recovered from disk are only
+ * deserialized to be indexed the first time one of those methods is used.
+ * <p/>
+ * Segments are synced to disk in groups every {@link #SYNC_INTERVAL_PROPERTY_KEY} milliseconds by a background task of the
+ * store, which also deletes fully consumed segments and compacts the ones with few remaining live elements. The task is stopped
+ * when the store is closed. A sync interval of {@code 0} makes every write to be synced before returning.
+ */
+public class SegmentedLogQueueStoreDelegate extends AbstractQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  public static final String SEGMENT_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.segmentSize";
+  public static final String SYNC_INTERVAL_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.syncIntervalMillis";
+
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String SEGMENT_FILE_PREFIX = "segment-";
+  private static final int FOUR_MEGABYTES = 4 * 1024 * 1024;
+  private static final double COMPACTION_THRESHOLD = 0.5;
+
+  private static final byte LIVE = 1;
+  private static final byte REMOVED = 2;
+  // payload length + status + sequence
+  private static final int RECORD_HEADER_SIZE = 4 + 1 + 8;
+
+  protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final ObjectSerializer serializer;
+  private final File directory;
+  private final int segmentSize;
+  private final long syncInterval;
+
+  private final TreeMap<Long, Segment> segments = new TreeMap<>();
+  // Queue order, as a list linked through the records themselves so any of them is unlinked in constant time
+  private Record head;
+  private Record tail;
+  private int count = 0;
+  private final Map<Integer, List<Record>> recordsByHash = new HashMap<>();
+  // Recovered records which hash is not known until they are deserialized
+  private final LinkedHashSet<Record> unindexedRecords = new LinkedHashSet<>();
+  private Segment writeSegment;
+  private long firstSequence = 0;
+  private long lastSequence = -1;
+
+  private ScheduledExecutorService maintenanceExecutor;
+
+  public SegmentedLogQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    super(capacity);
+    this.serializer = muleContext.getObjectSerializer();
+    this.segmentSize = Integer.valueOf(System.getProperty(SEGMENT_SIZE_PROPERTY_KEY, String.valueOf(FOUR_MEGABYTES)));
+    this.syncInterval = Long.valueOf(System.getProperty(SYNC_INTERVAL_PROPERTY_KEY, "10"));
+    this.directory = getQueueDirectory(queueName, workingDirectory);
+    if (!directory.exists()) {
+      Preconditions.checkState(directory.mkdirs(), "Could not create queue store directory " + directory.getAbsolutePath());
+    }
+
+    try {
+      loadSegments();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+
+    if (syncInterval > 0) {
+      maintenanceExecutor = newSingleThreadScheduledExecutor(new DaemonThreadFactory("queue-store-maintenance-" + queueName));
+      maintenanceExecutor.scheduleWithFixedDelay(this::maintain, syncInterval, syncInterval, MILLISECONDS);
+    }
+
+    if (logger.isDebugEnabled()) {
+      logger.debug(String.format("Queue %s has %s messages in %s segments", queueName, count, segments.size()));
+    }
+  }
+
+  private static File getQueueDirectory(String queueName, String workingDirectory) {
+    return new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY,
+                    new BigInteger(1, queueName.getBytes(UTF_8)).toString(16) + "-log");
+  }
+
+  private void loadSegments() throws IOException {
+    final File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_FILE_PREFIX));
+    final List<Record> loaded = new ArrayList<>();
+    if (files != null) {
+      for (File file : files) {
+        final Segment segment = new Segment(Long.parseLong(file.getName().substring(SEGMENT_FILE_PREFIX.length()), 16), file,
+                                            (int) Math.max(file.length(), segmentSize));
+        segments.put(segment.id, segment);
+        loaded.addAll(segment.recover());
+      }
+    }
+
+    Collections.sort(loaded, Comparator.comparingLong(record -> record.sequence));
+    for (Record record : loaded) {
+      if (tail != null && tail.sequence == record.sequence) {
+        // A compaction was interrupted before the original copy was flagged
+        record.segment.markRemoved(record);
+        continue;
+      }
+      link(record, false);
+      unindexedRecords.add(record);
+    }
+    if (head != null) {
+      firstSequence = head.sequence;
+      lastSequence = tail.sequence;
+    }
+
+    writeSegment = segments.isEmpty() ? newSegment(segmentSize) : segments.lastEntry().getValue();
+  }
+
+  @Override
+  protected void add(Serializable item) {
+    append(serializer.getInternalProtocol().serialize(item), item.hashCode(), ++lastSequence, false);
+  }
+
+  @Override
+  protected void addFirst(Serializable item) throws InterruptedException {
+    append(serializer.getInternalProtocol().serialize(item), item.hashCode(), --firstSequence, true);
+  }
+
+  @Override
+  protected boolean doAddAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      add(item);
+    }
+    return true;
+  }
+
+  private void append(byte[] payload, int hash, long sequence, boolean first) {
+    if (head == null) {
+      firstSequence = sequence;
+      lastSequence = sequence;
+    }
+    if (writeSegment.remaining() < RECORD_HEADER_SIZE + payload.length) {
+      writeSegment = newSegment(Math.max(segmentSize, RECORD_HEADER_SIZE + payload.length + 4));
+    }
+    final Record record = writeSegment.write(payload, sequence);
+    record.hash = hash;
+    link(record, first);
+    addToIndex(record);
+    if (syncInterval <= 0) {
+      writeSegment.sync();
+    }
+  }
+
+  @Override
+  protected Serializable getFirst() throws InterruptedException {
+    return head == null ? null : deserialize(head.read());
+  }
+
+  @Override
+  protected Serializable removeFirst() throws InterruptedException {
+    if (head == null) {
+      return null;
+    }
+    final Record record = head;
+    final Serializable value = deserialize(record.read());
+    discard(record);
+    return value;
+  }
+
+  @Override
+  protected int size() {
+    return count;
+  }
+
+  @Override
+  protected boolean isEmpty() {
+    return head == null;
+  }
+
+  @Override
+  protected void doClear() {
+    for (Segment segment : segments.values()) {
+      segment.delete();
+    }
+    segments.clear();
+    unlinkAll();
+    recordsByHash.clear();
+    unindexedRecords.clear();
+    writeSegment = newSegment(segmentSize);
+  }
+
+  @Override
+  public synchronized void remove(Serializable value) {
+    final Record record = find(value);
+    if (record != null) {
+      discard(record);
+    }
+  }
+
+  @Override
+  public synchronized boolean contains(Serializable value) {
+    return find(value) != null;
+  }
+
+  /**
+   * @return all the elements in the queue, in order.
+   */
+  public synchronized Collection<Serializable> allElements() {
+    List<Serializable> elements = new ArrayList<>(count);
+    for (Record record = head; record != null; record = record.next) {
+      try {
+        elements.add(deserialize(record.read()));
+      } catch (Exception e) {
+        logger.warn("Failure trying to deserialize value " + e.getMessage());
+        if (logger.isDebugEnabled()) {
+          logger.debug("Failure trying to deserialize value", e);
+        }
+      }
+    }
+    return elements;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (maintenanceExecutor != null) {
+      maintenanceExecutor.shutdown();
+      maintenanceExecutor = null;
+    }
+    for (Segment segment : segments.values()) {
+      segment.sync();
+      segment.close();
+    }
+  }
+
+  @Override
+  public synchronized void dispose() {
+    close();
+    for (Segment segment : segments.values()) {
+      segment.delete();
+    }
+    segments.clear();
+    unlinkAll();
+    recordsByHash.clear();
+    unindexedRecords.clear();
+    FileUtils.deleteQuietly(directory);
+  }
+
+  private Record find(Serializable value) {
+    indexRecoveredRecords();
+    // Only the records with the same hash are candidates, a miss in the index means the value is not in the queue
+    final List<Record> candidates = recordsByHash.get(value.hashCode());
+    if (candidates == null) {
+      return null;
+    }
+    for (Record candidate : candidates) {
+      if (value.equals(deserialize(candidate.read()))) {
+        return candidate;
+      }
+    }
+    return null;
+  }
+
+  private void indexRecoveredRecords() {
+    for (Record record : unindexedRecords) {
+      record.hash = deserialize(record.read()).hashCode();
+      addToIndex(record);
+    }
+    unindexedRecords.clear();
+  }
+
+  private void addToIndex(Record record) {
+    recordsByHash.computeIfAbsent(record.hash, k -> new ArrayList<>(1)).add(record);
+  }
+
+  private void link(Record record, boolean first) {
+    if (head == null) {
+      head = record;
+      tail = record;
+    } else if (first) {
+      record.next = head;
+      head.prev = record;
+      head = record;
+    } else {
+      record.prev = tail;
+      tail.next = record;
+      tail = record;
+    }
+    ++count;
+  }
+
+  private void unlink(Record record) {
+    if (record.prev == null) {
+      head = record.next;
+    } else {
+      record.prev.next = record.next;
+    }
+    if (record.next == null) {
+      tail = record.prev;
+    } else {
+      record.next.prev = record.prev;
+    }
+    record.prev = null;
+    record.next = null;
+    --count;
+  }
+
+  private void unlinkAll() {
+    head = null;
+    tail = null;
+    count = 0;
+  }
+
+  private void discard(Record record) {
+    unlink(record);
+    if (!unindexedRecords.remove(record)) {
+      final List<Record> sameHash = recordsByHash.get(record.hash);
+      if (sameHash != null) {
+        sameHash.remove(record);
+        if (sameHash.isEmpty()) {
+          recordsByHash.remove(record.hash);
+        }
+      }
+    }
+    record.segment.markRemoved(record);
+    if (syncInterval <= 0) {
+      record.segment.sync();
+    }
+  }
+
+  private Serializable deserialize(byte[] bytes) {
+    return serializer.getInternalProtocol().deserialize(bytes);
+  }
+
+  private Segment newSegment(int size) {
+    final long id = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+    try {
+      final Segment segment =
+          new Segment(id, new File(directory, SEGMENT_FILE_PREFIX + String.format("%016x", id)), size);
+      segments.put(id, segment);
+      return segment;
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  /**
+   * Syncs the modified segments to disk, deletes the segments with no live elements and compacts the ones with few live
+   * elements by moving them to the current write segment.
+   * <p/>
+   * Failures are logged instead of thrown, which would cancel the following executions of the task.
+   */
+  private void maintain() {
+    try {
+      doMaintain();
+    } catch (Exception e) {
+      logger.warn("Queue store maintenance of " + directory.getAbsolutePath() + " failed, it will be retried", e);
+    }
+  }
+
+  private void doMaintain() {
+    final List<Segment> toSync = new ArrayList<>();
+    synchronized (this) {
+      final List<Segment> toCompact = new ArrayList<>();
+      final Iterator<Segment> iterator = segments.values().iterator();
+      while (iterator.hasNext()) {
+        final Segment segment = iterator.next();
+        if (segment == writeSegment) {
+          continue;
+        }
+        if (segment.live == 0) {
+          segment.delete();
+          iterator.remove();
+        } else if (segment.live < segment.written * COMPACTION_THRESHOLD) {
+          toCompact.add(segment);
+        }
+      }
+      for (Segment segment : toCompact) {
+        compact(segment);
+      }
+      for (Segment segment : segments.values()) {
+        if (segment.dirty) {
+          segment.dirty = false;
+          toSync.add(segment);
+        }
+      }
+    }
+    // Group commit, outside of the lock so producers and consumers are not blocked while syncing
+    for (Segment segment : toSync) {
+      segment.sync();
+    }
+  }
+
+  private void compact(Segment segment) {
+    for (Record record = head; record != null; record = record.next) {
+      if (record.segment == segment) {
+        final byte[] payload = record.read();
+        if (writeSegment.remaining() < RECORD_HEADER_SIZE + payload.length) {
+          writeSegment = newSegment(Math.max(segmentSize, RECORD_HEADER_SIZE + payload.length + 4));
+        }
+        final Record moved = writeSegment.write(payload, record.sequence);
+        segment.markRemoved(record);
+        record.segment = moved.segment;
+        record.position = moved.position;
+      }
+    }
+    // The moved records have to be durable before the old copies are gone
+    writeSegment.sync();
+  }
+
+  /**
+   * The location of an element in the log.
+   */
+  private static final class Record {
+
+    private Segment segment;
+    private int position;
+    private final int length;
+    private final long sequence;
+    private int hash;
+    private Record prev;
+    private Record next;
+
+    private Record(Segment segment, int position, int length, long sequence) {
+      this.segment = segment;
+      this.position = position;
+      this.length = length;
+      this.sequence = sequence;
+    }
+
+    private byte[] read() {
+      return segment.read(position, length);
+    }
+  }
+
+  /**
+   * A memory-mapped file of the log.
+   */
+  private static final class Segment {
+
+    private final long id;
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final MappedByteBuffer buffer;
+    private int written = 0;
+    private int live = 0;
+    private volatile boolean dirty = false;
+    private boolean deleted = false;
+
+    private Segment(long id, File file, int size) throws IOException {
+      this.id = id;
+      this.file = file;
+      this.randomAccessFile = new RandomAccessFile(file, "rw");
+      this.buffer = randomAccessFile.getChannel().map(READ_WRITE, 0, size);
+    }
+
+    private List<Record> recover() {
+      final List<Record> recovered = new ArrayList<>();
+      while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+        final int position = buffer.position();
+        final int length = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining() - (RECORD_HEADER_SIZE - 4)) {
+          buffer.position(position);
+          break;
+        }
+        final byte status = buffer.get();
+        final long sequence = buffer.getLong();
+        buffer.position(buffer.position() + length);
+        ++written;
+        if (status == LIVE) {
+          ++live;
+          recovered.add(new Record(this, position, length, sequence));
+        }
+      }
+      return recovered;
+    }
+
+    private int remaining() {
+      return buffer.remaining();
+    }
+
+    private Record write(byte[] payload, long sequence) {
+      final int position = buffer.position();
+      buffer.putInt(payload.length);
+      buffer.put(LIVE);
+      buffer.putLong(sequence);
+      buffer.put(payload);
+      ++written;
+      ++live;
+      dirty = true;
+      return new Record(this, position, payload.length, sequence);
+    }
+
+    private byte[] read(int position, int length) {
+      final ByteBuffer view = buffer.duplicate();
+      view.position(position + RECORD_HEADER_SIZE);
+      final byte[] payload = new byte[length];
+      view.get(payload);
+      return payload;
+    }
+
+    private void markRemoved(Record record) {
+      buffer.put(record.position + 4, REMOVED);
+      --live;
+      dirty = true;
+    }
+
+    private synchronized void sync() {
+      // Maintenance syncs outside of the store lock, so the segment may have been deleted in the meantime
+      if (!deleted) {
+        buffer.force();
+      }
+    }
+
+    private void close() {
+      try {
+        randomAccessFile.close();
+      } catch (IOException e) {
+        // Nothing to do
+      }
+    }
+
+    private synchronized void delete() {
+      close();
+      // The file cannot be deleted on some platforms while mapped, and the mapped memory is only freed on GC otherwise
+      unmap(buffer);
+      deleted = true;
+      FileUtils.deleteQuietly(file);
+    }
+  }
+
+  /**
+   * Releases the memory mapped by a buffer without waiting for it to be garbage collected. The buffer must not be used after
+   * this call.
+   */
+  private static void unmap(MappedByteBuffer buffer) {
+    try {
+      final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+      cleanerMethod.setAccessible(true);
+      final Object cleaner = cleanerMethod.invoke(buffer);
+      if (cleaner != null) {
+        cleaner.getClass().getMethod("clean").invoke(cleaner);
+      }
+    } catch (Exception e) {
+      // Not supported by this JVM, the mapping is released when the buffer is collected
+    }
+  }
+}
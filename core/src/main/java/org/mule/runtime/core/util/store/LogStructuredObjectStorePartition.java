@@ -0,0 +1,684 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.core.api.store.ObjectStoreManager.UNBOUNDED;
+import static org.mule.runtime.core.util.FileUtils.readFileToString;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.store.ObjectStoreNotAvaliableException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link PersistentPartition} that keeps all its entries in a single append-only data file.
+ * <p/>
+ * An in-memory index maps each key to the location of its value in the data file, and an expiry index keeps the entries
+ * ordered by the time they were stored, so {@link #expire(int, int)} only visits the entries that actually expire. Operations on
+ * different keys do not contend with each other: checks and updates on a key are guarded by one of a fixed set of striped locks
+ * and writes reserve their space in the data file without locking.
+ * <p/>
+ * Removed entries are kept in the data file until it is compacted, which happens during {@link #expire(int, int)} once the
+ * removed data is bigger than the live data. On {@link #close()} a snapshot of the index is written, so the next startup only has
+ * to replay the records written after it.
+ *
+ * @since 4.0
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> implements PersistentPartition<T> {
+
+  static final String DATA_FILE = "partition.log";
+  private static final String COMPACTION_FILE = "partition.log.compacting";
+  private static final String INDEX_SNAPSHOT_FILE = "partition.index";
+  private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
+
+  private static final int LOCK_STRIPES = 64;
+  private static final long COMPACTION_MIN_GARBAGE_BYTES = 1024 * 1024;
+  private static final long SNAPSHOT_INTERVAL_BYTES = 4 * 1024 * 1024;
+
+  private static final byte PUT = 1;
+  private static final byte REMOVE = 2;
+  // operation + timestamp + key length + value length
+  private static final int RECORD_HEADER_SIZE = 1 + 8 + 4 + 4;
+
+  private static final int SNAPSHOT_MAGIC = 0x4D4F5349;
+
+  protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final MuleContext muleContext;
+  private final ObjectSerializer serializer;
+  private final File partitionDirectory;
+  private String partitionName;
+
+  private final Map<Serializable, IndexEntry> index = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListSet<IndexEntry> expiryIndex =
+      new ConcurrentSkipListSet<>(Comparator.comparingLong((IndexEntry entry) -> entry.timestamp)
+          .thenComparingLong(entry -> entry.sequence));
+  private final Lock[] stripes = new Lock[LOCK_STRIPES];
+  private final ReadWriteLock dataFileLock = new ReentrantReadWriteLock();
+  private final AtomicLong writePosition = new AtomicLong();
+  private final AtomicLong garbageBytes = new AtomicLong();
+  private final AtomicLong sequence = new AtomicLong();
+  private volatile long snapshotPosition = 0;
+
+  private FileChannel dataChannel;
+  private volatile boolean loaded = false;
+
+  LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    this.muleContext = muleContext;
+    this.serializer = muleContext.getObjectSerializer();
+    this.partitionName = partitionName;
+    this.partitionDirectory = partitionDirectory;
+    for (int i = 0; i < LOCK_STRIPES; ++i) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory) throws ObjectStoreNotAvaliableException {
+    this(muleContext, readPartitionFileName(partitionDirectory), partitionDirectory);
+  }
+
+  private static String readPartitionFileName(File partitionDirectory) throws ObjectStoreNotAvaliableException {
+    try {
+      return readFileToString(new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE));
+    } catch (IOException e) {
+      throw new ObjectStoreNotAvaliableException(e);
+    }
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    if (!partitionDirectory.exists() && !partitionDirectory.mkdirs()) {
+      throw new ObjectStoreException(CoreMessages.failedToCreate("object store directory "
+          + partitionDirectory.getAbsolutePath()));
+    }
+    File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+    try {
+      if (partitionDescriptorFile.exists()) {
+        partitionName = readPartitionFileName(partitionDirectory);
+      } else {
+        try (FileWriter fileWriter = new FileWriter(partitionDescriptorFile, false)) {
+          fileWriter.write(partitionName);
+        }
+      }
+      if (dataChannel == null) {
+        dataChannel = openDataChannel(new File(partitionDirectory, DATA_FILE));
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws ObjectStoreException {
+    if (dataChannel == null) {
+      return;
+    }
+    Lock lock = dataFileLock.writeLock();
+    lock.lock();
+    try {
+      if (loaded) {
+        dataChannel.force(false);
+        writeIndexSnapshot();
+      }
+      dataChannel.close();
+      dataChannel = null;
+      loaded = false;
+      index.clear();
+      expiryIndex.clear();
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public List<Serializable> allKeys() throws ObjectStoreException {
+    assureLoaded();
+    return Collections.unmodifiableList(new ArrayList<>(index.keySet()));
+  }
+
+  @Override
+  public boolean contains(Serializable key) throws ObjectStoreException {
+    assureLoaded();
+    return index.containsKey(key);
+  }
+
+  @Override
+  public void store(Serializable key, T value) throws ObjectStoreException {
+    assureLoaded();
+
+    final byte[] keyBytes = serializer.getInternalProtocol().serialize(key);
+    final byte[] valueBytes = serializer.getInternalProtocol().serialize(value);
+
+    Lock dataLock = dataFileLock.readLock();
+    dataLock.lock();
+    try {
+      Lock keyLock = stripeFor(key);
+      keyLock.lock();
+      try {
+        if (index.containsKey(key)) {
+          throw new ObjectAlreadyExistsException();
+        }
+        final long timestamp = System.currentTimeMillis();
+        final long offset = append(PUT, timestamp, keyBytes, valueBytes);
+        final IndexEntry entry =
+            new IndexEntry(key, offset, keyBytes.length, valueBytes.length, timestamp, sequence.incrementAndGet());
+        index.put(key, entry);
+        expiryIndex.add(entry);
+      } finally {
+        keyLock.unlock();
+      }
+    } finally {
+      dataLock.unlock();
+    }
+  }
+
+  @Override
+  public T retrieve(Serializable key) throws ObjectStoreException {
+    assureLoaded();
+
+    Lock dataLock = dataFileLock.readLock();
+    dataLock.lock();
+    try {
+      return readValue(getEntry(key));
+    } finally {
+      dataLock.unlock();
+    }
+  }
+
+  @Override
+  public T remove(Serializable key) throws ObjectStoreException {
+    assureLoaded();
+
+    Lock dataLock = dataFileLock.readLock();
+    dataLock.lock();
+    try {
+      Lock keyLock = stripeFor(key);
+      keyLock.lock();
+      try {
+        final IndexEntry entry = getEntry(key);
+        final T value = readValue(entry);
+        removeEntry(entry);
+        return value;
+      } finally {
+        keyLock.unlock();
+      }
+    } finally {
+      dataLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    Lock lock = dataFileLock.writeLock();
+    lock.lock();
+    try {
+      index.clear();
+      expiryIndex.clear();
+      new File(partitionDirectory, INDEX_SNAPSHOT_FILE).delete();
+      if (dataChannel != null) {
+        dataChannel.truncate(0);
+      }
+      writePosition.set(0);
+      garbageBytes.set(0);
+      snapshotPosition = 0;
+    } catch (IOException e) {
+      throw new ObjectStoreException(CoreMessages.createStaticMessage("Could not clear ObjectStore"), e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public void expire(int entryTTL, int maxEntries) throws ObjectStoreException {
+    assureLoaded();
+
+    Lock dataLock = dataFileLock.readLock();
+    dataLock.lock();
+    try {
+      if (maxEntries != UNBOUNDED) {
+        int excess = index.size() - maxEntries;
+        final Iterator<IndexEntry> oldest = expiryIndex.iterator();
+        while (excess > 0 && oldest.hasNext()) {
+          if (tryRemove(oldest.next())) {
+            --excess;
+          }
+        }
+      }
+
+      if (entryTTL != UNBOUNDED) {
+        final long now = System.currentTimeMillis();
+        final Iterator<IndexEntry> oldest = expiryIndex.iterator();
+        while (oldest.hasNext()) {
+          final IndexEntry entry = oldest.next();
+          if (now - entry.timestamp < entryTTL) {
+            break;
+          }
+          tryRemove(entry);
+        }
+      }
+    } finally {
+      dataLock.unlock();
+    }
+
+    if (garbageBytes.get() > COMPACTION_MIN_GARBAGE_BYTES && garbageBytes.get() > writePosition.get() / 2) {
+      compact();
+    } else if (writePosition.get() - snapshotPosition > SNAPSHOT_INTERVAL_BYTES) {
+      Lock lock = dataFileLock.writeLock();
+      lock.lock();
+      try {
+        writeIndexSnapshot();
+      } catch (IOException e) {
+        logger.warn("Could not write the index snapshot of ObjectStore partition " + partitionName, e);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public String getPartitionName() {
+    return partitionName;
+  }
+
+  private boolean tryRemove(IndexEntry entry) throws ObjectStoreException {
+    Lock keyLock = stripeFor(entry.key);
+    keyLock.lock();
+    try {
+      if (index.get(entry.key) != entry) {
+        return false;
+      }
+      removeEntry(entry);
+      return true;
+    } finally {
+      keyLock.unlock();
+    }
+  }
+
+  private void removeEntry(IndexEntry entry) throws ObjectStoreException {
+    final byte[] keyBytes = serializer.getInternalProtocol().serialize(entry.key);
+    append(REMOVE, System.currentTimeMillis(), keyBytes, new byte[0]);
+    index.remove(entry.key);
+    expiryIndex.remove(entry);
+    garbageBytes.addAndGet(entry.recordSize() + RECORD_HEADER_SIZE + keyBytes.length);
+  }
+
+  private IndexEntry getEntry(Serializable key) throws ObjectDoesNotExistException {
+    final IndexEntry entry = index.get(key);
+    if (entry == null) {
+      throw new ObjectDoesNotExistException(CoreMessages.createStaticMessage("Key does not exist: " + key));
+    }
+    return entry;
+  }
+
+  private Lock stripeFor(Serializable key) {
+    int hash = key.hashCode();
+    hash ^= (hash >>> 16);
+    return stripes[hash & (LOCK_STRIPES - 1)];
+  }
+
+  /**
+   * Writes a record at the end of the data file. The space for the record is reserved beforehand, so concurrent writers do not
+   * need to wait for each other.
+   *
+   * @return the offset of the record in the data file
+   */
+  private long append(byte operation, long timestamp, byte[] keyBytes, byte[] valueBytes) throws ObjectStoreException {
+    final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + keyBytes.length + valueBytes.length);
+    record.put(operation).putLong(timestamp).putInt(keyBytes.length).putInt(valueBytes.length).put(keyBytes).put(valueBytes);
+    record.flip();
+
+    final long offset = writePosition.getAndAdd(record.remaining());
+    try {
+      long position = offset;
+      while (record.hasRemaining()) {
+        position += dataChannel.write(record, position);
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    }
+    return offset;
+  }
+
+  private byte[] read(long position, int length) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (dataChannel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException();
+      }
+    }
+    return buffer.array();
+  }
+
+  private T readValue(IndexEntry entry) throws ObjectStoreException {
+    try {
+      T value = serializer.getInternalProtocol().deserialize(read(entry.valueOffset(), entry.valueLength));
+      if (value instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      }
+      return value;
+    } catch (ObjectStoreException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private void assureLoaded() throws ObjectStoreException {
+    if (!loaded) {
+      load();
+    }
+  }
+
+  private synchronized void load() throws ObjectStoreException {
+    // by re-checking this condition here we can avoid contention in {@link #assureLoaded}
+    if (loaded) {
+      return;
+    }
+    if (dataChannel == null) {
+      open();
+    }
+
+    try {
+      garbageBytes.set(0);
+      long replayFrom = readIndexSnapshot();
+      replay(replayFrom);
+      loaded = true;
+    } catch (Exception e) {
+      String message = String.format("Could not restore object store data from %1s", partitionDirectory.getAbsolutePath());
+      throw new ObjectStoreException(CoreMessages.createStaticMessage(message), e);
+    }
+  }
+
+  /**
+   * Reads the records of the data file starting at {@code position}, updating the index.
+   * <p/>
+   * Writers reserve their space before writing, so a crash can leave zero-filled gaps where a reserved record was never
+   * written, followed by valid records written by other threads. Gaps, and records which key cannot be read because they were
+   * partially written, are skipped and counted as garbage, so the next compaction removes them. If an incomplete record is found
+   * at the end of the file it is discarded.
+   */
+  private void replay(long position) throws IOException {
+    final long size = dataChannel.size();
+    long gapStart = -1;
+    try (FileInputStream dataStream = new FileInputStream(new File(partitionDirectory, DATA_FILE));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(dataStream))) {
+      dataStream.getChannel().position(position);
+      while (position < size) {
+        final long recordOffset = position;
+        try {
+          final byte operation = in.readByte();
+          if (operation == 0) {
+            if (gapStart < 0) {
+              gapStart = recordOffset;
+            }
+            ++position;
+            continue;
+          }
+          if (gapStart >= 0) {
+            skipGap(gapStart, recordOffset);
+            gapStart = -1;
+          }
+
+          final long timestamp = in.readLong();
+          final int keyLength = in.readInt();
+          final int valueLength = in.readInt();
+          if ((operation != PUT && operation != REMOVE) || keyLength <= 0 || valueLength < 0
+              || recordOffset + RECORD_HEADER_SIZE + keyLength + valueLength > size) {
+            truncate(recordOffset, size);
+            break;
+          }
+          final byte[] keyBytes = new byte[keyLength];
+          in.readFully(keyBytes);
+          int skipped = 0;
+          while (skipped < valueLength) {
+            final int skippedNow = in.skipBytes(valueLength - skipped);
+            if (skippedNow <= 0) {
+              throw new EOFException();
+            }
+            skipped += skippedNow;
+          }
+          position += RECORD_HEADER_SIZE + keyLength + valueLength;
+
+          final Serializable key;
+          try {
+            key = serializer.getInternalProtocol().deserialize(keyBytes);
+          } catch (Exception e) {
+            logger.warn(String.format("Skipping unreadable record at offset %d of the ObjectStore file %s", recordOffset,
+                                      new File(partitionDirectory, DATA_FILE).getAbsolutePath()),
+                        e);
+            garbageBytes.addAndGet(RECORD_HEADER_SIZE + keyLength + valueLength);
+            continue;
+          }
+          final IndexEntry previous = index.remove(key);
+          if (previous != null) {
+            expiryIndex.remove(previous);
+            garbageBytes.addAndGet(previous.recordSize());
+          }
+          if (operation == PUT) {
+            final IndexEntry entry =
+                new IndexEntry(key, recordOffset, keyLength, valueLength, timestamp, sequence.incrementAndGet());
+            index.put(key, entry);
+            expiryIndex.add(entry);
+          } else {
+            garbageBytes.addAndGet(RECORD_HEADER_SIZE + keyLength);
+          }
+        } catch (EOFException e) {
+          truncate(recordOffset, size);
+          break;
+        }
+      }
+    }
+    if (gapStart >= 0) {
+      // Nothing was written after the gap
+      truncate(gapStart, size);
+    }
+    writePosition.set(dataChannel.size());
+  }
+
+  private void skipGap(long gapStart, long gapEnd) {
+    logger.warn(String.format("Skipping %d bytes of unwritten data at offset %d of the ObjectStore file %s", gapEnd - gapStart,
+                              gapStart, new File(partitionDirectory, DATA_FILE).getAbsolutePath()));
+    garbageBytes.addAndGet(gapEnd - gapStart);
+  }
+
+  private void truncate(long offset, long size) throws IOException {
+    logger.warn(String.format("Discarding %d bytes of incomplete data at the end of the ObjectStore file %s", size - offset,
+                              new File(partitionDirectory, DATA_FILE).getAbsolutePath()));
+    dataChannel.truncate(offset);
+  }
+
+  /**
+   * Rewrites the data file with only the live entries, in expiration order.
+   */
+  private void compact() throws ObjectStoreException {
+    Lock lock = dataFileLock.writeLock();
+    lock.lock();
+    try {
+      final File dataFile = new File(partitionDirectory, DATA_FILE);
+      final File compactionFile = new File(partitionDirectory, COMPACTION_FILE);
+      final List<IndexEntry> entries = new ArrayList<>(expiryIndex);
+      final long[] newOffsets = new long[entries.size()];
+      long position = 0;
+
+      try (FileChannel compacted = FileChannel.open(compactionFile.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)) {
+        for (int i = 0; i < entries.size(); ++i) {
+          final IndexEntry entry = entries.get(i);
+          final ByteBuffer record = ByteBuffer.wrap(read(entry.offset, entry.recordSize()));
+          newOffsets[i] = position;
+          while (record.hasRemaining()) {
+            position += compacted.write(record, position);
+          }
+        }
+        compacted.force(false);
+      }
+
+      // The snapshot would point to the old offsets
+      new File(partitionDirectory, INDEX_SNAPSHOT_FILE).delete();
+      dataChannel.close();
+      try {
+        Files.move(compactionFile.toPath(), dataFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+      } finally {
+        // If the move failed the original data file is reopened, and the offsets in the index are still valid
+        dataChannel = openDataChannel(dataFile);
+      }
+
+      for (int i = 0; i < entries.size(); ++i) {
+        entries.get(i).offset = newOffsets[i];
+      }
+      writePosition.set(position);
+      garbageBytes.set(0);
+      writeIndexSnapshot();
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private FileChannel openDataChannel(File dataFile) throws IOException {
+    return FileChannel.open(dataFile.toPath(), CREATE, READ, WRITE);
+  }
+
+  private void writeIndexSnapshot() throws IOException {
+    final File snapshotFile = new File(partitionDirectory, INDEX_SNAPSHOT_FILE);
+    final File tempFile = new File(partitionDirectory, INDEX_SNAPSHOT_FILE + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+      out.writeInt(SNAPSHOT_MAGIC);
+      out.writeLong(writePosition.get());
+      out.writeLong(garbageBytes.get());
+      out.writeInt(expiryIndex.size());
+      for (IndexEntry entry : expiryIndex) {
+        final byte[] keyBytes = serializer.getInternalProtocol().serialize(entry.key);
+        out.writeInt(keyBytes.length);
+        out.write(keyBytes);
+        out.writeLong(entry.offset);
+        out.writeInt(entry.keyLength);
+        out.writeInt(entry.valueLength);
+        out.writeLong(entry.timestamp);
+      }
+    }
+    Files.move(tempFile.toPath(), snapshotFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+    snapshotPosition = writePosition.get();
+  }
+
+  /**
+   * @return the position in the data file from where records have to be replayed.
+   */
+  private long readIndexSnapshot() {
+    final File snapshotFile = new File(partitionDirectory, INDEX_SNAPSHOT_FILE);
+    if (!snapshotFile.exists()) {
+      return 0;
+    }
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+      if (in.readInt() != SNAPSHOT_MAGIC) {
+        return 0;
+      }
+      final long position = in.readLong();
+      if (position > dataChannel.size()) {
+        return 0;
+      }
+      final long garbage = in.readLong();
+      final int count = in.readInt();
+      for (int i = 0; i < count; ++i) {
+        final byte[] keyBytes = new byte[in.readInt()];
+        in.readFully(keyBytes);
+        final Serializable key = serializer.getInternalProtocol().deserialize(keyBytes);
+        final IndexEntry entry =
+            new IndexEntry(key, in.readLong(), in.readInt(), in.readInt(), in.readLong(), sequence.incrementAndGet());
+        index.put(key, entry);
+        expiryIndex.add(entry);
+      }
+      garbageBytes.set(garbage);
+      snapshotPosition = position;
+      return position;
+    } catch (Exception e) {
+      logger.warn("Could not read the index snapshot of ObjectStore partition " + partitionName
+          + ". Data will be reloaded from " + DATA_FILE, e);
+      index.clear();
+      expiryIndex.clear();
+      garbageBytes.set(0);
+      return 0;
+    }
+  }
+
+  /**
+   * The location of an entry in the data file.
+   */
+  private static final class IndexEntry {
+
+    private final Serializable key;
+    private volatile long offset;
+    private final int keyLength;
+    private final int valueLength;
+    private final long timestamp;
+    private final long sequence;
+
+    private IndexEntry(Serializable key, long offset, int keyLength, int valueLength, long timestamp, long sequence) {
+      this.key = key;
+      this.offset = offset;
+      this.keyLength = keyLength;
+      this.valueLength = valueLength;
+      this.timestamp = timestamp;
+      this.sequence = sequence;
+    }
+
+    private long valueOffset() {
+      return offset + RECORD_HEADER_SIZE + keyLength;
+    }
+
+    private int recordSize() {
+      return RECORD_HEADER_SIZE + keyLength + valueLength;
+    }
+  }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.util.store;
 
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.api.context.MuleContextAware;
@@ -30,9 +32,17 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
 
   public static final String OBJECT_STORE_DIR = "objectstore";
 
+  /**
+   * System property to select the storage format of new partitions. Setting it to {@link #LOG_STRUCTURED_PARTITION_FORMAT}
+   * creates {@link LogStructuredObjectStorePartition}s, otherwise {@link PersistentObjectStorePartition}s are created. Existing
+   * partitions are always loaded with the format they were created with.
+   */
+  public static final String PARTITION_FORMAT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectstore.partitionFormat";
+  public static final String LOG_STRUCTURED_PARTITION_FORMAT = "logStructured";
+
   private MuleContext muleContext;
   private File storeDirectory;
-  private Map<String, PersistentObjectStorePartition> partitionsByName = new HashMap<String, PersistentObjectStorePartition>();
+  private Map<String, PersistentPartition> partitionsByName = new HashMap<String, PersistentPartition>();
   private boolean initialized = false;
 
   public PartitionedPersistentObjectStore() {
@@ -71,8 +81,13 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   public void close(String partitionName) throws ObjectStoreException {}
 
   private void createPartition(String partitionName) throws ObjectStoreException {
-    PersistentObjectStorePartition persistentObjectStorePartition =
-        new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
+    PersistentPartition persistentObjectStorePartition;
+    if (LOG_STRUCTURED_PARTITION_FORMAT.equals(System.getProperty(PARTITION_FORMAT_PROPERTY))) {
+      persistentObjectStorePartition =
+          new LogStructuredObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
+    } else {
+      persistentObjectStorePartition = new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory());
+    }
     persistentObjectStorePartition.open();
     partitionsByName.put(partitionName, persistentObjectStorePartition);
   }
@@ -116,7 +131,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     this.getPartitionObjectStore(partitionName).clear();
   }
 
-  private PersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
+  private PersistentPartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
     if (!partitionsByName.containsKey(partitionName)) {
       throw new ObjectStoreException(CoreMessages.createStaticMessage("No partition named: " + partitionName));
     }
@@ -177,8 +192,12 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
     for (File partitionDirectory : directories) {
       try {
-        PersistentObjectStorePartition persistentObjectStorePartition =
-            new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        PersistentPartition persistentObjectStorePartition;
+        if (new File(partitionDirectory, LogStructuredObjectStorePartition.DATA_FILE).exists()) {
+          persistentObjectStorePartition = new LogStructuredObjectStorePartition(muleContext, partitionDirectory);
+        } else {
+          persistentObjectStorePartition = new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        }
         persistentObjectStorePartition.open();
         partitionsByName.put(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
       } catch (Exception e) {
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import org.mule.runtime.core.api.store.ExpirableObjectStore;
+import org.mule.runtime.core.api.store.ListableObjectStore;
+
+import java.io.Serializable;
+
+/**
+ * A partition of a {@link PartitionedPersistentObjectStore}, stored in its own directory.
+ *
+ * @since 4.0
+ */
+interface PersistentPartition<T extends Serializable> extends ListableObjectStore<T>, ExpirableObjectStore<T> {
+
+  /**
+   * @return the name of this partition, as given by the user of the {@link PartitionedPersistentObjectStore}.
+   */
+  String getPartitionName();
+}
@@ -6,9 +6,11 @@
  */
 package org.mule.extension.db.api.param;
 
+import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED;
 import org.mule.runtime.extension.api.annotation.Parameter;
 import org.mule.runtime.extension.api.annotation.dsl.xml.XmlHints;
 import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
 
 /**
  * The definition of a bulk operations defined around one single SQL command
@@ -26,16 +28,32 @@ public class BulkQueryDefinition extends StatementDefinition<BulkQueryDefinition
   @XmlHints(allowInlineDefinition = false)
   private BulkQueryDefinition template;
 
+  /**
+   * The maximum amount of parameter sets sent to the database in a single batch. Bigger bulks are executed in consecutive
+   * batches on the same statement. A value of 0 or less sends all the parameter sets in one single batch.
+   * <p/>
+   * This limits the size of each JDBC batch, not the memory used by the input values, which are received as a whole list.
+   */
+  @Parameter
+  @Optional(defaultValue = "0")
+  @Placement(tab = ADVANCED)
+  private int batchSize = 0;
+
   @Override
   public BulkQueryDefinition getTemplate() {
     return template;
   }
 
+  public int getBatchSize() {
+    return batchSize;
+  }
+
 
   @Override
   protected BulkQueryDefinition copy() {
     BulkQueryDefinition copy = super.copy();
     copy.template = template;
+    copy.batchSize = batchSize;
 
     return copy;
   }
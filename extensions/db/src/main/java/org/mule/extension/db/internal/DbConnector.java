@@ -22,6 +22,7 @@ import org.mule.extension.db.internal.domain.type.StaticDbTypeManager;
 import org.mule.extension.db.internal.operation.BulkOperations;
 import org.mule.extension.db.internal.operation.DdlOperations;
 import org.mule.extension.db.internal.operation.DmlOperations;
+import org.mule.extension.db.internal.resolver.param.StoredProcedureParamTypeCache;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.extension.api.annotation.Export;
@@ -47,16 +48,25 @@ import java.util.List;
 public class DbConnector implements Initialisable {
 
   private DbTypeManager typeManager;
+  private StoredProcedureParamTypeCache storedProcedureParamTypeCache;
 
   @Override
   public void initialise() throws InitialisationException {
     typeManager = createBaseTypeManager();
+    storedProcedureParamTypeCache = new StoredProcedureParamTypeCache();
   }
 
   public DbTypeManager getTypeManager() {
     return typeManager;
   }
 
+  /**
+   * @return the parameter types of the stored procedures called through this config, resolved from the database metadata
+   */
+  public StoredProcedureParamTypeCache getStoredProcedureParamTypeCache() {
+    return storedProcedureParamTypeCache;
+  }
+
   private DbTypeManager createBaseTypeManager() {
     List<DbTypeManager> typeManagers = new ArrayList<>();
 
@@ -29,7 +29,7 @@ public class ColumnIndexAutoGeneratedKeyStrategy implements AutoGeneratedKeyStra
 
   @Override
   public PreparedStatement prepareStatement(DbConnection connection, QueryTemplate queryTemplate) throws SQLException {
-    return connection.getJdbcConnection().prepareStatement(queryTemplate.getSqlText(), columnIndexes);
+    return connection.prepareStatement(queryTemplate.getSqlText(), columnIndexes);
   }
 
   @Override
@@ -29,7 +29,7 @@ public class ColumnNameAutoGeneratedKeyStrategy implements AutoGeneratedKeyStrat
 
   @Override
   public PreparedStatement prepareStatement(DbConnection connection, QueryTemplate queryTemplate) throws SQLException {
-    return connection.getJdbcConnection().prepareStatement(queryTemplate.getSqlText(), columnNames);
+    return connection.prepareStatement(queryTemplate.getSqlText(), columnNames);
   }
 
   @Override
@@ -23,7 +23,7 @@ public class DefaultAutoGeneratedKeyStrategy implements AutoGeneratedKeyStrategy
 
   @Override
   public PreparedStatement prepareStatement(DbConnection connection, QueryTemplate queryTemplate) throws SQLException {
-    return connection.getJdbcConnection().prepareStatement(queryTemplate.getSqlText(), Statement.RETURN_GENERATED_KEYS);
+    return connection.prepareStatement(queryTemplate.getSqlText(), Statement.RETURN_GENERATED_KEYS);
   }
 
   @Override
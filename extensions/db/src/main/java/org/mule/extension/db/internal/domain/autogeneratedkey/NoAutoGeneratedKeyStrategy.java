@@ -27,7 +27,7 @@ public class NoAutoGeneratedKeyStrategy implements AutoGeneratedKeyStrategy {
 
   @Override
   public PreparedStatement prepareStatement(DbConnection connection, QueryTemplate queryTemplate) throws SQLException {
-    return connection.getJdbcConnection().prepareStatement(queryTemplate.getSqlText());
+    return connection.prepareStatement(queryTemplate.getSqlText());
   }
 
   @Override
@@ -13,7 +13,10 @@ import org.mule.extension.db.internal.result.statement.StatementResultIterator;
 import org.mule.extension.db.internal.result.statement.StatementResultIteratorFactory;
 import org.mule.runtime.extension.api.connectivity.TransactionalConnection;
 
+import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -45,7 +48,46 @@ public interface DbConnection extends TransactionalConnection {
   Connection getJdbcConnection();
 
   /**
-   * Closes the underlying JDBC connection, provided that {@link #isStreaming()} is {@code false}
+   * Returns a prepared statement for the given SQL, reusing an idle one prepared with the same options if possible. Closing
+   * the returned statement makes it available again instead of closing it.
+   *
+   * @param sql SQL text of the statement
+   * @return a prepared statement
+   * @throws SQLException if the statement cannot be prepared
+   * @see Connection#prepareStatement(String)
+   */
+  PreparedStatement prepareStatement(String sql) throws SQLException;
+
+  /**
+   * Same as {@link #prepareStatement(String)}, for statements that can return auto-generated keys.
+   *
+   * @see Connection#prepareStatement(String, int)
+   */
+  PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException;
+
+  /**
+   * Same as {@link #prepareStatement(String)}, for statements that return the auto-generated keys of the given columns.
+   *
+   * @see Connection#prepareStatement(String, int[])
+   */
+  PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException;
+
+  /**
+   * Same as {@link #prepareStatement(String)}, for statements that return the auto-generated keys of the given columns.
+   *
+   * @see Connection#prepareStatement(String, String[])
+   */
+  PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException;
+
+  /**
+   * Same as {@link #prepareStatement(String)}, for stored procedure calls.
+   *
+   * @see Connection#prepareCall(String, int, int)
+   */
+  CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException;
+
+  /**
+   * Closes the cached statements and the underlying JDBC connection, provided that {@link #isStreaming()} is {@code false}
    */
   void release();
 
@@ -88,6 +88,7 @@ public abstract class DbConnectionProvider implements ConnectionProvider<DbConne
   private List<DbType> resolvedCustomTypes = emptyList();
   private JdbcConnectionFactory jdbcConnectionFactory = new JdbcConnectionFactory();
   private DataSource dataSource;
+  private final StatementCacheStatistics statementCacheStatistics = new StatementCacheStatistics();
 
   @Override
   public final DbConnection connect() throws ConnectionException {
@@ -169,7 +170,7 @@ public abstract class DbConnectionProvider implements ConnectionProvider<DbConne
   public abstract java.util.Optional<DataSourceConfig> getDataSourceConfig();
 
   protected DbConnection createDbConnection(Connection connection) throws Exception {
-    return new DefaultDbConnection(connection, resolvedCustomTypes);
+    return new DefaultDbConnection(connection, resolvedCustomTypes, statementCacheStatistics);
   }
 
   private DataSource obtainDataSource() throws SQLException {
@@ -225,4 +226,11 @@ public abstract class DbConnectionProvider implements ConnectionProvider<DbConne
   public DataSource getConfiguredDataSource() {
     return dataSource;
   }
+
+  /**
+   * @return the hits and misses of the statement caches of all the connections created by this provider
+   */
+  public StatementCacheStatistics getStatementCacheStatistics() {
+    return statementCacheStatistics;
+  }
 }
@@ -7,6 +7,8 @@
 
 package org.mule.extension.db.internal.domain.connection;
 
+import static org.mule.extension.db.internal.domain.connection.StatementKey.callableStatement;
+import static org.mule.extension.db.internal.domain.connection.StatementKey.preparedStatement;
 import org.mule.extension.db.api.exception.connection.ConnectionClosingException;
 import org.mule.extension.db.internal.domain.type.DbType;
 import org.mule.extension.db.internal.result.resultset.ResultSetHandler;
@@ -15,7 +17,9 @@ import org.mule.extension.db.internal.result.statement.StatementResultIteratorFa
 
 import com.google.common.collect.ImmutableList;
 
+import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -25,10 +29,24 @@ public class DefaultDbConnection implements DbConnection {
   private final Connection jdbcConnection;
   private AtomicInteger streamsCount = new AtomicInteger(0);
   private final List<DbType> customDataTypes;
+  private final StatementCache statementCache;
 
   public DefaultDbConnection(Connection jdbcConnection, List<DbType> customDataTypes) {
+    this(jdbcConnection, customDataTypes, new StatementCacheStatistics());
+  }
+
+  /**
+   * Creates a connection which caches its prepared and callable statements
+   *
+   * @param jdbcConnection the underlying JDBC connection
+   * @param customDataTypes customer defined {@link DbType}s
+   * @param statementCacheStatistics collects the hits and misses of the statement cache. Can be shared by many connections
+   */
+  public DefaultDbConnection(Connection jdbcConnection, List<DbType> customDataTypes,
+                             StatementCacheStatistics statementCacheStatistics) {
     this.jdbcConnection = jdbcConnection;
     this.customDataTypes = customDataTypes;
+    this.statementCache = new StatementCache(jdbcConnection, statementCacheStatistics);
   }
 
   /**
@@ -55,6 +73,46 @@ public class DefaultDbConnection implements DbConnection {
     return jdbcConnection;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public PreparedStatement prepareStatement(String sql) throws SQLException {
+    return statementCache.get(preparedStatement(sql));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+    return statementCache.get(preparedStatement(sql, autoGeneratedKeys));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+    return statementCache.get(preparedStatement(sql, columnIndexes));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+    return statementCache.get(preparedStatement(sql, columnNames));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+    return (CallableStatement) statementCache.get(callableStatement(sql, resultSetType, resultSetConcurrency));
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -99,6 +157,7 @@ public class DefaultDbConnection implements DbConnection {
     if (isStreaming()) {
       return;
     }
+    statementCache.close();
     try {
       jdbcConnection.close();
     } catch (SQLException e) {
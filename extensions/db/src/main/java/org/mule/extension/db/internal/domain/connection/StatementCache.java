@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.extension.db.internal.domain.connection;
+
+import static java.lang.Integer.getInteger;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the prepared and callable statements of a single {@link Connection}, so executing the same query again does not
+ * prepare it again.
+ * <p/>
+ * Statements are handed out wrapped in a proxy whose {@code close()} returns the statement to the cache instead of closing it.
+ * The cache holds up to {@code maxSize} idle statements, evicting and closing the least recently used one when it is full,
+ * and it works on top of any JDBC connection, whether it comes from a pool or not. {@link #close()} closes all the idle
+ * statements and must be invoked before closing the connection.
+ *
+ * @since 4.0
+ */
+final class StatementCache {
+
+  /**
+   * System property to set the amount of idle statements each connection keeps. Setting it to 0 disables the cache.
+   */
+  public static final String SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "db.statementCacheSize";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StatementCache.class);
+  private static final int DEFAULT_SIZE = 20;
+
+  private final Connection jdbcConnection;
+  private final int maxSize;
+  private final StatementCacheStatistics statistics;
+  private final Map<StatementKey, CachedStatement> idleStatements;
+  private boolean closed;
+
+  StatementCache(Connection jdbcConnection, StatementCacheStatistics statistics) {
+    this(jdbcConnection, getInteger(SIZE_PROPERTY, DEFAULT_SIZE), statistics);
+  }
+
+  StatementCache(Connection jdbcConnection, int maxSize, StatementCacheStatistics statistics) {
+    this.jdbcConnection = jdbcConnection;
+    this.maxSize = maxSize;
+    this.statistics = statistics;
+    this.idleStatements = new LinkedHashMap<StatementKey, CachedStatement>(16, 0.75f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<StatementKey, CachedStatement> eldest) {
+        if (size() > StatementCache.this.maxSize) {
+          statistics.eviction();
+          eldest.getValue().closeQuietly();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns an idle statement for the given key, or prepares a new one if there is none.
+   *
+   * @param key identifies the statement
+   * @return a statement whose {@code close()} returns it to this cache. It is a {@link CallableStatement} when the key is
+   *         {@link StatementKey#isCallable() callable}
+   * @throws SQLException if a new statement cannot be prepared
+   */
+  PreparedStatement get(StatementKey key) throws SQLException {
+    if (maxSize <= 0) {
+      return key.create(jdbcConnection);
+    }
+
+    CachedStatement statement;
+    synchronized (this) {
+      statement = idleStatements.remove(key);
+    }
+
+    if (statement != null) {
+      statistics.hit();
+    } else {
+      statistics.miss();
+      statement = new CachedStatement(key, key.create(jdbcConnection));
+    }
+
+    return statement.checkout();
+  }
+
+  /**
+   * Closes all the idle statements. Statements in use are closed when they are returned.
+   */
+  void close() {
+    List<CachedStatement> statements;
+    synchronized (this) {
+      closed = true;
+      statements = new ArrayList<>(idleStatements.values());
+      idleStatements.clear();
+    }
+    statements.forEach(CachedStatement::closeQuietly);
+  }
+
+  /**
+   * @return the amount of idle statements
+   */
+  synchronized int size() {
+    return idleStatements.size();
+  }
+
+  private void giveBack(CachedStatement statement) {
+    if (statement.reset()) {
+      synchronized (this) {
+        if (!closed && !idleStatements.containsKey(statement.key)) {
+          idleStatements.put(statement.key, statement);
+          return;
+        }
+      }
+    }
+    statement.closeQuietly();
+  }
+
+  private final class CachedStatement {
+
+    private final StatementKey key;
+    private final PreparedStatement target;
+    private final int defaultFetchSize;
+
+    CachedStatement(StatementKey key, PreparedStatement target) throws SQLException {
+      this.key = key;
+      this.target = target;
+      this.defaultFetchSize = target.getFetchSize();
+    }
+
+    PreparedStatement checkout() {
+      Class<?> type = key.isCallable() ? CallableStatement.class : PreparedStatement.class;
+      return (PreparedStatement) Proxy.newProxyInstance(StatementCache.class.getClassLoader(), new Class<?>[] {type},
+                                                        new Lease(this));
+    }
+
+    /**
+     * Clears the state left by the last execution, so the next one starts from the JDBC defaults.
+     *
+     * @return whether the statement can be reused
+     */
+    boolean reset() {
+      try {
+        if (target.isClosed()) {
+          return false;
+        }
+        target.clearParameters();
+        target.clearBatch();
+        target.clearWarnings();
+        target.setMaxRows(0);
+        target.setQueryTimeout(0);
+        target.setFetchSize(defaultFetchSize);
+        return true;
+      } catch (SQLException e) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Unable to reset statement for " + key + ", it won't be reused", e);
+        }
+        return false;
+      }
+    }
+
+    void closeQuietly() {
+      try {
+        target.close();
+      } catch (SQLException e) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Error closing cached statement for " + key, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Handles the calls to a checked out statement, and to the result sets it creates so their {@code getStatement()} returns
+   * the proxy instead of the cached statement.
+   */
+  private final class Lease implements InvocationHandler {
+
+    private final CachedStatement statement;
+    private volatile boolean released;
+
+    Lease(CachedStatement statement) {
+      this.statement = statement;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          if (!released) {
+            released = true;
+            giveBack(statement);
+          }
+          return null;
+        case "isClosed":
+          return released || statement.target.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Cached " + statement.target;
+        default:
+          if (released) {
+            throw new SQLException("Statement is closed");
+          }
+      }
+
+      Object result = invokeTarget(statement.target, method, args);
+      if (result instanceof ResultSet) {
+        result = wrapResultSet(proxy, (ResultSet) result);
+      }
+      return result;
+    }
+
+    private ResultSet wrapResultSet(Object statementProxy, ResultSet resultSet) {
+      return (ResultSet) Proxy.newProxyInstance(StatementCache.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                                                (proxy, method, args) -> {
+                                                  switch (method.getName()) {
+                                                    case "getStatement":
+                                                      return statementProxy;
+                                                    case "equals":
+                                                      return proxy == args[0];
+                                                    case "hashCode":
+                                                      return System.identityHashCode(proxy);
+                                                    default:
+                                                      return invokeTarget(resultSet, method, args);
+                                                  }
+                                                });
+    }
+  }
+
+  private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.extension.db.internal.domain.connection;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the hits, misses and evictions of the statement caches of all the connections created by a
+ * {@link DbConnectionProvider}, so they can be checked per config.
+ *
+ * @since 4.0
+ */
+public final class StatementCacheStatistics {
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  void hit() {
+    hits.incrementAndGet();
+  }
+
+  void miss() {
+    misses.incrementAndGet();
+  }
+
+  void eviction() {
+    evictions.incrementAndGet();
+  }
+
+  /**
+   * @return how many statements were reused from a cache
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * @return how many statements had to be prepared because they were not cached
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * @return how many cached statements were closed to keep the caches within their size
+   */
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  @Override
+  public String toString() {
+    return "StatementCacheStatistics{hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + "}";
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.extension.db.internal.domain.connection;
+
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
+import static java.sql.Statement.NO_GENERATED_KEYS;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Identifies a statement kept in a {@link StatementCache}: two statements are interchangeable only when they were prepared
+ * for the same SQL text with the same options.
+ *
+ * @since 4.0
+ */
+final class StatementKey {
+
+  private final String sql;
+  private final boolean callable;
+  private final int resultSetType;
+  private final int resultSetConcurrency;
+  private final int autoGeneratedKeys;
+  private final int[] columnIndexes;
+  private final String[] columnNames;
+
+  private StatementKey(String sql, boolean callable, int resultSetType, int resultSetConcurrency, int autoGeneratedKeys,
+                       int[] columnIndexes, String[] columnNames) {
+    this.sql = sql;
+    this.callable = callable;
+    this.resultSetType = resultSetType;
+    this.resultSetConcurrency = resultSetConcurrency;
+    this.autoGeneratedKeys = autoGeneratedKeys;
+    this.columnIndexes = columnIndexes == null ? null : columnIndexes.clone();
+    this.columnNames = columnNames == null ? null : columnNames.clone();
+  }
+
+  static StatementKey preparedStatement(String sql) {
+    return new StatementKey(sql, false, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, NO_GENERATED_KEYS, null, null);
+  }
+
+  static StatementKey preparedStatement(String sql, int autoGeneratedKeys) {
+    return new StatementKey(sql, false, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, autoGeneratedKeys, null, null);
+  }
+
+  static StatementKey preparedStatement(String sql, int[] columnIndexes) {
+    return new StatementKey(sql, false, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, NO_GENERATED_KEYS, columnIndexes, null);
+  }
+
+  static StatementKey preparedStatement(String sql, String[] columnNames) {
+    return new StatementKey(sql, false, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, NO_GENERATED_KEYS, null, columnNames);
+  }
+
+  static StatementKey callableStatement(String sql, int resultSetType, int resultSetConcurrency) {
+    return new StatementKey(sql, true, resultSetType, resultSetConcurrency, NO_GENERATED_KEYS, null, null);
+  }
+
+  boolean isCallable() {
+    return callable;
+  }
+
+  /**
+   * Prepares a new statement for this key, using the same {@link Connection} method the key was built for
+   *
+   * @param connection connection used to prepare the statement
+   * @return a new statement
+   * @throws SQLException if the statement cannot be prepared
+   */
+  PreparedStatement create(Connection connection) throws SQLException {
+    if (callable) {
+      return connection.prepareCall(sql, resultSetType, resultSetConcurrency);
+    } else if (columnIndexes != null) {
+      return connection.prepareStatement(sql, columnIndexes);
+    } else if (columnNames != null) {
+      return connection.prepareStatement(sql, columnNames);
+    } else if (autoGeneratedKeys != NO_GENERATED_KEYS) {
+      return connection.prepareStatement(sql, autoGeneratedKeys);
+    } else {
+      return connection.prepareStatement(sql);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof StatementKey)) {
+      return false;
+    }
+    StatementKey that = (StatementKey) o;
+    return callable == that.callable && resultSetType == that.resultSetType
+        && resultSetConcurrency == that.resultSetConcurrency && autoGeneratedKeys == that.autoGeneratedKeys
+        && sql.equals(that.sql) && Arrays.equals(columnIndexes, that.columnIndexes)
+        && Arrays.equals(columnNames, that.columnNames);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(sql, callable, resultSetType, resultSetConcurrency, autoGeneratedKeys, Arrays.hashCode(columnIndexes),
+                        Arrays.hashCode(columnNames));
+  }
+
+  @Override
+  public String toString() {
+    return (callable ? "call: " : "statement: ") + sql;
+  }
+}
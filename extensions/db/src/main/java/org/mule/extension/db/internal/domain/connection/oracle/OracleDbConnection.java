@@ -7,6 +7,7 @@
 package org.mule.extension.db.internal.domain.connection.oracle;
 
 import org.mule.extension.db.internal.domain.connection.DefaultDbConnection;
+import org.mule.extension.db.internal.domain.connection.StatementCacheStatistics;
 import org.mule.extension.db.internal.domain.type.DbType;
 import org.mule.extension.db.internal.domain.type.ResolvedDbType;
 import org.mule.extension.db.internal.domain.type.oracle.OracleXmlType;
@@ -29,6 +30,11 @@ public class OracleDbConnection extends DefaultDbConnection {
     super(jdbcConnection, customDataTypes);
   }
 
+  public OracleDbConnection(Connection jdbcConnection, List<DbType> customDataTypes,
+                            StatementCacheStatistics statementCacheStatistics) {
+    super(jdbcConnection, customDataTypes, statementCacheStatistics);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -34,7 +34,7 @@ public class OracleDbConnectionProvider extends DbConnectionProvider {
 
   @Override
   protected DbConnection createDbConnection(Connection connection) throws Exception {
-    return new OracleDbConnection(connection, super.resolveCustomTypes());
+    return new OracleDbConnection(connection, super.resolveCustomTypes(), getStatementCacheStatistics());
   }
 
   @Override
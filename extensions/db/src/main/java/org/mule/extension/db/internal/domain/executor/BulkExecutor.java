@@ -35,9 +35,9 @@ public interface BulkExecutor {
    *
    * @param connection connection to the database where the query will be executed. Non null
    * @param query parameterized query to executed using the sets of parameters
-   * @param paramValues parameters to use to execute the query
+   * @param paramValues parameters to use to execute the query. They are iterated only once, as the query is executed
    * @return a non null result of the query execution
    * @throws SQLException if a database access error occurs or this method is called on a closed connection
    */
-  Object execute(DbConnection connection, Query query, List<List<QueryParamValue>> paramValues) throws SQLException;
+  Object execute(DbConnection connection, Query query, Iterable<List<QueryParamValue>> paramValues) throws SQLException;
 }
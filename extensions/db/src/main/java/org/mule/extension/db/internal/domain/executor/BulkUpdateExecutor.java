@@ -7,6 +7,7 @@
 
 package org.mule.extension.db.internal.domain.executor;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import org.mule.extension.db.internal.domain.connection.DbConnection;
 import org.mule.extension.db.internal.domain.logger.BulkQueryLogger;
 import org.mule.extension.db.internal.domain.logger.PreparedBulkQueryLogger;
@@ -19,15 +20,34 @@ import org.mule.extension.db.internal.domain.statement.StatementFactory;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
- * Executes bulk queries
+ * Executes bulk queries.
+ * <p/>
+ * Parameterized bulks are sent in consecutive batches of up to the configured batch size, which bounds the parameter sets held
+ * by the driver at a time. The parameter sets are taken from the given {@link Iterable} as each batch is bound, but the bulk
+ * operations pass one backed by a {@link List} of maps, so all the input rows are still in memory for the whole operation.
  */
 public class BulkUpdateExecutor extends AbstractExecutor implements BulkExecutor {
 
+  private final int batchSize;
+
   public BulkUpdateExecutor(StatementFactory statementFactory) {
+    this(statementFactory, 0);
+  }
+
+  /**
+   * Creates an executor which sends parameterized bulks in consecutive batches
+   *
+   * @param statementFactory factory used to create the statement to execute
+   * @param batchSize maximum amount of parameter sets sent in a single batch. A value of 0 or less sends all of them at once
+   */
+  public BulkUpdateExecutor(StatementFactory statementFactory, int batchSize) {
     super(statementFactory);
+    this.batchSize = batchSize;
   }
 
   @Override
@@ -54,7 +74,7 @@ public class BulkUpdateExecutor extends AbstractExecutor implements BulkExecutor
   }
 
   @Override
-  public Object execute(DbConnection connection, Query query, List<List<QueryParamValue>> paramValues) throws SQLException {
+  public Object execute(DbConnection connection, Query query, Iterable<List<QueryParamValue>> paramValues) throws SQLException {
     Statement statement = statementFactory.create(connection, query.getQueryTemplate());
 
     if (!(statement instanceof PreparedStatement)) {
@@ -62,21 +82,79 @@ public class BulkUpdateExecutor extends AbstractExecutor implements BulkExecutor
     }
 
     PreparedStatement preparedStatement = (PreparedStatement) statement;
-    PreparedBulkQueryLogger queryLogger =
-        queryLoggerFactory.createBulkQueryLogger(LOGGER, query.getQueryTemplate(), paramValues.size());
     try {
-      for (List<QueryParamValue> params : paramValues) {
-        doProcessParameters(preparedStatement, query.getQueryTemplate(), params, queryLogger);
-        preparedStatement.addBatch();
-        queryLogger.addParameterSet();
-      }
-
-      queryLogger.logQuery();
+      Iterator<List<QueryParamValue>> paramSets = paramValues.iterator();
+      List<int[]> batchesUpdateCounts = new ArrayList<>();
+      do {
+        batchesUpdateCounts.add(executeBatch(preparedStatement, query, nextBatch(paramSets), batchesUpdateCounts.size() + 1));
+      } while (paramSets.hasNext());
 
-      return preparedStatement.executeBatch();
+      return concat(batchesUpdateCounts);
     } finally {
       preparedStatement.clearParameters();
       statement.close();
     }
   }
+
+  private List<List<QueryParamValue>> nextBatch(Iterator<List<QueryParamValue>> paramSets) {
+    List<List<QueryParamValue>> batch = new ArrayList<>(batchSize > 0 ? batchSize : 10);
+    while (paramSets.hasNext() && (batchSize <= 0 || batch.size() < batchSize)) {
+      batch.add(paramSets.next());
+    }
+    return batch;
+  }
+
+  private int[] executeBatch(PreparedStatement preparedStatement, Query query, List<List<QueryParamValue>> batch,
+                             int batchNumber)
+      throws SQLException {
+    PreparedBulkQueryLogger queryLogger =
+        queryLoggerFactory.createBulkQueryLogger(LOGGER, query.getQueryTemplate(), batch.size());
+
+    for (List<QueryParamValue> params : batch) {
+      doProcessParameters(preparedStatement, query.getQueryTemplate(), params, queryLogger);
+      preparedStatement.addBatch();
+      queryLogger.addParameterSet();
+    }
+
+    queryLogger.logQuery();
+
+    long startTime = System.nanoTime();
+    int[] updateCounts = preparedStatement.executeBatch();
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Executed batch {} with {} parameter sets in {} ms, {} rows affected", batchNumber, batch.size(),
+                   NANOSECONDS.toMillis(System.nanoTime() - startTime), affectedRows(updateCounts));
+    }
+
+    return updateCounts;
+  }
+
+  private int affectedRows(int[] updateCounts) {
+    int rows = 0;
+    for (int updateCount : updateCounts) {
+      if (updateCount > 0) {
+        rows += updateCount;
+      }
+    }
+    return rows;
+  }
+
+  private int[] concat(List<int[]> batchesUpdateCounts) {
+    if (batchesUpdateCounts.size() == 1) {
+      return batchesUpdateCounts.get(0);
+    }
+
+    int length = 0;
+    for (int[] batchUpdateCounts : batchesUpdateCounts) {
+      length += batchUpdateCounts.length;
+    }
+
+    int[] updateCounts = new int[length];
+    int position = 0;
+    for (int[] batchUpdateCounts : batchesUpdateCounts) {
+      System.arraycopy(batchUpdateCounts, 0, updateCounts, position, batchUpdateCounts.length);
+      position += batchUpdateCounts.length;
+    }
+    return updateCounts;
+  }
 }
@@ -46,8 +46,7 @@ public class QueryStatementFactory implements ConfigurableStatementFactory {
     Statement result;
 
     if (queryTemplate.getType().equals(STORE_PROCEDURE_CALL)) {
-      result = connection.getJdbcConnection().prepareCall(queryTemplate.getSqlText(), ResultSet.TYPE_FORWARD_ONLY,
-                                                          ResultSet.CONCUR_READ_ONLY);
+      result = connection.prepareCall(queryTemplate.getSqlText(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
     } else {
       boolean hasInputParams = queryTemplate.getInputParams().size() > 0;
 
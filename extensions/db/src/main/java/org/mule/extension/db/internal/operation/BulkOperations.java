@@ -55,7 +55,8 @@ public class BulkOperations extends BaseDbOperations {
    *
    * @param query a {@link BulkQueryDefinition} as a parameter group
    * @param parameterValues A {@link List} of {@link Map}s in which every list item represents a row to be inserted, and the map
-   *        contains the parameter names as keys and the value the parameter is bound to.
+   *        contains the parameter names as keys and the value the parameter is bound to. The whole list is kept in memory, the
+   *        batch size of the query only limits how many rows are sent to the database at a time.
    * @param connector the acting connector
    * @param connection the acting connection
    * @return an array of update counts containing one element for each executed command. The elements of the array are ordered
@@ -77,7 +78,8 @@ public class BulkOperations extends BaseDbOperations {
    *
    * @param query a {@link BulkQueryDefinition} as a parameter group
    * @param parameterValues A {@link List} of {@link Map}s in which every list item represents a row to be inserted, and the map
-   *        contains the parameter names as keys and the value the parameter is bound to.
+   *        contains the parameter names as keys and the value the parameter is bound to. The whole list is kept in memory, the
+   *        batch size of the query only limits how many rows are sent to the database at a time.
    * @param connector the acting connector
    * @param connection the acting connection
    * @return an array of update counts containing one element for each executed command. The elements of the array are ordered
@@ -99,7 +101,8 @@ public class BulkOperations extends BaseDbOperations {
    *
    * @param query a {@link BulkQueryDefinition} as a parameter group
    * @param parameterValues A {@link List} of {@link Map}s in which every list item represents a row to be inserted, and the map
-   *        contains the parameter names as keys and the value the parameter is bound to.
+   *        contains the parameter names as keys and the value the parameter is bound to. The whole list is kept in memory, the
+   *        batch size of the query only limits how many rows are sent to the database at a time.
    * @param connector the acting connector
    * @param connection the acting connection
    * @return an array of update counts containing one element for each executed command. The elements of the array are ordered
@@ -158,11 +161,9 @@ public class BulkOperations extends BaseDbOperations {
 
     final Query resolvedQuery = resolveQuery(query, connector, connection, queryType);
 
-    List<List<QueryParamValue>> paramSets = resolveParamSets(values);
-
     BulkUpdateExecutor bulkUpdateExecutor =
-        new BulkUpdateExecutor(getStatementFactory(null, false, query.getSettings()));
-    return (int[]) bulkUpdateExecutor.execute(connection, resolvedQuery, paramSets);
+        new BulkUpdateExecutor(getStatementFactory(null, false, query.getSettings()), query.getBatchSize());
+    return (int[]) bulkUpdateExecutor.execute(connection, resolvedQuery, resolveParamSets(values));
   }
 
   private Query resolveQuery(BulkQueryDefinition query, DbConnector connector, DbConnection connection, QueryType... validTypes) {
@@ -172,10 +173,12 @@ public class BulkOperations extends BaseDbOperations {
     return resolvedQuery;
   }
 
-  private List<List<QueryParamValue>> resolveParamSets(List<Map<String, Object>> values) {
-    return values.stream().map(map -> map.entrySet().stream()
+  private Iterable<List<QueryParamValue>> resolveParamSets(List<Map<String, Object>> values) {
+    // The values are already in memory, only their wrapping in query parameters is deferred to the batch that binds them.
+    // Streaming the input rows would require the operations to receive an Iterable, which is not a supported parameter type
+    return () -> values.stream().map(map -> map.entrySet().stream()
         .map(entry -> new QueryParamValue(entry.getKey(), entry.getValue()))
         .collect(toList()))
-        .collect(toList());
+        .iterator();
   }
 }
@@ -32,7 +32,7 @@ import org.mule.extension.db.internal.resolver.query.StoredProcedureQueryResolve
 import org.mule.extension.db.internal.result.resultset.IteratorResultSetHandler;
 import org.mule.extension.db.internal.result.resultset.ListResultSetHandler;
 import org.mule.extension.db.internal.result.resultset.ResultSetHandler;
-import org.mule.extension.db.internal.result.row.InsensitiveMapRowHandler;
+import org.mule.extension.db.internal.result.row.ColumnarRowHandler;
 import org.mule.extension.db.internal.result.statement.EagerStatementResultHandler;
 import org.mule.extension.db.internal.result.statement.StatementResultHandler;
 import org.mule.extension.db.internal.result.statement.StreamingStatementResultHandler;
@@ -86,7 +86,7 @@ public class DmlOperations extends BaseDbOperations {
     final Query resolvedQuery = resolveQuery(query, connector, connection, SELECT, STORE_PROCEDURE_CALL);
 
     QueryStatementFactory statementFactory = getStatementFactory(statementAttributes, streaming, query.getSettings());
-    InsensitiveMapRowHandler recordHandler = new InsensitiveMapRowHandler();
+    ColumnarRowHandler recordHandler = new ColumnarRowHandler();
     ResultSetHandler resultSetHandler = streaming
         ? new IteratorResultSetHandler(recordHandler, resultSetCloser)
         : new ListResultSetHandler(recordHandler);
@@ -179,7 +179,7 @@ public class DmlOperations extends BaseDbOperations {
 
     QueryStatementFactory statementFactory = getStatementFactory(statementAttributes, streaming, call.getSettings());
 
-    InsensitiveMapRowHandler recordHandler = new InsensitiveMapRowHandler();
+    ColumnarRowHandler recordHandler = new ColumnarRowHandler();
 
     StatementResultHandler resultHandler = streaming
         ? new StreamingStatementResultHandler(new IteratorResultSetHandler(recordHandler, resultSetCloser))
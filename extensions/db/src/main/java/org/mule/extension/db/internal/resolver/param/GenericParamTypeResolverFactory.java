@@ -17,16 +17,23 @@ import org.mule.extension.db.internal.domain.type.DbTypeManager;
 public class GenericParamTypeResolverFactory implements ParamTypeResolverFactory {
 
   private final DbTypeManager dbTypeManager;
+  private final StoredProcedureParamTypeCache storedProcedureParamTypeCache;
 
   public GenericParamTypeResolverFactory(DbTypeManager dbTypeManager) {
+    this(dbTypeManager, null);
+  }
+
+  public GenericParamTypeResolverFactory(DbTypeManager dbTypeManager,
+                                         StoredProcedureParamTypeCache storedProcedureParamTypeCache) {
     this.dbTypeManager = dbTypeManager;
+    this.storedProcedureParamTypeCache = storedProcedureParamTypeCache;
   }
 
   public ParamTypeResolver create(QueryTemplate queryTemplate) {
     ParamTypeResolver metadataParamTypeResolver;
 
     if (queryTemplate.getType() == STORE_PROCEDURE_CALL) {
-      metadataParamTypeResolver = new StoredProcedureParamTypeResolver(dbTypeManager);
+      metadataParamTypeResolver = new StoredProcedureParamTypeResolver(dbTypeManager, storedProcedureParamTypeCache);
     } else {
       metadataParamTypeResolver = new QueryParamTypeResolver(dbTypeManager);
     }
@@ -37,27 +37,27 @@ public class QueryParamTypeResolver implements ParamTypeResolver {
   public Map<Integer, DbType> getParameterTypes(DbConnection connection, QueryTemplate queryTemplate) throws SQLException {
     Map<Integer, DbType> paramTypes = new HashMap<>();
 
-    PreparedStatement statement = connection.getJdbcConnection().prepareStatement(queryTemplate.getSqlText());
+    try (PreparedStatement statement = connection.getJdbcConnection().prepareStatement(queryTemplate.getSqlText())) {
+      ParameterMetaData parameterMetaData = statement.getParameterMetaData();
 
-    ParameterMetaData parameterMetaData = statement.getParameterMetaData();
-
-    for (QueryParam queryParam : queryTemplate.getParams()) {
-      int parameterTypeId = parameterMetaData.getParameterType(queryParam.getIndex());
-      String parameterTypeName = parameterMetaData.getParameterTypeName(queryParam.getIndex());
-      DbType dbType;
-      if (parameterTypeName == null) {
-        // Use unknown data type
-        dbType = UnknownDbType.getInstance();
-      } else {
-        try {
-          dbType = dbTypeManager.lookup(connection, parameterTypeId, parameterTypeName);
-        } catch (UnknownDbTypeException e) {
-          // Type was not found in the type manager, but the DB knows about it
-          dbType = new ResolvedDbType(parameterTypeId, parameterTypeName);
+      for (QueryParam queryParam : queryTemplate.getParams()) {
+        int parameterTypeId = parameterMetaData.getParameterType(queryParam.getIndex());
+        String parameterTypeName = parameterMetaData.getParameterTypeName(queryParam.getIndex());
+        DbType dbType;
+        if (parameterTypeName == null) {
+          // Use unknown data type
+          dbType = UnknownDbType.getInstance();
+        } else {
+          try {
+            dbType = dbTypeManager.lookup(connection, parameterTypeId, parameterTypeName);
+          } catch (UnknownDbTypeException e) {
+            // Type was not found in the type manager, but the DB knows about it
+            dbType = new ResolvedDbType(parameterTypeId, parameterTypeName);
+          }
         }
-      }
 
-      paramTypes.put(queryParam.getIndex(), dbType);
+        paramTypes.put(queryParam.getIndex(), dbType);
+      }
     }
 
     return paramTypes;
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.extension.db.internal.resolver.param;
+
+import static java.lang.Long.getLong;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import org.mule.extension.db.internal.domain.type.DbType;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Keeps the parameter types of the stored procedures resolved using the database metadata, so calls to the same procedure don't
+ * need to query the metadata again, even when they use a different SQL text.
+ * <p/>
+ * Instances are shared by all the operations of a config. Entries expire after the amount of seconds defined by the
+ * {@link #EXPIRATION_PROPERTY} system property, so changes in the procedures are eventually picked up, and can be discarded
+ * before that using {@link #invalidate(String, String)} or {@link #invalidateAll()}.
+ *
+ * @since 4.0
+ */
+public final class StoredProcedureParamTypeCache {
+
+  /**
+   * System property to set the amount of seconds the parameter types of a stored procedure are kept
+   */
+  public static final String EXPIRATION_PROPERTY = SYSTEM_PROPERTY_PREFIX + "db.procedureMetadataExpiration";
+
+  private static final long DEFAULT_EXPIRATION_SECONDS = 600;
+  private static final int MAX_CACHED_PROCEDURES = 1000;
+
+  private final Cache<String, Map<Integer, DbType>> paramTypes;
+
+  public StoredProcedureParamTypeCache() {
+    this(getLong(EXPIRATION_PROPERTY, DEFAULT_EXPIRATION_SECONDS));
+  }
+
+  StoredProcedureParamTypeCache(long expirationSeconds) {
+    paramTypes = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_PROCEDURES)
+        .expireAfterWrite(expirationSeconds, SECONDS)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Returns the parameter types of a stored procedure, loading them only if they are not cached.
+   *
+   * @param catalog catalog of the stored procedure. Can be null
+   * @param procedureName name of the stored procedure
+   * @param loader loads the parameter types from the database metadata
+   * @return an unmodifiable map with the type of each parameter, indexed by its position
+   * @throws SQLException if the parameter types are not cached and the loader fails
+   */
+  Map<Integer, DbType> get(String catalog, String procedureName, ParamTypeLoader loader) throws SQLException {
+    try {
+      return paramTypes.get(getKey(catalog, procedureName), () -> unmodifiableMap(loader.load()));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof SQLException) {
+        throw (SQLException) e.getCause();
+      } else if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new SQLException("Cannot resolve parameter types of stored procedure " + procedureName, e.getCause());
+    }
+  }
+
+  /**
+   * Discards the cached parameter types of a stored procedure
+   *
+   * @param catalog catalog of the stored procedure. Can be null
+   * @param procedureName name of the stored procedure, as stored in the database metadata
+   */
+  public void invalidate(String catalog, String procedureName) {
+    paramTypes.invalidate(getKey(catalog, procedureName));
+  }
+
+  /**
+   * Discards the cached parameter types of all the stored procedures
+   */
+  public void invalidateAll() {
+    paramTypes.invalidateAll();
+  }
+
+  /**
+   * @return the hits, misses and load times of this cache
+   */
+  public CacheStats getStatistics() {
+    return paramTypes.stats();
+  }
+
+  private String getKey(String catalog, String procedureName) {
+    return catalog == null ? procedureName : catalog + "." + procedureName;
+  }
+
+  /**
+   * Loads the parameter types of a stored procedure
+   */
+  @FunctionalInterface
+  interface ParamTypeLoader {
+
+    Map<Integer, DbType> load() throws SQLException;
+  }
+}
@@ -38,9 +38,19 @@ public class StoredProcedureParamTypeResolver implements ParamTypeResolver {
 
   private final Pattern storedProcedureMatcher = Pattern.compile("(?msi)(\\{\\s+)?call\\s* \\s*(\\w+)\\(.*");
   private final DbTypeManager dbTypeManager;
+  private final StoredProcedureParamTypeCache paramTypeCache;
 
   public StoredProcedureParamTypeResolver(DbTypeManager dbTypeManager) {
+    this(dbTypeManager, null);
+  }
+
+  /**
+   * @param dbTypeManager manager used to resolve the types of the parameters
+   * @param paramTypeCache cache where the resolved parameter types are kept. If null, types are resolved on every invocation
+   */
+  public StoredProcedureParamTypeResolver(DbTypeManager dbTypeManager, StoredProcedureParamTypeCache paramTypeCache) {
     this.dbTypeManager = dbTypeManager;
+    this.paramTypeCache = paramTypeCache;
   }
 
   @Override
@@ -48,8 +58,20 @@ public class StoredProcedureParamTypeResolver implements ParamTypeResolver {
     DatabaseMetaData dbMetaData = connection.getJdbcConnection().getMetaData();
 
     String storedProcedureName = getStoredProcedureName(dbMetaData, queryTemplate.getSqlText());
-    ResultSet procedureColumns =
-        dbMetaData.getProcedureColumns(connection.getJdbcConnection().getCatalog(), null, storedProcedureName, "%");
+    String catalog = connection.getJdbcConnection().getCatalog();
+
+    if (paramTypeCache == null) {
+      return loadStoredProcedureParamTypes(connection, dbMetaData, catalog, storedProcedureName);
+    }
+
+    return paramTypeCache.get(catalog, storedProcedureName,
+                              () -> loadStoredProcedureParamTypes(connection, dbMetaData, catalog, storedProcedureName));
+  }
+
+  private Map<Integer, DbType> loadStoredProcedureParamTypes(DbConnection connection, DatabaseMetaData dbMetaData,
+                                                             String catalog, String storedProcedureName)
+      throws SQLException {
+    ResultSet procedureColumns = dbMetaData.getProcedureColumns(catalog, null, storedProcedureName, "%");
 
     try {
       return getStoredProcedureParamTypes(connection, storedProcedureName, procedureColumns);
@@ -78,7 +78,8 @@ abstract class AbstractQueryResolver<T extends StatementDefinition> implements Q
 
   private Map<Integer, DbType> getParameterTypes(DbConnector connector, DbConnection connection, QueryTemplate queryTemplate) {
     ParamTypeResolverFactory paramTypeResolverFactory =
-        new GenericParamTypeResolverFactory(createTypeManager(connector, connection));
+        new GenericParamTypeResolverFactory(createTypeManager(connector, connection),
+                                            connector.getStoredProcedureParamTypeCache());
 
     try {
       return paramTypeResolverFactory.create(queryTemplate).getParameterTypes(connection, queryTemplate);
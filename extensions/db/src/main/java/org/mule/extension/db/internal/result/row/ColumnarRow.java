@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.extension.db.internal.result.row;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import org.mule.runtime.core.util.CaseInsensitiveHashMap;
+
+import java.io.Serializable;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Case insensitive map with the values of a row, which keeps the values in an array and resolves the column labels through a
+ * {@link Schema} shared by all the rows of the same result set.
+ * <p/>
+ * Entries are iterated in the order of the columns. The row stays backed by the array until it's structurally modified, at that
+ * point its content is copied to a {@link CaseInsensitiveHashMap}.
+ *
+ * @since 4.0
+ */
+final class ColumnarRow extends AbstractMap<String, Object> implements Serializable {
+
+  private static final long serialVersionUID = -2584718313546302376L;
+
+  private final Schema schema;
+  private final Object[] values;
+  private Map<String, Object> modifiedRow;
+
+  ColumnarRow(Schema schema, Object[] values) {
+    this.schema = schema;
+    this.values = values;
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (modifiedRow != null) {
+      return modifiedRow.get(key);
+    }
+
+    int index = schema.indexOf(key);
+    return index < 0 ? null : values[index];
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    if (modifiedRow != null) {
+      return modifiedRow.containsKey(key);
+    }
+
+    return schema.indexOf(key) >= 0;
+  }
+
+  @Override
+  public int size() {
+    return modifiedRow != null ? modifiedRow.size() : values.length;
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    if (modifiedRow == null) {
+      int index = schema.indexOf(key);
+      if (index >= 0) {
+        Object previous = values[index];
+        values[index] = value;
+        return previous;
+      }
+    }
+
+    return getModifiedRow().put(key, value);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    return getModifiedRow().remove(key);
+  }
+
+  @Override
+  public void clear() {
+    getModifiedRow().clear();
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    if (modifiedRow != null) {
+      return modifiedRow.entrySet();
+    }
+
+    return new AbstractSet<Entry<String, Object>>() {
+
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        return new ColumnIterator();
+      }
+
+      @Override
+      public int size() {
+        return values.length;
+      }
+    };
+  }
+
+  private Map<String, Object> getModifiedRow() {
+    if (modifiedRow == null) {
+      Map<String, Object> row = new CaseInsensitiveHashMap(values.length);
+      for (int i = 0; i < values.length; i++) {
+        row.put(schema.getLabel(i), values[i]);
+      }
+      modifiedRow = row;
+    }
+
+    return modifiedRow;
+  }
+
+  private class ColumnIterator implements Iterator<Entry<String, Object>> {
+
+    private int index = 0;
+
+    @Override
+    public boolean hasNext() {
+      return index < values.length;
+    }
+
+    @Override
+    public Entry<String, Object> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      final int column = index++;
+      return new SimpleEntry<String, Object>(schema.getLabel(column), values[column]) {
+
+        @Override
+        public Object setValue(Object value) {
+          values[column] = value;
+          return super.setValue(value);
+        }
+      };
+    }
+  }
+
+  /**
+   * The column labels of a result set, indexed by their position
+   */
+  static final class Schema implements Serializable {
+
+    private static final long serialVersionUID = 4728160617830941374L;
+
+    private final String[] labels;
+    private final Map<String, Integer> indexes;
+    private final Map<String, Integer> caseInsensitiveIndexes = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+
+    Schema(String[] labels) {
+      this.labels = labels;
+      this.indexes = new HashMap<>(labels.length * 2);
+
+      for (int i = 0; i < labels.length; i++) {
+        indexes.put(labels[i], i);
+        if (caseInsensitiveIndexes.put(labels[i], i) != null) {
+          throw new IllegalArgumentException("Record cannot be mapped as it contains multiple columns with the same label. Define column aliases to solve this problem");
+        }
+      }
+    }
+
+    /**
+     * Creates the schema of a result set
+     *
+     * @param metaData metadata of the result set
+     * @return the schema with the labels of the result set columns
+     * @throws SQLException if a database access error occurs
+     */
+    static Schema of(ResultSetMetaData metaData) throws SQLException {
+      String[] labels = new String[metaData.getColumnCount()];
+      for (int i = 0; i < labels.length; i++) {
+        labels[i] = metaData.getColumnLabel(i + 1);
+      }
+
+      return new Schema(labels);
+    }
+
+    int size() {
+      return labels.length;
+    }
+
+    String getLabel(int index) {
+      return labels[index];
+    }
+
+    /**
+     * @return the position of the column with the given label, ignoring case, or -1 if there is no such column
+     */
+    int indexOf(Object label) {
+      if (!(label instanceof String)) {
+        return -1;
+      }
+
+      Integer index = indexes.get(label);
+      if (index == null) {
+        index = caseInsensitiveIndexes.get(label);
+      }
+      return index == null ? -1 : index;
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.extension.db.internal.result.row;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.util.Map;
+
+/**
+ * Maps a row to a case insensitive map backed by an array with the values of the columns.
+ * <p/>
+ * The column labels are read once per {@link ResultSet} and shared by all the rows mapped from it, so mapping a row doesn't need
+ * to access the result set metadata nor to hash the column labels. Instances keep the schema of the last processed result set,
+ * so they must not be used concurrently.
+ *
+ * @since 4.0
+ */
+public class ColumnarRowHandler implements RowHandler {
+
+  private ResultSet currentResultSet;
+  private ColumnarRow.Schema schema;
+
+  @Override
+  public Map<String, Object> process(ResultSet resultSet) throws SQLException {
+    if (resultSet != currentResultSet) {
+      schema = ColumnarRow.Schema.of(resultSet.getMetaData());
+      currentResultSet = resultSet;
+    }
+
+    Object[] values = new Object[schema.size()];
+    for (int i = 0; i < values.length; i++) {
+      Object value = resultSet.getObject(i + 1);
+
+      if (value instanceof SQLXML) {
+        values[i] = ((SQLXML) value).getString();
+      } else {
+        values[i] = value;
+      }
+    }
+
+    return new ColumnarRow(schema, values);
+  }
+}
@@ -43,6 +43,12 @@ public class BulkInsertTestCase extends AbstractDbIntegrationTestCase {
     assertBulkInsert(response.getPayload().getValue());
   }
 
+  @Test
+  public void bulkInsertInBatches() throws Exception {
+    Message response = flowRunner("bulkInsertInBatches").withPayload(values()).run().getMessage();
+    assertBulkInsert(response.getPayload().getValue());
+  }
+
   private List<Map<String, Object>> values() {
     List<Map<String, Object>> values = new ArrayList<>();
     addRecord(values, "Pluto", 777);
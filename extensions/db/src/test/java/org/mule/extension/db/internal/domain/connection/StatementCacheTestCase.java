@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.extension.db.internal.domain.connection;
+
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.extension.db.internal.domain.connection.StatementKey.callableStatement;
+import static org.mule.extension.db.internal.domain.connection.StatementKey.preparedStatement;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class StatementCacheTestCase extends AbstractMuleTestCase {
+
+  private static final String SELECT = "SELECT * FROM PLANET WHERE ID = ?";
+  private static final String UPDATE = "UPDATE PLANET SET NAME = ? WHERE ID = ?";
+  private static final String DELETE = "DELETE FROM PLANET WHERE ID = ?";
+
+  private final Connection jdbcConnection = mock(Connection.class);
+  private final StatementCacheStatistics statistics = new StatementCacheStatistics();
+  private final List<PreparedStatement> created = new ArrayList<>();
+  private StatementCache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    when(jdbcConnection.prepareStatement(anyString())).thenAnswer(invocation -> create(PreparedStatement.class));
+    when(jdbcConnection.prepareStatement(anyString(), anyInt())).thenAnswer(invocation -> create(PreparedStatement.class));
+    when(jdbcConnection.prepareCall(anyString(), anyInt(), anyInt())).thenAnswer(invocation -> create(CallableStatement.class));
+    cache = new StatementCache(jdbcConnection, 2, statistics);
+  }
+
+  private PreparedStatement create(Class<? extends PreparedStatement> type) {
+    PreparedStatement statement = mock(type);
+    created.add(statement);
+    return statement;
+  }
+
+  private PreparedStatement lastCreated() {
+    return created.get(created.size() - 1);
+  }
+
+  @Test
+  public void reusesClosedStatement() throws Exception {
+    PreparedStatement first = cache.get(preparedStatement(SELECT));
+    first.setMaxRows(10);
+    PreparedStatement target = lastCreated();
+    first.close();
+
+    PreparedStatement second = cache.get(preparedStatement(SELECT));
+    second.execute();
+
+    verify(target).execute();
+    verify(jdbcConnection, times(1)).prepareStatement(SELECT);
+    verify(target, never()).close();
+    verify(target).clearParameters();
+    verify(target).setMaxRows(0);
+    assertThat(statistics.getHits(), is(1L));
+    assertThat(statistics.getMisses(), is(1L));
+  }
+
+  @Test
+  public void keysStatementsByOptions() throws Exception {
+    cache.get(preparedStatement(UPDATE)).close();
+    cache.get(preparedStatement(UPDATE, RETURN_GENERATED_KEYS)).close();
+
+    verify(jdbcConnection).prepareStatement(UPDATE);
+    verify(jdbcConnection).prepareStatement(UPDATE, RETURN_GENERATED_KEYS);
+    assertThat(statistics.getMisses(), is(2L));
+    assertThat(cache.size(), is(2));
+  }
+
+  @Test
+  public void doesNotShareStatementInUse() throws Exception {
+    PreparedStatement first = cache.get(preparedStatement(SELECT));
+    PreparedStatement second = cache.get(preparedStatement(SELECT));
+
+    verify(jdbcConnection, times(2)).prepareStatement(SELECT);
+
+    first.close();
+    second.close();
+
+    assertThat(cache.size(), is(1));
+    verify(created.get(0), never()).close();
+    verify(created.get(1)).close();
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedStatement() throws Exception {
+    cache.get(preparedStatement(SELECT)).close();
+    PreparedStatement evicted = lastCreated();
+    cache.get(preparedStatement(UPDATE)).close();
+    cache.get(preparedStatement(DELETE)).close();
+
+    verify(evicted).close();
+    assertThat(cache.size(), is(2));
+    assertThat(statistics.getEvictions(), is(1L));
+  }
+
+  @Test
+  public void closesIdleStatementsOnClose() throws Exception {
+    cache.get(preparedStatement(SELECT)).close();
+    PreparedStatement idleTarget = lastCreated();
+    PreparedStatement inUse = cache.get(preparedStatement(UPDATE));
+    PreparedStatement inUseTarget = lastCreated();
+
+    cache.close();
+
+    verify(idleTarget).close();
+    verify(inUseTarget, never()).close();
+
+    inUse.close();
+
+    verify(inUseTarget).close();
+    assertThat(cache.size(), is(0));
+  }
+
+  @Test
+  public void resultSetReturnsCachedStatement() throws Exception {
+    PreparedStatement statement = cache.get(preparedStatement(SELECT));
+    PreparedStatement target = lastCreated();
+    when(target.executeQuery()).thenReturn(mock(ResultSet.class));
+
+    ResultSet resultSet = statement.executeQuery();
+    resultSet.getStatement().close();
+
+    verify(target, never()).close();
+    assertThat(cache.size(), is(1));
+  }
+
+  @Test
+  public void cachesCallableStatements() throws Exception {
+    PreparedStatement call = cache.get(callableStatement("{ call getPlanets() }", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY));
+
+    assertThat(call, instanceOf(CallableStatement.class));
+    call.close();
+    cache.get(callableStatement("{ call getPlanets() }", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY));
+
+    verify(jdbcConnection, times(1)).prepareCall("{ call getPlanets() }", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+    assertThat(statistics.getHits(), is(1L));
+  }
+
+  @Test
+  public void closesStatementThatCannotBeReset() throws Exception {
+    PreparedStatement statement = cache.get(preparedStatement(SELECT));
+    PreparedStatement target = lastCreated();
+    doThrow(new SQLException()).when(target).clearParameters();
+
+    statement.close();
+
+    verify(target).close();
+    assertThat(cache.size(), equalTo(0));
+  }
+}
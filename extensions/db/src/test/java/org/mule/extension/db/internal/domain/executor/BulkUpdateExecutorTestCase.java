@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.extension.db.internal.domain.executor;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.extension.db.internal.domain.query.QueryType.INSERT;
+import org.mule.extension.db.internal.domain.connection.DbConnection;
+import org.mule.extension.db.internal.domain.param.DefaultInputQueryParam;
+import org.mule.extension.db.internal.domain.param.QueryParam;
+import org.mule.extension.db.internal.domain.query.Query;
+import org.mule.extension.db.internal.domain.query.QueryParamValue;
+import org.mule.extension.db.internal.domain.query.QueryTemplate;
+import org.mule.extension.db.internal.domain.statement.StatementFactory;
+import org.mule.extension.db.internal.domain.type.DbType;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class BulkUpdateExecutorTestCase extends AbstractMuleTestCase {
+
+  private static final String PARAM_NAME = "name";
+
+  private final DbConnection connection = mock(DbConnection.class);
+  private final PreparedStatement statement = mock(PreparedStatement.class);
+  private final StatementFactory statementFactory = mock(StatementFactory.class);
+  private Query query;
+
+  @Before
+  public void setUp() throws Exception {
+    QueryParam param = new DefaultInputQueryParam(1, mock(DbType.class), null, PARAM_NAME);
+    query = new Query(new QueryTemplate("INSERT INTO PLANET(NAME) VALUES (:name)", INSERT, singletonList(param)));
+    when(statementFactory.create(any(DbConnection.class), any(QueryTemplate.class))).thenReturn(statement);
+  }
+
+  @Test
+  public void executesConsecutiveBatches() throws Exception {
+    when(statement.executeBatch()).thenReturn(new int[] {1, 1}, new int[] {1, 1}, new int[] {1});
+
+    Object updateCounts = new BulkUpdateExecutor(statementFactory, 2).execute(connection, query, paramSets(5));
+
+    assertThat(updateCounts, equalTo(new int[] {1, 1, 1, 1, 1}));
+    verify(statement, times(3)).executeBatch();
+    verify(statement, times(5)).addBatch();
+  }
+
+  @Test
+  public void executesSingleBatchWithoutBatchSize() throws Exception {
+    when(statement.executeBatch()).thenReturn(new int[] {1, 1, 1});
+
+    Object updateCounts = new BulkUpdateExecutor(statementFactory).execute(connection, query, paramSets(3));
+
+    assertThat(updateCounts, equalTo(new int[] {1, 1, 1}));
+    verify(statement, times(1)).executeBatch();
+  }
+
+  private List<List<QueryParamValue>> paramSets(int count) {
+    List<List<QueryParamValue>> paramSets = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      paramSets.add(singletonList(new QueryParamValue(PARAM_NAME, "planet" + i)));
+    }
+    return paramSets;
+  }
+}
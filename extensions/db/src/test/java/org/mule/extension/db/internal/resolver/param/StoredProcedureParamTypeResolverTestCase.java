@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.extension.db.internal.resolver.param;
+
+import static java.util.Collections.emptyList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.extension.db.internal.domain.query.QueryType.STORE_PROCEDURE_CALL;
+import org.mule.extension.db.internal.domain.connection.DbConnection;
+import org.mule.extension.db.internal.domain.query.QueryTemplate;
+import org.mule.extension.db.internal.domain.type.DbType;
+import org.mule.extension.db.internal.domain.type.DbTypeManager;
+import org.mule.extension.db.internal.domain.type.ResolvedDbType;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class StoredProcedureParamTypeResolverTestCase extends AbstractMuleTestCase {
+
+  private static final String CATALOG = "PLANETS";
+  private static final String PROCEDURE_NAME = "ADDONE";
+  private static final DbType INTEGER_TYPE = new ResolvedDbType(4, "INTEGER");
+
+  private final StoredProcedureParamTypeCache paramTypeCache = new StoredProcedureParamTypeCache();
+  private DbConnection connection;
+  private DatabaseMetaData metaData;
+  private StoredProcedureParamTypeResolver resolver;
+
+  @Before
+  public void setUp() throws Exception {
+    metaData = mock(DatabaseMetaData.class);
+    when(metaData.storesUpperCaseIdentifiers()).thenReturn(true);
+    when(metaData.getProcedureColumns(eq(CATALOG), (String) isNull(), eq(PROCEDURE_NAME), eq("%")))
+        .thenAnswer(invocation -> createProcedureColumns());
+
+    Connection jdbcConnection = mock(Connection.class);
+    when(jdbcConnection.getMetaData()).thenReturn(metaData);
+    when(jdbcConnection.getCatalog()).thenReturn(CATALOG);
+
+    connection = mock(DbConnection.class);
+    when(connection.getJdbcConnection()).thenReturn(jdbcConnection);
+
+    DbTypeManager typeManager = mock(DbTypeManager.class);
+    when(typeManager.lookup(any(DbConnection.class), anyInt(), anyString())).thenReturn(INTEGER_TYPE);
+
+    resolver = new StoredProcedureParamTypeResolver(typeManager, paramTypeCache);
+  }
+
+  @Test
+  public void metadataIsQueriedOncePerProcedure() throws Exception {
+    Map<Integer, DbType> paramTypes = resolver.getParameterTypes(connection, template("{ call addOne(:number) }"));
+    Map<Integer, DbType> otherParamTypes = resolver.getParameterTypes(connection, template("{ call addOne(:other) }"));
+
+    assertThat(paramTypes.get(1), equalTo(INTEGER_TYPE));
+    assertThat(otherParamTypes, equalTo(paramTypes));
+    verify(metaData, times(1)).getProcedureColumns(CATALOG, null, PROCEDURE_NAME, "%");
+    assertThat(paramTypeCache.getStatistics().hitCount(), is(1L));
+    assertThat(paramTypeCache.getStatistics().missCount(), is(1L));
+  }
+
+  @Test
+  public void invalidatedProcedureIsQueriedAgain() throws Exception {
+    resolver.getParameterTypes(connection, template("{ call addOne(:number) }"));
+    paramTypeCache.invalidate(CATALOG, PROCEDURE_NAME);
+    resolver.getParameterTypes(connection, template("{ call addOne(:number) }"));
+
+    verify(metaData, times(2)).getProcedureColumns(CATALOG, null, PROCEDURE_NAME, "%");
+  }
+
+  private QueryTemplate template(String sql) {
+    return new QueryTemplate(sql, STORE_PROCEDURE_CALL, emptyList());
+  }
+
+  private ResultSet createProcedureColumns() throws Exception {
+    ResultSet procedureColumns = mock(ResultSet.class);
+    when(procedureColumns.next()).thenReturn(true, false);
+    when(procedureColumns.getInt(StoredProcedureParamTypeResolver.TYPE_ID_COLUMN_INDEX)).thenReturn(4);
+    when(procedureColumns.getString(StoredProcedureParamTypeResolver.TYPE_NAME_COLUMN_INDEX)).thenReturn("INTEGER");
+    return procedureColumns;
+  }
+}
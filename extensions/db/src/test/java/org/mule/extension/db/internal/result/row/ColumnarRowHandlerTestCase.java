@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.extension.db.internal.result.row;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ColumnarRowHandlerTestCase extends AbstractMuleTestCase {
+
+  private final ColumnarRowHandler rowHandler = new ColumnarRowHandler();
+  private ResultSet resultSet;
+  private ResultSetMetaData metaData;
+
+  @Before
+  public void setUp() throws Exception {
+    metaData = mock(ResultSetMetaData.class);
+    when(metaData.getColumnCount()).thenReturn(2);
+    when(metaData.getColumnLabel(1)).thenReturn("NAME");
+    when(metaData.getColumnLabel(2)).thenReturn("Position");
+
+    resultSet = mock(ResultSet.class);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(resultSet.getObject(1)).thenReturn("Venus", "Earth");
+    when(resultSet.getObject(2)).thenReturn(2, 3);
+  }
+
+  @Test
+  public void readsMetadataOncePerResultSet() throws Exception {
+    Map<String, Object> venus = rowHandler.process(resultSet);
+    Map<String, Object> earth = rowHandler.process(resultSet);
+
+    assertThat(venus.get("name"), equalTo("Venus"));
+    assertThat(earth.get("name"), equalTo("Earth"));
+    verify(resultSet, times(1)).getMetaData();
+  }
+
+  @Test
+  public void sameContentAsInsensitiveMapRowHandler() throws Exception {
+    Map<String, Object> row = rowHandler.process(resultSet);
+
+    when(resultSet.getObject(1)).thenReturn("Venus");
+    when(resultSet.getObject(2)).thenReturn(2);
+    Map<String, Object> insensitiveRow = new InsensitiveMapRowHandler().process(resultSet);
+
+    assertThat(row, equalTo(insensitiveRow));
+    assertThat(row.hashCode(), equalTo(insensitiveRow.hashCode()));
+    assertThat(row.get("position"), equalTo(2));
+    assertThat(row.get("POSITION"), equalTo(2));
+    assertThat(row.containsKey("Name"), is(true));
+    assertThat(row.get("MISSING"), is(nullValue()));
+    assertThat(new ArrayList<>(row.keySet()), equalTo(asList("NAME", "Position")));
+  }
+
+  @Test
+  public void rowCanBeModified() throws Exception {
+    Map<String, Object> row = rowHandler.process(resultSet);
+
+    row.put("name", "Mars");
+    assertThat(row.get("NAME"), equalTo("Mars"));
+
+    row.put("moons", 2);
+    row.remove("position");
+    assertThat(row.size(), is(2));
+    assertThat(row.get("MOONS"), equalTo(2));
+    assertThat(row.get("NAME"), equalTo("Mars"));
+    assertThat(row.containsKey("position"), is(false));
+  }
+
+  @Test
+  public void rowIsSerializable() throws Exception {
+    Map<String, Object> row = rowHandler.process(resultSet);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(row);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      Map<String, Object> deserialized = (Map<String, Object>) in.readObject();
+      assertThat(deserialized, equalTo(row));
+      assertThat(deserialized.get("name"), equalTo("Venus"));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failsOnDuplicateLabels() throws Exception {
+    when(metaData.getColumnLabel(2)).thenReturn("name");
+
+    rowHandler.process(resultSet);
+  }
+}
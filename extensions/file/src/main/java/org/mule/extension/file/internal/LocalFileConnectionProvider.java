@@ -6,9 +6,11 @@
  */
 package org.mule.extension.file.internal;
 
+import static java.lang.Runtime.getRuntime;
 import static java.lang.String.format;
 import static java.nio.file.Files.isDirectory;
 import static java.nio.file.Files.notExists;
+import static java.util.concurrent.ForkJoinPool.defaultForkJoinWorkerThreadFactory;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.extension.file.common.api.FileSystemProvider;
 import org.mule.extension.file.common.api.FileSystem;
@@ -17,6 +19,8 @@ import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.extension.api.annotation.Parameter;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
@@ -24,6 +28,8 @@ import org.mule.runtime.extension.api.annotation.param.display.Summary;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 import javax.inject.Inject;
 
@@ -36,7 +42,7 @@ import org.slf4j.Logger;
  */
 @DisplayName("Local FileSystem Connection")
 public final class LocalFileConnectionProvider extends FileSystemProvider<FileSystem>
-    implements CachedConnectionProvider<FileSystem> {
+    implements CachedConnectionProvider<FileSystem>, Initialisable, Disposable {
 
   private static final Logger LOGGER = getLogger(LocalFileConnectionProvider.class);
 
@@ -54,6 +60,29 @@ public final class LocalFileConnectionProvider extends FileSystemProvider<FileSy
   @Summary("Directory to be considered as the root of every relative path used with this connector")
   private String workingDir;
 
+  /**
+   * Pool in which recursive listings traverse sub-directories in parallel. Listings do blocking file system I/O, so they don't
+   * use the {@link ForkJoinPool#commonPool() common pool} nor any other shared one.
+   */
+  private ForkJoinPool listingPool;
+
+  @Override
+  public void initialise() {
+    listingPool = new ForkJoinPool(getRuntime().availableProcessors(), pool -> {
+      ForkJoinWorkerThread thread = defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName(format("[%s].list.%02d", getConfigName(), thread.getPoolIndex()));
+      return thread;
+    }, null, false);
+  }
+
+  @Override
+  public void dispose() {
+    if (listingPool != null) {
+      listingPool.shutdownNow();
+      listingPool = null;
+    }
+  }
+
   /**
    * Creates and returns a new instance of {@link LocalFileSystem}
    *
@@ -62,7 +91,7 @@ public final class LocalFileConnectionProvider extends FileSystemProvider<FileSy
   @Override
   public FileSystem connect() throws ConnectionException {
     validateWorkingDir();
-    return new LocalFileSystem(workingDir, muleContext);
+    return new LocalFileSystem(workingDir, muleContext, listingPool);
   }
 
   /**
@@ -34,6 +34,7 @@ import org.mule.runtime.core.util.ArrayUtils;
 
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Implementation of {@link FileSystem} for file systems mounted on the host operating system.
@@ -58,14 +59,16 @@ public final class LocalFileSystem extends AbstractFileSystem {
 
   /**
    * Creates a new instance
+   *
+   * @param listingPool the pool in which recursive listings traverse sub-directories
    */
-  public LocalFileSystem(String basePath, MuleContext muleContext) {
+  public LocalFileSystem(String basePath, MuleContext muleContext, ForkJoinPool listingPool) {
     super(basePath);
 
     copyCommand = new LocalCopyCommand(this);
     createDirectoryCommand = new LocalCreateDirectoryCommand(this);
     deleteCommand = new LocalDeleteCommand(this);
-    listCommand = new LocalListCommand(this);
+    listCommand = new LocalListCommand(this, listingPool);
     moveCommand = new LocalMoveCommand(this);
     readCommand = new LocalReadCommand(this);
     renameCommand = new LocalRenameCommand(this);
@@ -7,6 +7,10 @@
 package org.mule.extension.file.internal.command;
 
 import static java.lang.String.format;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.stream.StreamSupport.stream;
 import org.mule.extension.file.api.LocalFileAttributes;
 import org.mule.extension.file.internal.LocalFileSystem;
 import org.mule.runtime.api.message.Message;
@@ -15,23 +19,40 @@ import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.TreeNode;
 import org.mule.extension.file.common.api.command.ListCommand;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * A {@link LocalFileCommand} which implements the {@link ListCommand}
+ * <p>
+ * Recursive listings traverse each sub-directory on its own {@link RecursiveAction}, so that sibling sub-trees are listed in
+ * parallel on the {@link ForkJoinPool} of the connection provider. Listings do blocking I/O, so they don't run on the
+ * {@link ForkJoinPool#commonPool() common pool}.
  *
  * @since 4.0
  */
 public final class LocalListCommand extends LocalFileCommand implements ListCommand {
 
+  private final ForkJoinPool listingPool;
+
   /**
    * {@inheritDoc}
+   *
+   * @param listingPool the pool in which recursive listings traverse sub-directories
    */
-  public LocalListCommand(LocalFileSystem fileSystem) {
+  public LocalListCommand(LocalFileSystem fileSystem, ForkJoinPool listingPool) {
     super(fileSystem);
+    this.listingPool = listingPool;
   }
 
   /**
@@ -46,34 +67,133 @@ public final class LocalListCommand extends LocalFileCommand implements ListComm
     }
 
     TreeNode.Builder treeNodeBuilder = TreeNode.Builder.forDirectory(new LocalFileAttributes(path));
-    doList(config, path.toFile(), treeNodeBuilder, recursive, message, matcher);
+    ListContext context = new ListContext(config, recursive, message, matcher);
+    ListDirectoryTask task = new ListDirectoryTask(path, treeNodeBuilder, context);
+
+    if (recursive) {
+      listingPool.invoke(task);
+    } else {
+      task.compute();
+    }
+
+    if (context.failure.get() != null) {
+      throw context.failure.get();
+    }
 
     return treeNodeBuilder.build();
   }
 
-  private void doList(FileConnectorConfig config, File parent, TreeNode.Builder treeNodeBuilder, boolean recursive,
-                      Message message, Predicate<FileAttributes> matcher) {
-    if (!parent.canRead()) {
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Stream<FileAttributes> listDirectory(String directoryPath) {
+    Path path = resolveExistingPath(directoryPath);
+    if (!Files.isDirectory(path)) {
+      throw cannotListFileException(path);
+    }
+
+    DirectoryStream<Path> directoryStream = openDirectoryStream(path);
+    return stream(spliteratorUnknownSize(directoryStream.iterator(), ORDERED | NONNULL), false)
+        .map(child -> (FileAttributes) new LocalFileAttributes(child)).onClose(() -> {
+          try {
+            directoryStream.close();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
+  private DirectoryStream<Path> openDirectoryStream(Path directory) {
+    if (!Files.isReadable(directory)) {
       throw exception(format("Could not list files from directory '%s' because access was denied by the operating system",
-                             parent.getAbsolutePath()));
+                             directory.toAbsolutePath()));
+    }
+
+    try {
+      return Files.newDirectoryStream(directory);
+    } catch (IOException e) {
+      throw exception(format("Could not list files from directory '%s'", directory.toAbsolutePath()), e);
     }
+  }
+
+  /**
+   * The state shared by all the {@link ListDirectoryTask}s of the same listing.
+   */
+  private static final class ListContext {
+
+    private final FileConnectorConfig config;
+    private final boolean recursive;
+    private final Message message;
+    private final Predicate<FileAttributes> matcher;
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    private ListContext(FileConnectorConfig config, boolean recursive, Message message, Predicate<FileAttributes> matcher) {
+      this.config = config;
+      this.recursive = recursive;
+      this.message = message;
+      this.matcher = matcher;
+    }
+  }
+
+  /**
+   * Lists one directory into its {@link TreeNode.Builder}, forking one task per sub-directory when the listing is recursive.
+   * <p>
+   * Each task is the only one which adds children to its own builder, and the children keep the order in which they were
+   * found. The first failure is kept in the {@link ListContext} so that it can be rethrown as is to the caller.
+   */
+  private final class ListDirectoryTask extends RecursiveAction {
+
+    private static final long serialVersionUID = -3870417453418457614L;
 
-    for (File child : parent.listFiles()) {
-      Path path = child.toPath();
-      FileAttributes attributes = new LocalFileAttributes(path);
-      if (!matcher.test(attributes)) {
-        continue;
+    private final Path directory;
+    private final TreeNode.Builder treeNodeBuilder;
+    private final ListContext context;
+
+    private ListDirectoryTask(Path directory, TreeNode.Builder treeNodeBuilder, ListContext context) {
+      this.directory = directory;
+      this.treeNodeBuilder = treeNodeBuilder;
+      this.context = context;
+    }
+
+    @Override
+    protected void compute() {
+      if (context.failure.get() != null) {
+        return;
       }
 
-      if (child.isDirectory()) {
-        TreeNode.Builder childNodeBuilder = TreeNode.Builder.forDirectory(attributes);
-        treeNodeBuilder.addChild(childNodeBuilder);
+      List<ListDirectoryTask> subTasks = new LinkedList<>();
+      try (DirectoryStream<Path> children = openDirectoryStream(directory)) {
+        for (Path child : children) {
+          FileAttributes attributes = new LocalFileAttributes(child);
+          if (!context.matcher.test(attributes)) {
+            continue;
+          }
+
+          if (attributes.isDirectory()) {
+            TreeNode.Builder childNodeBuilder = TreeNode.Builder.forDirectory(attributes);
+            treeNodeBuilder.addChild(childNodeBuilder);
 
-        if (recursive) {
-          doList(config, child, childNodeBuilder, recursive, message, matcher);
+            if (context.recursive) {
+              subTasks.add(new ListDirectoryTask(child, childNodeBuilder, context));
+            }
+          } else {
+            treeNodeBuilder.addChild(TreeNode.Builder.forFile(fileSystem.read(context.config, context.message,
+                                                                                child.toAbsolutePath().toString(), false)));
+          }
         }
-      } else {
-        treeNodeBuilder.addChild(TreeNode.Builder.forFile(fileSystem.read(config, message, child.getAbsolutePath(), false)));
+      } catch (RuntimeException e) {
+        context.failure.compareAndSet(null, e);
+        return;
+      } catch (IOException e) {
+        context.failure.compareAndSet(null, exception(format("Could not list files from directory '%s'",
+                                                             directory.toAbsolutePath()),
+                                                      e));
+        return;
+      }
+
+      if (!subTasks.isEmpty()) {
+        invokeAll(subTasks);
       }
     }
   }
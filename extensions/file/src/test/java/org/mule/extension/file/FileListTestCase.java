@@ -19,6 +19,8 @@ import org.mule.extension.file.common.api.FileAttributes;
 import org.mule.extension.file.common.api.TreeNode;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -116,6 +118,29 @@ public class FileListTestCase extends FileConnectorTestCase {
     assertThat(node.getChilds(), hasSize(6));
   }
 
+  @Test
+  public void pagedListNotRecursive() throws Exception {
+    List<TreeNode> nodes = doPagedList(".", false);
+
+    assertThat(nodes, hasSize(6));
+    assertThat(assertListedFiles(nodes), is(true));
+  }
+
+  @Test
+  public void pagedListRecursive() throws Exception {
+    List<TreeNode> nodes = doPagedList(".", true);
+
+    assertThat(nodes, hasSize(8));
+    assertThat(assertListedFiles(nodes.subList(0, 6)), is(true));
+
+    List<TreeNode> subDirectoryNodes = nodes.subList(6, 8);
+    assertThat(assertListedFiles(subDirectoryNodes), is(false));
+    for (TreeNode node : subDirectoryNodes) {
+      assertThat(Paths.get(node.getAttributes().getPath()).getParent().getFileName().toString(), equalTo(SUB_DIRECTORY_NAME));
+      assertThat(node.getChilds(), hasSize(0));
+    }
+  }
+
   private boolean assertListedFiles(List<TreeNode> nodes) throws Exception {
     boolean directoryWasFound = false;
 
@@ -135,6 +160,16 @@ public class FileListTestCase extends FileConnectorTestCase {
     return directoryWasFound;
   }
 
+  private List<TreeNode> doPagedList(String path, boolean recursive) throws Exception {
+    Iterator<TreeNode> iterator =
+        (Iterator<TreeNode>) flowRunner("pagedList").withVariable("path", path).withVariable("recursive", recursive).run()
+            .getMessage().getPayload().getValue();
+
+    List<TreeNode> nodes = new ArrayList<>();
+    iterator.forEachRemaining(nodes::add);
+    return nodes;
+  }
+
   private TreeNode doList(String path, boolean recursive) throws Exception {
     return doList("list", path, recursive);
   }
@@ -7,6 +7,10 @@
 package org.mule.extension.ftp.internal.ftp.command;
 
 import static java.lang.String.format;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.stream.StreamSupport.stream;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.extension.file.common.api.FileAttributes;
 import org.mule.extension.file.common.api.FileConnectorConfig;
@@ -20,7 +24,10 @@ import org.mule.runtime.core.util.ArrayUtils;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.commons.net.ftp.FTPClient;
 import org.apache.commons.net.ftp.FTPFile;
@@ -78,6 +85,35 @@ public final class FtpListCommand extends ClassicFtpCommand implements ListComma
     return treeNodeBuilder.build();
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * FTP has no way of listing a directory in pages, and {@link FTPClient#initiateListParsing(String)} reads the whole
+   * <code>LIST</code> reply into memory before returning. Only the parsing of its lines into {@link FileAttributes} is done
+   * {@link #FTP_LIST_PAGE_SIZE} entries at a time, as the returned {@link Stream} is consumed.
+   */
+  @Override
+  public Stream<FileAttributes> listDirectory(String directoryPath) {
+    FileAttributes directoryAttributes = getExistingFile(directoryPath);
+    Path path = Paths.get(directoryAttributes.getPath());
+
+    if (!directoryAttributes.isDirectory()) {
+      throw cannotListFileException(path);
+    }
+
+    LOGGER.debug("Listing directory {}", path);
+    FTPListParseEngine engine;
+    try {
+      engine = client.initiateListParsing(path.toString());
+    } catch (IOException e) {
+      throw exception(format("Failed to list files on directory '%s'", path), e);
+    }
+
+    return stream(spliteratorUnknownSize(new PagedFileIterator(engine), ORDERED | NONNULL), false)
+        .map(file -> (FileAttributes) new ClassicFtpFileAttributes(path.resolve(file.getName()), file))
+        .filter(attributes -> !isVirtualDirectory(attributes.getName()));
+  }
+
   private void doList(FileConnectorConfig config, Path path, TreeNode.Builder treeNodeBuilder, boolean recursive,
                       Message message, Predicate<FileAttributes> matcher)
       throws IOException {
@@ -120,4 +156,46 @@ public final class FtpListCommand extends ClassicFtpCommand implements ListComma
       }
     }
   }
+
+  /**
+   * An {@link Iterator} which parses the {@link FTPFile}s of an already read listing from a {@link FTPListParseEngine}, one page
+   * at a time
+   */
+  private static final class PagedFileIterator implements Iterator<FTPFile> {
+
+    private final FTPListParseEngine engine;
+    private FTPFile[] page = new FTPFile[0];
+    private int index = 0;
+
+    private PagedFileIterator(FTPListParseEngine engine) {
+      this.engine = engine;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (index == page.length) {
+        if (!engine.hasNext()) {
+          return false;
+        }
+
+        page = engine.getNext(FTP_LIST_PAGE_SIZE);
+        index = 0;
+        if (ArrayUtils.isEmpty(page)) {
+          page = new FTPFile[0];
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    @Override
+    public FTPFile next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      return page[index++];
+    }
+  }
 }
@@ -21,6 +21,7 @@ import org.mule.runtime.api.message.Message;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 
@@ -59,6 +60,23 @@ public final class SftpListCommand extends SftpCommand implements ListCommand {
     return treeNodeBuilder.build();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Stream<FileAttributes> listDirectory(String directoryPath) {
+    FileAttributes directoryAttributes = getExistingFile(directoryPath);
+    Path path = Paths.get(directoryAttributes.getPath());
+
+    if (!directoryAttributes.isDirectory()) {
+      throw cannotListFileException(path);
+    }
+
+    LOGGER.debug("Listing directory {}", path);
+    return client.list(directoryAttributes.getPath()).stream().filter(file -> !isVirtualDirectory(file.getName()))
+        .map(file -> (FileAttributes) file);
+  }
+
   private void doList(FileConnectorConfig config, String path, TreeNode.Builder treeNodeBuilder, boolean recursive,
                       Message message, Predicate<FileAttributes> matcher) {
     LOGGER.debug("Listing directory {}", path);
@@ -19,6 +19,9 @@ import org.mule.metadata.api.model.ObjectFieldType;
 import org.mule.metadata.api.model.ObjectType;
 import org.mule.metadata.xml.XmlTypeLoader;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +49,12 @@ public class RequestBodyGenerator {
    */
   private static final String NO_PARAMS_SOAP_BODY_CALL_MASK = "<ns:%s xmlns:ns=\"%s\"/>";
 
+  /**
+   * Request bodies already generated. The binding operations belong to the WSDL definitions shared between connections, so the
+   * bodies are reused by every connection to the same WSDL and dropped along with their definition.
+   */
+  private static final Cache<BindingOperation, String> generatedRequests = CacheBuilder.newBuilder().weakKeys().build();
+
   /**
    * Generates a request body for an operation that don't require input parameters, if the required XML in the body is
    * just one constant element.
@@ -56,6 +65,15 @@ public class RequestBodyGenerator {
   public String generateRequest(WscConnection connection, String operation) {
 
     BindingOperation bindingOperation = connection.getWsdlIntrospecter().getBindingOperation(operation);
+    String request = generatedRequests.getIfPresent(bindingOperation);
+    if (request == null) {
+      request = generateRequest(connection, operation, bindingOperation);
+      generatedRequests.put(bindingOperation, request);
+    }
+    return request;
+  }
+
+  private String generateRequest(WscConnection connection, String operation, BindingOperation bindingOperation) {
     Optional<List<String>> soapBodyParts = getSoapBodyParts(bindingOperation);
 
     if (!soapBodyParts.isPresent()) {
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ws.internal.introspection;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.ibm.wsdl.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import javax.wsdl.Definition;
+
+import org.slf4j.Logger;
+
+/**
+ * Cache of parsed WSDL definitions shared by every {@link WsdlIntrospecter}, so configs using the same WSDL and reconnections
+ * don't fetch and parse it again.
+ * <p/>
+ * Definitions are keyed by the location of the WSDL. Once the {@link #REVALIDATION_INTERVAL_PROPERTY} has elapsed since a
+ * definition was parsed or last validated, the last-modified date of the WSDL is checked, without downloading it: local files
+ * are checked on the file system and remote ones with a <code>HEAD</code> request. The WSDL is parsed again if it changed, or
+ * if its last-modified date is not available. Only the main document is checked, changes in the documents it imports are not
+ * detected.
+ * <p/>
+ * The <code>HEAD</code> request is bounded by the {@link #VALIDATION_TIMEOUT_PROPERTY}. If it times out or the server can't be
+ * reached, the cached definition keeps being used until the next validation.
+ * <p/>
+ * The amount of cached definitions is bounded by the {@link #CACHE_SIZE_PROPERTY} system property, setting it to 0 disables the
+ * cache.
+ *
+ * @since 4.0
+ */
+final class WsdlDefinitionCache {
+
+  /**
+   * System property to set the maximum amount of parsed WSDL definitions kept in memory
+   */
+  static final String CACHE_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "wsc.wsdlCacheSize";
+
+  /**
+   * System property to set the milliseconds a cached definition is used before checking if its WSDL changed
+   */
+  static final String REVALIDATION_INTERVAL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "wsc.wsdlRevalidationInterval";
+
+  /**
+   * System property to set the connect and read timeouts, in milliseconds, of the request that checks if a remote WSDL changed
+   */
+  static final String VALIDATION_TIMEOUT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "wsc.wsdlValidationTimeout";
+
+  private static final Logger LOGGER = getLogger(WsdlDefinitionCache.class);
+
+  private static final int DEFAULT_CACHE_SIZE = 32;
+  private static final long DEFAULT_REVALIDATION_INTERVAL = 60000;
+  private static final int DEFAULT_VALIDATION_TIMEOUT = 5000;
+  private static final long UNKNOWN_LAST_MODIFIED = 0;
+  private static final long UNREACHABLE = -1;
+
+  private static final WsdlSchemaCollector schemaCollector = new WsdlSchemaCollector();
+
+  private final Cache<String, CachedWsdl> definitions;
+  private final boolean enabled;
+  private final long revalidationIntervalNanos;
+  private final int validationTimeout;
+
+  WsdlDefinitionCache() {
+    this(getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE),
+         getLong(REVALIDATION_INTERVAL_PROPERTY, DEFAULT_REVALIDATION_INTERVAL),
+         getInteger(VALIDATION_TIMEOUT_PROPERTY, DEFAULT_VALIDATION_TIMEOUT));
+  }
+
+  WsdlDefinitionCache(int maxSize, long revalidationInterval) {
+    this(maxSize, revalidationInterval, DEFAULT_VALIDATION_TIMEOUT);
+  }
+
+  WsdlDefinitionCache(int maxSize, long revalidationInterval, int validationTimeout) {
+    this.enabled = maxSize > 0;
+    this.definitions = CacheBuilder.newBuilder().maximumSize(Math.max(maxSize, 0)).build();
+    this.revalidationIntervalNanos = MILLISECONDS.toNanos(Math.max(revalidationInterval, 0));
+    this.validationTimeout = Math.max(validationTimeout, 0);
+  }
+
+  /**
+   * Returns the parsed definition of a WSDL, parsing it only if it is not cached or it changed since it was parsed.
+   *
+   * @param wsdlLocation path to the WSDL file, either local or remote
+   * @param parser parses the WSDL at the given location
+   * @return the parsed WSDL
+   */
+  CachedWsdl get(String wsdlLocation, WsdlParser parser) {
+    if (!enabled) {
+      return new CachedWsdl(parser.parse(wsdlLocation), UNKNOWN_LAST_MODIFIED);
+    }
+
+    final CachedWsdl cached = definitions.getIfPresent(wsdlLocation);
+    if (cached != null && !isUpToDate(cached, wsdlLocation)) {
+      definitions.asMap().remove(wsdlLocation, cached);
+    }
+
+    try {
+      return definitions.get(wsdlLocation, () -> {
+        // Read before parsing, so a change made while parsing is detected on the next validation
+        final long lastModified = getLastModified(wsdlLocation);
+        return new CachedWsdl(parser.parse(wsdlLocation), lastModified == UNREACHABLE ? UNKNOWN_LAST_MODIFIED : lastModified);
+      });
+    } catch (UncheckedExecutionException | ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private boolean isUpToDate(CachedWsdl cached, String wsdlLocation) {
+    final long now = System.nanoTime();
+    if (now - cached.validatedAt < revalidationIntervalNanos) {
+      return true;
+    }
+
+    final long lastModified = getLastModified(wsdlLocation);
+    if (lastModified == UNREACHABLE) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Could not check if WSDL '" + wsdlLocation + "' changed, using the cached definition");
+      }
+    } else if (lastModified == UNKNOWN_LAST_MODIFIED || lastModified != cached.lastModified) {
+      return false;
+    }
+    cached.validatedAt = now;
+    return true;
+  }
+
+  /**
+   * @return the last-modified date of the WSDL, {@link #UNREACHABLE} if the request to obtain it failed or timed out, or
+   *         {@link #UNKNOWN_LAST_MODIFIED} if it can't be obtained otherwise
+   */
+  private long getLastModified(String wsdlLocation) {
+    try {
+      final URL url = StringUtils.getURL(null, wsdlLocation);
+      if ("file".equals(url.getProtocol())) {
+        return new File(url.toURI()).lastModified();
+      }
+
+      final URLConnection connection = url.openConnection();
+      if (!(connection instanceof HttpURLConnection)) {
+        return UNKNOWN_LAST_MODIFIED;
+      }
+      final HttpURLConnection httpConnection = (HttpURLConnection) connection;
+      try {
+        httpConnection.setRequestMethod("HEAD");
+        httpConnection.setConnectTimeout(validationTimeout);
+        httpConnection.setReadTimeout(validationTimeout);
+        return httpConnection.getResponseCode() == HTTP_OK ? httpConnection.getLastModified()
+            : UNKNOWN_LAST_MODIFIED;
+      } catch (IOException e) {
+        return UNREACHABLE;
+      } finally {
+        httpConnection.disconnect();
+      }
+    } catch (Exception e) {
+      return UNKNOWN_LAST_MODIFIED;
+    }
+  }
+
+  /**
+   * Parses a WSDL file
+   */
+  @FunctionalInterface
+  interface WsdlParser {
+
+    /**
+     * @param wsdlLocation path to the WSDL file, either local or remote
+     * @return the parsed definition
+     */
+    Definition parse(String wsdlLocation);
+  }
+
+  /**
+   * A parsed WSDL, along with the schemas it uses. Both are shared, so they must not be modified.
+   */
+  static final class CachedWsdl {
+
+    private final Definition definition;
+    private final Set<String> schemas;
+    private final long lastModified;
+    private volatile long validatedAt = System.nanoTime();
+
+    CachedWsdl(Definition definition, long lastModified) {
+      this.definition = definition;
+      this.schemas = unmodifiableSet(schemaCollector.getSchemas(definition));
+      this.lastModified = lastModified;
+    }
+
+    Definition getDefinition() {
+      return definition;
+    }
+
+    Set<String> getSchemas() {
+      return schemas;
+    }
+  }
+}
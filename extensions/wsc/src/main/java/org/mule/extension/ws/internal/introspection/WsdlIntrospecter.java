@@ -8,6 +8,7 @@ package org.mule.extension.ws.internal.introspection;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
+import org.mule.extension.ws.internal.introspection.WsdlDefinitionCache.CachedWsdl;
 
 import com.ibm.wsdl.extensions.schema.SchemaSerializer;
 
@@ -41,14 +42,18 @@ import org.apache.commons.lang.StringUtils;
 @SuppressWarnings("unchecked")
 public class WsdlIntrospecter {
 
-  private static final WsdlSchemaCollector schemaCollector = new WsdlSchemaCollector();
+  private static final WsdlDefinitionCache definitionCache = new WsdlDefinitionCache();
 
   private final Definition definition;
+  private final Set<String> schemas;
   private final Service service;
   private final Port port;
 
   public WsdlIntrospecter(String wsdlLocation, String service, String port) {
-    this.definition = parseWsdl(wsdlLocation);
+    validateBlankString(wsdlLocation, "wsdl Location");
+    final CachedWsdl wsdl = definitionCache.get(wsdlLocation, this::parseWsdl);
+    this.definition = wsdl.getDefinition();
+    this.schemas = wsdl.getSchemas();
     this.service = findService(service);
     this.port = findPort(port);
   }
@@ -98,7 +103,7 @@ public class WsdlIntrospecter {
   }
 
   public Set<String> getSchemas() {
-    return schemaCollector.getSchemas(definition);
+    return schemas;
   }
 
   public Service getService() {
@@ -117,8 +122,6 @@ public class WsdlIntrospecter {
    */
   private Definition parseWsdl(final String wsdlLocation) {
     try {
-      validateBlankString(wsdlLocation, "wsdl Location");
-
       WSDLFactory factory = WSDLFactory.newInstance();
       ExtensionRegistry registry = initExtensionRegistry(factory);
       WSDLReader wsdlReader = factory.newWSDLReader();
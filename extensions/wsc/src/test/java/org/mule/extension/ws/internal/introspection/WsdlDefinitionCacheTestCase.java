@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ws.internal.introspection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.Mockito.mock;
+import org.mule.extension.ws.internal.introspection.WsdlDefinitionCache.CachedWsdl;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.net.ServerSocket;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.wsdl.Definition;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class WsdlDefinitionCacheTestCase extends AbstractMuleTestCase {
+
+  private static final long LONG_INTERVAL = 60000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final AtomicInteger parses = new AtomicInteger();
+  private File wsdl;
+
+  @Before
+  public void setUp() throws Exception {
+    wsdl = temporaryFolder.newFile("test.wsdl");
+  }
+
+  @Test
+  public void unchangedWsdlIsParsedOnce() {
+    WsdlDefinitionCache cache = new WsdlDefinitionCache(32, 0);
+
+    CachedWsdl cached = cache.get(location(), this::parse);
+
+    assertThat(cache.get(location(), this::parse), is(sameInstance(cached)));
+    assertThat(parses.get(), is(1));
+  }
+
+  @Test
+  public void modifiedWsdlIsParsedAgain() {
+    WsdlDefinitionCache cache = new WsdlDefinitionCache(32, 0);
+
+    CachedWsdl cached = cache.get(location(), this::parse);
+    wsdl.setLastModified(wsdl.lastModified() + 10000);
+
+    assertThat(cache.get(location(), this::parse), is(not(sameInstance(cached))));
+    assertThat(parses.get(), is(2));
+  }
+
+  @Test
+  public void wsdlIsNotCheckedWithinRevalidationInterval() {
+    WsdlDefinitionCache cache = new WsdlDefinitionCache(32, LONG_INTERVAL);
+
+    CachedWsdl cached = cache.get(location(), this::parse);
+    wsdl.setLastModified(wsdl.lastModified() + 10000);
+
+    assertThat(cache.get(location(), this::parse), is(sameInstance(cached)));
+    assertThat(parses.get(), is(1));
+  }
+
+  @Test
+  public void wsdlWithoutLastModifiedIsParsedAgainAfterRevalidationInterval() {
+    WsdlDefinitionCache cache = new WsdlDefinitionCache(32, 0);
+    String location = wsdl.getAbsolutePath() + ".missing";
+
+    cache.get(location, this::parse);
+    cache.get(location, this::parse);
+
+    assertThat(parses.get(), is(2));
+  }
+
+  @Test
+  public void cachedDefinitionIsUsedWhenValidationTimesOut() throws Exception {
+    WsdlDefinitionCache cache = new WsdlDefinitionCache(32, 0, 100);
+
+    // Connections are accepted by the backlog of the socket, but no response is ever sent
+    try (ServerSocket server = new ServerSocket(0)) {
+      String location = "http://localhost:" + server.getLocalPort() + "/test.wsdl";
+
+      CachedWsdl cached = cache.get(location, this::parse);
+
+      assertThat(cache.get(location, this::parse), is(sameInstance(cached)));
+      assertThat(parses.get(), is(1));
+    }
+  }
+
+  @Test
+  public void disabledCacheAlwaysParses() {
+    WsdlDefinitionCache cache = new WsdlDefinitionCache(0, LONG_INTERVAL);
+
+    cache.get(location(), this::parse);
+    cache.get(location(), this::parse);
+
+    assertThat(parses.get(), is(2));
+  }
+
+  private String location() {
+    return wsdl.toURI().toString();
+  }
+
+  private Definition parse(String wsdlLocation) {
+    parses.incrementAndGet();
+    return mock(Definition.class);
+  }
+}
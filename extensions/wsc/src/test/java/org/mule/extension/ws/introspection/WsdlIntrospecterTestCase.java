@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ws.introspection;
+
+import static javax.xml.ws.Endpoint.publish;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mule.extension.ws.WscTestUtils.ECHO;
+import org.mule.extension.ws.consumer.TestService;
+import org.mule.extension.ws.internal.introspection.WsdlIntrospecter;
+import org.mule.tck.junit4.rule.DynamicPort;
+
+import javax.xml.ws.Endpoint;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import ru.yandex.qatools.allure.annotations.Description;
+
+public class WsdlIntrospecterTestCase {
+
+  @ClassRule
+  public static DynamicPort port = new DynamicPort("port");
+
+  public static final String TEST_URL = "http://localhost:" + port.getValue() + "/testService";
+
+  private static Endpoint service;
+
+  @BeforeClass
+  public static void startService() {
+    service = publish(TEST_URL, new TestService());
+    assertThat(service.isPublished(), is(true));
+  }
+
+  @Test
+  @Description("Checks that introspecters of the same WSDL share its parsed definition and schemas")
+  public void parsedWsdlIsShared() throws Exception {
+    WsdlIntrospecter introspecter = new WsdlIntrospecter(TEST_URL + "?wsdl", "TestService", "TestPort");
+    WsdlIntrospecter otherIntrospecter = new WsdlIntrospecter(TEST_URL + "?wsdl", "TestService", "TestPort");
+
+    assertThat(otherIntrospecter.getDefinition(), is(sameInstance(introspecter.getDefinition())));
+    assertThat(otherIntrospecter.getSchemas(), is(sameInstance(introspecter.getSchemas())));
+    assertThat(otherIntrospecter.getBindingOperation(ECHO), is(sameInstance(introspecter.getBindingOperation(ECHO))));
+  }
+
+  @AfterClass
+  public static void shutDownService() {
+    service.stop();
+  }
+}
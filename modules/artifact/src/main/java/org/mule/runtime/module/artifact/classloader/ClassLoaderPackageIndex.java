@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.classloader;
+
+import static java.util.jar.Attributes.Name.CLASS_PATH;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Index of the packages containing classes in a set of jar files.
+ * <p/>
+ * Used to discard the lookup of classes which are not in any of the jars without searching each of them. An index can only be
+ * built when every URL is a local jar without {@code Class-Path} manifest entries, otherwise the index is
+ * {@link #UNINDEXED unindexed} and every package may be present.
+ *
+ * @since 4.0
+ */
+final class ClassLoaderPackageIndex {
+
+  private static final String CLASS_SUFFIX = ".class";
+
+  /**
+   * Index which considers any package may be present.
+   */
+  static final ClassLoaderPackageIndex UNINDEXED = new ClassLoaderPackageIndex(null);
+
+  private final Set<String> packages;
+
+  private ClassLoaderPackageIndex(Set<String> packages) {
+    this.packages = packages;
+  }
+
+  /**
+   * Builds the index of the given URLs
+   *
+   * @param urls the URLs of a class loader
+   * @return the index of the URLs, or {@link #UNINDEXED} if any of them can't be indexed.
+   */
+  static ClassLoaderPackageIndex of(URL[] urls) {
+    final Set<String> packages = new HashSet<>();
+    for (URL url : urls) {
+      final File file = toJarFile(url);
+      if (file == null || !indexJar(file, packages)) {
+        return UNINDEXED;
+      }
+    }
+    return new ClassLoaderPackageIndex(packages);
+  }
+
+  private static File toJarFile(URL url) {
+    if (!"file".equals(url.getProtocol())) {
+      return null;
+    }
+    try {
+      final File file = new File(url.toURI());
+      return file.isFile() ? file : null;
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static boolean indexJar(File file, Set<String> packages) {
+    try (JarFile jarFile = new JarFile(file)) {
+      final Manifest manifest = jarFile.getManifest();
+      if (manifest != null && manifest.getMainAttributes().containsKey(CLASS_PATH)) {
+        return false;
+      }
+
+      final Enumeration<JarEntry> entries = jarFile.entries();
+      while (entries.hasMoreElements()) {
+        final String entryName = entries.nextElement().getName();
+        if (entryName.endsWith(CLASS_SUFFIX)) {
+          final int packageEnd = entryName.lastIndexOf('/');
+          packages.add(packageEnd < 0 ? "" : entryName.substring(0, packageEnd).replace('/', '.'));
+        }
+      }
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * @param className the binary name of a class
+   * @return false if the class is certainly not in the indexed URLs, true if it may be.
+   */
+  boolean mayContain(String className) {
+    if (packages == null) {
+      return true;
+    }
+    final int packageEnd = className.lastIndexOf('.');
+    return packages.contains(packageEnd < 0 ? "" : className.substring(0, packageEnd));
+  }
+}
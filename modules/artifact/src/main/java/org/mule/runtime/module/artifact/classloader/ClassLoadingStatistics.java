@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.classloader;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the classes looked up locally by a {@link FineGrainedControlClassLoader}, that is, without delegating to its
+ * parent.
+ *
+ * @since 4.0
+ */
+public final class ClassLoadingStatistics {
+
+  private final LongAdder loadedCount = new LongAdder();
+  private final LongAdder loadingNanos = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder avoidedMissCount = new LongAdder();
+
+  void recordLoaded(long nanos) {
+    loadedCount.increment();
+    loadingNanos.add(nanos);
+  }
+
+  void recordMiss(long nanos) {
+    missCount.increment();
+    loadingNanos.add(nanos);
+  }
+
+  void recordAvoidedMiss() {
+    avoidedMissCount.increment();
+  }
+
+  void add(ClassLoadingStatistics statistics) {
+    loadedCount.add(statistics.getLoadedCount());
+    loadingNanos.add(statistics.loadingNanos.sum());
+    missCount.add(statistics.getMissCount());
+    avoidedMissCount.add(statistics.getAvoidedMissCount());
+  }
+
+  /**
+   * @return the amount of classes defined by the class loader.
+   */
+  public long getLoadedCount() {
+    return loadedCount.sum();
+  }
+
+  /**
+   * @param unit the unit in which to return the time
+   * @return the time spent looking up classes in the class loader's URLs, whether they were found or not.
+   */
+  public long getLoadingTime(TimeUnit unit) {
+    return unit.convert(loadingNanos.sum(), NANOSECONDS);
+  }
+
+  /**
+   * @return the amount of classes looked up in the class loader's URLs but not found.
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * @return the amount of lookups of missing classes which were resolved without looking up the class loader's URLs.
+   */
+  public long getAvoidedMissCount() {
+    return avoidedMissCount.sum();
+  }
+}
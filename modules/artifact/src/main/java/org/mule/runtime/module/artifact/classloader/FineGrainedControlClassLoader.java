@@ -6,11 +6,14 @@
  */
 package org.mule.runtime.module.artifact.classloader;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Boolean.valueOf;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
 import static java.util.Arrays.asList;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_LOG_VERBOSE_CLASSLOADING;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.util.Preconditions.checkArgument;
 import static org.mule.runtime.module.artifact.classloader.ClassLoaderLookupStrategy.CHILD_FIRST;
 import static org.mule.runtime.module.artifact.classloader.ClassLoaderLookupStrategy.PARENT_FIRST;
@@ -26,6 +29,8 @@ import java.net.URLClassLoader;
 import java.net.URLStreamHandler;
 import java.net.URLStreamHandlerFactory;
 import java.util.Enumeration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +42,10 @@ import sun.net.www.protocol.jar.Handler;
  * <p/>
  * By using a {@link ClassLoaderLookupPolicy} this classLoader can use parent-first, parent-only or child-first classloading
  * lookup mode per package.
+ * <p/>
+ * Classes not found in the class loader's URLs are remembered, so they are not searched again, and when every URL is a jar the
+ * packages they contain are indexed, so classes from any other package are not searched at all. Both caches can be disabled
+ * with the {@link #DISABLE_LOOKUP_CACHES_PROPERTY} system property.
  */
 public class FineGrainedControlClassLoader extends URLClassLoader
     implements DisposableClassLoader, ClassLoaderLookupPolicyProvider {
@@ -45,10 +54,19 @@ public class FineGrainedControlClassLoader extends URLClassLoader
     registerAsParallelCapable();
   }
 
+  /**
+   * System property to disable the caching of the classes not found in the class loader's URLs.
+   */
+  public static final String DISABLE_LOOKUP_CACHES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "classloader.disableLookupCaches";
+
   protected Logger logger = LoggerFactory.getLogger(getClass());
 
   private final ClassLoaderLookupPolicy lookupPolicy;
   private final boolean verboseLogging;
+  private final boolean lookupCachesEnabled = !getBoolean(DISABLE_LOOKUP_CACHES_PROPERTY);
+  private final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
+  private final ClassLoadingStatistics classLoadingStatistics = new ClassLoadingStatistics();
+  private volatile ClassLoaderPackageIndex packageIndex;
 
   public FineGrainedControlClassLoader(URL[] urls, ClassLoader parent, ClassLoaderLookupPolicy lookupPolicy) {
     super(urls, parent, new NonCachingURLStreamHandlerFactory());
@@ -176,10 +194,57 @@ public class FineGrainedControlClassLoader extends URLClassLoader
         return result;
       }
 
-      return super.findClass(name);
+      if (lookupCachesEnabled && (missingClasses.contains(name) || !getPackageIndex().mayContain(name))) {
+        missingClasses.add(name);
+        classLoadingStatistics.recordAvoidedMiss();
+        throw new MissingClassException(name);
+      }
+
+      final long lookupStart = nanoTime();
+      try {
+        result = super.findClass(name);
+        classLoadingStatistics.recordLoaded(nanoTime() - lookupStart);
+        return result;
+      } catch (ClassNotFoundException e) {
+        classLoadingStatistics.recordMiss(nanoTime() - lookupStart);
+        if (lookupCachesEnabled) {
+          missingClasses.add(name);
+        }
+        throw e;
+      }
     }
   }
 
+  private ClassLoaderPackageIndex getPackageIndex() {
+    ClassLoaderPackageIndex index = packageIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = packageIndex;
+        if (index == null) {
+          index = ClassLoaderPackageIndex.of(getURLs());
+          packageIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  @Override
+  protected void addURL(URL url) {
+    super.addURL(url);
+    synchronized (this) {
+      packageIndex = null;
+      missingClasses.clear();
+    }
+  }
+
+  /**
+   * @return the statistics of the classes looked up in this class loader's URLs.
+   */
+  public ClassLoadingStatistics getClassLoadingStatistics() {
+    return classLoadingStatistics;
+  }
+
   @Override
   public ClassLoaderLookupPolicy getClassLoaderLookupPolicy() {
     return lookupPolicy;
@@ -191,6 +256,8 @@ public class FineGrainedControlClassLoader extends URLClassLoader
    */
   @Override
   public void dispose() {
+    missingClasses.clear();
+
     try {
       // Java 7 added support for closing a URLClassLoader, it will close any resources opened by this classloader
       close();
@@ -210,6 +277,24 @@ public class FineGrainedControlClassLoader extends URLClassLoader
     }
   }
 
+  /**
+   * Thrown when a class is known to be missing without searching for it. As that happens for the classes frameworks probe for
+   * repeatedly, it doesn't fill its stack trace.
+   */
+  private static final class MissingClassException extends ClassNotFoundException {
+
+    private static final long serialVersionUID = -3725153937520325263L;
+
+    private MissingClassException(String className) {
+      super(className);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
+    }
+  }
+
   protected static class NonCachingURLStreamHandlerFactory implements URLStreamHandlerFactory {
 
     @Override
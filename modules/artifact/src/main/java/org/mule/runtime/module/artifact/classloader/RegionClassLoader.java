@@ -110,20 +110,34 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
 
   @Override
   public Class<?> findLocalClass(String name) throws ClassNotFoundException {
-    synchronized (getClassLoadingLock(name)) {
-      final String packageName = ClassUtils.getPackageName(name);
-
-      final ArtifactClassLoader artifactClassLoader = packageMapping.get(packageName);
-      if (artifactClassLoader != null) {
-        try {
-          return artifactClassLoader.findLocalClass(name);
-        } catch (ClassNotFoundException e) {
-          throw new ClassNotFoundInRegionException(name, getArtifactId(), artifactClassLoader.getArtifactId(), e);
-        }
-      } else {
-        throw new ClassNotFoundInRegionException(name, getArtifactId());
+    // No need to hold the class loading lock for the name, as the region doesn't define classes and the member class loader
+    // already holds its own one
+    final String packageName = ClassUtils.getPackageName(name);
+
+    final ArtifactClassLoader artifactClassLoader = packageMapping.get(packageName);
+    if (artifactClassLoader != null) {
+      try {
+        return artifactClassLoader.findLocalClass(name);
+      } catch (ClassNotFoundException e) {
+        throw new ClassNotFoundInRegionException(name, getArtifactId(), artifactClassLoader.getArtifactId(), e);
+      }
+    } else {
+      throw new ClassNotFoundInRegionException(name, getArtifactId());
+    }
+  }
+
+  /**
+   * @return the statistics of the classes looked up by every member of the region.
+   */
+  @Override
+  public ClassLoadingStatistics getClassLoadingStatistics() {
+    final ClassLoadingStatistics statistics = new ClassLoadingStatistics();
+    for (ArtifactClassLoader artifactClassLoader : unfilteredClassLoaders) {
+      if (artifactClassLoader.getClassLoader() instanceof FineGrainedControlClassLoader) {
+        statistics.add(((FineGrainedControlClassLoader) artifactClassLoader.getClassLoader()).getClassLoadingStatistics());
       }
     }
+    return statistics;
   }
 
   @Override
@@ -12,12 +12,16 @@ import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.module.artifact.classloader.ClassLoaderLookupStrategy.CHILD_FIRST;
 import static org.mule.runtime.module.artifact.classloader.ClassLoaderLookupStrategy.PARENT_FIRST;
 import static org.mule.runtime.module.artifact.classloader.ClassLoaderLookupStrategy.PARENT_ONLY;
+import static org.mule.runtime.module.artifact.classloader.FineGrainedControlClassLoader.DISABLE_LOOKUP_CACHES_PROPERTY;
+import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
 import static org.mule.tck.junit4.matcher.FunctionExpressionMatcher.expressionMatches;
 import org.mule.runtime.core.util.ClassUtils;
 import org.mule.runtime.module.artifact.classloader.TestClassLoader.TestClassNotFoundException;
@@ -171,6 +175,54 @@ public class FineGrainedControlClassLoaderTestCase extends AbstractMuleTestCase
     invokeTestClassMethod(ext);
   }
 
+  @Test
+  public void missingLocalClassIsSearchedOnce() throws Exception {
+    FineGrainedControlClassLoader ext =
+        new FineGrainedControlClassLoader(new URL[] {getChildFileResource()}, null, mock(ClassLoaderLookupPolicy.class));
+
+    assertLocalClassNotFound(ext, TEST_CLASS_PACKAGE + ".MissingClass");
+    assertLocalClassNotFound(ext, TEST_CLASS_PACKAGE + ".MissingClass");
+
+    assertThat(ext.getClassLoadingStatistics().getMissCount(), is(1L));
+    assertThat(ext.getClassLoadingStatistics().getAvoidedMissCount(), is(1L));
+  }
+
+  @Test
+  public void classFromNotIndexedPackageIsNotSearched() throws Exception {
+    FineGrainedControlClassLoader ext =
+        new FineGrainedControlClassLoader(new URL[] {getChildFileResource()}, null, mock(ClassLoaderLookupPolicy.class));
+
+    assertLocalClassNotFound(ext, "otherpackage.MyClass");
+    assertThat(ext.findLocalClass(TEST_CLASS_NAME).getName(), is(TEST_CLASS_NAME));
+
+    assertThat(ext.getClassLoadingStatistics().getMissCount(), is(0L));
+    assertThat(ext.getClassLoadingStatistics().getAvoidedMissCount(), is(1L));
+    assertThat(ext.getClassLoadingStatistics().getLoadedCount(), is(1L));
+  }
+
+  @Test
+  public void lookupCachesCanBeDisabled() throws Exception {
+    testWithSystemProperty(DISABLE_LOOKUP_CACHES_PROPERTY, "true", () -> {
+      FineGrainedControlClassLoader ext =
+          new FineGrainedControlClassLoader(new URL[] {getChildFileResource()}, null, mock(ClassLoaderLookupPolicy.class));
+
+      assertLocalClassNotFound(ext, "otherpackage.MyClass");
+      assertLocalClassNotFound(ext, "otherpackage.MyClass");
+
+      assertThat(ext.getClassLoadingStatistics().getMissCount(), is(2L));
+      assertThat(ext.getClassLoadingStatistics().getAvoidedMissCount(), is(0L));
+    });
+  }
+
+  private void assertLocalClassNotFound(FineGrainedControlClassLoader classLoader, String className) {
+    try {
+      classLoader.findLocalClass(className);
+      fail("Class should not be found: " + className);
+    } catch (ClassNotFoundException e) {
+      assertThat(e.getMessage(), is(className));
+    }
+  }
+
   protected FineGrainedControlClassLoader buildFineGrainedControlClassLoader(ClassLoader parent,
                                                                              final ClassLoaderLookupPolicy lookupPolicy) {
     return new FineGrainedControlClassLoader(new URL[0], parent, lookupPolicy) {
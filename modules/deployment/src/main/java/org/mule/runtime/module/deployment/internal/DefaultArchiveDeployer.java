@@ -6,7 +6,9 @@
  */
 package org.mule.runtime.module.deployment.internal;
 
+import static java.lang.System.nanoTime;
 import static org.mule.runtime.core.util.SplashScreen.miniSplash;
+import static org.mule.runtime.module.deployment.internal.DeploymentProfiler.Phase.CREATION;
 import static org.mule.runtime.module.reboot.MuleContainerBootstrapUtils.getMuleAppsDir;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.config.i18n.I18nMessageFactory;
@@ -51,6 +53,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
   private final ArtifactDeploymentTemplate deploymentTemplate;
   private ArtifactFactory<T> artifactFactory;
   private DeploymentListener deploymentListener = new NullDeploymentListener();
+  private DeploymentProfiler deploymentProfiler = new DeploymentProfiler();
 
 
   public DefaultArchiveDeployer(final ArtifactDeployer deployer, final ArtifactFactory artifactFactory,
@@ -202,6 +205,13 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
     this.deploymentListener = deploymentListener;
   }
 
+  /**
+   * @param deploymentProfiler profiler in which to record the time spent creating the artifacts
+   */
+  public void setDeploymentProfiler(DeploymentProfiler deploymentProfiler) {
+    this.deploymentProfiler = deploymentProfiler;
+  }
+
   private T deployPackagedArtifact(final URL artifactUrl, String artifactName) throws IOException {
     ZombieFile zombieFile = artifactZombieMap.get(artifactName);
     if (zombieFile != null) {
@@ -230,7 +240,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
 
     T artifact;
     try {
-      artifact = artifactFactory.createArtifact(new File(getMuleAppsDir(), addedApp));
+      artifact = createArtifact(new File(getMuleAppsDir(), addedApp));
 
       // add to the list of known artifacts first to avoid deployment loop on failure
       trackArtifact(artifact);
@@ -360,9 +370,18 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
     }
   }
 
+  private T createArtifact(File artifactLocation) throws IOException {
+    final long creationStart = nanoTime();
+    try {
+      return artifactFactory.createArtifact(artifactLocation);
+    } finally {
+      deploymentProfiler.record(artifactLocation.getName(), CREATION, nanoTime() - creationStart);
+    }
+  }
+
   private T installFrom(URL url) throws IOException {
     File artifactLocation = artifactArchiveInstaller.installArtifact(url);
-    return artifactFactory.createArtifact(artifactLocation);
+    return createArtifact(artifactLocation);
   }
 
   @Override
@@ -382,7 +401,7 @@ public class DefaultArchiveDeployer<T extends DeployableArtifact> implements Arc
 
     deploymentListener.onDeploymentStart(artifact.getArtifactName());
     try {
-      artifact = artifactFactory.createArtifact(artifact.getLocation());
+      artifact = createArtifact(artifact.getLocation());
       trackArtifact(artifact);
 
       deployer.deploy(artifact);
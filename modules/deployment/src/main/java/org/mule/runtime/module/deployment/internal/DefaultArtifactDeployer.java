@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.module.deployment.internal;
 
+import static org.mule.runtime.module.deployment.internal.DeploymentProfiler.Phase.INITIALISATION;
+import static org.mule.runtime.module.deployment.internal.DeploymentProfiler.Phase.INSTALLATION;
+import static org.mule.runtime.module.deployment.internal.DeploymentProfiler.Phase.START;
 import org.mule.runtime.core.config.i18n.I18nMessageFactory;
 import org.mule.runtime.deployment.model.api.DeploymentException;
 import org.mule.runtime.deployment.model.api.DeployableArtifact;
@@ -17,11 +20,14 @@ public class DefaultArtifactDeployer<T extends DeployableArtifact> implements Ar
 
   protected transient final Logger logger = LoggerFactory.getLogger(getClass());
 
+  private DeploymentProfiler deploymentProfiler = new DeploymentProfiler();
+
   public void deploy(T artifact) {
     try {
-      artifact.install();
-      artifact.init();
-      artifact.start();
+      final String artifactName = artifact.getArtifactName();
+      deploymentProfiler.profile(artifactName, INSTALLATION, artifact::install);
+      deploymentProfiler.profile(artifactName, INITIALISATION, artifact::init);
+      deploymentProfiler.profile(artifactName, START, artifact::start);
     } catch (Throwable t) {
       artifact.dispose();
 
@@ -34,6 +40,13 @@ public class DefaultArtifactDeployer<T extends DeployableArtifact> implements Ar
     }
   }
 
+  /**
+   * @param deploymentProfiler profiler in which to record the time spent on each deployment phase
+   */
+  public void setDeploymentProfiler(DeploymentProfiler deploymentProfiler) {
+    this.deploymentProfiler = deploymentProfiler;
+  }
+
   public void undeploy(T artifact) {
     try {
       tryToStopArtifact(artifact);
@@ -133,16 +133,15 @@ public class DeploymentDirectoryWatcher implements Runnable {
       String[] explodedDomains = domainsDir.list(DirectoryFileFilter.DIRECTORY);
       String[] packagedDomains = domainsDir.list(ZIP_ARTIFACT_FILTER);
 
-      deployPackedDomains(packagedDomains);
-      deployExplodedDomains(explodedDomains);
-
       if (appString == null) {
         String[] explodedApps = appsDir.list(DirectoryFileFilter.DIRECTORY);
         String[] packagedApps = appsDir.list(ZIP_ARTIFACT_FILTER);
 
-        deployPackedApps(packagedApps);
-        deployExplodedApps(explodedApps);
+        deployArtifacts(packagedDomains, explodedDomains, packagedApps, explodedApps);
       } else {
+        deployPackedDomains(packagedDomains);
+        deployExplodedDomains(explodedDomains);
+
         String[] apps = appString.split(":");
         apps = removeDuplicateAppNames(apps);
 
@@ -227,23 +226,46 @@ public class DeploymentDirectoryWatcher implements Runnable {
     }
   }
 
+  /**
+   * Deploys the artifacts found on startup, domains first and then applications.
+   *
+   * @param packedDomains names of the domain archives
+   * @param explodedDomains names of the domain directories
+   * @param packedApps names of the application archives
+   * @param explodedApps names of the application directories
+   */
+  protected void deployArtifacts(String[] packedDomains, String[] explodedDomains, String[] packedApps, String[] explodedApps) {
+    deployPackedDomains(packedDomains);
+    deployExplodedDomains(explodedDomains);
+    deployPackedApps(packedApps);
+    deployExplodedApps(explodedApps);
+  }
+
   protected void deployPackedApps(String[] zips) {
     for (String zip : zips) {
-      try {
-        applicationArchiveDeployer.deployPackagedArtifact(zip);
-      } catch (Exception e) {
-        // Ignore and continue
-      }
+      deployPackedApp(zip);
+    }
+  }
+
+  protected void deployPackedApp(String zip) {
+    try {
+      applicationArchiveDeployer.deployPackagedArtifact(zip);
+    } catch (Exception e) {
+      // Ignore and continue
     }
   }
 
   protected void deployExplodedApps(String[] apps) {
     for (String addedApp : apps) {
-      try {
-        applicationArchiveDeployer.deployExplodedArtifact(addedApp);
-      } catch (DeploymentException e) {
-        // Ignore and continue
-      }
+      deployExplodedApp(addedApp);
+    }
+  }
+
+  protected void deployExplodedApp(String addedApp) {
+    try {
+      applicationArchiveDeployer.deployExplodedArtifact(addedApp);
+    } catch (DeploymentException e) {
+      // Ignore and continue
     }
   }
 
@@ -382,25 +404,33 @@ public class DeploymentDirectoryWatcher implements Runnable {
     return anchors;
   }
 
-  private void deployExplodedDomains(String[] domains) {
+  protected void deployExplodedDomains(String[] domains) {
     for (String addedDomain : domains) {
-      try {
-        if (domainArchiveDeployer.isUpdatedZombieArtifact(addedDomain)) {
-          domainArchiveDeployer.deployExplodedArtifact(addedDomain);
-        }
-      } catch (DeploymentException e) {
-        logger.error("Error deploying domain '{}'", addedDomain, e);
+      deployExplodedDomain(addedDomain);
+    }
+  }
+
+  protected void deployExplodedDomain(String addedDomain) {
+    try {
+      if (domainArchiveDeployer.isUpdatedZombieArtifact(addedDomain)) {
+        domainArchiveDeployer.deployExplodedArtifact(addedDomain);
       }
+    } catch (DeploymentException e) {
+      logger.error("Error deploying domain '{}'", addedDomain, e);
     }
   }
 
-  private void deployPackedDomains(String[] zips) {
+  protected void deployPackedDomains(String[] zips) {
     for (String zip : zips) {
-      try {
-        domainArchiveDeployer.deployPackagedArtifact(zip);
-      } catch (Exception e) {
-        // Ignore and continue
-      }
+      deployPackedDomain(zip);
+    }
+  }
+
+  protected void deployPackedDomain(String zip) {
+    try {
+      domainArchiveDeployer.deployPackagedArtifact(zip);
+    } catch (Exception e) {
+      // Ignore and continue
     }
   }
 
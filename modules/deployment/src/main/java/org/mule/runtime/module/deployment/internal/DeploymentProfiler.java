@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the time each artifact spent on each phase of its last deployment.
+ *
+ * @since 4.0
+ */
+public class DeploymentProfiler {
+
+  /**
+   * The phases in which the deployment of an artifact is split
+   */
+  public enum Phase {
+    /**
+     * Reading the artifact descriptor and creating its class loaders
+     */
+    CREATION("CREATION (ms)"),
+
+    /**
+     * Checking the artifact resources
+     */
+    INSTALLATION("INSTALL (ms)"),
+
+    /**
+     * Parsing the configuration and creating the artifact context
+     */
+    INITIALISATION("INIT (ms)"),
+
+    /**
+     * Starting the artifact context and its flows
+     */
+    START("START (ms)");
+
+    private final String label;
+
+    Phase(String label) {
+      this.label = label;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+  }
+
+  private final Map<String, Map<Phase, Long>> timings = new ConcurrentHashMap<>();
+
+  /**
+   * Executes a phase of the deployment of an artifact, recording its duration whether it succeeds or not.
+   *
+   * @param artifactName name of the deployed artifact
+   * @param phase the phase to execute
+   * @param task executes the phase
+   * @return the value returned by the task
+   */
+  public <T> T profile(String artifactName, Phase phase, Supplier<T> task) {
+    final long start = nanoTime();
+    try {
+      return task.get();
+    } finally {
+      record(artifactName, phase, nanoTime() - start);
+    }
+  }
+
+  /**
+   * Executes a phase of the deployment of an artifact, recording its duration whether it succeeds or not.
+   *
+   * @param artifactName name of the deployed artifact
+   * @param phase the phase to execute
+   * @param task executes the phase
+   */
+  public void profile(String artifactName, Phase phase, Runnable task) {
+    profile(artifactName, phase, () -> {
+      task.run();
+      return null;
+    });
+  }
+
+  /**
+   * Records the duration of a phase of the deployment of an artifact, replacing the one of a previous deployment.
+   *
+   * @param artifactName name of the deployed artifact. Nothing is recorded if null.
+   * @param phase the executed phase
+   * @param nanos the duration of the phase in nanoseconds
+   */
+  public void record(String artifactName, Phase phase, long nanos) {
+    if (artifactName == null) {
+      return;
+    }
+    final Map<Phase, Long> phases = timings.computeIfAbsent(artifactName, name -> new EnumMap<>(Phase.class));
+    synchronized (phases) {
+      phases.put(phase, nanos);
+    }
+  }
+
+  /**
+   * @param artifactName name of a deployed artifact
+   * @return whether any phase of the given artifact was profiled
+   */
+  public boolean isProfiled(String artifactName) {
+    return timings.containsKey(artifactName);
+  }
+
+  /**
+   * @param artifactName name of a deployed artifact
+   * @param phase a deployment phase
+   * @param unit the unit in which to return the time
+   * @return the duration of the phase, or -1 if the phase was not executed.
+   */
+  public long getTime(String artifactName, Phase phase, TimeUnit unit) {
+    final Map<Phase, Long> phases = timings.get(artifactName);
+    if (phases == null) {
+      return -1;
+    }
+    synchronized (phases) {
+      final Long nanos = phases.get(phase);
+      return nanos == null ? -1 : unit.convert(nanos, NANOSECONDS);
+    }
+  }
+}
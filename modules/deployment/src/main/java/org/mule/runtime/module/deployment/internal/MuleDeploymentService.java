@@ -65,6 +65,7 @@ public class MuleDeploymentService implements DeploymentService {
    */
   private final CompositeDeploymentListener applicationDeploymentListener = new CompositeDeploymentListener();
   private final CompositeDeploymentListener domainDeploymentListener = new CompositeDeploymentListener();
+  private final DeploymentProfiler deploymentProfiler = new DeploymentProfiler();
   private final ArchiveDeployer<Domain> domainDeployer;
   private final DeploymentDirectoryWatcher deploymentDirectoryWatcher;
   private DefaultArchiveDeployer<Application> applicationDeployer;
@@ -75,17 +76,20 @@ public class MuleDeploymentService implements DeploymentService {
     domainFactory.setDeploymentListener(domainDeploymentListener);
     applicationFactory.setDeploymentListener(applicationDeploymentListener);
 
-    ArtifactDeployer<Application> applicationMuleDeployer = new DefaultArtifactDeployer<>();
-    ArtifactDeployer<Domain> domainMuleDeployer = new DefaultArtifactDeployer<>();
+    DefaultArtifactDeployer<Application> applicationMuleDeployer = new DefaultArtifactDeployer<>();
+    applicationMuleDeployer.setDeploymentProfiler(deploymentProfiler);
+    DefaultArtifactDeployer<Domain> domainMuleDeployer = new DefaultArtifactDeployer<>();
+    domainMuleDeployer.setDeploymentProfiler(deploymentProfiler);
 
     this.applicationDeployer = new DefaultArchiveDeployer<>(applicationMuleDeployer, applicationFactory, applications,
                                                             NOP_ARTIFACT_DEPLOYMENT_TEMPLATE);
     this.applicationDeployer.setDeploymentListener(applicationDeploymentListener);
-    this.domainDeployer = new DomainArchiveDeployer(
-                                                    new DefaultArchiveDeployer<>(domainMuleDeployer, domainFactory, domains,
-                                                                                 new DomainDeploymentTemplate(applicationDeployer,
-                                                                                                              this)),
-                                                    applicationDeployer, this);
+    this.applicationDeployer.setDeploymentProfiler(deploymentProfiler);
+    DefaultArchiveDeployer<Domain> domainArchiveDeployer =
+        new DefaultArchiveDeployer<>(domainMuleDeployer, domainFactory, domains,
+                                     new DomainDeploymentTemplate(applicationDeployer, this));
+    domainArchiveDeployer.setDeploymentProfiler(deploymentProfiler);
+    this.domainDeployer = new DomainArchiveDeployer(domainArchiveDeployer, applicationDeployer, this);
     this.domainDeployer.setDeploymentListener(domainDeploymentListener);
 
     if (useParallelDeployment()) {
@@ -120,7 +124,7 @@ public class MuleDeploymentService implements DeploymentService {
     addDomainDeploymentListener(deploymentStatusTracker.getDomainDeploymentStatusTracker());
 
     StartupSummaryDeploymentListener summaryDeploymentListener =
-        new StartupSummaryDeploymentListener(deploymentStatusTracker, this);
+        new StartupSummaryDeploymentListener(deploymentStatusTracker, this, deploymentProfiler);
     addStartupListener(summaryDeploymentListener);
 
     deploymentDirectoryWatcher.start();
@@ -7,27 +7,56 @@
 
 package org.mule.runtime.module.deployment.internal;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Runtime.getRuntime;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.io.FilenameUtils.getBaseName;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.deployment.model.api.DeployableArtifactDescriptor.DEFAULT_DEPLOY_PROPERTIES_RESOURCE;
+import static org.mule.runtime.deployment.model.api.domain.Domain.DEFAULT_DOMAIN_NAME;
+import static org.mule.runtime.module.deployment.internal.application.PropertiesDescriptorParser.PROPERTY_DOMAIN;
+import org.mule.runtime.core.util.StringUtils;
 import org.mule.runtime.deployment.model.api.application.Application;
 import org.mule.runtime.deployment.model.api.domain.Domain;
 import org.mule.runtime.module.deployment.internal.util.ObservableList;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
- * Provides parallel deployment of Mule applications.
+ * Provides parallel deployment of Mule domains and applications.
+ * <p/>
+ * On startup, the artifacts are deployed following their dependencies: each application is deployed as soon as its domain is,
+ * and independent artifacts are deployed in parallel. The domain of a packed application is not known until it's expanded, so
+ * it waits for every domain. The amount of artifacts deployed at the same time is bounded by the amount of processors, unless
+ * the {@link #DEPLOYMENT_PARALLELISM_PROPERTY} system property is set.
  *
  * @since 3.8.2
  */
 public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatcher {
 
+  /**
+   * System property to set the maximum amount of artifacts deployed at the same time
+   */
+  public static final String DEPLOYMENT_PARALLELISM_PROPERTY = SYSTEM_PROPERTY_PREFIX + "deployment.parallelism";
+
   private final ThreadPoolExecutor threadPoolExecutor;
 
   public ParallelDeploymentDirectoryWatcher(ArchiveDeployer<Domain> domainArchiveDeployer,
@@ -35,76 +64,115 @@ public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatch
                                             ObservableList<Domain> domains, ObservableList<Application> applications,
                                             ReentrantLock deploymentLock) {
     super(domainArchiveDeployer, applicationArchiveDeployer, domains, applications, deploymentLock);
-    this.threadPoolExecutor =
-        new ThreadPoolExecutor(0, 20, 5, TimeUnit.SECONDS, new SynchronousQueue(), new ThreadPoolExecutor.CallerRunsPolicy());
+    final int parallelism = Math.max(1, getInteger(DEPLOYMENT_PARALLELISM_PROPERTY, getRuntime().availableProcessors()));
+    this.threadPoolExecutor = new ThreadPoolExecutor(parallelism, parallelism, 5, SECONDS, new LinkedBlockingQueue<>());
+    this.threadPoolExecutor.allowCoreThreadTimeOut(true);
   }
 
   @Override
-  protected void deployPackedApps(String[] zips) {
-    if (zips.length == 0) {
-      return;
+  protected void deployArtifacts(String[] packedDomains, String[] explodedDomains, String[] packedApps, String[] explodedApps) {
+    final List<CompletableFuture<Void>> deployments = new ArrayList<>();
+
+    final Map<String, CompletableFuture<Void>> domainDeployments = new HashMap<>();
+    for (String zip : packedDomains) {
+      domainDeployments.put(getBaseName(zip), deployAfter(() -> deployPackedDomain(zip)));
+    }
+    for (String domain : explodedDomains) {
+      // An exploded domain may be the result of expanding a packed one, which deploys it
+      domainDeployments.put(domain, deployAfter(() -> deployExplodedDomain(domain), domainDeployments.get(domain)));
     }
+    deployments.addAll(domainDeployments.values());
+    final CompletableFuture<Void> allDomainDeployments = allOf(domainDeployments.values().toArray(new CompletableFuture[0]));
 
-    List<Callable<Object>> tasks = new ArrayList<>(zips.length);
-    for (final String zip : zips) {
-      tasks.add(new Callable<Object>() {
-
-        @Override
-        public Object call() throws Exception {
-          try {
-            applicationArchiveDeployer.deployPackagedArtifact(zip);
-          } catch (Exception e) {
-            // Ignore and continue
-          }
-          return null;
-        }
-      });
+    final Map<String, CompletableFuture<Void>> packedAppDeployments = new HashMap<>();
+    for (String zip : packedApps) {
+      packedAppDeployments.put(getBaseName(zip), deployAfter(() -> deployPackedApp(zip), allDomainDeployments));
+    }
+    deployments.addAll(packedAppDeployments.values());
+    for (String app : explodedApps) {
+      final String domain = getApplicationDomain(app);
+      final CompletableFuture<Void> domainDeployment =
+          domain != null ? domainDeployments.get(domain) : allDomainDeployments;
+      deployments.add(deployAfter(() -> deployExplodedAppIfUpdated(app), domainDeployment, packedAppDeployments.get(app)));
     }
 
-    waitForTasksToFinish(tasks);
+    waitForDeploymentsToFinish(deployments);
   }
 
+  @Override
+  protected void deployPackedDomains(String[] zips) {
+    deployInParallel(zips, this::deployPackedDomain);
+  }
+
+  @Override
+  protected void deployExplodedDomains(String[] domains) {
+    deployInParallel(domains, this::deployExplodedDomain);
+  }
+
+  @Override
+  protected void deployPackedApps(String[] zips) {
+    deployInParallel(zips, this::deployPackedApp);
+  }
 
   @Override
   protected void deployExplodedApps(String[] apps) {
-    List<Callable<Object>> tasks = new ArrayList<>(apps.length);
-
-    for (final String addedApp : apps) {
-      if (applicationArchiveDeployer.isUpdatedZombieArtifact(addedApp)) {
-        tasks.add(new Callable<Object>() {
-
-          @Override
-          public Object call() throws Exception {
-            try {
-              applicationArchiveDeployer.deployExplodedArtifact(addedApp);
-            } catch (Exception e) {
-              // Ignore and continue
-            }
-            return null;
-          }
-        });
-      }
+    deployInParallel(apps, this::deployExplodedAppIfUpdated);
+  }
+
+  private void deployExplodedAppIfUpdated(String app) {
+    if (applicationArchiveDeployer.isUpdatedZombieArtifact(app)) {
+      deployExplodedApp(app);
     }
+  }
 
-    if (!tasks.isEmpty()) {
-      waitForTasksToFinish(tasks);
+  private void deployInParallel(String[] artifacts, Consumer<String> deployment) {
+    final List<CompletableFuture<Void>> deployments = new ArrayList<>(artifacts.length);
+    for (String artifact : artifacts) {
+      deployments.add(deployAfter(() -> deployment.accept(artifact)));
     }
+    waitForDeploymentsToFinish(deployments);
+  }
+
+  /**
+   * Schedules a deployment once the given ones finished, whether they succeeded or not.
+   */
+  private CompletableFuture<Void> deployAfter(Runnable deployment, CompletableFuture<?>... dependencies) {
+    final CompletableFuture<?>[] pendingDependencies = Stream.of(dependencies).filter(Objects::nonNull)
+        .map(dependency -> dependency.handle((result, failure) -> null)).toArray(CompletableFuture[]::new);
+    final CompletableFuture<Void> ready = pendingDependencies.length == 0 ? completedFuture(null) : allOf(pendingDependencies);
+    return ready.thenRunAsync(deployment, threadPoolExecutor);
   }
 
-  private void waitForTasksToFinish(List<Callable<Object>> tasks) {
-    try {
-      final List<Future<Object>> futures = threadPoolExecutor.invokeAll(tasks);
+  /**
+   * @return the name of the domain of an exploded application, or null if it can't be read
+   */
+  private String getApplicationDomain(String app) {
+    final File deployProperties =
+        new File(new File(applicationArchiveDeployer.getDeploymentDirectory(), app), DEFAULT_DEPLOY_PROPERTIES_RESOURCE);
+    if (!deployProperties.exists()) {
+      return DEFAULT_DOMAIN_NAME;
+    }
 
-      for (Future<Object> future : futures) {
-        try {
-          future.get();
-        } catch (ExecutionException e) {
-          // Ignore and continue with the next one
-        }
-      }
+    try (InputStream deployPropertiesStream = new FileInputStream(deployProperties)) {
+      final Properties properties = new Properties();
+      properties.load(deployPropertiesStream);
+      final String domain = properties.getProperty(PROPERTY_DOMAIN);
+      return StringUtils.isBlank(domain) ? DEFAULT_DOMAIN_NAME : domain;
+    } catch (IOException e) {
+      return null;
+    }
+  }
 
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
+  private void waitForDeploymentsToFinish(List<CompletableFuture<Void>> deployments) {
+    for (CompletableFuture<Void> deployment : deployments) {
+      try {
+        deployment.get();
+      } catch (ExecutionException e) {
+        // Ignore and continue with the next one
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
     }
   }
 }
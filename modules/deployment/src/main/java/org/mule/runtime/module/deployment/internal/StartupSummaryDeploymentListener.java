@@ -6,9 +6,14 @@
  */
 package org.mule.runtime.module.deployment.internal;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import org.mule.runtime.core.util.SimpleLoggingTable;
+import org.mule.runtime.module.artifact.Artifact;
+import org.mule.runtime.module.artifact.classloader.ClassLoadingStatistics;
+import org.mule.runtime.module.artifact.classloader.FineGrainedControlClassLoader;
 import org.mule.runtime.module.deployment.api.DeploymentService;
 import org.mule.runtime.module.deployment.api.StartupListener;
+import org.mule.runtime.module.deployment.internal.DeploymentProfiler.Phase;
 import org.mule.runtime.deployment.model.api.application.Application;
 
 import com.google.common.collect.LinkedListMultimap;
@@ -20,7 +25,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Prints application status summary table on Mule startup.
+ * Prints application status summary table on Mule startup, followed by the time each deployed artifact spent on each deployment
+ * phase and its class loading statistics.
  */
 public class StartupSummaryDeploymentListener implements StartupListener {
 
@@ -29,19 +35,38 @@ public class StartupSummaryDeploymentListener implements StartupListener {
   private static final String APPLICATION_LABEL = "APPLICATION";
   private static final String DOMAIN_OWNER_LABEL = "DOMAIN";
   private static final String STATUS_LABEL = "STATUS";
+  private static final String ARTIFACT_LABEL = "ARTIFACT";
+  private static final String LOADED_CLASSES_LABEL = "CLASSES";
+  private static final String CLASS_LOADING_TIME_LABEL = "TIME (ms)";
+  private static final String MISSING_CLASSES_LABEL = "MISSES (CACHED)";
   private static final int ARTIFACT_NAME_LABEL_LENGTH = 45;
   private static final int STATUS_LABEL_LENGTH = 18;
   private static final int DOMAIN_OWNER_LABEL_LENGTH = 30;
+  private static final int CLASS_LOADING_LABEL_LENGTH = 18;
+  private static final int PHASE_LABEL_LENGTH = 16;
 
   private static final String UNKNOWN_ARTIFACT_NAME = "UNKNOWN";
 
   private final DeploymentService deploymentService;
+  private final DeploymentProfiler deploymentProfiler;
 
   protected DeploymentStatusTracker tracker;
 
   public StartupSummaryDeploymentListener(DeploymentStatusTracker tracker, DeploymentService deploymentService) {
+    this(tracker, deploymentService, new DeploymentProfiler());
+  }
+
+  /**
+   * @param tracker tracks the status of the deployed artifacts
+   * @param deploymentService service that deployed the artifacts
+   * @param deploymentProfiler profiler in which the time spent on each deployment phase was recorded
+   * @since 4.0
+   */
+  public StartupSummaryDeploymentListener(DeploymentStatusTracker tracker, DeploymentService deploymentService,
+                                          DeploymentProfiler deploymentProfiler) {
     this.tracker = tracker;
     this.deploymentService = deploymentService;
+    this.deploymentProfiler = deploymentProfiler;
   }
 
   public void onAfterStartup() {
@@ -58,9 +83,25 @@ public class StartupSummaryDeploymentListener implements StartupListener {
     domainTable.addColumn(DOMAIN_OWNER_LABEL, ARTIFACT_NAME_LABEL_LENGTH);
     domainTable.addColumn(STATUS_LABEL, STATUS_LABEL_LENGTH);
 
+    SimpleLoggingTable classLoadingTable = new SimpleLoggingTable();
+    classLoadingTable.addColumn(ARTIFACT_LABEL, ARTIFACT_NAME_LABEL_LENGTH);
+    classLoadingTable.addColumn(LOADED_CLASSES_LABEL, CLASS_LOADING_LABEL_LENGTH);
+    classLoadingTable.addColumn(CLASS_LOADING_TIME_LABEL, CLASS_LOADING_LABEL_LENGTH);
+    classLoadingTable.addColumn(MISSING_CLASSES_LABEL, CLASS_LOADING_LABEL_LENGTH);
+    boolean hasClassLoadingStatistics = false;
+
+    SimpleLoggingTable profileTable = new SimpleLoggingTable();
+    profileTable.addColumn(ARTIFACT_LABEL, ARTIFACT_NAME_LABEL_LENGTH);
+    for (Phase phase : Phase.values()) {
+      profileTable.addColumn(phase.getLabel(), PHASE_LABEL_LENGTH);
+    }
+    boolean hasProfiles = false;
+
     for (String domain : domainDeploymentState.keySet()) {
       String[] data = new String[] {domain, domainDeploymentState.get(domain).toString()};
       domainTable.addDataRow(data);
+      hasClassLoadingStatistics |= addClassLoadingRow(classLoadingTable, domain, deploymentService.findDomain(domain));
+      hasProfiles |= addProfileRow(profileTable, domain);
     }
 
     Map<String, ArtifactDeploymentStatusTracker.DeploymentState> applicationStates =
@@ -72,6 +113,8 @@ public class StartupSummaryDeploymentListener implements StartupListener {
       if (application != null) {
         domainName = application.getDomain().getArtifactName();
       }
+      hasClassLoadingStatistics |= addClassLoadingRow(classLoadingTable, applicationName, application);
+      hasProfiles |= addProfileRow(profileTable, applicationName);
       applicationsPerDomain.put(domainName, applicationName);
     }
 
@@ -95,6 +138,43 @@ public class StartupSummaryDeploymentListener implements StartupListener {
       message = String.format("%n%s", domainTable);
     }
 
+    if (hasProfiles) {
+      message = String.format("%s%n%s", message, profileTable);
+    }
+    if (hasClassLoadingStatistics) {
+      message = String.format("%s%n%s", message, classLoadingTable);
+    }
+
     logger.info(message);
   }
+
+  private boolean addProfileRow(SimpleLoggingTable profileTable, String artifactName) {
+    if (!deploymentProfiler.isProfiled(artifactName)) {
+      return false;
+    }
+
+    final Phase[] phases = Phase.values();
+    String[] data = new String[phases.length + 1];
+    data[0] = artifactName;
+    for (int i = 0; i < phases.length; ++i) {
+      final long time = deploymentProfiler.getTime(artifactName, phases[i], MILLISECONDS);
+      data[i + 1] = time < 0 ? "-" : String.valueOf(time);
+    }
+    profileTable.addDataRow(data);
+    return true;
+  }
+
+  private boolean addClassLoadingRow(SimpleLoggingTable classLoadingTable, String artifactName, Artifact<?> artifact) {
+    if (artifact == null || artifact.getArtifactClassLoader() == null
+        || !(artifact.getArtifactClassLoader().getClassLoader() instanceof FineGrainedControlClassLoader)) {
+      return false;
+    }
+
+    ClassLoadingStatistics statistics =
+        ((FineGrainedControlClassLoader) artifact.getArtifactClassLoader().getClassLoader()).getClassLoadingStatistics();
+    classLoadingTable.addDataRow(new String[] {artifactName, String.valueOf(statistics.getLoadedCount()),
+        String.valueOf(statistics.getLoadingTime(MILLISECONDS)),
+        String.format("%d (%d)", statistics.getMissCount(), statistics.getAvoidedMissCount())});
+    return true;
+  }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.runtime.module.deployment.internal.DeploymentProfiler.Phase.CREATION;
+import static org.mule.runtime.module.deployment.internal.DeploymentProfiler.Phase.INITIALISATION;
+import static org.mule.runtime.module.deployment.internal.DeploymentProfiler.Phase.START;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class DeploymentProfilerTestCase extends AbstractMuleTestCase {
+
+  private static final String ARTIFACT_NAME = "app";
+
+  private final DeploymentProfiler profiler = new DeploymentProfiler();
+
+  @Test
+  public void recordsPhaseDuration() throws Exception {
+    profiler.profile(ARTIFACT_NAME, INITIALISATION, () -> sleep(10));
+
+    assertThat(profiler.isProfiled(ARTIFACT_NAME), is(true));
+    assertThat(profiler.getTime(ARTIFACT_NAME, INITIALISATION, MILLISECONDS), greaterThanOrEqualTo(10L));
+    assertThat(profiler.getTime(ARTIFACT_NAME, START, MILLISECONDS), is(-1L));
+  }
+
+  @Test
+  public void recordsFailedPhase() throws Exception {
+    try {
+      profiler.profile(ARTIFACT_NAME, START, () -> {
+        throw new IllegalStateException();
+      });
+      fail("Phase was expected to fail");
+    } catch (IllegalStateException e) {
+      assertThat(profiler.getTime(ARTIFACT_NAME, START, NANOSECONDS), greaterThanOrEqualTo(0L));
+    }
+  }
+
+  @Test
+  public void redeploymentReplacesDuration() throws Exception {
+    profiler.record(ARTIFACT_NAME, CREATION, 5);
+    profiler.record(ARTIFACT_NAME, CREATION, 3);
+
+    assertThat(profiler.getTime(ARTIFACT_NAME, CREATION, NANOSECONDS), is(3L));
+  }
+
+  @Test
+  public void unnamedArtifactIsNotProfiled() throws Exception {
+    profiler.record(null, CREATION, 5);
+  }
+
+  private void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -21,6 +21,7 @@ import static org.mule.runtime.extension.api.annotation.Extension.DEFAULT_CONFIG
 import static org.mule.runtime.module.extension.internal.introspection.describer.MuleExtensionAnnotationParser.getExceptionEnricherFactory;
 import static org.mule.runtime.module.extension.internal.introspection.describer.MuleExtensionAnnotationParser.getExtension;
 import static org.mule.runtime.module.extension.internal.introspection.describer.MuleExtensionAnnotationParser.parseLayoutAnnotations;
+import static org.mule.runtime.module.extension.internal.runtime.executor.MethodHandleOperationExecutorFactory.getOperationExecutorFactory;
 import static org.mule.runtime.module.extension.internal.util.IntrospectionUtils.getExpressionSupport;
 import static org.mule.runtime.module.extension.internal.util.IntrospectionUtils.getFieldsWithGetters;
 import static org.mule.runtime.module.extension.internal.util.IntrospectionUtils.getMethodReturnAttributesType;
@@ -109,7 +110,6 @@ import org.mule.runtime.module.extension.internal.model.property.InterceptingMod
 import org.mule.runtime.module.extension.internal.model.property.OperationExecutorModelProperty;
 import org.mule.runtime.module.extension.internal.model.property.SourceFactoryModelProperty;
 import org.mule.runtime.module.extension.internal.model.property.TypeRestrictionModelProperty;
-import org.mule.runtime.module.extension.internal.runtime.executor.ReflectiveOperationExecutorFactory;
 import org.mule.runtime.module.extension.internal.runtime.source.DefaultSourceFactory;
 
 import com.google.common.collect.ImmutableList;
@@ -322,6 +322,7 @@ public final class AnnotationsBasedDescriber implements Describer {
   private void declareOperations(ExtensionDeclarer extensionDeclarer, HasOperationDeclarer declarer,
                                  List<MethodElement> operations, boolean supportsConfig) {
 
+    final String extensionName = getExtension(extensionType).name();
     for (MethodElement operationMethod : operations) {
       final Class<?> declaringClass = operationMethod.getDeclaringClass();
       checkOperationIsNotAnExtension(declaringClass);
@@ -348,8 +349,8 @@ public final class AnnotationsBasedDescriber implements Describer {
 
       final OperationDeclarer operation = actualDeclarer.withOperation(operationMethod.getAlias())
           .withModelProperty(new ImplementingMethodModelProperty(method))
-          .withModelProperty(new OperationExecutorModelProperty(new ReflectiveOperationExecutorFactory<>(declaringClass,
-                                                                                                         method)));
+          .withModelProperty(new OperationExecutorModelProperty(getOperationExecutorFactory(extensionName, declaringClass,
+                                                                                            method)));
 
       addExceptionEnricher(operationMethod, operation);
       operation.withOutput().ofType(getMethodReturnType(method, typeLoader));
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.executor;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+import static java.lang.reflect.Modifier.isStatic;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.lifecycle.Lifecycle;
+import org.mule.runtime.extension.api.runtime.operation.OperationContext;
+import org.mule.runtime.extension.api.runtime.operation.OperationExecutor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of {@link OperationExecutor} which, just like {@link ReflectiveMethodOperationExecutor}, invokes a {@link Method}
+ * over an {@link #executorDelegate}, but does so through a {@link MethodHandle} which is generated once per operation instead of
+ * going through {@link Method#invoke(Object, Object...)} on each execution.
+ * <p/>
+ * The {@link MethodHandle} is bound to the {@link #executorDelegate} and adapted to take the arguments as a single array, so the
+ * only work left for each execution is resolving the arguments, which the {@link MethodArgumentResolverDelegate} does in one
+ * pass over its precomputed resolvers. The thread's context {@link ClassLoader} is only switched when it is not the extension's
+ * already. As in the reflective executor, checked exceptions thrown by the operation are wrapped in an
+ * {@link UndeclaredThrowableException}.
+ * <p/>
+ * All the {@link Lifecycle} events that {@code this} instance receives are propagated to the {@link #executorDelegate}
+ *
+ * @since 4.0
+ */
+public final class MethodHandleOperationExecutor implements OperationExecutor, MuleContextAware, Lifecycle {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandleOperationExecutor.class);
+
+  private final Object executorDelegate;
+  private final MethodHandle invoker;
+  private final ArgumentResolverDelegate argumentResolverDelegate;
+  private final Class<?>[] parameterTypes;
+  private final ClassLoader extensionClassLoader;
+
+  private MuleContext muleContext;
+
+  /**
+   * Creates a new instance
+   *
+   * @param operationModel the model of the operation to execute
+   * @param operationMethod the {@link Method} which implements the operation
+   * @param executorDelegate the instance on which the {@code operationMethod} is invoked
+   * @throws IllegalAccessException if the {@code operationMethod} is not accessible
+   */
+  MethodHandleOperationExecutor(OperationModel operationModel, Method operationMethod, Object executorDelegate)
+      throws IllegalAccessException {
+    this.executorDelegate = executorDelegate;
+    parameterTypes = operationMethod.getParameterTypes();
+    argumentResolverDelegate = new MethodArgumentResolverDelegate(operationModel, operationMethod);
+    extensionClassLoader = operationMethod.getDeclaringClass().getClassLoader();
+
+    MethodHandle handle = lookup().unreflect(operationMethod);
+    if (!isStatic(operationMethod.getModifiers())) {
+      handle = handle.bindTo(executorDelegate);
+    }
+    invoker = handle.asSpreader(Object[].class, parameterTypes.length).asType(methodType(Object.class, Object[].class));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object execute(OperationContext operationContext) throws Exception {
+    final Thread currentThread = Thread.currentThread();
+    final ClassLoader currentClassLoader = currentThread.getContextClassLoader();
+    if (currentClassLoader == extensionClassLoader) {
+      return invoke(operationContext);
+    }
+
+    currentThread.setContextClassLoader(extensionClassLoader);
+    try {
+      return invoke(operationContext);
+    } finally {
+      currentThread.setContextClassLoader(currentClassLoader);
+    }
+  }
+
+  private Object invoke(OperationContext operationContext) {
+    final Object[] arguments = argumentResolverDelegate.resolve(operationContext, parameterTypes);
+    try {
+      return (Object) invoker.invokeExact(arguments);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new UndeclaredThrowableException(t);
+    }
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    initialiseIfNeeded(executorDelegate, true, muleContext);
+  }
+
+  @Override
+  public void start() throws MuleException {
+    startIfNeeded(executorDelegate);
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    stopIfNeeded(executorDelegate);
+  }
+
+  @Override
+  public void dispose() {
+    disposeIfNeeded(executorDelegate, LOGGER);
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    muleContext = context;
+    if (executorDelegate instanceof MuleContextAware) {
+      ((MuleContextAware) executorDelegate).setMuleContext(context);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.executor;
+
+import static java.lang.String.format;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.util.Preconditions.checkArgument;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.core.api.MuleRuntimeException;
+import org.mule.runtime.extension.api.runtime.operation.OperationExecutor;
+import org.mule.runtime.extension.api.runtime.operation.OperationExecutorFactory;
+
+import java.lang.reflect.Method;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of {@link OperationExecutorFactory} which produces instances of {@link MethodHandleOperationExecutor}.
+ * <p/>
+ * If the operation {@link Method} cannot be accessed through a {@link java.lang.invoke.MethodHandle}, it falls back to a
+ * {@link ReflectiveMethodOperationExecutor}.
+ * <p/>
+ * Which executors are used for the operations of an extension is decided through the {@link #OPERATION_EXECUTOR_PROPERTY} system
+ * property, which can be overridden for a particular extension by appending {@code .} and the extension's name to it. Its values
+ * may be {@link #REFLECTIVE_EXECUTOR} (the default) or {@link #METHOD_HANDLE_EXECUTOR}.
+ *
+ * @param <T> the type of the class in which the implementing method is declared
+ * @since 4.0
+ */
+public final class MethodHandleOperationExecutorFactory<T> implements OperationExecutorFactory {
+
+  public static final String OPERATION_EXECUTOR_PROPERTY = SYSTEM_PROPERTY_PREFIX + "extensions.operationExecutor";
+  public static final String REFLECTIVE_EXECUTOR = "reflective";
+  public static final String METHOD_HANDLE_EXECUTOR = "methodHandle";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandleOperationExecutorFactory.class);
+
+  private final Class<T> implementationClass;
+  private final Method operationMethod;
+
+  public MethodHandleOperationExecutorFactory(Class<T> implementationClass, Method operationMethod) {
+    checkArgument(implementationClass != null, "implementationClass cannot be null");
+    checkArgument(operationMethod != null, "operationMethod cannot be null");
+
+    this.implementationClass = implementationClass;
+    this.operationMethod = operationMethod;
+  }
+
+  /**
+   * Creates the {@link OperationExecutorFactory} configured for the operations of the given extension
+   *
+   * @param extensionName the name of the extension which owns the operation
+   * @param implementationClass the class in which the {@code operationMethod} is declared
+   * @param operationMethod the {@link Method} which implements the operation
+   * @param <T> the type of the {@code implementationClass}
+   * @return a {@link MethodHandleOperationExecutorFactory} or a {@link ReflectiveOperationExecutorFactory}
+   */
+  public static <T> OperationExecutorFactory getOperationExecutorFactory(String extensionName, Class<T> implementationClass,
+                                                                         Method operationMethod) {
+    final String executor = System.getProperty(OPERATION_EXECUTOR_PROPERTY + "." + extensionName,
+                                               System.getProperty(OPERATION_EXECUTOR_PROPERTY, REFLECTIVE_EXECUTOR));
+    if (METHOD_HANDLE_EXECUTOR.equals(executor)) {
+      return new MethodHandleOperationExecutorFactory<>(implementationClass, operationMethod);
+    } else if (!REFLECTIVE_EXECUTOR.equals(executor)) {
+      LOGGER.warn(format("Unknown operation executor '%s' for extension '%s', using '%s'", executor, extensionName,
+                         REFLECTIVE_EXECUTOR));
+    }
+    return new ReflectiveOperationExecutorFactory<>(implementationClass, operationMethod);
+  }
+
+  @Override
+  public OperationExecutor createExecutor(OperationModel operationModel) {
+    Object delegate;
+    try {
+      delegate = implementationClass.newInstance();
+    } catch (Exception e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not create instance of operation class "
+          + implementationClass.getName()), e);
+    }
+
+    try {
+      return new MethodHandleOperationExecutor(operationModel, operationMethod, delegate);
+    } catch (IllegalAccessException e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(format("Method '%s' of class '%s' cannot be accessed through a method handle, invoking it reflectively",
+                            operationMethod.getName(), implementationClass.getName()),
+                     e);
+      }
+      return new ReflectiveMethodOperationExecutor(operationModel, operationMethod, delegate);
+    }
+  }
+}
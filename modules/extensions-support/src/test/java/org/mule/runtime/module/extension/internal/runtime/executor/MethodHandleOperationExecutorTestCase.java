@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.executor;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.module.extension.internal.runtime.executor.MethodHandleOperationExecutorFactory.METHOD_HANDLE_EXECUTOR;
+import static org.mule.runtime.module.extension.internal.runtime.executor.MethodHandleOperationExecutorFactory.OPERATION_EXECUTOR_PROPERTY;
+import static org.mule.runtime.module.extension.internal.runtime.executor.MethodHandleOperationExecutorFactory.REFLECTIVE_EXECUTOR;
+import static org.mule.runtime.module.extension.internal.runtime.executor.MethodHandleOperationExecutorFactory.getOperationExecutorFactory;
+import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
+import static org.mule.test.heisenberg.extension.HeisenbergExtension.HEISENBERG;
+import static org.mule.test.heisenberg.extension.model.HealthStatus.DEAD;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.config.ConfigurationModel;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.util.ClassUtils;
+import org.mule.runtime.extension.api.runtime.ConfigurationInstance;
+import org.mule.runtime.extension.api.runtime.operation.OperationResult;
+import org.mule.runtime.module.extension.internal.model.property.ParameterGroupModelProperty;
+import org.mule.runtime.module.extension.internal.runtime.DefaultOperationContext;
+import org.mule.runtime.module.extension.internal.runtime.OperationContextAdapter;
+import org.mule.runtime.module.extension.internal.runtime.config.LifecycleAwareConfigurationInstance;
+import org.mule.runtime.module.extension.internal.runtime.executor.ReflectiveMethodOperationExecutorTestCase.PrimitiveTypesTestOperations;
+import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSetResult;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+import org.mule.test.heisenberg.extension.HeisenbergExtension;
+import org.mule.test.heisenberg.extension.HeisenbergOperations;
+import org.mule.test.heisenberg.extension.exception.HeisenbergException;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class MethodHandleOperationExecutorTestCase extends AbstractMuleTestCase {
+
+  private static final String CONFIG_NAME = "config";
+  private static final String EXTENSION_NAME = "heisenberg";
+
+  @Mock(answer = RETURNS_DEEP_STUBS)
+  private Event muleEvent;
+
+  @Mock
+  private ResolverSetResult parameters;
+
+  @Mock
+  private ExtensionModel extensionModel;
+
+  @Mock
+  private ConfigurationModel configurationModel;
+
+  @Mock
+  private OperationModel operationModel;
+
+  @Mock
+  private MuleContext muleContext;
+
+  private MethodHandleOperationExecutor executor;
+  private OperationContextAdapter operationContext;
+  private HeisenbergExtension config;
+  private HeisenbergOperations operations;
+  private PrimitiveTypesTestOperations primitiveTypesTestOperations = new PrimitiveTypesTestOperations();
+
+  @Before
+  public void init() throws Exception {
+    config = new HeisenbergExtension();
+    config.getPersonalInfo().setName(HEISENBERG);
+    config.setEnemies(Arrays.asList("Hank"));
+    operations = new HeisenbergOperations();
+
+    ConfigurationInstance configurationInstance =
+        new LifecycleAwareConfigurationInstance(CONFIG_NAME, configurationModel, config, emptyList(), Optional.empty());
+    when(muleEvent.getMessage().getPayload().getDataType()).thenReturn(STRING);
+    when(operationModel.getModelProperty(ParameterGroupModelProperty.class)).thenReturn(Optional.empty());
+    operationContext = new DefaultOperationContext(extensionModel, of(configurationInstance), parameters, operationModel,
+                                                   muleEvent, muleContext);
+  }
+
+  @Test
+  public void operationWithReturnValueAndWithoutParameters() throws Exception {
+    Method method = ClassUtils.getMethod(HeisenbergOperations.class, "sayMyName", new Class<?>[] {HeisenbergExtension.class});
+    executor = new MethodHandleOperationExecutor(operationModel, method, operations);
+    assertThat(executor.execute(operationContext), is(HEISENBERG));
+  }
+
+  @Test
+  public void exceptionIsPropagated() throws Exception {
+    final RuntimeException exception = new RuntimeException();
+    operations = mock(HeisenbergOperations.class);
+    when(operations.sayMyName(any(HeisenbergExtension.class))).thenThrow(exception);
+
+    try {
+      operationWithReturnValueAndWithoutParameters();
+      fail("was expecting an exception");
+    } catch (Exception e) {
+      assertThat(e, is(sameInstance(exception)));
+    }
+  }
+
+  @Test
+  public void checkedExceptionIsWrapped() throws Exception {
+    Method method = ClassUtils.getMethod(HeisenbergOperations.class, "callGusFring", new Class<?>[] {});
+    executor = new MethodHandleOperationExecutor(operationModel, method, operations);
+
+    try {
+      executor.execute(operationContext);
+      fail("was expecting an exception");
+    } catch (Exception e) {
+      assertThat(e, is(instanceOf(UndeclaredThrowableException.class)));
+      assertThat(e.getCause(), is(instanceOf(HeisenbergException.class)));
+    }
+  }
+
+  @Test
+  public void voidOperationWithoutParameters() throws Exception {
+    Method method = ClassUtils.getMethod(HeisenbergOperations.class, "die", new Class<?>[] {HeisenbergExtension.class});
+    executor = new MethodHandleOperationExecutor(operationModel, method, operations);
+
+    assertThat(executor.execute(operationContext), is(nullValue()));
+    assertThat(config.getEndingHealth(), is(DEAD));
+  }
+
+  @Test
+  public void withArgumentsAndReturnValue() throws Exception {
+    Map<String, Object> parametersMap = new HashMap<>();
+    parametersMap.put("index", 0);
+    when(parameters.asMap()).thenReturn(parametersMap);
+    init();
+
+    Method method =
+        ClassUtils.getMethod(HeisenbergOperations.class, "getEnemy", new Class<?>[] {HeisenbergExtension.class, int.class});
+    executor = new MethodHandleOperationExecutor(operationModel, method, operations);
+
+    assertThat(((OperationResult) executor.execute(operationContext)).getOutput(), is("Hank"));
+  }
+
+  @Test
+  public void executesWithExtensionClassLoader() throws Exception {
+    final ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
+    final ClassLoader otherClassLoader = new ClassLoader(originalClassLoader) {};
+    Method method = ClassUtils.getMethod(HeisenbergOperations.class, "sayMyName", new Class<?>[] {HeisenbergExtension.class});
+    executor = new MethodHandleOperationExecutor(operationModel, method, operations);
+
+    Thread.currentThread().setContextClassLoader(otherClassLoader);
+    try {
+      assertThat(executor.execute(operationContext), is(HEISENBERG));
+      assertThat(Thread.currentThread().getContextClassLoader(), is(sameInstance(otherClassLoader)));
+    } finally {
+      Thread.currentThread().setContextClassLoader(originalClassLoader);
+    }
+  }
+
+  @Test
+  public void withAllPrimitiveTypeArgumentsWithoutValue() throws Exception {
+    Class<?>[] parameterTypes =
+        {char.class, byte.class, short.class, int.class, long.class, float.class, double.class, boolean.class};
+    Method method = ClassUtils.getMethod(PrimitiveTypesTestOperations.class, "allCombined", parameterTypes);
+    executor = new MethodHandleOperationExecutor(operationModel, method, primitiveTypesTestOperations);
+    executor.execute(operationContext);
+  }
+
+  @Test
+  public void reflectiveFactoryByDefault() throws Exception {
+    testWithSystemProperty(OPERATION_EXECUTOR_PROPERTY, null, () -> assertThat(createExecutorFactory(),
+                                                                               is(instanceOf(ReflectiveOperationExecutorFactory.class))));
+  }
+
+  @Test
+  public void methodHandleFactoryForAllExtensions() throws Exception {
+    testWithSystemProperty(OPERATION_EXECUTOR_PROPERTY, METHOD_HANDLE_EXECUTOR, () -> {
+      assertThat(createExecutorFactory(), is(instanceOf(MethodHandleOperationExecutorFactory.class)));
+      assertThat(getOperationExecutorFactory(EXTENSION_NAME, HeisenbergOperations.class, getSayMyNameMethod())
+          .createExecutor(operationModel), is(instanceOf(MethodHandleOperationExecutor.class)));
+    });
+  }
+
+  @Test
+  public void factoryOverriddenPerExtension() throws Exception {
+    testWithSystemProperty(OPERATION_EXECUTOR_PROPERTY, REFLECTIVE_EXECUTOR,
+                           () -> testWithSystemProperty(OPERATION_EXECUTOR_PROPERTY + "." + EXTENSION_NAME,
+                                                        METHOD_HANDLE_EXECUTOR,
+                                                        () -> assertThat(createExecutorFactory(),
+                                                                         is(instanceOf(MethodHandleOperationExecutorFactory.class)))));
+  }
+
+  private Object createExecutorFactory() {
+    return getOperationExecutorFactory(EXTENSION_NAME, HeisenbergOperations.class, getSayMyNameMethod());
+  }
+
+  private Method getSayMyNameMethod() {
+    return ClassUtils.getMethod(HeisenbergOperations.class, "sayMyName", new Class<?>[] {HeisenbergExtension.class});
+  }
+}
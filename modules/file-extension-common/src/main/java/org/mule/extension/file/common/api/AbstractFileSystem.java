@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import javax.activation.MimetypesFileTypeMap;
 import javax.inject.Inject;
@@ -98,6 +99,14 @@ public abstract class AbstractFileSystem implements FileSystem {
     return getListCommand().list(config, directoryPath, recursive, message, matcher);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Stream<FileAttributes> listDirectory(String directoryPath) {
+    return getListCommand().listDirectory(directoryPath);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.common.api;
+
+import static java.util.Collections.emptyIterator;
+import static java.util.Optional.empty;
+import static org.mule.runtime.core.util.Preconditions.checkArgument;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.extension.api.introspection.streaming.PagingProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A {@link PagingProvider} which lists a directory in pages of up to {@code pageSize} {@link TreeNode}s, so that the listed
+ * files don't need to be held in memory at once.
+ * <p>
+ * Directories are traversed breadth first through {@link FileSystem#listDirectory(String)}, and the {@code matcher} is applied
+ * as they are being traversed. Each page only contains the nodes found since the prior one, and those nodes have no
+ * {@link TreeNode#getChilds() childs}. When the listing is recursive, each accepted directory is included as a node and its
+ * contents follow on subsequent pages.
+ * <p>
+ * Because each page may be obtained through a different {@link FileSystem} connection, the only state kept between pages is
+ * the directory currently being traversed and the ones pending to be.
+ *
+ * @since 4.0
+ */
+public final class FileListPagingProvider implements PagingProvider<FileSystem, TreeNode> {
+
+  private final FileConnectorConfig config;
+  private final String directoryPath;
+  private final boolean recursive;
+  private final Message message;
+  private final Predicate<FileAttributes> matcher;
+  private final int pageSize;
+
+  private final Deque<String> pendingDirectories = new LinkedList<>();
+  private Stream<FileAttributes> currentDirectory;
+  private Iterator<FileAttributes> currentIterator = emptyIterator();
+  private boolean started = false;
+
+  /**
+   * Creates a new instance
+   *
+   * @param config the config that is parameterizing the listing
+   * @param directoryPath the path to the directory to be listed
+   * @param recursive whether to include the contents of sub-directories
+   * @param message the {@link Message} on which the listing was triggered
+   * @param matcher the matcher used to filter the listed files
+   * @param pageSize the maximum amount of nodes in each page
+   */
+  public FileListPagingProvider(FileConnectorConfig config, String directoryPath, boolean recursive, Message message,
+                                Predicate<FileAttributes> matcher, int pageSize) {
+    checkArgument(pageSize > 0, "pageSize has to be greater than zero");
+    this.config = config;
+    this.directoryPath = directoryPath;
+    this.recursive = recursive;
+    this.message = message;
+    this.matcher = matcher;
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<TreeNode> getPage(FileSystem fileSystem) {
+    if (!started) {
+      started = true;
+      fileSystem.changeToBaseDir();
+      openDirectory(fileSystem, directoryPath);
+    }
+
+    List<TreeNode> page = new ArrayList<>(pageSize);
+    while (page.size() < pageSize && nextDirectoryWithFiles(fileSystem)) {
+      FileAttributes attributes = currentIterator.next();
+      if (!matcher.test(attributes)) {
+        continue;
+      }
+
+      if (attributes.isDirectory()) {
+        page.add(TreeNode.Builder.forDirectory(attributes).build());
+        if (recursive) {
+          pendingDirectories.add(attributes.getPath());
+        }
+      } else {
+        page.add(TreeNode.Builder.forFile(fileSystem.read(config, message, attributes.getPath(), false)).build());
+      }
+    }
+
+    return page;
+  }
+
+  private boolean nextDirectoryWithFiles(FileSystem fileSystem) {
+    while (!currentIterator.hasNext()) {
+      closeCurrentDirectory();
+      if (pendingDirectories.isEmpty()) {
+        return false;
+      }
+      openDirectory(fileSystem, pendingDirectories.poll());
+    }
+
+    return true;
+  }
+
+  private void openDirectory(FileSystem fileSystem, String path) {
+    currentDirectory = fileSystem.listDirectory(path);
+    currentIterator = currentDirectory.iterator();
+  }
+
+  private void closeCurrentDirectory() {
+    if (currentDirectory != null) {
+      currentDirectory.close();
+      currentDirectory = null;
+      currentIterator = emptyIterator();
+    }
+  }
+
+  /**
+   * The total amount of files is not known until the listing finishes, so this method always returns {@link Optional#empty()}
+   */
+  @Override
+  public Optional<Integer> getTotalResults(FileSystem fileSystem) {
+    return empty();
+  }
+
+  /**
+   * Closes the directory currently being traversed, if any
+   */
+  @Override
+  public void close() throws IOException {
+    closeCurrentDirectory();
+    pendingDirectories.clear();
+  }
+}
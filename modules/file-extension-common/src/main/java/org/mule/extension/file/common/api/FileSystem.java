@@ -19,6 +19,7 @@ import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import javax.activation.MimetypesFileTypeMap;
 
@@ -52,6 +53,19 @@ public interface FileSystem {
   TreeNode list(FileConnectorConfig config, String directoryPath, boolean recursive, Message message,
                 Predicate<FileAttributes> matcher);
 
+  /**
+   * Lists the direct children of the directory at {@code directoryPath}, without reading their content nor recursing into
+   * sub-directories.
+   * <p>
+   * The children are obtained lazily as the returned {@link Stream} is consumed, to the extent that the underlying file system
+   * allows it, so that directories with a large amount of files don't need to be held in memory at once.
+   *
+   * @param directoryPath the path to the directory to be listed
+   * @return a {@link Stream} of the {@link FileAttributes} of the directory's children, which has to be closed once consumed
+   * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exists or is not a directory
+   */
+  Stream<FileAttributes> listDirectory(String directoryPath);
+
   /**
    * Obtains the content and metadata of a file at a given path.
    * <p>
@@ -25,6 +25,7 @@ import org.mule.runtime.extension.api.annotation.param.UseConfig;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 import org.mule.runtime.extension.api.annotation.param.display.Placement;
 import org.mule.runtime.extension.api.annotation.param.display.Summary;
+import org.mule.runtime.extension.api.introspection.streaming.PagingProvider;
 import org.mule.runtime.extension.api.runtime.operation.OperationResult;
 
 import java.io.InputStream;
@@ -72,6 +73,33 @@ public class StandardFileSystemOperations {
     return fileSystem.list(config, directoryPath, recursive, message, getPredicate(matchWith));
   }
 
+  /**
+   * Lists the files in the {@code directoryPath} which match the given {@code matcher}, under the same considerations as the
+   * {@link #list(FileConnectorConfig, FileSystem, String, boolean, Message, FilePredicateBuilder) list} operation, but
+   * streaming the results in pages of up to {@code pageSize} nodes instead of building the whole tree in memory.
+   * <p>
+   * Each node on the output corresponds to a listed file or directory and has no childs. When {@code recursive} is set to
+   * {@code true}, the contents of the accepted sub-directories follow the node of such directory.
+   *
+   * @param config the config that is parameterizing this operation
+   * @param directoryPath the path to the directory to be listed
+   * @param recursive whether to include the contents of sub-directories. Defaults to false.
+   * @param message the {@link Message} on which this operation was triggered
+   * @param pageSize the maximum amount of nodes to obtain from the file system at once. Defaults to 100.
+   * @param matchWith a matcher used to filter the output list
+   * @return a {@link FileListPagingProvider} which obtains the listed nodes
+   * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exists or is not a directory
+   */
+  @Summary("Streams the files from a given directory in pages")
+  public PagingProvider<FileSystem, TreeNode> pagedList(@UseConfig FileConnectorConfig config, @Optional String directoryPath,
+                                                        @Optional(defaultValue = "false") boolean recursive, Message message,
+                                                        @Optional(defaultValue = "100") int pageSize,
+                                                        @Optional @Summary("Matcher to filter the listed files") @Placement(
+                                                            group = FileDisplayConstants.MATCHER)
+                                                        FilePredicateBuilder matchWith) {
+    return new FileListPagingProvider(config, directoryPath, recursive, message, getPredicate(matchWith), pageSize);
+  }
+
   /**
    * Obtains the content and metadata of a file at a given path. The operation itself returns a {@link Message} which payload is a
    * {@link InputStream} with the file's content, and the metadata is represent as a {@link FileAttributes} object that's placed
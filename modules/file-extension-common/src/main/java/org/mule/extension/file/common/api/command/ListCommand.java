@@ -13,6 +13,7 @@ import org.mule.extension.file.common.api.FileSystem;
 import org.mule.extension.file.common.api.TreeNode;
 
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Command design pattern for listing files
@@ -34,4 +35,13 @@ public interface ListCommand {
    */
   TreeNode list(FileConnectorConfig config, String directoryPath, boolean recursive, Message message,
                 Predicate<FileAttributes> matcher);
+
+  /**
+   * Lists the direct children of a directory under the considerations of {@link FileSystem#listDirectory(String)}
+   *
+   * @param directoryPath the path to the directory to be listed
+   * @return a {@link Stream} of the {@link FileAttributes} of the directory's children, which has to be closed once consumed
+   * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exists or is not a directory
+   */
+  Stream<FileAttributes> listDirectory(String directoryPath);
 }
@@ -6,19 +6,20 @@
  */
 package org.mule.runtime.module.http.internal.listener;
 
+import static java.util.Collections.emptyMap;
 import static org.mule.runtime.module.http.internal.HttpParser.normalizePathWithSpacesOrEncodedSpaces;
+
 import org.mule.runtime.core.api.MuleRuntimeException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.module.http.internal.domain.request.HttpRequest;
 import org.mule.runtime.module.http.internal.listener.async.RequestHandler;
+import org.mule.runtime.module.http.internal.listener.matcher.AcceptsAllMethodsRequestMatcher;
 import org.mule.runtime.module.http.internal.listener.matcher.ListenerRequestMatcher;
+import org.mule.runtime.module.http.internal.listener.matcher.MethodRequestMatcher;
 import org.mule.runtime.core.util.Preconditions;
 import org.mule.runtime.core.util.StringUtils;
 
 import com.google.common.base.Joiner;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -27,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,7 +40,7 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
   private Logger logger = LoggerFactory.getLogger(getClass());
 
   private final ServerAddressMap<Server> serverAddressToServerMap = new ServerAddressMap<>();
-  private final Map<Server, ServerAddressRequestHandlerRegistry> requestHandlerPerServerAddress = new HashMap<>();
+  private final Map<Server, ServerAddressRequestHandlerRegistry> requestHandlerPerServerAddress = new ConcurrentHashMap<>();
 
   public synchronized RequestHandlerManager addRequestHandler(final Server server, final RequestHandler requestHandler,
                                                               final ListenerRequestMatcher requestMatcher) {
@@ -69,23 +71,24 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
     return NoListenerRequestHandler.getInstance();
   }
 
+  /**
+   * Keeps the request handlers registered for a server address.
+   * <p>
+   * Registrations are done on a tree of {@link PathMap}s, which is then compiled into an immutable {@link RouteNode} trie that
+   * is swapped in as a whole. Requests are routed through that trie without taking any lock: each path segment is resolved with a
+   * single lookup and each node has its request handlers indexed by http method.
+   */
   public class ServerAddressRequestHandlerRegistry {
 
     private PathMap serverRequestHandler;
     private PathMap rootPathMap = new PathMap();
     private PathMap catchAllPathMap = new PathMap();
     private Set<String> paths = new HashSet<>();
-    private LoadingCache<String, Stack<PathMap>> pathMapSearchCache =
-        CacheBuilder.newBuilder().maximumSize(1000).build(new CacheLoader<String, Stack<PathMap>>() {
-
-          public Stack<PathMap> load(String path) {
-            return findPossibleRequestHandlers(path);
-          }
-        });
+    private volatile RouteNode compiledRootPathMap = RouteNode.EMPTY;
+    private volatile Routes compiledCatchAllPathMap = Routes.EMPTY;
 
     public synchronized RequestHandlerManager addRequestHandler(final ListenerRequestMatcher requestMatcher,
                                                                 final RequestHandler requestHandler) {
-      pathMapSearchCache.invalidateAll();
       String requestMatcherPath = normalizePathWithSpacesOrEncodedSpaces(requestMatcher.getPath());
       Preconditions.checkArgument(requestMatcherPath.startsWith(SLASH) || requestMatcherPath.equals(WILDCARD_CHARACTER),
                                   "path parameter must start with /");
@@ -138,12 +141,25 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
           requestHandlerOwner = pathMap;
         }
       }
-      return new DefaultRequestHandlerManager(requestHandlerOwner, addedRequestHandlerMatcherPair);
+      compileRoutes();
+      return new DefaultRequestHandlerManager(this, requestHandlerOwner, addedRequestHandlerMatcherPair);
+    }
+
+    synchronized void removeRequestHandlerMatcherPair(PathMap requestHandlerOwner,
+                                                      RequestHandlerMatcherPair requestHandlerMatcherPair) {
+      if (requestHandlerOwner.removeRequestHandlerMatcherPair(requestHandlerMatcherPair)) {
+        compileRoutes();
+      }
+    }
+
+    private void compileRoutes() {
+      compiledRootPathMap = new RouteNode(rootPathMap);
+      compiledCatchAllPathMap = Routes.of(catchAllPathMap);
     }
 
     private void validateCollision(ListenerRequestMatcher newListenerRequestMatcher) {
       final String newListenerRequestMatcherPath = newListenerRequestMatcher.getPath();
-      final Stack<PathMap> possibleRequestHandlers = findPossibleRequestHandlersFromCache(newListenerRequestMatcherPath);
+      final Stack<PathMap> possibleRequestHandlers = findPossibleRequestHandlers(newListenerRequestMatcherPath);
       for (PathMap possibleRequestHandler : possibleRequestHandlers) {
         final List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = possibleRequestHandler.getRequestHandlerMatcherPairs();
         for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs) {
@@ -172,18 +188,19 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
     public RequestHandler findRequestHandler(final HttpRequest request) {
       final String path = normalizePathWithSpacesOrEncodedSpaces(request.getPath());
       Preconditions.checkArgument(path.startsWith(SLASH), "path parameter must start with /");
-      Stack<PathMap> foundPaths = findPossibleRequestHandlersFromCache(path);
+      final Routes[] foundRoutes = findPossibleRoutes(path);
 
+      final String method = request.getMethod() != null ? request.getMethod().toLowerCase() : null;
       boolean methodNotAllowed = false;
       RequestHandlerMatcherPair requestHandlerMatcherPair = null;
-      while (!foundPaths.empty()) {
-        final PathMap pathMap = foundPaths.pop();
-        List<RequestHandlerMatcherPair> requestHandlerMatcherPairs = pathMap.getRequestHandlerMatcherPairs();
-        requestHandlerMatcherPair = findRequestHandlerMatcherPair(requestHandlerMatcherPairs, request);
-        if (requestHandlerMatcherPair != null) {
-          break;
+      // Same precedence as the stack of candidates used for collision validation: the most specific ones are the last found
+      for (int i = foundRoutes.length - 1; i >= 0 && requestHandlerMatcherPair == null; --i) {
+        final Routes routes = foundRoutes[i];
+        if (routes == null) {
+          continue;
         }
-        if (!requestHandlerMatcherPairs.isEmpty()) {
+        requestHandlerMatcherPair = routes.find(method, request);
+        if (requestHandlerMatcherPair == null && !routes.isEmpty()) {
           // there were matching paths but no matching methods
           methodNotAllowed = true;
         }
@@ -204,12 +221,57 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
       return requestHandlerMatcherPair.getRequestHandler();
     }
 
-    private String getMethodAndPath(String method, String path) {
-      return "(" + method + ")" + path;
+    /**
+     * Walks the compiled trie in a single pass over the path, collecting the candidate routes in the same order
+     * {@link #findPossibleRequestHandlers(String)} does for the registration tree.
+     */
+    private Routes[] findPossibleRoutes(String path) {
+      final int end = path.length() > 1 && path.endsWith(SLASH) ? path.length() - 1 : path.length();
+      int segments = 1;
+      for (int i = 1; i < end; ++i) {
+        if (path.charAt(i) == '/') {
+          ++segments;
+        }
+      }
+      // The catch all route, and at most two routes per segment
+      final Routes[] foundRoutes = new Routes[2 * segments + 2];
+      int found = 0;
+      foundRoutes[found++] = compiledCatchAllPathMap;
+      RouteNode currentNode = compiledRootPathMap;
+      if (path.equals(SLASH)) {
+        foundRoutes[found] = currentNode.routes;
+        return foundRoutes;
+      }
+
+      int segmentStart = 1;
+      while (currentNode != null) {
+        int segmentEnd = path.indexOf('/', segmentStart);
+        if (segmentEnd == -1 || segmentEnd > end) {
+          segmentEnd = end;
+        }
+        final boolean lastSegment = segmentEnd == end;
+        RouteNode node = currentNode.getChild(path.substring(segmentStart, segmentEnd));
+        if (node == null) {
+          foundRoutes[found++] = currentNode.wildcardRoutes;
+          node = currentNode.uriParamChild;
+        }
+        if (lastSegment) {
+          if (node != null) {
+            foundRoutes[found++] = node.wildcardRoutes;
+            foundRoutes[found++] = node.routes;
+          } else {
+            foundRoutes[found++] = currentNode.wildcardRoutes;
+          }
+          break;
+        }
+        currentNode = node;
+        segmentStart = segmentEnd + 1;
+      }
+      return foundRoutes;
     }
 
-    private Stack<PathMap> findPossibleRequestHandlersFromCache(String path) {
-      return findPossibleRequestHandlers(path);
+    private String getMethodAndPath(String method, String path) {
+      return "(" + method + ")" + path;
     }
 
     private Stack<PathMap> findPossibleRequestHandlers(String path) {
@@ -252,18 +314,9 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
       }
     }
 
-    private RequestHandlerMatcherPair findRequestHandlerMatcherPair(List<RequestHandlerMatcherPair> requestHandlerMatcherPairs,
-                                                                    HttpRequest request) {
-      for (RequestHandlerMatcherPair requestHandlerMatcherPair : requestHandlerMatcherPairs) {
-        if (requestHandlerMatcherPair.getRequestMatcher().matches(request)) {
-          return requestHandlerMatcherPair;
-        }
-      }
-      return null;
-    }
   }
 
-  private boolean isUriParameter(String pathPart) {
+  private static boolean isUriParameter(String pathPart) {
     return (pathPart.startsWith("{") || pathPart.startsWith("/{")) && pathPart.endsWith("}");
   }
 
@@ -371,7 +424,7 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
     }
   }
 
-  private boolean isCatchAllPath(String path) {
+  private static boolean isCatchAllPath(String path) {
     return WILDCARD_CHARACTER.equals(path);
   }
 
@@ -379,7 +432,7 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
 
     private ListenerRequestMatcher requestMatcher;
     private RequestHandler requestHandler;
-    private boolean running = true;
+    private volatile boolean running = true;
 
     private RequestHandlerMatcherPair(ListenerRequestMatcher requestMatcher, RequestHandler requestHandler) {
       this.requestMatcher = requestMatcher;
@@ -403,4 +456,123 @@ public class HttpListenerRegistry implements RequestHandlerProvider {
     }
 
   }
+
+  /**
+   * Immutable node of the compiled routing trie, built from a {@link PathMap} and all its descendants.
+   */
+  private static final class RouteNode {
+
+    private static final RouteNode EMPTY = new RouteNode();
+
+    private final Map<String, RouteNode> children;
+    private final RouteNode uriParamChild;
+    private final Routes routes;
+    private final Routes wildcardRoutes;
+
+    private RouteNode() {
+      children = emptyMap();
+      uriParamChild = null;
+      routes = Routes.EMPTY;
+      wildcardRoutes = null;
+    }
+
+    private RouteNode(PathMap pathMap) {
+      Map<String, RouteNode> children = new HashMap<>(pathMap.subPaths.size() * 2);
+      for (Map.Entry<String, PathMap> entry : pathMap.subPaths.entrySet()) {
+        children.put(entry.getKey(), new RouteNode(entry.getValue()));
+      }
+      this.children = children;
+      this.uriParamChild = pathMap.catchAllCurrentPathMap != null ? new RouteNode(pathMap.catchAllCurrentPathMap) : null;
+      this.routes = Routes.of(pathMap);
+      this.wildcardRoutes = pathMap.catchAllPathMap != null ? Routes.of(pathMap.catchAllPathMap) : null;
+    }
+
+    /**
+     * Equivalent to {@link PathMap#getChildPathMap(String)}.
+     */
+    private RouteNode getChild(String subPath) {
+      if (isCatchAllPath(subPath) || isUriParameter(subPath)) {
+        return uriParamChild;
+      }
+      return children.get(subPath);
+    }
+  }
+
+  /**
+   * Immutable dispatch table from http method to the request handler of a node of the compiled routing trie.
+   * <p>
+   * Preserves the semantics of evaluating the request matchers in registration order and keeping the first match. Request
+   * matchers other than the ones known to only check the method are evaluated that way instead.
+   */
+  private static final class Routes {
+
+    private static final Routes EMPTY = new Routes(emptyMap(), null, null, true);
+
+    private final Map<String, RequestHandlerMatcherPair> byMethod;
+    private final RequestHandlerMatcherPair anyMethod;
+    private final List<RequestHandlerMatcherPair> evaluatedInOrder;
+    private final boolean empty;
+
+    private Routes(Map<String, RequestHandlerMatcherPair> byMethod, RequestHandlerMatcherPair anyMethod,
+                   List<RequestHandlerMatcherPair> evaluatedInOrder, boolean empty) {
+      this.byMethod = byMethod;
+      this.anyMethod = anyMethod;
+      this.evaluatedInOrder = evaluatedInOrder;
+      this.empty = empty;
+    }
+
+    private static Routes of(PathMap pathMap) {
+      final List<RequestHandlerMatcherPair> pairs = pathMap.getRequestHandlerMatcherPairs();
+      if (pairs.isEmpty()) {
+        return EMPTY;
+      }
+
+      final Map<String, RequestHandlerMatcherPair> byMethod = new HashMap<>();
+      RequestHandlerMatcherPair anyMethod = null;
+      for (RequestHandlerMatcherPair pair : pairs) {
+        final ListenerRequestMatcher requestMatcher = pair.getRequestMatcher();
+        final MethodRequestMatcher methodRequestMatcher = requestMatcher.getMethodRequestMatcher();
+        if (requestMatcher.getClass() != ListenerRequestMatcher.class) {
+          return new Routes(emptyMap(), null, new ArrayList<>(pairs), false);
+        }
+        if (methodRequestMatcher instanceof AcceptsAllMethodsRequestMatcher) {
+          if (anyMethod == null) {
+            anyMethod = pair;
+          }
+        } else if (methodRequestMatcher.getClass() == MethodRequestMatcher.class) {
+          // A handler accepting any method registered before takes precedence
+          if (anyMethod == null) {
+            for (String method : methodRequestMatcher.getMethods()) {
+              byMethod.putIfAbsent(method, pair);
+            }
+          }
+        } else {
+          return new Routes(emptyMap(), null, new ArrayList<>(pairs), false);
+        }
+      }
+      return new Routes(byMethod, anyMethod, null, false);
+    }
+
+    /**
+     * @param method the lower case method of the request
+     * @param request the request to route
+     * @return the first registered request handler matching the request, or {@code null} if there's none.
+     */
+    private RequestHandlerMatcherPair find(String method, HttpRequest request) {
+      if (evaluatedInOrder != null) {
+        for (RequestHandlerMatcherPair requestHandlerMatcherPair : evaluatedInOrder) {
+          if (requestHandlerMatcherPair.getRequestMatcher().matches(request)) {
+            return requestHandlerMatcherPair;
+          }
+        }
+        return null;
+      }
+      final RequestHandlerMatcherPair pair = method != null ? byMethod.get(method) : null;
+      return pair != null ? pair : anyMethod;
+    }
+
+    private boolean isEmpty() {
+      return empty;
+    }
+  }
 }
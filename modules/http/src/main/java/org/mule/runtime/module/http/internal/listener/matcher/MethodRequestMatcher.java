@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.module.http.internal.listener.matcher;
 
+import static java.util.Collections.unmodifiableList;
+
 import org.mule.runtime.module.http.internal.domain.request.HttpRequest;
 import org.mule.runtime.core.util.Preconditions;
 
@@ -64,6 +66,13 @@ public class MethodRequestMatcher implements RequestMatcher {
     return "MethodRequestMatcher{" + "methods=" + getMethodsList() + '}';
   }
 
+  /**
+   * @return the lower case http methods accepted by this matcher.
+   */
+  public List<String> getMethods() {
+    return unmodifiableList(methods);
+  }
+
   public String getMethodsList() {
     return methods.isEmpty() ? "*" : Arrays.toString(methods.toArray());
   }
@@ -276,6 +276,42 @@ public class HttpListenerRegistryTestCase extends AbstractMuleTestCase {
     assertThat(requestHandler, is(instanceOf(NoListenerRequestHandler.class)));
   }
 
+  @Test
+  public void noMethodFound() {
+    httpListenerRegistry = createHttpListenerRegistryWithRegisteredHandlers();
+    final HttpRequest request = createMockRequestWithPath(METHOD_PATH_URI_PARAM.replace(URI_PARAM, SOME_OTHER_PATH));
+    when(request.getMethod()).thenReturn(PUT_METHOD);
+    assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, request), is(instanceOf(NoMethodRequestHandler.class)));
+  }
+
+  @Test
+  public void firstRegisteredMatchingMethodWins() {
+    httpListenerRegistry = new HttpListenerRegistry();
+    final RequestHandler allMethodsRequestHandler = mock(RequestHandler.class);
+    httpListenerRegistry.addRequestHandler(testServer, allMethodsRequestHandler,
+                                           new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(), ANOTHER_PATH));
+    httpListenerRegistry.addRequestHandler(testServer, mockRequestHandler,
+                                           new ListenerRequestMatcher(new MethodRequestMatcher(GET_METHOD), ANOTHER_PATH));
+    routePath(ANOTHER_PATH, GET_METHOD, allMethodsRequestHandler);
+  }
+
+  @Test
+  public void disposedHandlerIsNotRouted() {
+    httpListenerRegistry = new HttpListenerRegistry();
+    final RequestHandlerManager requestHandlerManager =
+        httpListenerRegistry.addRequestHandler(testServer, mockRequestHandler,
+                                               new ListenerRequestMatcher(AcceptsAllMethodsRequestMatcher.instance(), ANOTHER_PATH));
+    routePath(ANOTHER_PATH, GET_METHOD, mockRequestHandler);
+
+    requestHandlerManager.stop();
+    assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, createMockRequestWithPath(ANOTHER_PATH)),
+               is(instanceOf(ServiceTemporarilyUnavailableListenerRequestHandler.class)));
+
+    requestHandlerManager.dispose();
+    assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, createMockRequestWithPath(ANOTHER_PATH)),
+               is(instanceOf(NoListenerRequestHandler.class)));
+  }
+
   private void routePath(String requestPath, String listenerPath) {
     assertThat(httpListenerRegistry.getRequestHandler(TEST_IP, TEST_PORT, createMockRequestWithPath(requestPath)),
                is(requestHandlerPerPath.get(listenerPath)));
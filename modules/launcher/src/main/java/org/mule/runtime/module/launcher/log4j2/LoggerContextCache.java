@@ -18,11 +18,13 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.MapMaker;
 
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +46,10 @@ import org.apache.logging.log4j.core.LoggerContext;
  * {@link #disposeDelayInMillis} defaults to 15 seconds but it can be customized by setting the
  * {@link MuleProperties#MULE_LOG_CONTEXT_DISPOSE_DELAY_MILLIS} system property
  *
+ * Once built, the context of each {@link ClassLoader} is looked up without locking in {@link #contextsByClassLoader}, which
+ * compares the class loaders by identity and holds them weakly. Contexts are built holding the lock of this cache, so only one
+ * context is ever built for each {@link ClassLoader}.
+ *
  * This class also implements the {@link Disposable} interface. When {@link #dispose()} is invoked all the contexts are stopped
  * right away
  *
@@ -57,6 +63,9 @@ final class LoggerContextCache implements Disposable {
   // Extra cache layer to avid some nasty implications for using guava cache at this point. See the comments in
   // #doGetLoggerContext(final ClassLoader classLoader) for details.
   private final Map<Integer, LoggerContext> builtContexts = new ConcurrentHashMap<>();
+  // Lock-free lookup path. Keys are compared by identity and, as both keys and values are weak, it doesn't prevent class loaders
+  // from being collected. Values are kept reachable by the other caches while the context is alive.
+  private final ConcurrentMap<ClassLoader, LoggerContext> contextsByClassLoader = new MapMaker().weakKeys().weakValues().makeMap();
   private final Cache<Integer, LoggerContext> activeContexts;
   private final Cache<Integer, LoggerContext> disposedContexts;
   private final ScheduledExecutorService executorService;
@@ -73,8 +82,11 @@ final class LoggerContextCache implements Disposable {
           @Override
           public void onRemoval(RemovalNotification<Integer, LoggerContext> notification) {
             stop(notification.getValue());
-            activeContexts.invalidate(notification.getKey());
-            builtContexts.remove(notification.getKey());
+            synchronized (LoggerContextCache.this) {
+              activeContexts.invalidate(notification.getKey());
+              builtContexts.remove(notification.getKey());
+              contextsByClassLoader.values().remove(notification.getValue());
+            }
           }
         }).build();
 
@@ -99,7 +111,20 @@ final class LoggerContextCache implements Disposable {
     }
   }
 
-  synchronized LoggerContext getLoggerContext(final ClassLoader classLoader) {
+  LoggerContext getLoggerContext(final ClassLoader classLoader) {
+    LoggerContext ctx = contextsByClassLoader.get(classLoader);
+    if (ctx == null) {
+      ctx = getOrBuildLoggerContext(classLoader);
+    }
+
+    if (ctx.getState() == LifeCycle.State.INITIALIZED) {
+      ctx.start();
+    }
+
+    return ctx;
+  }
+
+  private synchronized LoggerContext getOrBuildLoggerContext(final ClassLoader classLoader) {
     final LoggerContext ctx;
     try {
       final Integer key = computeKey(classLoader);
@@ -107,22 +132,14 @@ final class LoggerContextCache implements Disposable {
       if (builtContexts.containsKey(key)) {
         ctx = builtContexts.get(key);
       } else {
-        synchronized (this) {
-          if (builtContexts.containsKey(key)) {
-            ctx = builtContexts.get(key);
-          } else {
-            ctx = doGetLoggerContext(classLoader, key);
-          }
-        }
+        ctx = doGetLoggerContext(classLoader, key);
       }
     } catch (ExecutionException e) {
       throw new MuleRuntimeException(createStaticMessage("Could not init logger context "), e);
     }
 
-    if (ctx.getState() == LifeCycle.State.INITIALIZED) {
-      ctx.start();
-    }
-
+    // Published while holding the lock so it can't race with the removal of a disposed context
+    contextsByClassLoader.put(classLoader, ctx);
     return ctx;
   }
 
@@ -215,8 +232,11 @@ final class LoggerContextCache implements Disposable {
       stop(loggerContext);
     }
 
-    activeContexts.invalidateAll();
-    builtContexts.clear();
+    synchronized (this) {
+      activeContexts.invalidateAll();
+      builtContexts.clear();
+      contextsByClassLoader.clear();
+    }
     disposedContexts.invalidateAll();
     disposedContexts.cleanUp();
   }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher.log4j2;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.logging.log4j.core.LifeCycle.State.STARTED;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.core.LoggerContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class LoggerContextCacheTestCase extends AbstractMuleTestCase {
+
+  private static final int THREADS = 16;
+  private static final int CLASS_LOADERS = 64;
+  private static final int LOOKUPS = 100;
+
+  private final ArtifactAwareContextSelector selector = mock(ArtifactAwareContextSelector.class);
+  private LoggerContextCache cache;
+
+  @Before
+  public void before() {
+    when(selector.buildContext(any(ClassLoader.class))).thenAnswer(invocation -> {
+      LoggerContext context = mock(LoggerContext.class);
+      when(context.getState()).thenReturn(STARTED);
+      return context;
+    });
+    cache = new LoggerContextCache(selector, getClass().getClassLoader());
+  }
+
+  @After
+  public void after() {
+    cache.dispose();
+  }
+
+  @Test
+  public void buildsOneContextPerClassLoaderUnderConcurrentLookups() throws Exception {
+    final List<ClassLoader> classLoaders = new ArrayList<>();
+    for (int i = 0; i < CLASS_LOADERS; i++) {
+      classLoaders.add(new ClassLoader() {});
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    final CountDownLatch startLatch = new CountDownLatch(1);
+    final List<Future<?>> lookups = new ArrayList<>();
+    try {
+      for (int i = 0; i < THREADS; i++) {
+        lookups.add(executor.submit(() -> {
+          startLatch.await();
+          for (int j = 0; j < LOOKUPS; j++) {
+            for (ClassLoader classLoader : classLoaders) {
+              cache.getLoggerContext(classLoader);
+            }
+          }
+          return null;
+        }));
+      }
+      startLatch.countDown();
+      for (Future<?> lookup : lookups) {
+        lookup.get(10, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    for (ClassLoader classLoader : classLoaders) {
+      verify(selector).buildContext(classLoader);
+    }
+    assertThat(cache.getAllLoggerContexts().size(), is(CLASS_LOADERS));
+  }
+
+  @Test
+  public void returnsSameContextForSameClassLoader() throws Exception {
+    final ClassLoader classLoader = new ClassLoader() {};
+
+    assertThat(cache.getLoggerContext(classLoader), is(sameInstance(cache.getLoggerContext(classLoader))));
+    verify(selector, times(1)).buildContext(classLoader);
+  }
+
+  @Test
+  public void buildsNewContextAfterDispose() throws Exception {
+    final ClassLoader classLoader = new ClassLoader() {};
+    final LoggerContext context = cache.getLoggerContext(classLoader);
+
+    cache.dispose();
+
+    assertThat(cache.getLoggerContext(classLoader), is(not(sameInstance(context))));
+    verify(selector, times(2)).buildContext(classLoader);
+  }
+}
@@ -48,6 +48,18 @@ public class FlowConstructStats implements FlowConstructStatsMBean, MBeanRegistr
     return statistics.getTotalProcessingTime();
   }
 
+  public long getProcessingTimeP50() {
+    return statistics.getProcessingTimeP50();
+  }
+
+  public long getProcessingTimeP99() {
+    return statistics.getProcessingTimeP99();
+  }
+
+  public long getProcessingTimeP999() {
+    return statistics.getProcessingTimeP999();
+  }
+
   public void clearStatistics() {
     statistics.clear();
   }
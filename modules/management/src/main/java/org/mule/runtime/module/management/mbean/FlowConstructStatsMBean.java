@@ -30,6 +30,21 @@ public interface FlowConstructStatsMBean {
 
   long getTotalProcessingTime();
 
+  /**
+   * @return the median processing time.
+   */
+  long getProcessingTimeP50();
+
+  /**
+   * @return the 99th percentile of the processing time.
+   */
+  long getProcessingTimeP99();
+
+  /**
+   * @return the 99.9th percentile of the processing time.
+   */
+  long getProcessingTimeP999();
+
   long getFatalErrors();
 
   long getExecutionErrors();
@@ -44,23 +44,8 @@ public abstract class AbstractAuthorizationCodeTokenRequestHandler extends Abstr
     if (logger.isDebugEnabled()) {
       logger.debug("Executing refresh token for user " + resourceOwnerId);
     }
-    final ResourceOwnerOAuthContext resourceOwnerOAuthContext =
-        getOauthConfig().getUserOAuthContext().getContextForResourceOwner(resourceOwnerId);
-    final boolean lockWasAcquired = resourceOwnerOAuthContext.getRefreshUserOAuthContextLock().tryLock();
-    try {
-      if (lockWasAcquired) {
-        doRefreshToken(currentEvent, resourceOwnerOAuthContext);
-        getOauthConfig().getUserOAuthContext().updateResourceOwnerOAuthContext(resourceOwnerOAuthContext);
-      }
-    } finally {
-      if (lockWasAcquired) {
-        resourceOwnerOAuthContext.getRefreshUserOAuthContextLock().unlock();
-      }
-    }
-    if (!lockWasAcquired) {
-      // if we couldn't acquire the lock then we wait until the other thread updates the token.
-      waitUntilLockGetsReleased(resourceOwnerOAuthContext);
-    }
+    getOauthConfig().getUserOAuthContext()
+        .refreshToken(resourceOwnerId, resourceOwnerOAuthContext -> doRefreshToken(currentEvent, resourceOwnerOAuthContext));
   }
 
   /**
@@ -72,11 +57,6 @@ public abstract class AbstractAuthorizationCodeTokenRequestHandler extends Abstr
   protected abstract void doRefreshToken(final Event currentEvent, final ResourceOwnerOAuthContext resourceOwnerOAuthContext)
       throws MuleException;
 
-  private void waitUntilLockGetsReleased(ResourceOwnerOAuthContext resourceOwnerOAuthContext) {
-    resourceOwnerOAuthContext.getRefreshUserOAuthContextLock().lock();
-    resourceOwnerOAuthContext.getRefreshUserOAuthContextLock().unlock();
-  }
-
   /**
    * @param oauthConfig oauth config for this token request handler.
    */
@@ -6,24 +6,74 @@
  */
 package org.mule.runtime.module.oauth2.internal.authorizationcode.state;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
 import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.runtime.core.util.lock.LockFactory;
 import org.mule.runtime.core.util.store.ObjectStoreToMapAdapter;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.locks.Lock;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Provides the OAuth context for a particular config
+ * <p/>
+ * When the {@link #CONTEXT_CACHE_PROPERTY} system property is set, the contexts retrieved from the object store are kept in
+ * memory. Concurrent refreshes of the token of a resource owner are executed only once, the other callers wait for the one in
+ * progress. When the {@link #PROACTIVE_REFRESH_PROPERTY} system property is set, tokens can be refreshed in background before
+ * they expire, using the runtime I/O scheduler.
  */
-public class ConfigOAuthContext {
+public class ConfigOAuthContext implements Disposable {
+
+  /**
+   * System property to keep the resource owner contexts in memory instead of reading them from the object store every time. Only
+   * safe when the object store is not shared with other nodes.
+   */
+  public static final String CONTEXT_CACHE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "oauth.contextCache";
+
+  /**
+   * System property to refresh the tokens which provide an expiration in background, before they expire
+   */
+  public static final String PROACTIVE_REFRESH_PROPERTY = SYSTEM_PROPERTY_PREFIX + "oauth.proactiveRefresh";
+
+  /**
+   * Fraction of the lifetime of a token after which it's proactively refreshed
+   */
+  private static final double PROACTIVE_REFRESH_RATIO = 0.8;
+
+  private static final Logger logger = LoggerFactory.getLogger(ConfigOAuthContext.class);
 
   private final LockFactory lockFactory;
+  private final SchedulerService schedulerService;
   private final String configName;
   private final ObjectStoreToMapAdapter<ResourceOwnerOAuthContext> oauthContextStore;
+  private final boolean contextCacheEnabled = getBoolean(CONTEXT_CACHE_PROPERTY);
+  private final boolean proactiveRefreshEnabled = getBoolean(PROACTIVE_REFRESH_PROPERTY);
+  private final ConcurrentMap<String, ResourceOwnerOAuthContext> cachedContexts = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, CompletableFuture<Void>> refreshesInProgress = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ScheduledFuture<?>> scheduledRefreshes = new ConcurrentHashMap<>();
+  private final TokenRefreshStatistics refreshStatistics = new TokenRefreshStatistics();
+  private Scheduler refreshScheduler;
+  private boolean disposed;
 
-  public ConfigOAuthContext(final LockFactory lockFactory, ListableObjectStore<ResourceOwnerOAuthContext> objectStore,
-                            final String configName) {
+  public ConfigOAuthContext(final LockFactory lockFactory, final SchedulerService schedulerService,
+                            ListableObjectStore<ResourceOwnerOAuthContext> objectStore, final String configName) {
     this.lockFactory = lockFactory;
+    this.schedulerService = schedulerService;
     this.oauthContextStore = new ObjectStoreToMapAdapter(objectStore);
     this.configName = configName;
   }
@@ -36,6 +86,13 @@ public class ConfigOAuthContext {
    * @return oauth state
    */
   public ResourceOwnerOAuthContext getContextForResourceOwner(final String resourceOwnerId) {
+    if (contextCacheEnabled) {
+      final ResourceOwnerOAuthContext cachedContext = cachedContexts.get(resourceOwnerId);
+      if (cachedContext != null) {
+        return cachedContext;
+      }
+    }
+
     ResourceOwnerOAuthContext resourceOwnerOAuthContext = null;
     if (!oauthContextStore.containsKey(resourceOwnerId)) {
       final Lock lock = lockFactory.createLock(configName + "-config-oauth-context");
@@ -53,6 +110,12 @@ public class ConfigOAuthContext {
       resourceOwnerOAuthContext = oauthContextStore.get(resourceOwnerId);
       resourceOwnerOAuthContext.setRefreshUserOAuthContextLock(createLockForResourceOwner(resourceOwnerId));
     }
+    if (contextCacheEnabled) {
+      final ResourceOwnerOAuthContext cachedContext = cachedContexts.putIfAbsent(resourceOwnerId, resourceOwnerOAuthContext);
+      if (cachedContext != null) {
+        return cachedContext;
+      }
+    }
     return resourceOwnerOAuthContext;
   }
 
@@ -70,20 +133,191 @@ public class ConfigOAuthContext {
     resourceOwnerContextLock.lock();
     try {
       oauthContextStore.put(resourceOwnerOAuthContext.getResourceOwnerId(), resourceOwnerOAuthContext);
+      if (contextCacheEnabled) {
+        cachedContexts.put(resourceOwnerOAuthContext.getResourceOwnerId(), resourceOwnerOAuthContext);
+      }
     } finally {
       resourceOwnerContextLock.unlock();
     }
   }
 
+  /**
+   * Refreshes the token of a resource owner and stores the updated context.
+   * <p/>
+   * If a refresh of the same resource owner is already in progress, this waits for it to finish instead of executing another
+   * one, and fails if that refresh fails. A failure of a refresh being executed by another node of a cluster is not propagated.
+   *
+   * @param resourceOwnerId id of the user.
+   * @param refresher updates the given context with a new token.
+   * @throws MuleException if the refresh, or the one in progress, fails
+   */
+  public void refreshToken(String resourceOwnerId, TokenRefresher refresher) throws MuleException {
+    final CompletableFuture<Void> refresh = new CompletableFuture<>();
+    final CompletableFuture<Void> refreshInProgress = refreshesInProgress.putIfAbsent(resourceOwnerId, refresh);
+    if (refreshInProgress != null) {
+      refreshStatistics.recordWait();
+      waitForRefresh(refreshInProgress);
+      return;
+    }
+
+    final long start = nanoTime();
+    try {
+      doRefreshToken(resourceOwnerId, refresher);
+      refreshStatistics.recordRefresh(nanoTime() - start);
+      refresh.complete(null);
+    } catch (MuleException | RuntimeException e) {
+      refreshStatistics.recordFailedRefresh(nanoTime() - start);
+      refresh.completeExceptionally(e);
+      throw e;
+    } finally {
+      refreshesInProgress.remove(resourceOwnerId, refresh);
+    }
+  }
+
+  private void doRefreshToken(String resourceOwnerId, TokenRefresher refresher) throws MuleException {
+    final ResourceOwnerOAuthContext resourceOwnerOAuthContext = getContextForResourceOwner(resourceOwnerId);
+    final Lock refreshLock = resourceOwnerOAuthContext.getRefreshUserOAuthContextLock();
+    if (refreshLock.tryLock()) {
+      try {
+        refresher.refresh(resourceOwnerOAuthContext);
+        updateResourceOwnerOAuthContext(resourceOwnerOAuthContext);
+      } finally {
+        refreshLock.unlock();
+      }
+    } else {
+      // Another node is refreshing the token, wait until it's done and forget the context it replaced in the store
+      refreshLock.lock();
+      refreshLock.unlock();
+      cachedContexts.remove(resourceOwnerId, resourceOwnerOAuthContext);
+    }
+  }
+
+  private void waitForRefresh(CompletableFuture<Void> refresh) throws MuleException {
+    try {
+      refresh.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof MuleException) {
+        throw (MuleException) e.getCause();
+      } else if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new DefaultMuleException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DefaultMuleException(e);
+    }
+  }
+
+  /**
+   * Schedules a background refresh of the token of a resource owner before it expires, replacing any refresh previously
+   * scheduled for it. Does nothing unless the {@link #PROACTIVE_REFRESH_PROPERTY} system property is set or if the current token
+   * has no valid expiration.
+   * <p/>
+   * After each proactive refresh, the next one is scheduled based on the expiration of the new token.
+   *
+   * @param resourceOwnerId id of the user.
+   * @param refresher updates the given context with a new token.
+   */
+  public void scheduleRefresh(String resourceOwnerId, TokenRefresher refresher) {
+    if (!proactiveRefreshEnabled) {
+      return;
+    }
+
+    final Long expiresInMillis = parseExpiresIn(getContextForResourceOwner(resourceOwnerId).getExpiresIn());
+    if (expiresInMillis == null) {
+      return;
+    }
+
+    synchronized (scheduledRefreshes) {
+      if (disposed) {
+        return;
+      }
+      final ScheduledFuture<?> scheduledRefresh =
+          getRefreshScheduler().schedule(() -> executeScheduledRefresh(resourceOwnerId, refresher),
+                                         (long) (expiresInMillis * PROACTIVE_REFRESH_RATIO), MILLISECONDS);
+      cancel(scheduledRefreshes.put(resourceOwnerId, scheduledRefresh));
+    }
+  }
+
+  private void executeScheduledRefresh(String resourceOwnerId, TokenRefresher refresher) {
+    try {
+      refreshToken(resourceOwnerId, refresher);
+      scheduleRefresh(resourceOwnerId, refresher);
+    } catch (Exception e) {
+      // The token will be refreshed when a request fails
+      logger.warn(String.format("Proactive refresh of the token of user %s failed", resourceOwnerId), e);
+    }
+  }
+
+  private Long parseExpiresIn(String expiresIn) {
+    if (expiresIn == null) {
+      return null;
+    }
+    try {
+      final long expiresInSeconds = Long.parseLong(expiresIn.trim());
+      return expiresInSeconds > 0 ? expiresInSeconds * 1000 : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private Scheduler getRefreshScheduler() {
+    if (refreshScheduler == null) {
+      // Refreshing a token blocks on a request to the token url
+      refreshScheduler = schedulerService.ioScheduler();
+    }
+    return refreshScheduler;
+  }
+
+  private void cancel(ScheduledFuture<?> scheduledRefresh) {
+    if (scheduledRefresh != null) {
+      scheduledRefresh.cancel(false);
+    }
+  }
+
   public void clearContextForResourceOwner(String resourceOwnerId) {
     final ResourceOwnerOAuthContext resourceOwnerOAuthContext = getContextForResourceOwner(resourceOwnerId);
     if (resourceOwnerOAuthContext != null) {
+      cancel(scheduledRefreshes.remove(resourceOwnerId));
       resourceOwnerOAuthContext.getRefreshUserOAuthContextLock().lock();
       try {
         oauthContextStore.remove(resourceOwnerId);
+        cachedContexts.remove(resourceOwnerId);
       } finally {
         resourceOwnerOAuthContext.getRefreshUserOAuthContextLock().unlock();
       }
     }
   }
+
+  /**
+   * @return statistics about the token refreshes executed through this context.
+   */
+  public TokenRefreshStatistics getRefreshStatistics() {
+    return refreshStatistics;
+  }
+
+  @Override
+  public void dispose() {
+    synchronized (scheduledRefreshes) {
+      disposed = true;
+      scheduledRefreshes.clear();
+      if (refreshScheduler != null) {
+        // Pending refreshes are not needed anymore, nor the ones in progress
+        refreshScheduler.stop(0, MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * Updates the context of a resource owner with a new token.
+   */
+  @FunctionalInterface
+  public interface TokenRefresher {
+
+    /**
+     * @param resourceOwnerOAuthContext context to update with the new token
+     * @throws MuleException if the token could not be retrieved
+     */
+    void refresh(ResourceOwnerOAuthContext resourceOwnerOAuthContext) throws MuleException;
+  }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.oauth2.internal.authorizationcode.state;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the access token refreshes executed through a {@link ConfigOAuthContext}.
+ *
+ * @since 4.0
+ */
+public final class TokenRefreshStatistics {
+
+  private final LongAdder refreshCount = new LongAdder();
+  private final LongAdder failedRefreshCount = new LongAdder();
+  private final LongAdder waitCount = new LongAdder();
+  private final LongAdder totalRefreshNanos = new LongAdder();
+  private final AtomicLong maxRefreshNanos = new AtomicLong();
+
+  void recordRefresh(long nanos) {
+    refreshCount.increment();
+    recordRefreshTime(nanos);
+  }
+
+  void recordFailedRefresh(long nanos) {
+    failedRefreshCount.increment();
+    recordRefreshTime(nanos);
+  }
+
+  void recordWait() {
+    waitCount.increment();
+  }
+
+  private void recordRefreshTime(long nanos) {
+    totalRefreshNanos.add(nanos);
+    long max = maxRefreshNanos.get();
+    while (nanos > max && !maxRefreshNanos.compareAndSet(max, nanos)) {
+      max = maxRefreshNanos.get();
+    }
+  }
+
+  /**
+   * @return the amount of successful refreshes.
+   */
+  public long getRefreshCount() {
+    return refreshCount.sum();
+  }
+
+  /**
+   * @return the amount of refreshes which failed.
+   */
+  public long getFailedRefreshCount() {
+    return failedRefreshCount.sum();
+  }
+
+  /**
+   * @return the amount of refresh requests which waited for a refresh already in progress instead of executing a new one.
+   */
+  public long getWaitCount() {
+    return waitCount.sum();
+  }
+
+  /**
+   * @param unit the unit in which to return the time
+   * @return the time spent executing refreshes, whether they succeeded or not.
+   */
+  public long getTotalRefreshTime(TimeUnit unit) {
+    return unit.convert(totalRefreshNanos.sum(), NANOSECONDS);
+  }
+
+  /**
+   * @param unit the unit in which to return the time
+   * @return the duration of the slowest refresh.
+   */
+  public long getMaxRefreshTime(TimeUnit unit) {
+    return unit.convert(maxRefreshNanos.get(), NANOSECONDS);
+  }
+}
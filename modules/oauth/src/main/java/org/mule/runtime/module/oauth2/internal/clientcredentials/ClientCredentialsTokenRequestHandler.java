@@ -8,6 +8,7 @@ package org.mule.runtime.module.oauth2.internal.clientcredentials;
 
 import static org.mule.runtime.core.DefaultEventContext.create;
 import static org.mule.runtime.core.MessageExchangePattern.REQUEST_RESPONSE;
+import static org.mule.runtime.module.oauth2.internal.authorizationcode.state.ResourceOwnerOAuthContext.DEFAULT_RESOURCE_OWNER_ID;
 
 import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.MuleContext;
@@ -23,6 +24,7 @@ import org.mule.runtime.module.oauth2.internal.OAuthConstants;
 import org.mule.runtime.module.oauth2.internal.TokenNotFoundException;
 import org.mule.runtime.module.oauth2.internal.TokenResponseProcessor;
 import org.mule.runtime.module.oauth2.internal.authorizationcode.TokenResponseConfiguration;
+import org.mule.runtime.module.oauth2.internal.authorizationcode.state.ConfigOAuthContext;
 import org.mule.runtime.module.oauth2.internal.authorizationcode.state.ResourceOwnerOAuthContext;
 import org.mule.runtime.module.oauth2.internal.tokenmanager.TokenManagerConfig;
 
@@ -81,7 +83,17 @@ public class ClientCredentialsTokenRequestHandler extends AbstractTokenRequestHa
     return Event.builder(event).message(builder.payload(formData).build()).build();
   }
 
+  /**
+   * Retrieves a new access token from the token url. Concurrent calls share the same token request and, if enabled, the token is
+   * proactively refreshed before it expires.
+   */
   public void refreshAccessToken() throws MuleException {
+    final ConfigOAuthContext configOAuthContext = tokenManager.getConfigOAuthContext();
+    configOAuthContext.refreshToken(DEFAULT_RESOURCE_OWNER_ID, this::requestAccessToken);
+    configOAuthContext.scheduleRefresh(DEFAULT_RESOURCE_OWNER_ID, this::requestAccessToken);
+  }
+
+  private void requestAccessToken(ResourceOwnerOAuthContext defaultUserState) throws MuleException {
     try {
       Flow flow = new Flow("test", getMuleContext());
       Event accessTokenEvent = Event.builder(create(flow, "ClientCredentialsTokenRequestHandler"))
@@ -103,15 +115,12 @@ public class ClientCredentialsTokenRequestHandler extends AbstractTokenRequestHa
         throw new TokenNotFoundException(response, tokenResponseProcessor);
       }
 
-      final ResourceOwnerOAuthContext defaultUserState =
-          tokenManager.getConfigOAuthContext().getContextForResourceOwner(ResourceOwnerOAuthContext.DEFAULT_RESOURCE_OWNER_ID);
       defaultUserState.setAccessToken(tokenResponseProcessor.getAccessToken());
       defaultUserState.setExpiresIn(tokenResponseProcessor.getExpiresIn());
       final Map<String, Object> customResponseParameters = tokenResponseProcessor.getCustomResponseParameters();
       for (String paramName : customResponseParameters.keySet()) {
         defaultUserState.getTokenResponseParameters().put(paramName, customResponseParameters.get(paramName));
       }
-      tokenManager.getConfigOAuthContext().updateResourceOwnerOAuthContext(defaultUserState);
     } catch (TokenNotFoundException e) {
       logger.error(String
           .format("Could not extract access token or refresh token from token URL. Access token is %s, Refresh token is %s",
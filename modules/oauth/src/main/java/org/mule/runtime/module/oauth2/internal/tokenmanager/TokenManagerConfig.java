@@ -8,9 +8,11 @@ package org.mule.runtime.module.oauth2.internal.tokenmanager;
 
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.registry.RegistrationException;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
 import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.runtime.module.oauth2.internal.authorizationcode.state.ConfigOAuthContext;
 import org.mule.runtime.module.oauth2.internal.authorizationcode.state.ResourceOwnerOAuthContext;
@@ -23,7 +25,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * It can be referenced to access the state inside a flow for custom processing of oauth dance content.
  */
-public class TokenManagerConfig implements Initialisable, MuleContextAware {
+public class TokenManagerConfig implements Initialisable, Disposable, MuleContextAware {
 
   public static AtomicInteger defaultTokenManagerConfigIndex = new AtomicInteger(0);
   private String name;
@@ -50,10 +52,23 @@ public class TokenManagerConfig implements Initialisable, MuleContextAware {
       objectStore = (ListableObjectStore) ((MuleObjectStoreManager) muleContext.getObjectStoreManager())
           .getUserObjectStore("token-manager-store-" + this.name, true);
     }
-    configOAuthContext = new ConfigOAuthContext(muleContext.getLockFactory(), objectStore, name);
+    final SchedulerService schedulerService;
+    try {
+      schedulerService = muleContext.getRegistry().lookupObject(SchedulerService.class);
+    } catch (RegistrationException e) {
+      throw new InitialisationException(e, this);
+    }
+    configOAuthContext = new ConfigOAuthContext(muleContext.getLockFactory(), schedulerService, objectStore, name);
     initialised = true;
   }
 
+  @Override
+  public void dispose() {
+    if (configOAuthContext != null) {
+      configOAuthContext.dispose();
+    }
+  }
+
   public static TokenManagerConfig createDefault(final MuleContext context) throws InitialisationException {
     final TokenManagerConfig tokenManagerConfig = new TokenManagerConfig();
     final String tokenManagerConfigName = "default-token-manager-config-" + defaultTokenManagerConfigIndex.getAndIncrement();
@@ -6,16 +6,30 @@
  */
 package org.mule.runtime.module.oauth2.internal.authorizationcode.state;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mule.runtime.module.oauth2.internal.authorizationcode.state.ConfigOAuthContext.CONTEXT_CACHE_PROPERTY;
 
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
 import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
 import org.mule.tck.size.SmallTest;
 import org.mule.runtime.core.util.lock.LockFactory;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.Answers;
 import org.mockito.Mockito;
@@ -27,12 +41,137 @@ public class ConfigOAuthContextTestCase extends AbstractMuleTestCase {
   public static final String TEST_CONFIG_NAME = "test-config-name";
   private LockFactory mockLockFactory = mock(LockFactory.class, Answers.RETURNS_DEEP_STUBS.get());
   private ListableObjectStore mockObjectStore = mock(ListableObjectStore.class, Answers.RETURNS_DEEP_STUBS.get());
+  private SchedulerService mockSchedulerService = mock(SchedulerService.class);
+
+  @Rule
+  public SystemProperty contextCache = new SystemProperty(CONTEXT_CACHE_PROPERTY, "true");
 
   @Test
   public void nonExistentUserIdReturnNewConfig() throws Exception {
     Mockito.when(mockObjectStore.contains(anyString())).thenReturn(false);
-    assertThat(new ConfigOAuthContext(mockLockFactory, mockObjectStore, TEST_CONFIG_NAME).getContextForResourceOwner(USER_ID),
+    assertThat(new ConfigOAuthContext(mockLockFactory, mockSchedulerService, mockObjectStore, TEST_CONFIG_NAME).getContextForResourceOwner(USER_ID),
                notNullValue());
   }
 
+  @Test
+  public void contextIsKeptInMemory() throws Exception {
+    Mockito.when(mockObjectStore.contains(anyString())).thenReturn(false);
+    final ConfigOAuthContext configOAuthContext = new ConfigOAuthContext(mockLockFactory, mockSchedulerService, mockObjectStore, TEST_CONFIG_NAME);
+
+    assertThat(configOAuthContext.getContextForResourceOwner(USER_ID),
+               sameInstance(configOAuthContext.getContextForResourceOwner(USER_ID)));
+  }
+
+  @Test
+  public void concurrentRefreshesShareTheRefreshInProgress() throws Exception {
+    final ConfigOAuthContext configOAuthContext = createContextWithLocalLocks();
+    final CountDownLatch refreshStarted = new CountDownLatch(1);
+    final CountDownLatch releaseRefresh = new CountDownLatch(1);
+    final AtomicInteger refreshes = new AtomicInteger();
+
+    final Thread refreshingThread = new Thread(() -> {
+      try {
+        configOAuthContext.refreshToken(USER_ID, context -> {
+          refreshes.incrementAndGet();
+          refreshStarted.countDown();
+          awaitUninterruptibly(releaseRefresh);
+          context.setAccessToken("token");
+        });
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+    refreshingThread.start();
+    assertThat(refreshStarted.await(5, SECONDS), is(true));
+
+    final Thread waitingThread = new Thread(() -> {
+      try {
+        configOAuthContext.refreshToken(USER_ID, context -> refreshes.incrementAndGet());
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+    waitingThread.start();
+    while (configOAuthContext.getRefreshStatistics().getWaitCount() == 0) {
+      Thread.yield();
+    }
+    releaseRefresh.countDown();
+    refreshingThread.join(5000);
+    waitingThread.join(5000);
+
+    assertThat(refreshes.get(), is(1));
+    assertThat(configOAuthContext.getRefreshStatistics().getRefreshCount(), is(1L));
+    assertThat(configOAuthContext.getContextForResourceOwner(USER_ID).getAccessToken(), is("token"));
+  }
+
+  @Test
+  public void failedRefreshIsRecorded() throws Exception {
+    final ConfigOAuthContext configOAuthContext = createContextWithLocalLocks();
+    try {
+      configOAuthContext.refreshToken(USER_ID, context -> {
+        throw new DefaultMuleException("Token url unavailable");
+      });
+      fail("Refresh was expected to fail");
+    } catch (DefaultMuleException e) {
+      assertThat(configOAuthContext.getRefreshStatistics().getFailedRefreshCount(), is(1L));
+      assertThat(configOAuthContext.getRefreshStatistics().getRefreshCount(), is(0L));
+    }
+  }
+
+  @Test
+  public void failedRefreshIsPropagatedToWaitingCallers() throws Exception {
+    final ConfigOAuthContext configOAuthContext = createContextWithLocalLocks();
+    final CountDownLatch refreshStarted = new CountDownLatch(1);
+    final CountDownLatch releaseRefresh = new CountDownLatch(1);
+    final DefaultMuleException failure = new DefaultMuleException("Token url unavailable");
+
+    final Thread refreshingThread = new Thread(() -> {
+      try {
+        configOAuthContext.refreshToken(USER_ID, context -> {
+          refreshStarted.countDown();
+          awaitUninterruptibly(releaseRefresh);
+          throw failure;
+        });
+      } catch (DefaultMuleException e) {
+        // expected
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+    refreshingThread.start();
+    assertThat(refreshStarted.await(5, SECONDS), is(true));
+
+    final AtomicReference<Exception> waiterFailure = new AtomicReference<>();
+    final Thread waitingThread = new Thread(() -> {
+      try {
+        configOAuthContext.refreshToken(USER_ID, context -> fail("The refresh in progress was expected to be reused"));
+      } catch (Exception e) {
+        waiterFailure.set(e);
+      }
+    });
+    waitingThread.start();
+    while (configOAuthContext.getRefreshStatistics().getWaitCount() == 0) {
+      Thread.yield();
+    }
+    releaseRefresh.countDown();
+    refreshingThread.join(5000);
+    waitingThread.join(5000);
+
+    assertThat(waiterFailure.get(), sameInstance(failure));
+  }
+
+  private ConfigOAuthContext createContextWithLocalLocks() throws Exception {
+    final LockFactory lockFactory = mock(LockFactory.class);
+    Mockito.when(lockFactory.createLock(anyString())).thenAnswer(invocation -> new ReentrantLock());
+    Mockito.when(mockObjectStore.contains(anyString())).thenReturn(false);
+    return new ConfigOAuthContext(lockFactory, mockSchedulerService, mockObjectStore, TEST_CONFIG_NAME);
+  }
+
+  private void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
 }
@@ -42,7 +42,7 @@ public class ScriptComponent extends AbstractComponent {
   @Override
   protected Object doInvoke(Event event, Event.Builder eventBuilder) throws Exception {
     // Set up initial script variables.
-    Bindings bindings = script.getScriptEngine().createBindings();
+    Bindings bindings = script.createBindings();
     putBindings(bindings);
     script.populateBindings(bindings, event, eventBuilder);
     try {
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.scripting.component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+/**
+ * Pool of {@link ScriptEngine}s, each one with its own compiled version of a script, used to evaluate the script with engines
+ * which are not thread safe.
+ * <p/>
+ * Engines are created on demand, so there are as many engines as concurrent evaluations of the script.
+ *
+ * @since 4.0
+ */
+final class ScriptEnginePool {
+
+  private final Supplier<ScriptEngine> engineFactory;
+  private final String script;
+  private final Queue<PooledScriptEngine> idleEngines = new ConcurrentLinkedQueue<>();
+
+  /**
+   * @param engineFactory creates the engines of the pool
+   * @param script the script to evaluate
+   */
+  ScriptEnginePool(Supplier<ScriptEngine> engineFactory, String script) {
+    this.engineFactory = engineFactory;
+    this.script = script;
+  }
+
+  /**
+   * @return an idle engine of the pool, or a new one if all of them are in use.
+   * @throws ScriptException if the script can't be compiled by a new engine
+   */
+  PooledScriptEngine borrow() throws ScriptException {
+    final PooledScriptEngine engine = idleEngines.poll();
+    if (engine != null) {
+      return engine;
+    }
+
+    final ScriptEngine scriptEngine = engineFactory.get();
+    final CompiledScript compiledScript =
+        scriptEngine instanceof Compilable ? ((Compilable) scriptEngine).compile(script) : null;
+    return new PooledScriptEngine(scriptEngine, compiledScript, script);
+  }
+
+  /**
+   * Returns an engine to the pool once it's no longer used.
+   */
+  void release(PooledScriptEngine engine) {
+    idleEngines.offer(engine);
+  }
+
+  /**
+   * A {@link ScriptEngine} of the pool along with its compiled version of the script.
+   */
+  static final class PooledScriptEngine {
+
+    private final ScriptEngine engine;
+    private final CompiledScript compiledScript;
+    private final String script;
+
+    PooledScriptEngine(ScriptEngine engine, CompiledScript compiledScript, String script) {
+      this.engine = engine;
+      this.compiledScript = compiledScript;
+      this.script = script;
+    }
+
+    Object eval(Bindings bindings) throws ScriptException {
+      return compiledScript != null ? compiledScript.eval(bindings) : engine.eval(script, bindings);
+    }
+  }
+}
@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.module.scripting.component;
 
+import static java.lang.Boolean.getBoolean;
+import static javax.script.ScriptContext.GLOBAL_SCOPE;
+import static org.apache.commons.io.IOUtils.copy;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.config.i18n.CoreMessages.cannotLoadFromClasspath;
 import static org.mule.runtime.core.config.i18n.CoreMessages.propertiesNotSet;
 import static org.mule.runtime.core.config.i18n.I18nMessageFactory.createStaticMessage;
@@ -24,15 +28,20 @@ import org.mule.runtime.core.el.context.FlowVariableMapContext;
 import org.mule.runtime.core.el.context.SessionVariableMapContext;
 import org.mule.runtime.core.util.CollectionUtils;
 import org.mule.runtime.core.util.StringUtils;
+import org.mule.runtime.module.scripting.component.ScriptEnginePool.PooledScriptEngine;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.script.Bindings;
 import javax.script.Compilable;
@@ -40,6 +49,7 @@ import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import javax.script.SimpleBindings;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +74,21 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
   private static final String BINDING_EXCEPTION = "exception";
   public static final String BINDING_MESSAGE = "message";
 
+  /**
+   * System property to evaluate scripts with a pool of engines when the engine is not thread safe
+   */
+  public static final String POOL_ENGINES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scripting.poolEngines";
+
+  /**
+   * System property to only populate the optional bindings which are referenced in the script. The message, payload, result,
+   * log, muleContext, registry and exception bindings are always populated. Scripts which access flow variables by a computed
+   * name have to use the flowVars binding.
+   */
+  public static final String LAZY_BINDINGS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scripting.lazyBindings";
+
+  private static final String THREADING_PARAMETER = "THREADING";
+  private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[\\p{L}_$][\\p{L}\\p{N}_$]*");
+
   /** The actual body of the script */
   private String scriptText;
 
@@ -86,6 +111,18 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
   private ScriptEngine scriptEngine;
   private ScriptEngineManager scriptEngineManager;
 
+  /** The script, either the script text or the content of the script file */
+  private String scriptSource;
+
+  private boolean poolEngines = getBoolean(POOL_ENGINES_PROPERTY);
+  private boolean lazyBindings = getBoolean(LAZY_BINDINGS_PROPERTY);
+
+  /** Engines used to evaluate the script when its engine is not thread safe and pooling is enabled */
+  private ScriptEnginePool enginePool;
+
+  /** Identifiers appearing in the script, only computed when lazy bindings are enabled */
+  private Set<String> referencedIdentifiers;
+
   private MuleContext muleContext;
   private FlowConstruct flow;
 
@@ -137,45 +174,90 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
       }
     }
 
-    Reader script = null;
-    try {
-      // Load script from variable
-      if (StringUtils.isNotBlank(scriptText)) {
-        script = new StringReader(scriptText);
-      }
-      // Load script from file
-      else if (scriptFile != null) {
-        InputStream is;
-        try {
-          is = getResourceAsStream(scriptFile, getClass());
-        } catch (IOException e) {
-          throw new InitialisationException(cannotLoadFromClasspath(scriptFile), e, this);
-        }
-        if (is == null) {
-          throw new InitialisationException(cannotLoadFromClasspath(scriptFile), this);
-        }
-        script = new InputStreamReader(is);
-      } else {
-        throw new InitialisationException(propertiesNotSet("scriptText, scriptFile"), this);
-      }
+    // Load script from variable
+    if (StringUtils.isNotBlank(scriptText)) {
+      scriptSource = scriptText;
+    }
+    // Load script from file
+    else if (scriptFile != null) {
+      scriptSource = loadScriptFile();
+    } else {
+      throw new InitialisationException(propertiesNotSet("scriptText, scriptFile"), this);
+    }
 
-      // Pre-compile script if scripting engine supports compilation.
-      if (scriptEngine instanceof Compilable) {
-        try {
-          compiledScript = ((Compilable) scriptEngine).compile(script);
-        } catch (ScriptException e) {
-          throw new InitialisationException(e, this);
-        }
-      }
-    } finally {
-      if (script != null) {
-        try {
-          script.close();
-        } catch (IOException e) {
-          throw new InitialisationException(e, this);
-        }
+    // Pre-compile script if scripting engine supports compilation.
+    if (scriptEngine instanceof Compilable) {
+      try {
+        compiledScript = ((Compilable) scriptEngine).compile(scriptSource);
+      } catch (ScriptException e) {
+        throw new InitialisationException(e, this);
       }
     }
+
+    if (poolEngines && scriptEngine != null && !isThreadSafe(scriptEngine)) {
+      enginePool = new ScriptEnginePool(this::createPooledScriptEngine, scriptSource);
+      enginePool.release(new PooledScriptEngine(scriptEngine, compiledScript, scriptSource));
+    }
+    if (lazyBindings) {
+      referencedIdentifiers = findIdentifiers(scriptSource);
+    }
+  }
+
+  private String loadScriptFile() throws InitialisationException {
+    InputStream is;
+    try {
+      is = getResourceAsStream(scriptFile, getClass());
+    } catch (IOException e) {
+      throw new InitialisationException(cannotLoadFromClasspath(scriptFile), e, this);
+    }
+    if (is == null) {
+      throw new InitialisationException(cannotLoadFromClasspath(scriptFile), this);
+    }
+    try (Reader script = new InputStreamReader(is)) {
+      final StringWriter source = new StringWriter();
+      copy(script, source);
+      return source.toString();
+    } catch (IOException e) {
+      throw new InitialisationException(e, this);
+    }
+  }
+
+  /**
+   * Engines which don't declare the {@code THREADING} parameter can't be used from different threads at the same time.
+   */
+  private boolean isThreadSafe(ScriptEngine engine) {
+    return engine.getFactory().getParameter(THREADING_PARAMETER) != null;
+  }
+
+  private ScriptEngine createPooledScriptEngine() {
+    final ScriptEngine engine = scriptEngine.getFactory().getScriptEngine();
+    engine.setBindings(scriptEngineManager.getBindings(), GLOBAL_SCOPE);
+    return engine;
+  }
+
+  private Set<String> findIdentifiers(String source) {
+    final Set<String> identifiers = new HashSet<>();
+    final Matcher matcher = IDENTIFIER_PATTERN.matcher(source);
+    while (matcher.find()) {
+      identifiers.add(matcher.group());
+    }
+    return identifiers;
+  }
+
+  /**
+   * @param name the name of a binding
+   * @return whether the binding has to be populated, which is always unless lazy bindings are enabled and the script doesn't
+   *         reference it.
+   */
+  protected boolean isBindingReferenced(String name) {
+    return referencedIdentifiers == null || referencedIdentifiers.contains(name);
+  }
+
+  /**
+   * @return new {@link Bindings} to evaluate the script with.
+   */
+  public Bindings createBindings() {
+    return enginePool != null ? new SimpleBindings() : scriptEngine.createBindings();
   }
 
   protected void populatePropertyBindings(Bindings bindings) {
@@ -187,6 +269,9 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
   protected void populatePropertyBindings(Bindings bindings, Event event) {
     if (properties != null) {
       for (Entry entry : properties.entrySet()) {
+        if (!isBindingReferenced((String) entry.getKey())) {
+          continue;
+        }
         String value = (String) entry.getValue();
         if (muleContext.getExpressionLanguage().isExpression(value)) {
           bindings.put((String) entry.getKey(), muleContext.getExpressionLanguage().parse(value, event, flow));
@@ -211,7 +296,9 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
     populateDefaultBindings(bindings);
     populateMessageBindings(bindings, event, eventBuilder);
 
-    bindings.put(BINDING_EVENT_CONTEXT, new DefaultMuleEventContext(flow, event));
+    if (isBindingReferenced(BINDING_EVENT_CONTEXT)) {
+      bindings.put(BINDING_EVENT_CONTEXT, new DefaultMuleEventContext(flow, event));
+    }
     bindings.put(BINDING_FLOW_CONSTRUCT, flow);
   }
 
@@ -232,8 +319,12 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
   }
 
   private void populateHeadersVariablesAndException(Bindings bindings, Event event, Event.Builder eventBuilder) {
-    bindings.put(BINDING_FLOW_VARS, new FlowVariableMapContext(event, eventBuilder));
-    bindings.put(BINDING_SESSION_VARS, new SessionVariableMapContext(event.getSession()));
+    if (isBindingReferenced(BINDING_FLOW_VARS)) {
+      bindings.put(BINDING_FLOW_VARS, new FlowVariableMapContext(event, eventBuilder));
+    }
+    if (isBindingReferenced(BINDING_SESSION_VARS)) {
+      bindings.put(BINDING_SESSION_VARS, new SessionVariableMapContext(event.getSession()));
+    }
 
     // Only add exception is present
     if (event.getError().isPresent()) {
@@ -245,10 +336,14 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
 
   private void populateVariablesInOrder(Bindings bindings, Event event) {
     for (String key : event.getSession().getPropertyNamesAsSet()) {
-      bindings.put(key, event.getSession().getProperty(key));
+      if (isBindingReferenced(key)) {
+        bindings.put(key, event.getSession().getProperty(key));
+      }
     }
     for (String key : event.getVariableNames()) {
-      bindings.put(key, event.getVariable(key).getValue());
+      if (isBindingReferenced(key)) {
+        bindings.put(key, event.getVariable(key).getValue());
+      }
     }
   }
 
@@ -256,11 +351,7 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
     Object result;
     try {
       RegistryLookupBindings registryLookupBindings = new RegistryLookupBindings(muleContext.getRegistry(), bindings);
-      if (compiledScript != null) {
-        result = compiledScript.eval(registryLookupBindings);
-      } else {
-        result = scriptEngine.eval(scriptText, registryLookupBindings);
-      }
+      result = evaluate(registryLookupBindings);
 
       // The result of the script can be returned directly or it can
       // be set as the variable "result".
@@ -276,6 +367,21 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
     return result;
   }
 
+  private Object evaluate(Bindings bindings) throws ScriptException {
+    if (enginePool != null) {
+      final PooledScriptEngine engine = enginePool.borrow();
+      try {
+        return engine.eval(bindings);
+      } finally {
+        enginePool.release(engine);
+      }
+    } else if (compiledScript != null) {
+      return compiledScript.eval(bindings);
+    } else {
+      return scriptEngine.eval(scriptSource, bindings);
+    }
+  }
+
   protected ScriptEngine createScriptEngineByName(String name) {
     return scriptEngineManager.getEngineByName(name);
   }
@@ -316,6 +422,30 @@ public class Scriptable implements Initialisable, MuleContextAware, FlowConstruc
     return scriptEngineName;
   }
 
+  /**
+   * @param poolEngines whether to evaluate the script with a pool of engines when the engine is not thread safe, instead of
+   *        sharing it between concurrent evaluations. Defaults to the value of the {@link #POOL_ENGINES_PROPERTY} system property.
+   */
+  public void setPoolEngines(boolean poolEngines) {
+    this.poolEngines = poolEngines;
+  }
+
+  public boolean isPoolEngines() {
+    return poolEngines;
+  }
+
+  /**
+   * @param lazyBindings whether to skip the population of the optional bindings not referenced in the script. Defaults to the
+   *        value of the {@link #LAZY_BINDINGS_PROPERTY} system property.
+   */
+  public void setLazyBindings(boolean lazyBindings) {
+    this.lazyBindings = lazyBindings;
+  }
+
+  public boolean isLazyBindings() {
+    return lazyBindings;
+  }
+
   public Properties getProperties() {
     return properties;
   }
@@ -46,7 +46,7 @@ public class ScriptFilter extends AbstractFilteringMessageProcessor implements F
 
   @Override
   public boolean accept(Event event, Event.Builder builder) {
-    Bindings bindings = script.getScriptEngine().createBindings();
+    Bindings bindings = script.createBindings();
 
     script.populateBindings(bindings, event, builder);
     try {
@@ -61,7 +61,7 @@ public class ScriptFilter extends AbstractFilteringMessageProcessor implements F
 
   @Override
   public boolean accept(InternalMessage message, Event.Builder builder) {
-    Bindings bindings = script.getScriptEngine().createBindings();
+    Bindings bindings = script.createBindings();
 
     // TODO MULE-9341 Remove Filters.
     Flow flow = new Flow("", muleContext);
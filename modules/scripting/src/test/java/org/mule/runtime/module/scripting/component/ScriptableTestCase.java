@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.scripting.component;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.module.scripting.component.Scriptable.BINDING_MESSAGE;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.script.Bindings;
+
+import org.junit.Test;
+
+public class ScriptableTestCase extends AbstractMuleContextTestCase {
+
+  private static final int THREADS = 8;
+  private static final int EVALUATIONS = 50;
+
+  @Test
+  public void bindingsArePopulatedEagerlyByDefault() throws Exception {
+    final Bindings bindings = populateBindings(createScript("groovy", "payload + referenced", false));
+
+    assertThat(bindings, hasKey("referenced"));
+    assertThat(bindings, hasKey("unreferenced"));
+    assertThat(bindings, hasKey("flowVars"));
+    assertThat(bindings, hasKey("eventContext"));
+  }
+
+  @Test
+  public void lazyBindingsOnlyPopulateReferencedVariables() throws Exception {
+    final Bindings bindings = populateBindings(createScript("groovy", "payload + referenced", true));
+
+    assertThat(bindings, hasKey("referenced"));
+    assertThat(bindings, not(hasKey("unreferenced")));
+    assertThat(bindings, not(hasKey("flowVars")));
+    assertThat(bindings, not(hasKey("eventContext")));
+    assertThat(bindings, hasKey(BINDING_MESSAGE));
+  }
+
+  @Test
+  public void pooledEnginesEvaluateConcurrently() throws Exception {
+    final Scriptable script = createScript("javascript", "payload + '-' + referenced", false);
+    script.setPoolEngines(true);
+    script.initialise();
+
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      final List<Future<?>> evaluations = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        final String payload = "payload" + i;
+        evaluations.add(executor.submit(() -> {
+          for (int j = 0; j < EVALUATIONS; j++) {
+            final Event event = eventBuilder().message(InternalMessage.of(payload)).addVariable("referenced", j).build();
+            final Bindings bindings = script.createBindings();
+            script.populateBindings(bindings, event, Event.builder(event));
+            assertThat(script.runScript(bindings), is(payload + "-" + j));
+          }
+          return null;
+        }));
+      }
+      for (Future<?> evaluation : evaluations) {
+        evaluation.get(10, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Scriptable createScript(String engineName, String scriptText, boolean lazyBindings) {
+    final Scriptable script = new Scriptable(muleContext);
+    script.setScriptEngineName(engineName);
+    script.setScriptText(scriptText);
+    script.setLazyBindings(lazyBindings);
+    return script;
+  }
+
+  private Bindings populateBindings(Scriptable script) throws Exception {
+    script.initialise();
+    final Event event = eventBuilder().message(InternalMessage.of("payload")).addVariable("referenced", "value")
+        .addVariable("unreferenced", "value").build();
+    final Bindings bindings = script.createBindings();
+    script.populateBindings(bindings, event, Event.builder(event));
+    return bindings;
+  }
+}
@@ -16,6 +16,7 @@ import static org.mule.runtime.config.spring.dsl.model.ApplicationModel.MULE_IDE
 import static org.mule.runtime.config.spring.dsl.spring.BeanDefinitionFactory.SPRING_SINGLETON_OBJECT;
 import static org.mule.runtime.config.spring.parsers.generic.AutoIdUtils.uniqueValue;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_CONNECTIVITY_TESTING_SERVICE;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_EXPRESSION_LANGUAGE;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_METADATA_SERVICE;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONFIGURATION;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONTEXT;
@@ -61,6 +62,7 @@ import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.dsl.api.component.ComponentIdentifier;
 import org.mule.runtime.core.config.ConfigResource;
 import org.mule.runtime.core.config.bootstrap.ArtifactType;
+import org.mule.runtime.core.el.mvel.MVELExpressionLanguage;
 import org.mule.runtime.core.exception.ErrorTypeLocator;
 import org.mule.runtime.core.exception.ErrorTypeRepository;
 import org.mule.runtime.core.registry.MuleRegistryHelper;
@@ -353,6 +355,35 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
         .createArtifactServices();
   }
 
+  @Override
+  protected void finishBeanFactoryInitialization(ConfigurableListableBeanFactory beanFactory) {
+    super.finishBeanFactoryInitialization(beanFactory);
+    precompileExpressions(beanFactory);
+  }
+
+  /**
+   * Compiles every expression of the application model when the expression language is configured to do so, so the first
+   * events processed by the application don't pay for it.
+   */
+  private void precompileExpressions(ConfigurableListableBeanFactory beanFactory) {
+    if (!beanFactory.containsBean(OBJECT_EXPRESSION_LANGUAGE)) {
+      return;
+    }
+    Object expressionLanguage = beanFactory.getBean(OBJECT_EXPRESSION_LANGUAGE);
+    if (!(expressionLanguage instanceof MVELExpressionLanguage)
+        || !((MVELExpressionLanguage) expressionLanguage).isPrecompileExpressions()) {
+      return;
+    }
+    List<String> values = new ArrayList<>();
+    applicationModel.executeOnEveryComponentTree(componentModel -> {
+      values.addAll(componentModel.getParameters().values());
+      if (componentModel.getTextContent() != null) {
+        values.add(componentModel.getTextContent());
+      }
+    });
+    ((MVELExpressionLanguage) expressionLanguage).precompileAll(values);
+  }
+
   @Override
   protected void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
     Optional<ComponentModel> configurationOptional =
@@ -25,6 +25,7 @@ public class ScatterGatherRouterFactoryBean extends AbstractAnnotatedObject
     implements FactoryBean<ScatterGatherRouter>, MuleContextAware, FlowConstructAware {
 
   private long timeout = 0;
+  private long routeTimeout = 0;
   private List<Processor> messageProcessors;
   private AggregationStrategy aggregationStrategy;
   private ThreadingProfile threadingProfile;
@@ -35,6 +36,7 @@ public class ScatterGatherRouterFactoryBean extends AbstractAnnotatedObject
   public ScatterGatherRouter getObject() throws Exception {
     ScatterGatherRouter sg = new ScatterGatherRouter();
     sg.setTimeout(timeout);
+    sg.setRouteTimeout(routeTimeout);
     sg.setMuleContext(muleContext);
     sg.setFlowConstruct(flowConstruct);
 
@@ -72,6 +74,10 @@ public class ScatterGatherRouterFactoryBean extends AbstractAnnotatedObject
     this.timeout = timeout;
   }
 
+  public void setRouteTimeout(long routeTimeout) {
+    this.routeTimeout = routeTimeout;
+  }
+
   public void setAggregationStrategy(AggregationStrategy aggregationStrategy) {
     this.aggregationStrategy = aggregationStrategy;
   }
@@ -13,6 +13,7 @@ import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.message.OutputHandler;
 import org.mule.runtime.core.util.ClassUtils;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.core.util.StringUtils;
@@ -20,6 +21,8 @@ import org.mule.runtime.module.xml.i18n.XmlMessages;
 import org.mule.runtime.module.xml.util.LocalURIResolver;
 import org.mule.runtime.module.xml.util.XMLUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.util.HashMap;
@@ -30,19 +33,23 @@ import javax.xml.transform.ErrorListener;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
 import javax.xml.transform.URIResolver;
+import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
-import org.apache.commons.pool.BasePoolableObjectFactory;
-import org.apache.commons.pool.impl.GenericObjectPool;
-
 /**
  * <code>XsltTransformer</code> performs an XSLT transform on a DOM (or other XML-ish) object.
  * <p/>
- * This transformer maintains a pool of {@link javax.xml.transform.Transformer} objects to speed up processing of concurrent
- * requests. The pool can be configured using {@link #setMaxIdleTransformers(int)}.
+ * The stylesheet is compiled once into {@link Templates} when the transformer is initialised, and the
+ * {@link javax.xml.transform.Transformer} objects created from them are kept in a {@link XsltTransformerPool} to speed up
+ * processing of concurrent requests. The pool can be configured using {@link #setMinIdleTransformers(int)},
+ * {@link #setMaxIdleTransformers(int)} and {@link #setMaxActiveTransformers(int)}.
+ * <p/>
+ * When the return type is {@link OutputHandler}, the transformation is performed when the handler is written, straight into the
+ * target stream, so the result is never held in memory.
  * <p/>
  * Parameter can also be set as part of the transformation context and these can be mapped to content in the current message using
  * property extractors or can be fixed values.
@@ -100,7 +107,7 @@ public class XsltTransformer extends AbstractXmlTransformer {
   // Saxon shipped with Mule
   public static final String PREFERRED_TRANSFORMER_FACTORY = "net.sf.saxon.TransformerFactoryImpl";
 
-  protected final GenericObjectPool transformerPool;
+  protected final XsltTransformerPool transformerPool;
 
   /**
    * Default to Saxon
@@ -111,13 +118,12 @@ public class XsltTransformer extends AbstractXmlTransformer {
   private volatile Map<String, Object> contextProperties;
 
   private URIResolver uriResolver;
+  private volatile Templates templates;
+  private int minIdleTransformers = MIN_IDLE_TRANSFORMERS;
 
   public XsltTransformer() {
     super();
-    transformerPool = new GenericObjectPool(new PooledXsltTransformerFactory());
-    transformerPool.setMinIdle(MIN_IDLE_TRANSFORMERS);
-    transformerPool.setMaxIdle(MAX_IDLE_TRANSFORMERS);
-    transformerPool.setMaxActive(MAX_ACTIVE_TRANSFORMERS);
+    transformerPool = new XsltTransformerPool(this::createTransformer, MAX_ACTIVE_TRANSFORMERS, MAX_IDLE_TRANSFORMERS);
     contextProperties = new HashMap<>();
   }
 
@@ -134,7 +140,11 @@ public class XsltTransformer extends AbstractXmlTransformer {
         this.uriResolver = new LocalURIResolver(xslFile);
       }
 
-      transformerPool.addObject();
+      templates = compileTemplates();
+      transformerPool.clear();
+      for (int i = 0; i < minIdleTransformers; ++i) {
+        transformerPool.addTransformer();
+      }
     } catch (Throwable te) {
       throw new InitialisationException(te, this);
     }
@@ -155,6 +165,10 @@ public class XsltTransformer extends AbstractXmlTransformer {
         return null;
       }
 
+      if (OutputHandler.class.equals(getReturnDataType().getType())) {
+        return getOutputHandler(event, outputEncoding, sourceDoc);
+      }
+
       ResultHolder holder = getResultHolder(getReturnDataType().getType());
 
       // If the users hasn't specified a class, lets return the same type they gave us
@@ -198,14 +212,34 @@ public class XsltTransformer extends AbstractXmlTransformer {
     };
   }
 
+  protected Object getOutputHandler(final Event event, final Charset outputEncoding, final Source sourceDoc) {
+    return new OutputHandler() {
+
+      @Override
+      public void write(Event writeEvent, OutputStream out) throws IOException {
+        try {
+          doTransform(event, outputEncoding, sourceDoc, new StreamResult(out));
+        } catch (IOException e) {
+          throw e;
+        } catch (Exception e) {
+          throw new IOException(e);
+        }
+      }
+    };
+  }
+
   protected void doTransform(Event event, Charset outputEncoding, Source sourceDoc, Result result) throws Exception {
     DefaultErrorListener errorListener = new DefaultErrorListener(this);
     javax.xml.transform.Transformer transformer = null;
 
     try {
-      transformer = (javax.xml.transform.Transformer) transformerPool.borrowObject();
+      transformer = transformerPool.borrowTransformer();
 
       transformer.setErrorListener(errorListener);
+      // Pooled transformers are reset after being used, which may discard the resolver they got from the templates
+      if (uriResolver != null) {
+        transformer.setURIResolver(uriResolver);
+      }
       transformer.setOutputProperty(OutputKeys.ENCODING, outputEncoding.name());
 
       // set transformation parameters
@@ -229,7 +263,7 @@ public class XsltTransformer extends AbstractXmlTransformer {
       }
     } finally {
       if (transformer != null) {
-        transformerPool.returnObject(transformer);
+        transformerPool.returnTransformer(transformer);
       }
     }
   }
@@ -289,50 +323,52 @@ public class XsltTransformer extends AbstractXmlTransformer {
     }
   }
 
-  protected class PooledXsltTransformerFactory extends BasePoolableObjectFactory {
-
-    @Override
-    public Object makeObject() throws Exception {
-      StreamSource source = XsltTransformer.this.getStreamSource();
-      String factoryClassName = XsltTransformer.this.getXslTransformerFactory();
-      TransformerFactory factory;
-
-      if (PREFERRED_TRANSFORMER_FACTORY.equals(factoryClassName) && !ClassUtils.isClassOnPath(factoryClassName, getClass())) {
-        logger.warn("Preferred Transfomer Factory " + PREFERRED_TRANSFORMER_FACTORY
-            + " not on classpath and no default is set, defaulting to JDK");
-        factoryClassName = null;
-      }
+  /**
+   * Compiles the stylesheet returned by {@link #getStreamSource()} using the configured {@link TransformerFactory}.
+   *
+   * @return the compiled stylesheet, which every pooled {@link javax.xml.transform.Transformer} is created from
+   */
+  protected Templates compileTemplates() throws Exception {
+    StreamSource source = getStreamSource();
+    String factoryClassName = getXslTransformerFactory();
+    TransformerFactory factory;
+
+    if (PREFERRED_TRANSFORMER_FACTORY.equals(factoryClassName) && !ClassUtils.isClassOnPath(factoryClassName, getClass())) {
+      logger.warn("Preferred Transfomer Factory " + PREFERRED_TRANSFORMER_FACTORY
+          + " not on classpath and no default is set, defaulting to JDK");
+      factoryClassName = null;
+    }
 
-      if (StringUtils.isNotEmpty(factoryClassName)) {
+    if (StringUtils.isNotEmpty(factoryClassName)) {
 
-        factory = (TransformerFactory) ClassUtils.instanciateClass(factoryClassName, ClassUtils.NO_ARGS, this.getClass());
-      } else {
-        // fall back to JDK default
-        try {
-          factory = TransformerFactory.newInstance();
-        } catch (TransformerFactoryConfigurationError e) {
-          System.setProperty("javax.xml.transform.TransformerFactory", XMLUtils.TRANSFORMER_FACTORY_JDK5);
-          factory = TransformerFactory.newInstance();
-        }
+      factory = (TransformerFactory) ClassUtils.instanciateClass(factoryClassName, ClassUtils.NO_ARGS, this.getClass());
+    } else {
+      // fall back to JDK default
+      try {
+        factory = TransformerFactory.newInstance();
+      } catch (TransformerFactoryConfigurationError e) {
+        System.setProperty("javax.xml.transform.TransformerFactory", XMLUtils.TRANSFORMER_FACTORY_JDK5);
+        factory = TransformerFactory.newInstance();
       }
-
-      factory.setURIResolver(getUriResolver());
-
-      return factory.newTransformer(source);
     }
 
-    @Override
-    public void passivateObject(Object object) throws Exception {
-      javax.xml.transform.Transformer transformer = (javax.xml.transform.Transformer) object;
-
-      // Clear transformation parameters before returning transformer to the pool
-      transformer.clearParameters();
+    factory.setURIResolver(getUriResolver());
 
-      // Clean up transformer before return it to the pool
-      transformer.reset();
+    return factory.newTemplates(source);
+  }
 
-      super.passivateObject(transformer);
+  private javax.xml.transform.Transformer createTransformer() throws Exception {
+    Templates templates = this.templates;
+    if (templates == null) {
+      synchronized (this) {
+        templates = this.templates;
+        if (templates == null) {
+          templates = compileTemplates();
+          this.templates = templates;
+        }
+      }
     }
+    return templates.newTransformer();
   }
 
   protected class DefaultErrorListener implements ErrorListener {
@@ -368,6 +404,29 @@ public class XsltTransformer extends AbstractXmlTransformer {
     }
   }
 
+  /**
+   * @return The number of transformer objects created and kept idle in the pool on initialisation
+   */
+  public int getMinIdleTransformers() {
+    return minIdleTransformers;
+  }
+
+  /**
+   * Sets the number of transformer objects created and kept idle in the pool on initialisation
+   *
+   * @param minIdleTransformers New number of transformers to create
+   */
+  public void setMinIdleTransformers(int minIdleTransformers) {
+    this.minIdleTransformers = minIdleTransformers;
+  }
+
+  /**
+   * @return The pool of transformer objects, which also keeps statistics of how long borrowers waited for a transformer
+   */
+  public XsltTransformerPool getTransformerPool() {
+    return transformerPool;
+  }
+
   /**
    * @return The current maximum number of allowable active transformer objects in the pool
    */
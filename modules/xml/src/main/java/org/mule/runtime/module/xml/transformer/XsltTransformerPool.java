@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.transformer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.xml.transform.Transformer;
+
+/**
+ * Pool of the {@link Transformer}s used by a {@link XsltTransformer}.
+ * <p/>
+ * Idle transformers are kept in a lock-free queue, and the amount of transformers in use is bounded by a {@link Semaphore}, so
+ * borrowing and returning transformers only contend on a lock when the pool is exhausted. In that case the borrowing thread
+ * waits until a transformer is returned, and the time it spent waiting is added to the pool's wait statistics.
+ * <p/>
+ * Transformers have their parameters cleared and are reset when returned to the pool.
+ *
+ * @since 4.0
+ */
+public final class XsltTransformerPool {
+
+  // Large enough to never be reached, while leaving room to grow it back without overflowing
+  private static final int UNBOUNDED = Integer.MAX_VALUE / 2;
+
+  private final Callable<Transformer> transformerFactory;
+  private final Queue<Transformer> idle = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final AtomicInteger activeCount = new AtomicInteger();
+  private final ResizableSemaphore permits;
+
+  private volatile int maxActive;
+  private volatile int maxIdle;
+
+  private final LongAdder borrowCount = new LongAdder();
+  private final LongAdder waitCount = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+
+  /**
+   * Creates a new pool
+   *
+   * @param transformerFactory creates the {@link Transformer}s when there are no idle ones
+   * @param maxActive the maximum amount of transformers in use at the same time. Zero or negative for no limit.
+   * @param maxIdle the maximum amount of transformers kept idle in the pool.
+   */
+  public XsltTransformerPool(Callable<Transformer> transformerFactory, int maxActive, int maxIdle) {
+    this.transformerFactory = transformerFactory;
+    this.maxActive = maxActive;
+    this.maxIdle = maxIdle;
+    permits = new ResizableSemaphore(toPermits(maxActive));
+  }
+
+  /**
+   * Borrows a transformer from the pool, creating it if there are no idle ones. If the maximum amount of active transformers has
+   * been reached, waits until one is returned.
+   *
+   * @return a {@link Transformer} which has to be {@link #returnTransformer(Transformer) returned} once used.
+   * @throws Exception if the transformer could not be created or the thread was interrupted while waiting.
+   */
+  public Transformer borrowTransformer() throws Exception {
+    if (!permits.tryAcquire()) {
+      final long waitStart = System.nanoTime();
+      permits.acquire();
+      recordWait(System.nanoTime() - waitStart);
+    }
+
+    try {
+      Transformer transformer = idle.poll();
+      if (transformer != null) {
+        idleCount.decrementAndGet();
+      } else {
+        transformer = transformerFactory.call();
+      }
+      activeCount.incrementAndGet();
+      borrowCount.increment();
+      return transformer;
+    } catch (Exception e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns a transformer previously {@link #borrowTransformer() borrowed}, clearing its parameters and resetting it. It is
+   * discarded if the pool already has its maximum of idle transformers.
+   *
+   * @param transformer the {@link Transformer} to return
+   */
+  public void returnTransformer(Transformer transformer) {
+    try {
+      transformer.clearParameters();
+      transformer.reset();
+      if (idleCount.incrementAndGet() <= maxIdle) {
+        idle.offer(transformer);
+      } else {
+        idleCount.decrementAndGet();
+      }
+    } finally {
+      activeCount.decrementAndGet();
+      permits.release();
+    }
+  }
+
+  /**
+   * Creates a transformer and adds it to the idle ones, if the pool doesn't have its maximum of idle transformers already.
+   *
+   * @throws Exception if the transformer could not be created.
+   */
+  public void addTransformer() throws Exception {
+    if (idleCount.incrementAndGet() <= maxIdle) {
+      try {
+        idle.offer(transformerFactory.call());
+      } catch (Exception e) {
+        idleCount.decrementAndGet();
+        throw e;
+      }
+    } else {
+      idleCount.decrementAndGet();
+    }
+  }
+
+  /**
+   * Discards every idle transformer.
+   */
+  public void clear() {
+    while (idle.poll() != null) {
+      idleCount.decrementAndGet();
+    }
+  }
+
+  private void recordWait(long waitNanos) {
+    waitCount.increment();
+    totalWaitNanos.add(waitNanos);
+    long max = maxWaitNanos.get();
+    while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+      max = maxWaitNanos.get();
+    }
+  }
+
+  private static int toPermits(int maxActive) {
+    return maxActive > 0 ? maxActive : UNBOUNDED;
+  }
+
+  public int getMaxActive() {
+    return maxActive;
+  }
+
+  /**
+   * Changes the maximum amount of transformers in use at the same time. If lowered below the amount of transformers currently in
+   * use, new borrowers wait until enough of them are returned.
+   *
+   * @param maxActive the new maximum. Zero or negative for no limit.
+   */
+  public synchronized void setMaxActive(int maxActive) {
+    final int delta = toPermits(maxActive) - toPermits(this.maxActive);
+    this.maxActive = maxActive;
+    if (delta > 0) {
+      permits.release(delta);
+    } else if (delta < 0) {
+      permits.reducePermits(-delta);
+    }
+  }
+
+  public int getMaxIdle() {
+    return maxIdle;
+  }
+
+  public void setMaxIdle(int maxIdle) {
+    this.maxIdle = maxIdle;
+  }
+
+  /**
+   * @return the amount of transformers currently borrowed.
+   */
+  public int getActiveCount() {
+    return activeCount.get();
+  }
+
+  /**
+   * @return the amount of transformers currently idle in the pool.
+   */
+  public int getIdleCount() {
+    return idleCount.get();
+  }
+
+  /**
+   * @return the amount of times a transformer was borrowed.
+   */
+  public long getBorrowCount() {
+    return borrowCount.sum();
+  }
+
+  /**
+   * @return the amount of times a borrower had to wait because the pool was exhausted.
+   */
+  public long getWaitCount() {
+    return waitCount.sum();
+  }
+
+  /**
+   * @param unit the unit in which to return the time
+   * @return the total time borrowers spent waiting because the pool was exhausted.
+   */
+  public long getTotalWaitTime(TimeUnit unit) {
+    return unit.convert(totalWaitNanos.sum(), NANOSECONDS);
+  }
+
+  /**
+   * @param unit the unit in which to return the time
+   * @return the longest time a borrower spent waiting because the pool was exhausted.
+   */
+  public long getMaxWaitTime(TimeUnit unit) {
+    return unit.convert(maxWaitNanos.get(), NANOSECONDS);
+  }
+
+  /**
+   * Resets the borrow and wait statistics.
+   */
+  public void clearStatistics() {
+    borrowCount.reset();
+    waitCount.reset();
+    totalWaitNanos.reset();
+    maxWaitNanos.set(0);
+  }
+
+  private static final class ResizableSemaphore extends Semaphore {
+
+    private static final long serialVersionUID = 5424436466014736066L;
+
+    private ResizableSemaphore(int permits) {
+      super(permits);
+    }
+
+    @Override
+    protected void reducePermits(int reduction) {
+      super.reducePermits(reduction);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.xml.transformers.xml.xslt;
+
+import static java.lang.Thread.State.WAITING;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import org.mule.runtime.module.xml.transformer.XsltTransformerPool;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.transform.Transformer;
+
+import org.junit.Test;
+
+@SmallTest
+public class XsltTransformerPoolTestCase extends AbstractMuleTestCase {
+
+  private static final long TIMEOUT = 5000;
+
+  private final AtomicInteger created = new AtomicInteger();
+
+  private Transformer createTransformer() {
+    created.incrementAndGet();
+    return mock(Transformer.class);
+  }
+
+  @Test
+  public void returnedTransformerIsResetAndReused() throws Exception {
+    XsltTransformerPool pool = new XsltTransformerPool(this::createTransformer, 2, 2);
+
+    Transformer transformer = pool.borrowTransformer();
+    assertThat(pool.getActiveCount(), is(1));
+    pool.returnTransformer(transformer);
+
+    verify(transformer).clearParameters();
+    verify(transformer).reset();
+    assertThat(pool.getActiveCount(), is(0));
+    assertThat(pool.getIdleCount(), is(1));
+    assertThat(pool.borrowTransformer(), is(sameInstance(transformer)));
+    assertThat(created.get(), is(1));
+  }
+
+  @Test
+  public void exceedingIdleTransformersAreDiscarded() throws Exception {
+    XsltTransformerPool pool = new XsltTransformerPool(this::createTransformer, 0, 1);
+
+    Transformer first = pool.borrowTransformer();
+    Transformer second = pool.borrowTransformer();
+    assertThat(second, is(not(sameInstance(first))));
+    pool.returnTransformer(first);
+    pool.returnTransformer(second);
+
+    assertThat(pool.getIdleCount(), is(1));
+    assertThat(pool.getBorrowCount(), is(2L));
+    assertThat(pool.getWaitCount(), is(0L));
+  }
+
+  @Test
+  public void addTransformerDoesNotExceedMaxIdle() throws Exception {
+    XsltTransformerPool pool = new XsltTransformerPool(this::createTransformer, 4, 2);
+    for (int i = 0; i < 4; ++i) {
+      pool.addTransformer();
+    }
+
+    assertThat(pool.getIdleCount(), is(2));
+    assertThat(created.get(), is(2));
+
+    pool.clear();
+    assertThat(pool.getIdleCount(), is(0));
+  }
+
+  @Test
+  public void exhaustedPoolWaitsForReturnedTransformer() throws Exception {
+    XsltTransformerPool pool = new XsltTransformerPool(this::createTransformer, 1, 1);
+    Transformer transformer = pool.borrowTransformer();
+
+    AtomicReference<Transformer> borrowed = new AtomicReference<>();
+    Thread borrower = new Thread(() -> {
+      try {
+        borrowed.set(pool.borrowTransformer());
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+    borrower.start();
+    while (borrower.getState() != WAITING) {
+      Thread.sleep(10);
+    }
+    pool.returnTransformer(transformer);
+    borrower.join(TIMEOUT);
+
+    assertThat(borrowed.get(), is(sameInstance(transformer)));
+    assertThat(pool.getWaitCount(), is(1L));
+    assertThat(pool.getMaxWaitTime(NANOSECONDS), greaterThan(0L));
+    assertThat(pool.getTotalWaitTime(NANOSECONDS), is(pool.getMaxWaitTime(NANOSECONDS)));
+
+    pool.clearStatistics();
+    assertThat(pool.getWaitCount(), is(0L));
+    assertThat(pool.getBorrowCount(), is(0L));
+  }
+
+  @Test
+  public void maxActiveCanBeChanged() throws Exception {
+    XsltTransformerPool pool = new XsltTransformerPool(this::createTransformer, 1, 4);
+    pool.borrowTransformer();
+
+    pool.setMaxActive(3);
+    pool.borrowTransformer();
+    pool.borrowTransformer();
+    assertThat(pool.getActiveCount(), is(3));
+    assertThat(pool.getWaitCount(), is(0L));
+    assertThat(pool.getMaxActive(), is(3));
+  }
+}
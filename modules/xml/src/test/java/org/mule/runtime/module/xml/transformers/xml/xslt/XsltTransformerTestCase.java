@@ -6,8 +6,13 @@
  */
 package org.mule.runtime.module.xml.transformers.xml.xslt;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import org.mule.runtime.api.metadata.DataType;
@@ -15,13 +20,16 @@ import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.message.OutputHandler;
 import org.mule.runtime.core.util.IOUtils;
 import org.mule.runtime.module.xml.transformer.XsltTransformer;
+import org.mule.runtime.module.xml.transformer.XsltTransformerPool;
 import org.mule.runtime.module.xml.transformers.xml.AbstractXmlTransformerTestCase;
 import org.mule.runtime.module.xml.util.LocalURIResolver;
 import org.mule.runtime.module.xml.util.XMLTestUtils;
 import org.mule.runtime.module.xml.util.XMLUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.HashMap;
@@ -290,4 +298,45 @@ public class XsltTransformerTestCase extends AbstractXmlTransformerTestCase {
     assertEquals(uriResolver, xsltTransformer.getUriResolver());
   }
 
+  @Test
+  public void testTransformToOutputHandler() throws Exception {
+    XsltTransformer transformer = new XsltTransformer();
+    transformer.setReturnDataType(DataType.fromType(OutputHandler.class));
+    transformer.setXslFile(VALID_XSL_FILENAME);
+    transformer.setMuleContext(muleContext);
+    transformer.initialise();
+
+    Object result = transformer.transform(srcData);
+    assertThat(result, is(instanceOf(OutputHandler.class)));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((OutputHandler) result).write(null, out);
+    assertTrue(compareResults(resultData, new String(out.toByteArray(), UTF_8)));
+  }
+
+  @Test
+  public void testPooledTransformersAreReused() throws Exception {
+    XsltTransformer transformer = (XsltTransformer) getTransformer();
+    XsltTransformerPool pool = transformer.getTransformerPool();
+    assertThat(pool.getIdleCount(), is(1));
+
+    for (int i = 0; i < 5; ++i) {
+      assertTrue(compareResults(resultData, transformer.transform(srcData)));
+    }
+
+    assertThat(pool.getIdleCount(), is(1));
+    assertThat(pool.getActiveCount(), is(0));
+    assertThat(pool.getBorrowCount(), greaterThanOrEqualTo(5L));
+  }
+
+  @Test
+  public void testMinIdleTransformersAreCreatedOnInitialise() throws Exception {
+    XsltTransformer transformer = new XsltTransformer();
+    transformer.setXslFile(VALID_XSL_FILENAME);
+    transformer.setMinIdleTransformers(4);
+    transformer.initialise();
+
+    assertThat(transformer.getTransformerPool().getIdleCount(), is(4));
+  }
+
 }
@@ -14,6 +14,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.scheduler.SchedulerMetrics;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -49,6 +50,7 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
 
   private final ExecutorService executor;
   private final ScheduledExecutorService scheduledExecutor;
+  private final DefaultSchedulerMetrics metrics;
 
   /**
    * Wait condition to support awaitTermination
@@ -67,8 +69,19 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
    *        but will dispatch it to the {@code executor} at the appropriate time.
    */
   DefaultScheduler(ExecutorService executor, ScheduledExecutorService scheduledExecutor) {
+    this(executor, scheduledExecutor, new DefaultSchedulerMetrics(executor));
+  }
+
+  /**
+   * @param executor the actual executor that will run the dispatched tasks.
+   * @param scheduledExecutor the executor that will handle the delayed/periodic tasks. This will not execute the actual tasks,
+   *        but will dispatch it to the {@code executor} at the appropriate time.
+   * @param metrics the metrics of the {@code executor}, shared with the other schedulers backed by it.
+   */
+  DefaultScheduler(ExecutorService executor, ScheduledExecutorService scheduledExecutor, DefaultSchedulerMetrics metrics) {
     this.executor = executor;
     this.scheduledExecutor = scheduledExecutor;
+    this.metrics = metrics;
   }
 
   @Override
@@ -129,8 +142,8 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
     return scheduled;
   }
 
-  private Runnable schedulableTask(RunnableFuture<?> task) {
-    return () -> executor.execute(task);
+  private Runnable schedulableTask(RunnableFutureDecorator<?> task) {
+    return () -> dispatch(task);
   }
 
   @Override
@@ -235,7 +248,34 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
     checkShutdown();
     requireNonNull(command);
 
-    executor.execute(command);
+    if (command instanceof RunnableFutureDecorator) {
+      dispatch((RunnableFutureDecorator<?>) command);
+    } else {
+      final long enqueuedNanos = nanoTime();
+      dispatch(() -> {
+        final long startNanos = nanoTime();
+        try {
+          command.run();
+        } finally {
+          metrics.taskCompleted(startNanos - enqueuedNanos, nanoTime() - startNanos);
+        }
+      });
+    }
+  }
+
+  private void dispatch(RunnableFutureDecorator<?> task) {
+    task.enqueued();
+    dispatch((Runnable) task);
+  }
+
+  private void dispatch(Runnable task) {
+    metrics.taskSubmitted();
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      metrics.taskRejected();
+      throw e;
+    }
   }
 
   protected void checkShutdown() {
@@ -244,11 +284,17 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
     }
   }
 
-  protected void taskFinished(RunnableFutureDecorator<?> task) {
+  protected void taskFinished(RunnableFutureDecorator<?> task, long queuedNanos, long executionNanos) {
+    metrics.taskCompleted(queuedNanos, executionNanos);
     scheduledTasks.remove(task);
     tryTerminate();
   }
 
+  @Override
+  public SchedulerMetrics getMetrics() {
+    return metrics;
+  }
+
   private void tryTerminate() {
     if (isTerminated()) {
       terminationLatch.countDown();
@@ -260,6 +306,7 @@ class DefaultScheduler extends AbstractExecutorService implements Scheduler {
     return super.toString() + "{" + lineSeparator()
         + "  executor: " + executor.toString() + lineSeparator()
         + "  shutdown: " + shutdown + lineSeparator()
+        + "  metrics: " + metrics.toString() + lineSeparator()
         + "}";
   }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal;
+
+import org.mule.runtime.core.api.scheduler.SchedulerMetrics;
+import org.mule.runtime.core.management.stats.ExecutionTimeHistogram;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link SchedulerMetrics} of one of the pools of a {@link DefaultSchedulerService}.
+ * <p>
+ * A single instance is created for each pool and shared by all the {@link DefaultScheduler}s backed by it. The queue depth and
+ * active threads are read from the pool itself.
+ *
+ * @since 4.0
+ */
+class DefaultSchedulerMetrics implements SchedulerMetrics {
+
+  private final ExecutorService executor;
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final ExecutionTimeHistogram queueLatency = new ExecutionTimeHistogram();
+  private final ExecutionTimeHistogram executionLatency = new ExecutionTimeHistogram();
+
+  DefaultSchedulerMetrics(ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Accounts a task about to be handed to the pool. It is done before handing it, so a fast task is never seen completed
+   * before being submitted.
+   */
+  void taskSubmitted() {
+    submitted.increment();
+  }
+
+  /**
+   * Accounts a task previously {@link #taskSubmitted() submitted} that the pool did not accept.
+   */
+  void taskRejected() {
+    submitted.decrement();
+    rejected.increment();
+  }
+
+  void taskCompleted(long queuedNanos, long executionNanos) {
+    completed.increment();
+    queueLatency.record(queuedNanos);
+    executionLatency.record(executionNanos);
+  }
+
+  @Override
+  public long getSubmittedTasks() {
+    return submitted.sum();
+  }
+
+  @Override
+  public long getCompletedTasks() {
+    return completed.sum();
+  }
+
+  @Override
+  public long getRejectedTasks() {
+    return rejected.sum();
+  }
+
+  @Override
+  public long getQueueDepth() {
+    if (executor instanceof ThreadPoolExecutor) {
+      return ((ThreadPoolExecutor) executor).getQueue().size();
+    } else if (executor instanceof ForkJoinPool) {
+      return ((ForkJoinPool) executor).getQueuedSubmissionCount() + ((ForkJoinPool) executor).getQueuedTaskCount();
+    }
+    return -1;
+  }
+
+  @Override
+  public int getActiveThreads() {
+    if (executor instanceof ThreadPoolExecutor) {
+      return ((ThreadPoolExecutor) executor).getActiveCount();
+    } else if (executor instanceof ForkJoinPool) {
+      return ((ForkJoinPool) executor).getActiveThreadCount();
+    }
+    return -1;
+  }
+
+  @Override
+  public ExecutionTimeHistogram getQueueLatency() {
+    return queueLatency;
+  }
+
+  @Override
+  public ExecutionTimeHistogram getExecutionLatency() {
+    return executionLatency;
+  }
+
+  @Override
+  public String toString() {
+    return "submitted: " + getSubmittedTasks() + ", completed: " + getCompletedTasks() + ", rejected: " + getRejectedTasks()
+        + ", queueDepth: " + getQueueDepth() + ", activeThreads: " + getActiveThreads() + ", p99 queue latency (ns): "
+        + queueLatency.getPercentile(99) + ", p99 execution latency (ns): " + executionLatency.getPercentile(99);
+  }
+}
@@ -6,24 +6,27 @@
  */
 package org.mule.service.scheduler.internal;
 
-import static java.lang.Runtime.getRuntime;
 import static java.lang.System.currentTimeMillis;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.service.scheduler.internal.SchedulerPoolsConfig.SchedulerEngine.WORK_STEALING;
+import static org.mule.service.scheduler.internal.SchedulerPoolsConfig.loadConfig;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.core.api.MuleException;
 import org.mule.runtime.core.api.lifecycle.Startable;
 import org.mule.runtime.core.api.lifecycle.Stoppable;
 import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.scheduler.SchedulerMetrics;
 import org.mule.runtime.core.api.scheduler.SchedulerService;
 import org.mule.runtime.core.util.concurrent.NamedThreadFactory;
 
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -39,6 +42,10 @@ import org.slf4j.Logger;
  * <p>
  * The returned {@link Scheduler}s have an {@code AbortPolicy} rejection policy. That means that when sending a task to a full
  * {@link Scheduler} a {@link RejectedExecutionException} will be thrown.
+ * <p>
+ * The executors are built according to a {@link SchedulerPoolsConfig}. When the {@code workStealing} engine is selected, the
+ * {@code cpuLight} and {@code compute} pools are {@link ForkJoinPool}s and the {@code io} pool grows and shrinks its threads with
+ * the load. Each pool has its own {@link SchedulerMetrics}, shared by all the {@link Scheduler}s backed by it.
  *
  * @since 4.0
  */
@@ -59,6 +66,10 @@ public class DefaultSchedulerService implements SchedulerService, Startable, Sto
   private ExecutorService computationExecutor;
   private ScheduledExecutorService scheduledExecutor;
 
+  private DefaultSchedulerMetrics cpuLightMetrics;
+  private DefaultSchedulerMetrics ioMetrics;
+  private DefaultSchedulerMetrics computationMetrics;
+
   @Override
   public String getName() {
     return "SchedulerService";
@@ -66,39 +77,58 @@ public class DefaultSchedulerService implements SchedulerService, Startable, Sto
 
   @Override
   public Scheduler cpuLightScheduler() {
-    return new DefaultScheduler(cpuLightExecutor, scheduledExecutor);
+    return new DefaultScheduler(cpuLightExecutor, scheduledExecutor, cpuLightMetrics);
   }
 
   @Override
   public Scheduler ioScheduler() {
-    return new DefaultScheduler(ioExecutor, scheduledExecutor);
+    return new DefaultScheduler(ioExecutor, scheduledExecutor, ioMetrics);
   }
 
   @Override
   public Scheduler computationScheduler() {
-    return new DefaultScheduler(computationExecutor, scheduledExecutor);
+    return new DefaultScheduler(computationExecutor, scheduledExecutor, computationMetrics);
   }
 
   @Override
   public void start() throws MuleException {
-    int cores = getRuntime().availableProcessors();
-
-    logger.info("Starting " + this.toString() + "...");
-
-    // TODO MULE-10585 Externalize the threads configuration
-    cpuLightExecutor = new ThreadPoolExecutor(2 * cores, 2 * cores, 0, SECONDS, new ArrayBlockingQueue<>(2 * cores),
-                                              new NamedThreadFactory(CPU_LIGHT_THREADS_NAME));
-    ioExecutor = new ThreadPoolExecutor(cores, cores * cores, 0, SECONDS, new ArrayBlockingQueue<>(cores * cores),
-                                        new NamedThreadFactory(IO_THREADS_NAME));
-    computationExecutor = new ThreadPoolExecutor(2 * cores, 2 * cores, 0, SECONDS, new ArrayBlockingQueue<>(2 * cores),
-                                                 new NamedThreadFactory(COMPUTATION_THREADS_NAME));
+    final SchedulerPoolsConfig config = loadConfig();
+
+    logger.info("Starting " + this.toString() + " (" + config.toString() + ")...");
+
+    if (config.getEngine() == WORK_STEALING) {
+      cpuLightExecutor = new ForkJoinPool(config.getCpuLightPoolSize(),
+                                          new NamedForkJoinWorkerThreadFactory(CPU_LIGHT_THREADS_NAME), null, true);
+      final ThreadPoolExecutor elasticIoExecutor =
+          new ThreadPoolExecutor(config.getIoCorePoolSize(), config.getIoMaxPoolSize(), config.getIoKeepAliveMillis(),
+                                 MILLISECONDS, new ArrayBlockingQueue<>(config.getIoQueueSize()),
+                                 new NamedThreadFactory(IO_THREADS_NAME));
+      elasticIoExecutor.allowCoreThreadTimeOut(true);
+      ioExecutor = elasticIoExecutor;
+      computationExecutor = new ForkJoinPool(config.getComputationPoolSize(),
+                                             new NamedForkJoinWorkerThreadFactory(COMPUTATION_THREADS_NAME), null, false);
+    } else {
+      cpuLightExecutor = new ThreadPoolExecutor(config.getCpuLightPoolSize(), config.getCpuLightPoolSize(), 0, SECONDS,
+                                                new ArrayBlockingQueue<>(config.getCpuLightQueueSize()),
+                                                new NamedThreadFactory(CPU_LIGHT_THREADS_NAME));
+      ioExecutor = new ThreadPoolExecutor(config.getIoCorePoolSize(), config.getIoMaxPoolSize(), 0, SECONDS,
+                                          new ArrayBlockingQueue<>(config.getIoQueueSize()),
+                                          new NamedThreadFactory(IO_THREADS_NAME));
+      computationExecutor = new ThreadPoolExecutor(config.getComputationPoolSize(), config.getComputationPoolSize(), 0, SECONDS,
+                                                   new ArrayBlockingQueue<>(config.getComputationQueueSize()),
+                                                   new NamedThreadFactory(COMPUTATION_THREADS_NAME));
+
+      ((ThreadPoolExecutor) cpuLightExecutor).prestartAllCoreThreads();
+      ((ThreadPoolExecutor) ioExecutor).prestartAllCoreThreads();
+      ((ThreadPoolExecutor) computationExecutor).prestartAllCoreThreads();
+    }
     scheduledExecutor = newScheduledThreadPool(1, new NamedThreadFactory(SCHEDULER_THREADS_NAME));
-
-    ((ThreadPoolExecutor) cpuLightExecutor).prestartAllCoreThreads();
-    ((ThreadPoolExecutor) ioExecutor).prestartAllCoreThreads();
-    ((ThreadPoolExecutor) computationExecutor).prestartAllCoreThreads();
     ((ThreadPoolExecutor) scheduledExecutor).prestartAllCoreThreads();
 
+    cpuLightMetrics = new DefaultSchedulerMetrics(cpuLightExecutor);
+    ioMetrics = new DefaultSchedulerMetrics(ioExecutor);
+    computationMetrics = new DefaultSchedulerMetrics(computationExecutor);
+
     logger.info("Started " + this.toString());
   }
 
@@ -130,6 +160,10 @@ public class DefaultSchedulerService implements SchedulerService, Startable, Sto
     ioExecutor = null;
     computationExecutor = null;
     scheduledExecutor = null;
+
+    cpuLightMetrics = null;
+    ioMetrics = null;
+    computationMetrics = null;
   }
 
   protected void waitForExecutorTermination(final long startMillis, final ExecutorService executor, final String executorLabel)
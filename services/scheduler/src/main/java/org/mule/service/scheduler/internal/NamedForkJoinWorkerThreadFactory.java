@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ForkJoinWorkerThreadFactory} that names its threads the same way as
+ * {@link org.mule.runtime.core.util.concurrent.NamedThreadFactory} does.
+ *
+ * @since 4.0
+ */
+class NamedForkJoinWorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+
+  private final String name;
+  private final AtomicLong counter = new AtomicLong(1);
+
+  NamedForkJoinWorkerThreadFactory(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+    final ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {};
+    thread.setName(String.format("%s.%02d", name, counter.getAndIncrement()));
+    return thread;
+  }
+}
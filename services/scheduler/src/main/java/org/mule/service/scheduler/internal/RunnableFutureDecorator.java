@@ -6,6 +6,8 @@
  */
 package org.mule.service.scheduler.internal;
 
+import static java.lang.System.nanoTime;
+
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RunnableFuture;
@@ -26,6 +28,9 @@ class RunnableFutureDecorator<V> implements RunnableFuture<V> {
 
   private volatile boolean started = false;
 
+  private volatile long enqueuedNanos = nanoTime();
+  private long startNanos;
+
   /**
    * Decorates the given {@code task}
    * 
@@ -40,6 +45,7 @@ class RunnableFutureDecorator<V> implements RunnableFuture<V> {
   @Override
   public void run() {
     started = true;
+    startNanos = nanoTime();
     try {
       task.run();
     } finally {
@@ -48,7 +54,14 @@ class RunnableFutureDecorator<V> implements RunnableFuture<V> {
   }
 
   private void wrapUp() {
-    scheduler.taskFinished(this);
+    scheduler.taskFinished(this, startNanos - enqueuedNanos, nanoTime() - startNanos);
+  }
+
+  /**
+   * Marks the moment this task was handed to the executor, so the time it waits for a thread can be measured.
+   */
+  void enqueued() {
+    enqueuedNanos = nanoTime();
   }
 
   /**
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.System.getProperty;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+/**
+ * Holds the configuration of the thread pools backing the {@link DefaultSchedulerService}.
+ * <p>
+ * Values are read from system properties prefixed with {@code mule.scheduler.}, defaulting to values computed from the number of
+ * available cores. The {@code cpuLight} and {@code compute} queue sizes only apply to the {@code threadPool} engine, as the
+ * {@link java.util.concurrent.ForkJoinPool}s of the {@code workStealing} engine have unbounded queues, so setting them along with
+ * the {@code workStealing} engine is rejected.
+ *
+ * @since 4.0
+ */
+class SchedulerPoolsConfig {
+
+  static final String SCHEDULER_PROPERTY_PREFIX = SYSTEM_PROPERTY_PREFIX + "scheduler.";
+
+  static final String ENGINE_PROPERTY = SCHEDULER_PROPERTY_PREFIX + "engine";
+  static final String CPU_LIGHT_THREADS_PROPERTY = SCHEDULER_PROPERTY_PREFIX + "cpuLight.threads";
+  static final String CPU_LIGHT_QUEUE_SIZE_PROPERTY = SCHEDULER_PROPERTY_PREFIX + "cpuLight.queueSize";
+  static final String IO_QUEUE_SIZE_PROPERTY = SCHEDULER_PROPERTY_PREFIX + "io.queueSize";
+  static final String IO_MAX_THREADS_PROPERTY = SCHEDULER_PROPERTY_PREFIX + "io.maxThreads";
+  static final String IO_KEEP_ALIVE_PROPERTY = SCHEDULER_PROPERTY_PREFIX + "io.keepAliveMillis";
+  static final String COMPUTATION_THREADS_PROPERTY = SCHEDULER_PROPERTY_PREFIX + "compute.threads";
+  static final String COMPUTATION_QUEUE_SIZE_PROPERTY = SCHEDULER_PROPERTY_PREFIX + "compute.queueSize";
+
+  /**
+   * The kind of executors that back the {@link org.mule.runtime.core.api.scheduler.Scheduler}s.
+   */
+  enum SchedulerEngine {
+    /**
+     * Fixed size {@link java.util.concurrent.ThreadPoolExecutor}s with bounded queues.
+     */
+    THREAD_POOL,
+
+    /**
+     * {@link java.util.concurrent.ForkJoinPool}s for the {@code cpuLight} and {@code compute} pools and an elastic
+     * {@link java.util.concurrent.ThreadPoolExecutor} for the {@code io} pool.
+     */
+    WORK_STEALING
+  }
+
+  private final SchedulerEngine engine;
+  private final int cpuLightPoolSize;
+  private final int cpuLightQueueSize;
+  private final int ioCorePoolSize;
+  private final int ioMaxPoolSize;
+  private final int ioQueueSize;
+  private final long ioKeepAliveMillis;
+  private final int computationPoolSize;
+  private final int computationQueueSize;
+
+  private SchedulerPoolsConfig(SchedulerEngine engine, int cores) {
+    this.engine = engine;
+    this.cpuLightPoolSize = getInteger(CPU_LIGHT_THREADS_PROPERTY, 2 * cores);
+    this.cpuLightQueueSize = getInteger(CPU_LIGHT_QUEUE_SIZE_PROPERTY, 2 * cores);
+    this.ioCorePoolSize = cores;
+    this.ioMaxPoolSize = getInteger(IO_MAX_THREADS_PROPERTY, cores * cores);
+    this.ioQueueSize = getInteger(IO_QUEUE_SIZE_PROPERTY, cores * cores);
+    this.ioKeepAliveMillis = getLong(IO_KEEP_ALIVE_PROPERTY, 30000L);
+    this.computationPoolSize = getInteger(COMPUTATION_THREADS_PROPERTY, 2 * cores);
+    this.computationQueueSize = getInteger(COMPUTATION_QUEUE_SIZE_PROPERTY, 2 * cores);
+  }
+
+  /**
+   * @return a configuration built from the system properties and the available processors of the runtime.
+   */
+  static SchedulerPoolsConfig loadConfig() {
+    final SchedulerEngine engine = parseEngine(getProperty(ENGINE_PROPERTY));
+    if (engine == SchedulerEngine.WORK_STEALING) {
+      checkNotSet(CPU_LIGHT_QUEUE_SIZE_PROPERTY);
+      checkNotSet(COMPUTATION_QUEUE_SIZE_PROPERTY);
+    }
+    final SchedulerPoolsConfig config = new SchedulerPoolsConfig(engine, getRuntime().availableProcessors());
+    checkPositive(CPU_LIGHT_THREADS_PROPERTY, config.getCpuLightPoolSize());
+    checkPositive(COMPUTATION_THREADS_PROPERTY, config.getComputationPoolSize());
+    return config;
+  }
+
+  private static void checkPositive(String threadsProperty, int value) {
+    if (value <= 0) {
+      throw new IllegalArgumentException("Invalid value for '" + threadsProperty + "': '" + value
+          + "'. It must be greater than 0");
+    }
+  }
+
+  private static void checkNotSet(String queueSizeProperty) {
+    if (getProperty(queueSizeProperty) != null) {
+      throw new IllegalArgumentException("'" + queueSizeProperty + "' is not supported by the 'workStealing' engine, "
+          + "its pools have unbounded queues");
+    }
+  }
+
+  private static SchedulerEngine parseEngine(String engine) {
+    if (engine == null || engine.trim().isEmpty()) {
+      return SchedulerEngine.THREAD_POOL;
+    }
+    if ("workStealing".equalsIgnoreCase(engine.trim())) {
+      return SchedulerEngine.WORK_STEALING;
+    }
+    if ("threadPool".equalsIgnoreCase(engine.trim())) {
+      return SchedulerEngine.THREAD_POOL;
+    }
+    throw new IllegalArgumentException("Invalid value for '" + ENGINE_PROPERTY + "': '" + engine
+        + "'. Supported values are 'threadPool' and 'workStealing'");
+  }
+
+  public SchedulerEngine getEngine() {
+    return engine;
+  }
+
+  public int getCpuLightPoolSize() {
+    return cpuLightPoolSize;
+  }
+
+  public int getCpuLightQueueSize() {
+    return cpuLightQueueSize;
+  }
+
+  public int getIoCorePoolSize() {
+    return ioCorePoolSize;
+  }
+
+  public int getIoMaxPoolSize() {
+    return ioMaxPoolSize;
+  }
+
+  public int getIoQueueSize() {
+    return ioQueueSize;
+  }
+
+  public long getIoKeepAliveMillis() {
+    return ioKeepAliveMillis;
+  }
+
+  public int getComputationPoolSize() {
+    return computationPoolSize;
+  }
+
+  public int getComputationQueueSize() {
+    return computationQueueSize;
+  }
+
+  @Override
+  public String toString() {
+    return "engine: " + engine + ", cpuLight: " + cpuLightPoolSize + "/" + cpuLightQueueSize + ", io: " + ioCorePoolSize + "-"
+        + ioMaxPoolSize + "/" + ioQueueSize + ", compute: " + computationPoolSize + "/" + computationQueueSize;
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.scheduler.internal;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.service.scheduler.internal.SchedulerPoolsConfig.COMPUTATION_THREADS_PROPERTY;
+import static org.mule.service.scheduler.internal.SchedulerPoolsConfig.CPU_LIGHT_QUEUE_SIZE_PROPERTY;
+import static org.mule.service.scheduler.internal.SchedulerPoolsConfig.CPU_LIGHT_THREADS_PROPERTY;
+import static org.mule.service.scheduler.internal.SchedulerPoolsConfig.ENGINE_PROPERTY;
+import static org.mule.service.scheduler.internal.SchedulerPoolsConfig.loadConfig;
+import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
+
+import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+
+@Features("Scheduler Metrics")
+public class DefaultSchedulerMetricsTestCase extends BaseDefaultSchedulerTestCase {
+
+  @Test
+  @Description("Tests that completed tasks are accounted in the metrics of the scheduler that dispatched them")
+  public void completedTasks() throws Exception {
+    final DefaultScheduler scheduler = (DefaultScheduler) createExecutor();
+
+    scheduler.submit(EMPTY_RUNNABLE).get(EXECUTOR_TIMEOUT_SECS, SECONDS);
+    scheduler.submit(() -> 0).get(EXECUTOR_TIMEOUT_SECS, SECONDS);
+
+    // The completion is accounted after the future is done
+    new PollingProber(EXECUTOR_TIMEOUT_SECS * 1000, 10).check(new JUnitLambdaProbe(() -> {
+      assertThat(scheduler.getMetrics().getCompletedTasks(), is(2L));
+      assertThat(scheduler.getMetrics().getExecutionLatency().getCount(), is(2L));
+      return true;
+    }));
+    assertThat(scheduler.getMetrics().getSubmittedTasks(), is(2L));
+    assertThat(scheduler.getMetrics().getRejectedTasks(), is(0L));
+  }
+
+  @Test
+  @Description("Tests that tasks rejected due to exhaustion are accounted in the metrics")
+  public void rejectedTasks() {
+    final DefaultScheduler scheduler = (DefaultScheduler) createExecutor();
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    try {
+      scheduler.execute(() -> awaitLatch(latch));
+      scheduler.execute(EMPTY_RUNNABLE);
+      scheduler.execute(EMPTY_RUNNABLE);
+    } catch (RejectedExecutionException e) {
+      // expected
+    } finally {
+      latch.countDown();
+    }
+
+    assertThat(scheduler.getMetrics().getSubmittedTasks(), is(2L));
+    assertThat(scheduler.getMetrics().getRejectedTasks(), is(1L));
+  }
+
+  @Test
+  @Description("Tests that the schedulers backed by the same pool share its metrics")
+  public void metricsSharedByPool() throws Exception {
+    final DefaultSchedulerMetrics poolMetrics = new DefaultSchedulerMetrics(sharedExecutor);
+    final Scheduler first = new DefaultScheduler(sharedExecutor, sharedScheduledExecutor, poolMetrics);
+    final Scheduler second = new DefaultScheduler(sharedExecutor, sharedScheduledExecutor, poolMetrics);
+
+    first.submit(EMPTY_RUNNABLE).get(EXECUTOR_TIMEOUT_SECS, SECONDS);
+    second.submit(EMPTY_RUNNABLE).get(EXECUTOR_TIMEOUT_SECS, SECONDS);
+
+    new PollingProber(EXECUTOR_TIMEOUT_SECS * 1000, 10).check(new JUnitLambdaProbe(() -> {
+      assertThat(first.getMetrics().getCompletedTasks(), is(2L));
+      return true;
+    }));
+    assertThat(second.getMetrics().getSubmittedTasks(), is(2L));
+  }
+
+  @Test
+  @Description("Tests that the sizes of the cpuLight and compute pools are read from the system properties")
+  public void poolSizes() throws Exception {
+    testWithSystemProperty(CPU_LIGHT_THREADS_PROPERTY, "3", () -> testWithSystemProperty(COMPUTATION_THREADS_PROPERTY, "5",
+                                                                                      () -> assertPoolSizes(3, 5)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @Description("Tests that a pool without threads is rejected")
+  public void rejectsEmptyPool() throws Exception {
+    testWithSystemProperty(CPU_LIGHT_THREADS_PROPERTY, "0", () -> loadConfig());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @Description("Tests that a queue size is rejected for the pools of the workStealing engine, which have unbounded queues")
+  public void workStealingRejectsQueueSize() throws Exception {
+    testWithSystemProperty(ENGINE_PROPERTY, "workStealing", () -> testWithSystemProperty(CPU_LIGHT_QUEUE_SIZE_PROPERTY, "8",
+                                                                                         () -> loadConfig()));
+  }
+
+  private void assertPoolSizes(int cpuLightPoolSize, int computationPoolSize) {
+    final SchedulerPoolsConfig config = loadConfig();
+    assertThat(config.getCpuLightPoolSize(), is(cpuLightPoolSize));
+    assertThat(config.getComputationPoolSize(), is(computationPoolSize));
+  }
+}
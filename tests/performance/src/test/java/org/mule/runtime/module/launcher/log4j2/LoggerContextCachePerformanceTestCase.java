@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher.log4j2;
+
+import static org.apache.logging.log4j.core.LifeCycle.State.STARTED;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.apache.logging.log4j.core.LoggerContext;
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Lookups of the {@link LoggerContext}s of many artifacts in a {@link LoggerContextCache}, as done for every logger obtained
+ * from a component, from one and from several threads at the same time. The contexts are built in advance, so only the lookup is
+ * measured.
+ */
+public class LoggerContextCachePerformanceTestCase extends AbstractMuleTestCase {
+
+  private static final int CLASS_LOADERS = 64;
+  private static final int LOOKUPS = 1000;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private final ClassLoader[] classLoaders = new ClassLoader[CLASS_LOADERS];
+  private LoggerContextCache cache;
+
+  @Before
+  public void before() {
+    ArtifactAwareContextSelector selector = mock(ArtifactAwareContextSelector.class);
+    when(selector.buildContext(any(ClassLoader.class))).thenAnswer(invocation -> {
+      LoggerContext context = mock(LoggerContext.class);
+      when(context.getState()).thenReturn(STARTED);
+      return context;
+    });
+    cache = new LoggerContextCache(selector, getClass().getClassLoader());
+
+    for (int i = 0; i < CLASS_LOADERS; i++) {
+      classLoaders[i] = new ClassLoader() {};
+      cache.getLoggerContext(classLoaders[i]);
+    }
+  }
+
+  @After
+  public void after() {
+    cache.dispose();
+  }
+
+  @Test
+  @Required(throughput = 1000, average = 1, percentile90 = 1)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void lookup() {
+    doLookups();
+  }
+
+  @Test
+  @Required(throughput = 4000, average = 2, percentile90 = 2)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void concurrentLookup() {
+    doLookups();
+  }
+
+  private void doLookups() {
+    for (int i = 0; i < LOOKUPS; i++) {
+      cache.getLoggerContext(classLoaders[i % CLASS_LOADERS]);
+    }
+  }
+}
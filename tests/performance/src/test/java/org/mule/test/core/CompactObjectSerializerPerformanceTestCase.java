@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.serialization.internal.CompactObjectSerializer;
+import org.mule.runtime.core.serialization.internal.JavaObjectSerializer;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class CompactObjectSerializerPerformanceTestCase extends AbstractMuleContextTestCase {
+
+  private static final int ENTRIES = 20;
+  private static final int repetitions = 100;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private SerializationProtocol compactProtocol;
+  private SerializationProtocol javaProtocol;
+  private Event event;
+  private byte[] compactBytes;
+  private byte[] javaBytes;
+
+  @Before
+  public void before() throws Exception {
+    CompactObjectSerializer compactSerializer = new CompactObjectSerializer();
+    compactSerializer.setMuleContext(muleContext);
+    compactProtocol = compactSerializer.getExternalProtocol();
+
+    JavaObjectSerializer javaSerializer = new JavaObjectSerializer();
+    javaSerializer.setMuleContext(muleContext);
+    javaProtocol = javaSerializer.getExternalProtocol();
+
+    Map<String, Object> payload = new HashMap<>();
+    Event.Builder builder = eventBuilder();
+    for (int i = 0; i < ENTRIES; i++) {
+      payload.put("key" + i, i);
+      builder.addVariable("variable" + i, "value" + i);
+    }
+    event = builder.message(InternalMessage.of(payload)).build();
+
+    compactBytes = compactProtocol.serialize(event);
+    javaBytes = javaProtocol.serialize(event);
+    logger.info("Serialized event size: compact {} bytes, java {} bytes", compactBytes.length, javaBytes.length);
+  }
+
+  @Test
+  @Required(throughput = 100, average = 10, percentile90 = 15)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void compactSerialize() throws Exception {
+    for (int i = 0; i < repetitions; i++) {
+      compactProtocol.serialize(event);
+    }
+  }
+
+  @Test
+  @Required(throughput = 50, average = 20, percentile90 = 30)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void javaSerialize() throws Exception {
+    for (int i = 0; i < repetitions; i++) {
+      javaProtocol.serialize(event);
+    }
+  }
+
+  @Test
+  @Required(throughput = 100, average = 10, percentile90 = 15)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void compactDeserialize() throws Exception {
+    for (int i = 0; i < repetitions; i++) {
+      compactProtocol.deserialize(compactBytes);
+    }
+  }
+
+  @Test
+  @Required(throughput = 50, average = 20, percentile90 = 30)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void javaDeserialize() throws Exception {
+    for (int i = 0; i < repetitions; i++) {
+      javaProtocol.deserialize(javaBytes);
+    }
+  }
+}
@@ -13,6 +13,7 @@ import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.construct.Flow;
 import org.mule.runtime.core.el.mvel.MVELExpressionLanguage;
+import org.mule.runtime.core.el.mvel.PrecompiledExpression;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import java.util.Random;
@@ -92,6 +93,21 @@ public class MVELPerformanceTestCase extends AbstractMuleContextTestCase {
     }
   }
 
+  /**
+   * Precompiled: - Expression compiled before the test, held by the caller - New context (message) for each iteration
+   */
+  @Test
+  @PerfTest(duration = 30000, threads = 1, warmUp = 10000)
+  @Required(median = 25)
+  public void mvelPrecompiled() {
+    final MVELExpressionLanguage expressionLanguage = (MVELExpressionLanguage) muleContext.getExpressionLanguage();
+    final PrecompiledExpression expression = expressionLanguage.precompile(mel);
+    for (int i = 0; i < 1000; i++) {
+      final Event event = createMuleEvent();
+      expressionLanguage.evaluate(expression, event, Event.builder(event), flow);
+    }
+  }
+
   @Ignore
   @Test
   @PerfTest(duration = 30000, threads = 1, warmUp = 10000)
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.module.db;
+
+import org.mule.extension.db.internal.result.row.ColumnarRowHandler;
+import org.mule.extension.db.internal.result.row.InsensitiveMapRowHandler;
+import org.mule.extension.db.internal.result.row.RowHandler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Processes the rows of a result set with {@link ColumnarRowHandler} and {@link InsensitiveMapRowHandler}, reading a column of
+ * each row by a name with a different case than its label. The result set is a plain proxy rather than a mock, so its cost
+ * doesn't hide the one of the handlers.
+ */
+public class RowHandlerPerformanceTestCase extends AbstractMuleTestCase {
+
+  private static final int COLUMNS = 20;
+  private static final int ROWS = 1000;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private ResultSet resultSet;
+
+  @Before
+  public void before() {
+    ResultSetMetaData metaData = (ResultSetMetaData) Proxy
+        .newProxyInstance(getClass().getClassLoader(), new Class[] {ResultSetMetaData.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getColumnCount":
+              return COLUMNS;
+            case "getColumnLabel":
+              return "COLUMN_" + args[0];
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+
+    resultSet = (ResultSet) Proxy
+        .newProxyInstance(getClass().getClassLoader(), new Class[] {ResultSet.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getMetaData":
+              return metaData;
+            case "getObject":
+              return args[0];
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  @Test
+  @Required(throughput = 200, average = 5, percentile90 = 8)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void columnarRows() throws Exception {
+    processRows(new ColumnarRowHandler());
+  }
+
+  @Test
+  @Required(throughput = 50, average = 20, percentile90 = 30)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void insensitiveMapRows() throws Exception {
+    processRows(new InsensitiveMapRowHandler());
+  }
+
+  private void processRows(RowHandler rowHandler) throws SQLException {
+    for (int i = 0; i < ROWS; i++) {
+      Map<String, Object> row = rowHandler.process(resultSet);
+      row.get("column_" + (i % COLUMNS + 1));
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.module.extension;
+
+import static java.util.Optional.empty;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.extension.api.runtime.operation.OperationExecutor;
+import org.mule.runtime.module.extension.internal.model.property.ParameterGroupModelProperty;
+import org.mule.runtime.module.extension.internal.runtime.DefaultOperationContext;
+import org.mule.runtime.module.extension.internal.runtime.OperationContextAdapter;
+import org.mule.runtime.module.extension.internal.runtime.executor.MethodHandleOperationExecutorFactory;
+import org.mule.runtime.module.extension.internal.runtime.executor.ReflectiveOperationExecutorFactory;
+import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSetResult;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.lang.reflect.Method;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Compares the overhead of executing an operation with a {@link ReflectiveOperationExecutorFactory reflective} executor against
+ * doing so with a {@link MethodHandleOperationExecutorFactory method handle} one.
+ */
+public class OperationExecutorPerformanceTestCase extends AbstractMuleTestCase {
+
+  private static final int EXECUTIONS = 1000;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private OperationExecutor reflectiveExecutor;
+  private OperationExecutor methodHandleExecutor;
+  private OperationContextAdapter operationContext;
+
+  @Before
+  public void before() throws Exception {
+    OperationModel operationModel = mock(OperationModel.class);
+    when(operationModel.getModelProperty(ParameterGroupModelProperty.class)).thenReturn(empty());
+    Method method = TestOperations.class.getMethod("concat", String.class, int.class, long.class);
+
+    reflectiveExecutor = new ReflectiveOperationExecutorFactory<>(TestOperations.class, method).createExecutor(operationModel);
+    methodHandleExecutor = new MethodHandleOperationExecutorFactory<>(TestOperations.class, method).createExecutor(operationModel);
+
+    ResolverSetResult parameters = ResolverSetResult.newBuilder().add("prefix", "value").add("count", 3).build();
+    operationContext = new DefaultOperationContext(mock(ExtensionModel.class), empty(), parameters, operationModel,
+                                                   mock(Event.class), mock(MuleContext.class));
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  @Required(median = 2)
+  public void reflective() throws Exception {
+    execute(reflectiveExecutor);
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  @Required(median = 2)
+  public void methodHandle() throws Exception {
+    execute(methodHandleExecutor);
+  }
+
+  private void execute(OperationExecutor executor) throws Exception {
+    for (int i = 0; i < EXECUTIONS; ++i) {
+      executor.execute(operationContext);
+    }
+  }
+
+  public static class TestOperations {
+
+    public String concat(String prefix, int count, long offset) {
+      return prefix + (count + offset);
+    }
+  }
+}
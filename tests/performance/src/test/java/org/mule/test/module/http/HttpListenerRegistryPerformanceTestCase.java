@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.module.http;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.module.http.internal.domain.request.HttpRequest;
+import org.mule.runtime.module.http.internal.domain.request.HttpRequestBuilder;
+import org.mule.runtime.module.http.internal.listener.HttpListenerRegistry;
+import org.mule.runtime.module.http.internal.listener.Server;
+import org.mule.runtime.module.http.internal.listener.ServerAddress;
+import org.mule.runtime.module.http.internal.listener.async.RequestHandler;
+import org.mule.runtime.module.http.internal.listener.matcher.AcceptsAllMethodsRequestMatcher;
+import org.mule.runtime.module.http.internal.listener.matcher.ListenerRequestMatcher;
+import org.mule.runtime.module.http.internal.listener.matcher.MethodRequestMatcher;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Routing of requests through a {@link HttpListenerRegistry} with a thousand listeners, mixing static paths, uri params,
+ * wildcards and method specific listeners.
+ */
+public class HttpListenerRegistryPerformanceTestCase extends AbstractMuleTestCase {
+
+  private static final String IP = "127.0.0.1";
+  private static final int PORT = 8081;
+  private static final int RESOURCES = 250;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private final HttpListenerRegistry registry = new HttpListenerRegistry();
+  private HttpRequest[] requests;
+
+  @Before
+  public void before() {
+    Server server = mock(Server.class);
+    when(server.getServerAddress()).thenReturn(new ServerAddress(IP, PORT));
+    for (int i = 0; i < RESOURCES; ++i) {
+      addListener(server, AcceptsAllMethodsRequestMatcher.instance(), "/api/resource" + i);
+      addListener(server, new MethodRequestMatcher("GET"), "/api/resource" + i + "/{id}");
+      addListener(server, new MethodRequestMatcher("PUT", "DELETE"), "/api/resource" + i + "/{id}");
+      addListener(server, AcceptsAllMethodsRequestMatcher.instance(), "/api/resource" + i + "/{id}/items/*");
+    }
+
+    requests = new HttpRequest[] {
+        createRequest("GET", "/api/resource17"),
+        createRequest("GET", "/api/resource128/42"),
+        createRequest("DELETE", "/api/resource249/42"),
+        createRequest("POST", "/api/resource3/42/items/7/detail"),
+        createRequest("POST", "/api/resource99/42"),
+        createRequest("GET", "/unknown/path")};
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  @Required(median = 5)
+  public void singleThread() {
+    route();
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  @Required(median = 10)
+  public void eightThreads() {
+    route();
+  }
+
+  private void route() {
+    for (int i = 0; i < 1000; i++) {
+      for (HttpRequest request : requests) {
+        registry.getRequestHandler(IP, PORT, request);
+      }
+    }
+  }
+
+  private void addListener(Server server, MethodRequestMatcher methodRequestMatcher, String path) {
+    registry.addRequestHandler(server, mock(RequestHandler.class), new ListenerRequestMatcher(methodRequestMatcher, path));
+  }
+
+  private HttpRequest createRequest(String method, String path) {
+    return new HttpRequestBuilder().setMethod(method).setUri(path).build();
+  }
+}
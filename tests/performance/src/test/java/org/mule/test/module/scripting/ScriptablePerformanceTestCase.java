@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.module.scripting;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.module.scripting.component.Scriptable;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import javax.script.Bindings;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ScriptablePerformanceTestCase extends AbstractMuleContextTestCase {
+
+  private static final String SCRIPT = "payload + '-' + referenced";
+  private static final int VARIABLES = 20;
+  private static final int repetitions = 100;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private Event event;
+  private Scriptable pooledScript;
+  private Scriptable sharedScript;
+  private Scriptable lazyBindingsScript;
+  private Scriptable eagerBindingsScript;
+
+  @Before
+  public void before() throws Exception {
+    Event.Builder builder = eventBuilder().message(InternalMessage.of("payload")).addVariable("referenced", "value");
+    for (int i = 0; i < VARIABLES; i++) {
+      builder.addVariable("unreferenced" + i, "value");
+    }
+    event = builder.build();
+
+    pooledScript = createScript("javascript", SCRIPT, true, false);
+    sharedScript = createScript("javascript", SCRIPT, false, false);
+    lazyBindingsScript = createScript("groovy", SCRIPT, false, true);
+    eagerBindingsScript = createScript("groovy", SCRIPT, false, false);
+  }
+
+  @Test
+  @Required(throughput = 200, average = 40, percentile90 = 60)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void pooledEngines() throws Exception {
+    evaluate(pooledScript);
+  }
+
+  @Test
+  @Required(throughput = 100, average = 80, percentile90 = 120)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void sharedEngine() throws Exception {
+    evaluate(sharedScript);
+  }
+
+  @Test
+  @Required(throughput = 100, average = 10, percentile90 = 15)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void lazyBindings() throws Exception {
+    evaluate(lazyBindingsScript);
+  }
+
+  @Test
+  @Required(throughput = 50, average = 20, percentile90 = 30)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void eagerBindings() throws Exception {
+    evaluate(eagerBindingsScript);
+  }
+
+  private void evaluate(Scriptable script) throws Exception {
+    for (int i = 0; i < repetitions; i++) {
+      Bindings bindings = script.createBindings();
+      script.populateBindings(bindings, event, Event.builder(event));
+      script.runScript(bindings);
+    }
+  }
+
+  private Scriptable createScript(String engineName, String scriptText, boolean poolEngines, boolean lazyBindings)
+      throws Exception {
+    Scriptable script = new Scriptable(muleContext);
+    script.setScriptEngineName(engineName);
+    script.setScriptText(scriptText);
+    script.setPoolEngines(poolEngines);
+    script.setLazyBindings(lazyBindings);
+    script.initialise();
+    return script;
+  }
+}
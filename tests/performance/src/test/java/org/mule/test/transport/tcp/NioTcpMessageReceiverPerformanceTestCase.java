@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.transport.tcp;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.compatibility.transport.tcp.NioTcpMessageReceiver;
+import org.mule.functional.extensions.CompatibilityFunctionalTestCase;
+import org.mule.tck.junit4.rule.DynamicPort;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Many clients connected at the same time to a {@link NioTcpMessageReceiver}, each one sending a request and waiting for its
+ * response.
+ */
+public class NioTcpMessageReceiverPerformanceTestCase extends CompatibilityFunctionalTestCase {
+
+  /**
+   * Amount of connections kept open at the same time. Each one uses two file descriptors in the test JVM, so raise the limit of
+   * open files when increasing it.
+   */
+  private static final int CONNECTIONS = Integer.getInteger("mule.test.tcp.nio.connections", 500);
+  private static final int SOCKET_TIMEOUT = 30 * 1000;
+  private static final String TEST_MESSAGE = "Test TCP Request";
+  private static final String RESPONSE_SUFFIX = " Received";
+
+  @ClassRule
+  public static DynamicPort port = new DynamicPort("port");
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  public NioTcpMessageReceiverPerformanceTestCase() {
+    setDisposeContextPerClass(true);
+  }
+
+  @Override
+  protected String getConfigFile() {
+    return "tcp-nio-perf-test.xml";
+  }
+
+  @Test
+  @Required(throughput = 2)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void concurrentConnections() throws Exception {
+    List<Socket> sockets = new ArrayList<>(CONNECTIONS);
+    try {
+      for (int i = 0; i < CONNECTIONS; i++) {
+        sockets.add(connect());
+      }
+      for (int i = 0; i < CONNECTIONS; i++) {
+        write(sockets.get(i), TEST_MESSAGE + i);
+      }
+      for (int i = 0; i < CONNECTIONS; i++) {
+        assertThat(read(sockets.get(i)), is(TEST_MESSAGE + i + RESPONSE_SUFFIX));
+      }
+    } finally {
+      for (Socket socket : sockets) {
+        socket.close();
+      }
+    }
+  }
+
+  private Socket connect() throws IOException {
+    Socket socket = new Socket("localhost", port.getNumber());
+    socket.setSoTimeout(SOCKET_TIMEOUT);
+    return socket;
+  }
+
+  private void write(Socket socket, String message) throws IOException {
+    DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+    byte[] data = message.getBytes();
+    out.writeInt(data.length);
+    out.write(data);
+    out.flush();
+  }
+
+  private String read(Socket socket) throws IOException {
+    DataInputStream in = new DataInputStream(socket.getInputStream());
+    byte[] data = new byte[in.readInt()];
+    in.readFully(data);
+    return new String(data);
+  }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.jms.Session.CLIENT_ACKNOWLEDGE;
+
+import org.mule.compatibility.core.api.endpoint.InboundEndpoint;
+import org.mule.compatibility.core.api.transport.Connector;
+import org.mule.compatibility.core.connector.EndpointConnectException;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.lifecycle.CreateException;
+import org.mule.runtime.core.api.lifecycle.LifecycleException;
+import org.mule.runtime.core.util.MapUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+
+/**
+ * Receiver that consumes messages in batches instead of one at a time. Each {@link SubReceiver} synchronously receives up to
+ * {@link #BATCH_SIZE_PROPERTY} messages, waiting at most {@link #BATCH_MAX_LATENCY_PROPERTY} milliseconds since the first one
+ * arrived, and processes all of them in a single transaction, so the session is committed or acknowledged once per batch.
+ * <p/>
+ * Batching requires the endpoint to be transacted or the connector to use <code>CLIENT_ACKNOWLEDGE</code>, in which case the
+ * last message of a batch is acknowledged once all of them were processed. With any other acknowledgement mode a message is
+ * acknowledged as soon as it is received, so a failure would lose the rest of the batch: in that case this receiver falls back
+ * to consuming one message at a time through a listener, like {@link MultiConsumerJmsMessageReceiver}.
+ * <p/>
+ * When a batch fails and is rolled back, the same amount of messages is then processed one at a time, so a message that can't
+ * be processed is redelivered on its own and doesn't exhaust the redeliveries of the rest of the batch.
+ * <p/>
+ * The amount of consuming sub receivers adapts to the backlog of the destination: it starts with {@link #MIN_CONSUMERS_PROPERTY}
+ * and, while batches are full, grows up to the <code>numberOfConsumers</code> of the connector. Sub receivers above the minimum
+ * which don't receive any messages for a while close their consumer until they are needed again.
+ * <p/>
+ * The properties are read from the inbound endpoint. This receiver is used by overriding the <code>messageReceiver</code> and
+ * <code>transactedMessageReceiver</code> services of the JMS connector.
+ *
+ * @since 4.0
+ */
+public class BatchingJmsMessageReceiver extends MultiConsumerJmsMessageReceiver {
+
+  /**
+   * Endpoint property with the maximum amount of messages processed in a single batch
+   */
+  public static final String BATCH_SIZE_PROPERTY = "batchSize";
+
+  /**
+   * Endpoint property with the maximum amount of milliseconds to wait for a batch to be completed once its first message was
+   * received
+   */
+  public static final String BATCH_MAX_LATENCY_PROPERTY = "batchMaxLatency";
+
+  /**
+   * Endpoint property with the amount of sub receivers that consume messages even when the destination is empty
+   */
+  public static final String MIN_CONSUMERS_PROPERTY = "minConsumers";
+
+  private static final int DEFAULT_BATCH_SIZE = 100;
+  private static final long DEFAULT_BATCH_MAX_LATENCY = 100;
+  private static final long RECEIVE_TIMEOUT = 1000;
+  private static final int IDLE_RECEIVES_BEFORE_RELEASE = 10;
+
+  private final int batchSize;
+  private final long batchMaxLatency;
+  private final int minReceivers;
+  private final boolean batching;
+  private final boolean clientAcknowledge;
+
+  public BatchingJmsMessageReceiver(Connector connector, FlowConstruct flowConstruct, InboundEndpoint endpoint)
+      throws CreateException {
+    super(connector, flowConstruct, endpoint);
+
+    batchSize = max(1, MapUtils.getIntValue(endpoint.getProperties(), BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE));
+    batchMaxLatency =
+        max(0, MapUtils.getLongValue(endpoint.getProperties(), BATCH_MAX_LATENCY_PROPERTY, DEFAULT_BATCH_MAX_LATENCY));
+    minReceivers =
+        min(receiversCount, max(1, MapUtils.getIntValue(endpoint.getProperties(), MIN_CONSUMERS_PROPERTY, receiversCount)));
+
+    final boolean transacted = endpoint.getTransactionConfig().isTransacted();
+    clientAcknowledge = !transacted && ((JmsConnector) connector).getAcknowledgementMode() == CLIENT_ACKNOWLEDGE;
+    batching = transacted || clientAcknowledge;
+    if (!batching) {
+      logger.warn(String.format("Endpoint %s is not transacted and its connector doesn't use CLIENT_ACKNOWLEDGE, messages will be"
+          + " consumed one at a time instead of in batches", endpoint.getEndpointURI()));
+    } else if (logger.isDebugEnabled()) {
+      logger.debug(String.format("Consuming from %s in batches of %d messages, with a max latency of %d ms and between %d and %d"
+          + " sub-receivers", endpoint.getEndpointURI(), batchSize, batchMaxLatency, minReceivers, receiversCount));
+    }
+  }
+
+  @Override
+  protected SubReceiver createSubReceiver() {
+    return batching ? new BatchSubReceiver() : super.createSubReceiver();
+  }
+
+  @Override
+  protected synchronized void startSubReceivers() throws MuleException {
+    if (!batching) {
+      super.startSubReceivers();
+      return;
+    }
+    int index = 0;
+    for (SubReceiver sub : consumers) {
+      if (index++ < minReceivers) {
+        sub.doStart();
+      } else if (!sub.started) {
+        ((BatchSubReceiver) sub).release();
+      }
+    }
+  }
+
+  @Override
+  protected void doStop() throws MuleException {
+    // Stop receiving before the work manager waits for the receiving loops to finish
+    for (SubReceiver sub : consumers) {
+      sub.doStop(true);
+    }
+    super.doStop();
+  }
+
+  /**
+   * Starts one of the idle sub receivers, if any, because the destination has a backlog.
+   */
+  private synchronized void activateIdleReceiver() {
+    for (SubReceiver sub : consumers) {
+      if (!sub.started) {
+        try {
+          sub.doStart();
+          if (logger.isDebugEnabled()) {
+            logger.debug("Started sub-receiver for " + endpoint.getEndpointURI() + " to consume its backlog");
+          }
+        } catch (MuleException e) {
+          logger.warn("Unable to start sub-receiver for " + endpoint.getEndpointURI() + ": " + e.getMessage());
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * Stops an idle sub receiver, unless it is one of the first {@link #MIN_CONSUMERS_PROPERTY} ones, which are always running.
+   *
+   * @return whether the sub receiver was stopped
+   */
+  private synchronized boolean releaseIdleReceiver(BatchSubReceiver idleSub) {
+    if (consumers.indexOf(idleSub) < minReceivers) {
+      return false;
+    }
+
+    idleSub.doStop(true);
+    idleSub.release();
+    if (logger.isDebugEnabled()) {
+      logger.debug("Released idle sub-receiver for " + endpoint.getEndpointURI());
+    }
+    return true;
+  }
+
+  /**
+   * Sub receiver that runs a loop receiving batches of messages, instead of registering a listener on its consumer.
+   */
+  protected class BatchSubReceiver extends SubReceiver {
+
+    private final AtomicBoolean polling = new AtomicBoolean(false);
+    // Messages of a rolled back batch which are still to be processed one at a time
+    private int pendingRedeliveries = 0;
+
+    @Override
+    protected void doStart() throws MuleException {
+      if (started) {
+        return;
+      }
+      if (!connected) {
+        doConnect();
+      }
+
+      started = true;
+      // A loop of a previous start may still be waiting for messages, in that case it just keeps running
+      if (polling.compareAndSet(false, true)) {
+        try {
+          getWorkManager().execute(this::poll);
+        } catch (RuntimeException e) {
+          started = false;
+          polling.set(false);
+          throw new LifecycleException(e, this);
+        }
+      }
+    }
+
+    @Override
+    protected void doStop(boolean force) {
+      // The receiving loop checks this flag before waiting for new messages
+      started = false;
+    }
+
+    /**
+     * Closes the consumer of this sub receiver, it will be created again when it's started.
+     */
+    protected void release() {
+      closeConsumer();
+      connected = false;
+    }
+
+    private void poll() {
+      do {
+        try {
+          receiveBatches();
+        } finally {
+          polling.set(false);
+        }
+      } while (started && polling.compareAndSet(false, true));
+    }
+
+    private void receiveBatches() {
+      int idleReceives = 0;
+      while (started) {
+        final MessageConsumer currentConsumer = consumer;
+        if (currentConsumer == null) {
+          return;
+        }
+
+        final int maxMessages = pendingRedeliveries > 0 ? 1 : batchSize;
+        final List<Message> batch;
+        try {
+          batch = receiveBatch(currentConsumer, maxMessages);
+        } catch (JMSException | RuntimeException e) {
+          if (started) {
+            started = false;
+            getEndpoint().getMuleContext().getExceptionListener()
+                .handleException(new EndpointConnectException(e, BatchingJmsMessageReceiver.this));
+          }
+          return;
+        }
+
+        if (batch.isEmpty()) {
+          if (++idleReceives >= IDLE_RECEIVES_BEFORE_RELEASE && releaseIdleReceiver(this)) {
+            return;
+          }
+          continue;
+        }
+
+        idleReceives = 0;
+        if (batch.size() == batchSize && maxMessages == batchSize) {
+          activateIdleReceiver();
+        }
+        if (processBatch(batch)) {
+          if (pendingRedeliveries > 0) {
+            --pendingRedeliveries;
+          }
+        } else if (batch.size() > 1) {
+          // The rolled back messages are redelivered first, process them one at a time to isolate the failing ones
+          pendingRedeliveries = batch.size();
+        }
+      }
+    }
+
+    private boolean processBatch(List<Message> batch) {
+      if (!processMessages(new JmsWorker(batch, BatchingJmsMessageReceiver.this, this))) {
+        return false;
+      }
+      if (clientAcknowledge) {
+        try {
+          // Acknowledges all the messages received by the session
+          batch.get(batch.size() - 1).acknowledge();
+        } catch (JMSException e) {
+          logger.warn("Unable to acknowledge batch of messages from " + endpoint.getEndpointURI() + ": " + e.getMessage());
+          recoverSession();
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private List<Message> receiveBatch(MessageConsumer consumer, int maxMessages) throws JMSException {
+      List<Message> batch = new ArrayList<>(min(maxMessages, 16));
+      Message message = consumer.receive(RECEIVE_TIMEOUT);
+      if (message == null) {
+        return batch;
+      }
+      batch.add(message);
+
+      final long deadline = System.nanoTime() + MILLISECONDS.toNanos(batchMaxLatency);
+      while (batch.size() < maxMessages && started) {
+        long remainingMillis = NANOSECONDS.toMillis(deadline - System.nanoTime());
+        message = remainingMillis > 0 ? consumer.receive(remainingMillis) : consumer.receiveNoWait();
+        if (message == null) {
+          break;
+        }
+        batch.add(message);
+      }
+
+      return batch;
+    }
+  }
+}
@@ -148,7 +148,7 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
 
           SubReceiver sub;
           for (int i = 0; i < receiversCount; i++) {
-            sub = new SubReceiver();
+            sub = createSubReceiver();
             sub.doConnect();
             consumers.add(sub);
           }
@@ -196,6 +196,15 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
     logger.debug("doDispose()");
   }
 
+  /**
+   * Creates one of the {@link SubReceiver}s that consume messages from the endpoint destination.
+   *
+   * @return a new, not connected, sub receiver
+   */
+  protected SubReceiver createSubReceiver() {
+    return new SubReceiver();
+  }
+
   protected void startSubReceivers() throws MuleException {
     SubReceiver sub;
     for (Iterator<SubReceiver> it = consumers.iterator(); it.hasNext();) {
@@ -213,8 +222,8 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
 
     private final Logger subLogger = LoggerFactory.getLogger(getClass());
 
-    private volatile Session session;
-    private volatile MessageConsumer consumer;
+    protected volatile Session session;
+    protected volatile MessageConsumer consumer;
 
     protected volatile boolean connected;
     protected volatile boolean started;
@@ -249,7 +258,7 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
       session = null;
     }
 
-    private void recoverSession() {
+    protected void recoverSession() {
       try {
         // If it's processing a message then don't lose it
         session.recover();
@@ -362,12 +371,23 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
 
     @Override
     public void onMessage(final Message message) {
+      processMessages(new JmsWorker(message, MultiConsumerJmsMessageReceiver.this, this));
+    }
+
+    /**
+     * Processes the messages of a worker, in a single transaction if the endpoint is transactional.
+     *
+     * @param worker the worker holding the messages to process
+     * @return {@code true} if the messages were processed, {@code false} if processing failed, in which case the transaction is
+     *         rolled back or the session recovered if the failure requires it
+     */
+    protected boolean processMessages(JmsWorker worker) {
       try {
         isProcessingMessage = true;
         // Note: Despite the name "Worker", there is no new thread created here in order to maintain synchronicity for exception
         // handling.
-        JmsWorker worker = new JmsWorker(message, MultiConsumerJmsMessageReceiver.this, this);
         worker.processMessages();
+        return true;
       } catch (Exception e) {
         // Use this rollback method in case a transaction has not been configured on the endpoint.
         RollbackSourceCallback rollbackMethod = () -> recoverSession();
@@ -380,6 +400,7 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
         } else {
           getEndpoint().getMuleContext().getExceptionListener().handleException(e, rollbackMethod);
         }
+        return false;
       } finally {
         isProcessingMessage = false;
       }
@@ -400,6 +421,11 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
       messages.add(message);
     }
 
+    public JmsWorker(List<Message> messages, AbstractMessageReceiver receiver, SubReceiver subReceiver) {
+      super(new ArrayList<>(messages), receiver);
+      this.subReceiver = subReceiver;
+    }
+
     @Override
     protected Object preProcessMessage(Object message) throws Exception {
       Message m = (Message) message;
@@ -439,9 +465,10 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
       } else {
         if (tx instanceof JmsClientAcknowledgeTransaction) {
           // We should still bind the session to the transaction, but we also need the message itself
-          // since that is the object that gets Acknowledged
+          // since that is the object that gets Acknowledged. Acknowledging the last message also acknowledges
+          // the previous ones received by the session.
           // tx.bindResource(jmsConnector.getConnection(), session);
-          ((JmsClientAcknowledgeTransaction) tx).setMessage((Message) messages.get(0));
+          ((JmsClientAcknowledgeTransaction) tx).setMessage((Message) messages.get(messages.size() - 1));
         }
       }
     }
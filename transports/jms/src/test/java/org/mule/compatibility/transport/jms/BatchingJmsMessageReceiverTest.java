@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import static java.lang.Math.min;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static javax.jms.Session.AUTO_ACKNOWLEDGE;
+import static javax.jms.Session.CLIENT_ACKNOWLEDGE;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.compatibility.core.api.endpoint.InboundEndpoint;
+import org.mule.compatibility.core.api.transport.Connector;
+import org.mule.compatibility.transport.jms.MultiConsumerJmsMessageReceiver.SubReceiver;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.config.MuleProperties;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.context.WorkManager;
+import org.mule.runtime.core.api.lifecycle.CreateException;
+import org.mule.runtime.core.execution.MessageProcessingManager;
+import org.mule.runtime.core.retry.policies.SimpleRetryPolicyTemplate;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jms.Destination;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+import javax.jms.Session;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BatchingJmsMessageReceiverTest extends AbstractMuleTestCase {
+
+  private static final int BATCH_SIZE = 10;
+  private static final int PROBE_TIMEOUT = 5000;
+  // Shortens the idle receives of the sub-receivers, the latencies used by the tests are not longer than this
+  private static final long MAX_RECEIVE_WAIT = 100;
+
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private JmsConnector mockJmsConnector;
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private FlowConstruct mockFlowConstruct;
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private InboundEndpoint mockInboundEndpoint;
+
+  private MessageConsumer mockMessageConsumer;
+
+  private final BlockingQueue<Message> destination = new LinkedBlockingQueue<>();
+  private final List<Message> sentMessages = new ArrayList<>();
+  private final List<Message> acknowledgedMessages = new CopyOnWriteArrayList<>();
+  private final List<SubReceiver> startedSubReceivers = new CopyOnWriteArrayList<>();
+  private final ExecutorService executor = newCachedThreadPool();
+  private final AtomicInteger failedBatches = new AtomicInteger();
+  private WorkManager workManager;
+  private BatchingJmsMessageReceiver messageReceiver;
+
+  @Before
+  public void setUp() throws Exception {
+    when(mockJmsConnector.getTopicResolver().isTopic(mockInboundEndpoint, true)).thenReturn(false);
+    when(mockJmsConnector.getNumberOfConsumers()).thenReturn(3);
+
+    mockMessageConsumer = mock(MessageConsumer.class);
+    when(mockMessageConsumer.receive(anyLong()))
+        .thenAnswer(invocation -> destination.poll(min((Long) invocation.getArguments()[0], MAX_RECEIVE_WAIT), MILLISECONDS));
+    when(mockMessageConsumer.receiveNoWait()).thenAnswer(invocation -> destination.poll());
+    when(mockJmsConnector.getJmsSupport().createConsumer(any(Session.class), any(Destination.class), anyString(), anyBoolean(),
+                                                         anyString(), anyBoolean(), any(InboundEndpoint.class)))
+                                                             .thenReturn(mockMessageConsumer);
+    when(mockInboundEndpoint.getConnector()).thenReturn(mockJmsConnector);
+    when(mockInboundEndpoint.getMuleContext().getRegistry().get(MuleProperties.OBJECT_DEFAULT_MESSAGE_PROCESSING_MANAGER))
+        .thenReturn(mock(MessageProcessingManager.class));
+    SimpleRetryPolicyTemplate retryPolicyTemplate = new SimpleRetryPolicyTemplate();
+    retryPolicyTemplate.setMuleContext(mockJmsConnector.getMuleContext());
+    when(mockInboundEndpoint.getRetryPolicyTemplate()).thenReturn(retryPolicyTemplate);
+    when(mockInboundEndpoint.getProperties().get(JmsConstants.DURABLE_PROPERTY)).thenReturn("false");
+    when(mockInboundEndpoint.getProperties().get(JmsConstants.DURABLE_NAME_PROPERTY)).thenReturn(null);
+    when(mockInboundEndpoint.getProperties().get(BatchingJmsMessageReceiver.BATCH_SIZE_PROPERTY))
+        .thenReturn(String.valueOf(BATCH_SIZE));
+    when(mockInboundEndpoint.getTransactionConfig().isTransacted()).thenReturn(true);
+
+    workManager = mock(WorkManager.class);
+    doAnswer(invocation -> {
+      executor.execute((Runnable) invocation.getArguments()[0]);
+      return null;
+    }).when(workManager).execute(any(Runnable.class));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (messageReceiver != null) {
+      for (SubReceiver subReceiver : messageReceiver.getConsumers()) {
+        subReceiver.doStop(true);
+      }
+    }
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void startsOnlyMinConsumers() throws Exception {
+    when(mockInboundEndpoint.getProperties().get(BatchingJmsMessageReceiver.MIN_CONSUMERS_PROPERTY)).thenReturn("1");
+
+    List<SubReceiver> subReceivers = startReceiver();
+
+    assertThat(subReceivers.size(), is(3));
+    assertThat(subReceivers.get(0).started, is(true));
+    assertThat(subReceivers.get(1).started, is(false));
+    assertThat(subReceivers.get(1).connected, is(false));
+    assertThat(subReceivers.get(2).started, is(false));
+    assertThat(subReceivers.get(2).connected, is(false));
+  }
+
+  @Test
+  public void startsAllConsumersByDefault() throws Exception {
+    List<SubReceiver> subReceivers = startReceiver();
+
+    for (SubReceiver subReceiver : subReceivers) {
+      assertThat(subReceiver.started, is(true));
+    }
+  }
+
+  @Test
+  public void messagesAreReceivedWithoutListener() throws Exception {
+    startReceiver();
+
+    verify(mockMessageConsumer, never()).setMessageListener(any(MessageListener.class));
+  }
+
+  @Test
+  public void fullBatchIsProcessedInOneWorkerAndAcknowledgedOnce() throws Exception {
+    when(mockJmsConnector.getNumberOfConsumers()).thenReturn(1);
+    send(BATCH_SIZE * 2);
+
+    startReceiver();
+
+    new PollingProber(PROBE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(acknowledgedMessages, is(asList(sentMessages.get(BATCH_SIZE - 1), sentMessages.get(BATCH_SIZE * 2 - 1))));
+      return true;
+    }));
+  }
+
+  @Test
+  public void maxLatencyCutsPartialBatch() throws Exception {
+    when(mockJmsConnector.getNumberOfConsumers()).thenReturn(1);
+    when(mockInboundEndpoint.getProperties().get(BatchingJmsMessageReceiver.BATCH_MAX_LATENCY_PROPERTY)).thenReturn("50");
+    send(3);
+
+    startReceiver();
+
+    new PollingProber(PROBE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(acknowledgedMessages, is(asList(sentMessages.get(2))));
+      return true;
+    }));
+  }
+
+  @Test
+  public void fullBatchStartsIdleSubReceiver() throws Exception {
+    when(mockInboundEndpoint.getProperties().get(BatchingJmsMessageReceiver.MIN_CONSUMERS_PROPERTY)).thenReturn("1");
+    List<SubReceiver> subReceivers = startReceiver();
+
+    send(BATCH_SIZE);
+
+    new PollingProber(PROBE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(acknowledgedMessages, is(asList(sentMessages.get(BATCH_SIZE - 1))));
+      assertThat(startedSubReceivers, hasItem(subReceivers.get(1)));
+      return true;
+    }));
+    assertThat(startedSubReceivers, not(hasItem(subReceivers.get(2))));
+  }
+
+  @Test
+  public void idleSubReceiverIsReleased() throws Exception {
+    when(mockInboundEndpoint.getProperties().get(BatchingJmsMessageReceiver.MIN_CONSUMERS_PROPERTY)).thenReturn("1");
+    List<SubReceiver> subReceivers = startReceiver();
+
+    send(BATCH_SIZE);
+
+    new PollingProber(PROBE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(startedSubReceivers, hasItem(subReceivers.get(1)));
+      assertThat(subReceivers.get(1).started, is(false));
+      assertThat(subReceivers.get(1).connected, is(false));
+      assertThat(subReceivers.get(1).consumer, is(nullValue()));
+      return true;
+    }));
+    assertThat(subReceivers.get(0).started, is(true));
+    assertThat(subReceivers.get(0).connected, is(true));
+  }
+
+  @Test
+  public void clientAcknowledgeBatchIsAcknowledgedAfterProcessing() throws Exception {
+    when(mockInboundEndpoint.getTransactionConfig().isTransacted()).thenReturn(false);
+    when(mockJmsConnector.getAcknowledgementMode()).thenReturn(CLIENT_ACKNOWLEDGE);
+    when(mockJmsConnector.getNumberOfConsumers()).thenReturn(1);
+    send(BATCH_SIZE);
+
+    startReceiver();
+
+    new PollingProber(PROBE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      verify(sentMessages.get(BATCH_SIZE - 1)).acknowledge();
+      return true;
+    }));
+  }
+
+  @Test
+  public void autoAcknowledgeFallsBackToListener() throws Exception {
+    when(mockInboundEndpoint.getTransactionConfig().isTransacted()).thenReturn(false);
+    when(mockJmsConnector.getAcknowledgementMode()).thenReturn(AUTO_ACKNOWLEDGE);
+
+    List<SubReceiver> subReceivers = startReceiver();
+
+    for (SubReceiver subReceiver : subReceivers) {
+      assertThat(subReceiver, not(instanceOf(BatchingJmsMessageReceiver.BatchSubReceiver.class)));
+      assertThat(subReceiver.started, is(true));
+    }
+    verify(mockMessageConsumer, atLeastOnce()).setMessageListener(any(MessageListener.class));
+  }
+
+  @Test
+  public void rolledBackBatchIsProcessedOneMessageAtATime() throws Exception {
+    when(mockJmsConnector.getNumberOfConsumers()).thenReturn(1);
+    failedBatches.set(1);
+    send(BATCH_SIZE * 2);
+
+    startReceiver();
+
+    new PollingProber(PROBE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      assertThat(acknowledgedMessages, is(sentMessages.subList(BATCH_SIZE, BATCH_SIZE * 2)));
+      return true;
+    }));
+  }
+
+  private void send(int count) {
+    for (int i = 0; i < count; i++) {
+      Message message = mock(Message.class);
+      sentMessages.add(message);
+      destination.add(message);
+    }
+  }
+
+  private List<SubReceiver> startReceiver() throws Exception {
+    messageReceiver = new TestBatchingJmsMessageReceiver(mockJmsConnector, mockFlowConstruct, mockInboundEndpoint);
+    messageReceiver.initialise();
+    messageReceiver.doStart();
+    return messageReceiver.getConsumers();
+  }
+
+  /**
+   * Runs the receiving loops in the test executor and, instead of routing the messages of each worker, records the message that
+   * its transaction acknowledges, which also acknowledges all the previous ones of the batch. The first {@code failedBatches}
+   * workers fail without acknowledging anything.
+   */
+  private class TestBatchingJmsMessageReceiver extends BatchingJmsMessageReceiver {
+
+    public TestBatchingJmsMessageReceiver(Connector connector, FlowConstruct flowConstruct, InboundEndpoint endpoint)
+        throws CreateException {
+      super(connector, flowConstruct, endpoint);
+    }
+
+    @Override
+    protected WorkManager getWorkManager() {
+      return workManager;
+    }
+
+    @Override
+    protected SubReceiver createSubReceiver() {
+      return new BatchSubReceiver() {
+
+        @Override
+        protected void doStart() throws MuleException {
+          super.doStart();
+          startedSubReceivers.add(this);
+        }
+
+        @Override
+        protected boolean processMessages(JmsWorker worker) {
+          if (failedBatches.getAndDecrement() > 0) {
+            return false;
+          }
+          try {
+            worker.bindTransaction(new JmsClientAcknowledgeTransaction(mockInboundEndpoint.getMuleContext()) {
+
+              @Override
+              public void setMessage(Message message) {
+                acknowledgedMessages.add(message);
+              }
+            });
+          } catch (Exception e) {
+            throw new IllegalStateException(e);
+          }
+          return true;
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct {@link ByteBuffer}s of a fixed size, shared by the connections of a {@link NioTcpMessageReceiver}. Connections
+ * only hold a buffer while they have data that were not consumed yet, so a small pool can serve many idle connections.
+ * <p/>
+ * At most <code>maxPooledBuffers</code> buffers are kept in the pool, the ones released when it is full are left for the garbage
+ * collector.
+ *
+ * @since 4.0
+ */
+public class ByteBufferPool {
+
+  private final int bufferSize;
+  private final int maxPooledBuffers;
+  private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pooledBuffers = new AtomicInteger(0);
+
+  public ByteBufferPool(int bufferSize, int maxPooledBuffers) {
+    this.bufferSize = bufferSize;
+    this.maxPooledBuffers = maxPooledBuffers;
+  }
+
+  /**
+   * @return an empty buffer of {@link #getBufferSize()} bytes, taken from the pool if there is any available
+   */
+  public ByteBuffer acquire() {
+    ByteBuffer buffer = buffers.poll();
+    if (buffer == null) {
+      return ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    pooledBuffers.decrementAndGet();
+    return buffer;
+  }
+
+  /**
+   * Returns a buffer to the pool. Buffers that were not acquired from a pool of the same size are ignored.
+   *
+   * @param buffer the buffer to return. It must not be used after this call
+   */
+  public void release(ByteBuffer buffer) {
+    if (!buffer.isDirect() || buffer.capacity() != bufferSize) {
+      return;
+    }
+
+    if (pooledBuffers.incrementAndGet() <= maxPooledBuffers) {
+      buffer.clear();
+      buffers.offer(buffer);
+    } else {
+      pooledBuffers.decrementAndGet();
+    }
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * @return the amount of buffers available in the pool
+   */
+  public int getPooledBuffers() {
+    return pooledBuffers.get();
+  }
+}
@@ -0,0 +1,666 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import static java.lang.Integer.getInteger;
+import static java.nio.channels.SelectionKey.OP_ACCEPT;
+import static java.nio.channels.SelectionKey.OP_READ;
+import static java.nio.channels.SelectionKey.OP_WRITE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_REMOTE_CLIENT_ADDRESS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.compatibility.core.api.endpoint.InboundEndpoint;
+import org.mule.compatibility.core.api.transport.Connector;
+import org.mule.compatibility.core.connector.EndpointConnectException;
+import org.mule.compatibility.core.message.CompatibilityMessage;
+import org.mule.compatibility.core.message.MuleCompatibilityMessageBuilder;
+import org.mule.compatibility.core.transport.AbstractMessageReceiver;
+import org.mule.compatibility.core.transport.AbstractReceiverWorker;
+import org.mule.compatibility.transport.tcp.i18n.TcpMessages;
+import org.mule.runtime.core.api.MuleException;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.lifecycle.CreateException;
+import org.mule.runtime.core.api.transaction.Transaction;
+import org.mule.runtime.core.api.transaction.TransactionException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.connector.ConnectException;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.runtime.core.util.NetworkUtils;
+import org.mule.runtime.core.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.resource.spi.work.Work;
+import javax.resource.spi.work.WorkException;
+import javax.resource.spi.work.WorkManager;
+
+/**
+ * <code>NioTcpMessageReceiver</code> acts like a TCP server, as {@link TcpMessageReceiver} does, but serves all its connections
+ * from a single selector thread instead of dedicating a thread to each of them. Data are read into direct buffers taken from a
+ * {@link ByteBufferPool}, which a connection only keeps while it has a partial message, and messages are extracted directly from
+ * those buffers by the connector protocol, which must implement {@link TcpFramingProtocol}.
+ * <p/>
+ * The messages of a connection are processed in order using the receiver work manager, and their responses are written back
+ * without blocking the selector thread. A connection stops being read while it has {@link #MAX_QUEUED_MESSAGES} messages waiting
+ * to be processed, or more than {@link #MAX_PENDING_WRITE_BYTES_PROPERTY} bytes of responses waiting to be written, and its
+ * messages stop being processed while the latter happens, so a client that is fast sending or slow reading cannot make the
+ * receiver buffer an unbounded amount of data. A connection is also closed if a message grows beyond
+ * {@link #MAX_MESSAGE_LENGTH_PROPERTY} bytes, or once the client closes it and all its messages were processed, or after being
+ * idle for the keep alive timeout of the connector, if set.
+ * <p/>
+ * This receiver is used by overriding the <code>messageReceiver</code> service of the TCP connector.
+ *
+ * @since 4.0
+ */
+public class NioTcpMessageReceiver extends AbstractMessageReceiver implements Work {
+
+  private static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+  private static final int MAX_POOLED_BUFFERS = 256;
+  private static final long SELECT_TIMEOUT = 1000;
+
+  /**
+   * Amount of messages of a connection waiting to be processed after which no more data are read from it. Reading resumes once
+   * half of them are processed.
+   */
+  protected static final int MAX_QUEUED_MESSAGES = 64;
+
+  /**
+   * System property to set the maximum size in bytes of a single message, 16 MB by default. A connection sending a bigger one is
+   * closed, as it would make the buffer holding it grow without bounds, which may happen with protocols that delimit the
+   * messages by their content or by the end of the stream.
+   */
+  public static final String MAX_MESSAGE_LENGTH_PROPERTY = SYSTEM_PROPERTY_PREFIX + "transport.tcp.nio.maxMessageLength";
+
+  /**
+   * System property to set the amount of response bytes of a connection waiting to be written after which no more data are read
+   * from it nor more messages processed, 1 MB by default. Processing resumes once they are below the limit again, and reading
+   * once half of them are written.
+   */
+  public static final String MAX_PENDING_WRITE_BYTES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "transport.tcp.nio.maxPendingWriteBytes";
+
+  private static final int DEFAULT_MAX_MESSAGE_LENGTH = 16 * 1024 * 1024;
+  private static final int DEFAULT_MAX_PENDING_WRITE_BYTES = 1024 * 1024;
+
+  protected final AtomicBoolean disposing = new AtomicBoolean(false);
+
+  private final TcpFramingProtocol protocol;
+  private final ByteBufferPool bufferPool;
+  private final int maxMessageLength;
+  private final int maxPendingWriteBytes;
+  private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+
+  private volatile Selector selector;
+  private volatile ServerSocketChannel serverChannel;
+  private volatile boolean accepting = false;
+
+  public NioTcpMessageReceiver(Connector connector, FlowConstruct flowConstruct, InboundEndpoint endpoint)
+      throws CreateException {
+    super(connector, flowConstruct, endpoint);
+
+    final TcpConnector tcpConnector = (TcpConnector) connector;
+    if (!(tcpConnector.getTcpProtocol() instanceof TcpFramingProtocol)) {
+      throw new CreateException(TcpMessages.protocolCannotFrameBuffers(tcpConnector.getTcpProtocol()), this);
+    }
+    protocol = (TcpFramingProtocol) tcpConnector.getTcpProtocol();
+
+    int bufferSize = tcpConnector.getReceiveBufferSize();
+    bufferPool = new ByteBufferPool(bufferSize > 0 ? bufferSize : DEFAULT_BUFFER_SIZE, MAX_POOLED_BUFFERS);
+    maxMessageLength = getInteger(MAX_MESSAGE_LENGTH_PROPERTY, DEFAULT_MAX_MESSAGE_LENGTH);
+    maxPendingWriteBytes = getInteger(MAX_PENDING_WRITE_BYTES_PROPERTY, DEFAULT_MAX_PENDING_WRITE_BYTES);
+  }
+
+  @Override
+  protected void doConnect() throws ConnectException {
+    disposing.set(false);
+
+    URI uri = endpoint.getEndpointURI().getUri();
+
+    try {
+      selector = Selector.open();
+      serverChannel = openServerChannel(uri);
+      serverChannel.register(selector, accepting ? OP_ACCEPT : 0);
+    } catch (IOException e) {
+      IOUtils.closeQuietly(serverChannel);
+      IOUtils.closeQuietly(selector);
+      throw new EndpointConnectException(TcpMessages.failedToBindToUri(uri), e, this);
+    }
+
+    try {
+      getWorkManager().scheduleWork(this, WorkManager.INDEFINITE, null, connector);
+    } catch (WorkException e) {
+      throw new EndpointConnectException(CoreMessages.failedToScheduleWork(), e, this);
+    }
+  }
+
+  /**
+   * Opens a non blocking server channel bound to the given URI, applying the server socket settings of the connector.
+   */
+  protected ServerSocketChannel openServerChannel(URI uri) throws IOException {
+    final TcpConnector tcpConnector = (TcpConnector) connector;
+
+    String host = StringUtils.defaultIfEmpty(uri.getHost(), "localhost");
+    InetAddress inetAddress = InetAddress.getByName(host);
+    InetSocketAddress address;
+    if ((inetAddress.equals(NetworkUtils.getLocalHost()) || host.trim().equals("localhost"))
+        && TcpPropertyHelper.isBindingLocalhostToAllLocalInterfaces()) {
+      logger.warn(TcpMessages.localhostBoundToAllLocalInterfaces().toString());
+      address = new InetSocketAddress(uri.getPort());
+    } else {
+      address = new InetSocketAddress(inetAddress, uri.getPort());
+    }
+
+    ServerSocketChannel channel = ServerSocketChannel.open();
+    try {
+      Boolean reuse = tcpConnector.isReuseAddress();
+      if (null != reuse && reuse.booleanValue() != channel.socket().getReuseAddress()) {
+        channel.socket().setReuseAddress(reuse.booleanValue());
+      }
+      // bind *after* setting so_reuseaddress
+      channel.socket().bind(address, tcpConnector.getReceiveBacklog());
+      channel.configureBlocking(false);
+      return channel;
+    } catch (IOException e) {
+      IOUtils.closeQuietly(channel);
+      throw e;
+    }
+  }
+
+  @Override
+  protected void doDisconnect() throws ConnectException {
+    // this will cause the selector thread to close the connections and quit
+    disposing.set(true);
+
+    if (serverChannel != null) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Closing: " + serverChannel);
+      }
+      IOUtils.closeQuietly(serverChannel);
+    }
+    wakeUp(selector);
+  }
+
+  @Override
+  protected void doStart() throws MuleException {
+    setAccepting(true);
+  }
+
+  @Override
+  protected void doStop() throws MuleException {
+    // connections already accepted keep being served
+    setAccepting(false);
+  }
+
+  @Override
+  protected void doDispose() {
+    disposing.set(true);
+    IOUtils.closeQuietly(serverChannel);
+    serverChannel = null;
+    wakeUp(selector);
+    logger.info("Closed Tcp port");
+  }
+
+  private void setAccepting(boolean accepting) {
+    this.accepting = accepting;
+    runInSelector(() -> {
+      ServerSocketChannel channel = serverChannel;
+      SelectionKey key = channel == null ? null : channel.keyFor(selector);
+      if (key != null && key.isValid()) {
+        key.interestOps(this.accepting ? OP_ACCEPT : 0);
+      }
+    });
+  }
+
+  /**
+   * Runs a task in the selector thread, which is the only one that changes the state of the selection keys.
+   */
+  private void runInSelector(Runnable task) {
+    selectorTasks.offer(task);
+    wakeUp(selector);
+  }
+
+  private void wakeUp(Selector selector) {
+    if (selector != null) {
+      selector.wakeup();
+    }
+  }
+
+  @Override
+  public void run() {
+    final Selector selector = this.selector;
+    final long keepAliveTimeout = ((TcpConnector) connector).getKeepAliveTimeout();
+    long lastExpirationCheck = System.currentTimeMillis();
+
+    try {
+      while (!disposing.get() && selector == this.selector) {
+        selector.select(SELECT_TIMEOUT);
+
+        Runnable task;
+        while ((task = selectorTasks.poll()) != null) {
+          task.run();
+        }
+
+        Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+        while (selectedKeys.hasNext()) {
+          SelectionKey key = selectedKeys.next();
+          selectedKeys.remove();
+          handle(selector, key);
+        }
+
+        long now = System.currentTimeMillis();
+        if (keepAliveTimeout > 0 && now - lastExpirationCheck >= SELECT_TIMEOUT) {
+          closeExpiredConnections(selector, now - keepAliveTimeout);
+          lastExpirationCheck = now;
+        }
+      }
+    } catch (IOException e) {
+      if (!disposing.get()) {
+        getEndpoint().getMuleContext().getExceptionListener().handleException(new EndpointConnectException(e, this));
+      }
+    } finally {
+      closeAll(selector);
+    }
+  }
+
+  private void handle(Selector selector, SelectionKey key) {
+    try {
+      if (!key.isValid()) {
+        return;
+      }
+
+      if (key.isAcceptable()) {
+        accept(selector);
+      } else {
+        NioConnection connection = (NioConnection) key.attachment();
+        try {
+          if (key.isReadable()) {
+            connection.read();
+          }
+          if (key.isValid() && key.isWritable()) {
+            connection.write();
+          }
+        } catch (IOException e) {
+          // do not pollute the log with a stacktrace, log only the message
+          logger.info("Socket exception occured: " + e.getMessage());
+          connection.close();
+        }
+      }
+    } catch (CancelledKeyException e) {
+      // the connection was closed in the meantime
+    }
+  }
+
+  private void accept(Selector selector) {
+    SocketChannel channel;
+    while (true) {
+      try {
+        channel = serverChannel.accept();
+      } catch (IOException e) {
+        logger.warn("Failed to accept connection: " + e.getMessage());
+        return;
+      }
+      if (channel == null) {
+        return;
+      }
+
+      try {
+        channel.configureBlocking(false);
+        ((TcpConnector) connector).configureSocket(TcpConnector.SERVER, channel.socket());
+        SelectionKey key = channel.register(selector, OP_READ);
+        key.attach(new NioConnection(channel, key));
+      } catch (IOException e) {
+        logger.warn("Failed to configure accepted connection: " + e.getMessage());
+        IOUtils.closeQuietly(channel);
+      }
+    }
+  }
+
+  private void closeExpiredConnections(Selector selector, long idleSince) {
+    for (SelectionKey key : selector.keys()) {
+      if (key.attachment() instanceof NioConnection) {
+        NioConnection connection = (NioConnection) key.attachment();
+        if (connection.isIdleSince(idleSince)) {
+          if (logger.isDebugEnabled()) {
+            logger.debug("Closing expired connection from " + connection.remoteAddress);
+          }
+          connection.close();
+        }
+      }
+    }
+  }
+
+  private void closeAll(Selector selector) {
+    try {
+      for (SelectionKey key : selector.keys()) {
+        if (key.attachment() instanceof NioConnection) {
+          ((NioConnection) key.attachment()).close();
+        }
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Failed to close connections: " + e.getMessage());
+    }
+
+    if (selector == this.selector) {
+      selectorTasks.clear();
+    }
+    IOUtils.closeQuietly(selector);
+  }
+
+  @Override
+  public void release() {
+    // template method
+  }
+
+  /**
+   * State of an accepted connection. Reading and writing on the channel only happen in the selector thread, while the received
+   * messages are processed by a {@link NioTcpWorker}.
+   */
+  protected class NioConnection {
+
+    protected final SocketChannel channel;
+    protected final SocketAddress remoteAddress;
+    private final SelectionKey key;
+    private final Queue<Object> receivedMessages = new ConcurrentLinkedQueue<>();
+    private final Queue<ByteBuffer> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean processing = new AtomicBoolean(false);
+    private final AtomicInteger queuedMessages = new AtomicInteger(0);
+    private final AtomicLong pendingWriteBytes = new AtomicLong(0);
+    private final AtomicBoolean readSuspended = new AtomicBoolean(false);
+    private volatile boolean endOfStream = false;
+    private ByteBuffer readBuffer;
+    private long lastActivity = System.currentTimeMillis();
+
+    protected NioConnection(SocketChannel channel, SelectionKey key) {
+      this.channel = channel;
+      this.key = key;
+      this.remoteAddress = channel.socket().getRemoteSocketAddress();
+    }
+
+    private void read() throws IOException {
+      if (readBuffer == null) {
+        readBuffer = bufferPool.acquire();
+      }
+
+      if (channel.read(readBuffer) < 0) {
+        endOfStream = true;
+        key.interestOps(key.interestOps() & ~OP_READ);
+      }
+      lastActivity = System.currentTimeMillis();
+
+      int received = 0;
+      readBuffer.flip();
+      try {
+        Object message;
+        while ((message = protocol.decode(readBuffer, endOfStream)) != null) {
+          receivedMessages.offer(message);
+          queuedMessages.incrementAndGet();
+          received++;
+        }
+      } catch (IOException e) {
+        getEndpoint().getMuleContext().getExceptionListener().handleException(e);
+        close();
+        return;
+      } finally {
+        if (readBuffer != null) {
+          readBuffer.compact();
+        }
+      }
+
+      if (readBuffer.position() == 0 || endOfStream) {
+        releaseReadBuffer();
+      } else if (!readBuffer.hasRemaining()) {
+        // the message doesn't fit in the buffer
+        if (readBuffer.capacity() >= maxMessageLength) {
+          getEndpoint().getMuleContext().getExceptionListener()
+              .handleException(new IOException("Message from " + remoteAddress + " exceeds the maximum length of "
+                  + maxMessageLength + " bytes"));
+          close();
+          return;
+        }
+        ByteBuffer largerBuffer = ByteBuffer.allocate((int) Math.min(readBuffer.capacity() * 2L, maxMessageLength));
+        readBuffer.flip();
+        largerBuffer.put(readBuffer);
+        releaseReadBuffer();
+        readBuffer = largerBuffer;
+      }
+
+      if (received > 0) {
+        if (isOverloaded()) {
+          suspendReading();
+        }
+        scheduleProcessing();
+      } else if (endOfStream) {
+        closeIfDone();
+      }
+    }
+
+    private boolean isOverloaded() {
+      return queuedMessages.get() >= MAX_QUEUED_MESSAGES || isWriteBacklogged();
+    }
+
+    private boolean canResumeReading() {
+      return queuedMessages.get() <= MAX_QUEUED_MESSAGES / 2 && pendingWriteBytes.get() <= maxPendingWriteBytes / 2;
+    }
+
+    /**
+     * @return whether there are too many response bytes waiting to be written, so no more messages should be processed until
+     *         they are. Can be called from any thread.
+     */
+    private boolean isWriteBacklogged() {
+      return pendingWriteBytes.get() > maxPendingWriteBytes;
+    }
+
+    private void suspendReading() {
+      key.interestOps(key.interestOps() & ~OP_READ);
+      readSuspended.set(true);
+      // the worker may have taken the messages, or the responses may have been written, before the flag was set
+      if (canResumeReading() && readSuspended.compareAndSet(true, false)) {
+        resumeReading();
+      }
+    }
+
+    private void resumeReading() {
+      if (key.isValid() && !endOfStream) {
+        key.interestOps(key.interestOps() | OP_READ);
+      }
+    }
+
+    /**
+     * Takes the next message to process, resuming the reads from the connection if they were suspended and enough messages were
+     * taken. Can be called from any thread.
+     */
+    private Object takeMessage() {
+      Object message = receivedMessages.poll();
+      if (message != null) {
+        queuedMessages.decrementAndGet();
+        if (canResumeReading() && readSuspended.compareAndSet(true, false)) {
+          runInSelector(this::resumeReading);
+        }
+      }
+      return message;
+    }
+
+    private void write() throws IOException {
+      ByteBuffer buffer;
+      while ((buffer = pendingWrites.peek()) != null) {
+        pendingWriteBytes.addAndGet(-channel.write(buffer));
+        if (buffer.hasRemaining()) {
+          // wait until the socket can take more data
+          writeProgressed();
+          return;
+        }
+        pendingWrites.poll();
+      }
+
+      writeProgressed();
+      key.interestOps(key.interestOps() & ~OP_WRITE);
+      lastActivity = System.currentTimeMillis();
+      if (endOfStream) {
+        closeIfDone();
+      }
+    }
+
+    /**
+     * Resumes the reads and the processing of messages that were held while too many responses were waiting to be written.
+     */
+    private void writeProgressed() {
+      if (canResumeReading() && readSuspended.compareAndSet(true, false)) {
+        resumeReading();
+      }
+      if (!receivedMessages.isEmpty()) {
+        scheduleProcessing();
+      }
+    }
+
+    /**
+     * Queues data to be written to the connection. Can be called from any thread.
+     */
+    protected void send(ByteBuffer data) {
+      pendingWriteBytes.addAndGet(data.remaining());
+      pendingWrites.offer(data);
+      runInSelector(() -> {
+        if (key.isValid()) {
+          key.interestOps(key.interestOps() | OP_WRITE);
+          if (isWriteBacklogged() && !readSuspended.get()) {
+            suspendReading();
+          }
+        }
+      });
+    }
+
+    /**
+     * Starts processing the received messages, unless they are being processed or they are held until the pending responses are
+     * written.
+     */
+    private void scheduleProcessing() {
+      if (!isWriteBacklogged() && processing.compareAndSet(false, true)) {
+        try {
+          getWorkManager().scheduleWork(new NioTcpWorker(this), WorkManager.INDEFINITE, null, connector);
+        } catch (WorkException e) {
+          processing.set(false);
+          getEndpoint().getMuleContext().getExceptionListener().handleException(e);
+          runInSelector(this::close);
+        }
+      }
+    }
+
+    private void processingFinished() {
+      processing.set(false);
+      if (!receivedMessages.isEmpty()) {
+        // more messages arrived while finishing
+        scheduleProcessing();
+      } else if (endOfStream) {
+        runInSelector(this::closeIfDone);
+      }
+    }
+
+    private boolean isIdleSince(long time) {
+      return lastActivity < time && !processing.get() && receivedMessages.isEmpty() && pendingWrites.isEmpty();
+    }
+
+    private void closeIfDone() {
+      if (!processing.get() && receivedMessages.isEmpty() && pendingWrites.isEmpty()) {
+        close();
+      }
+    }
+
+    private void releaseReadBuffer() {
+      if (readBuffer != null) {
+        bufferPool.release(readBuffer);
+        readBuffer = null;
+      }
+    }
+
+    protected void close() {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Closing connection from: " + remoteAddress);
+      }
+      key.cancel();
+      IOUtils.closeQuietly(channel);
+      releaseReadBuffer();
+      receivedMessages.clear();
+      queuedMessages.set(0);
+      pendingWrites.clear();
+      pendingWriteBytes.set(0);
+    }
+  }
+
+  /**
+   * Processes the messages received on a connection, one at a time so their responses are written back in order.
+   */
+  protected class NioTcpWorker extends AbstractReceiverWorker {
+
+    protected final NioConnection connection;
+
+    public NioTcpWorker(NioConnection connection) {
+      super(new ArrayList<>(1), NioTcpMessageReceiver.this);
+      this.connection = connection;
+    }
+
+    @Override
+    protected void doRun() {
+      Object message;
+      while (!disposing.get() && !connection.isWriteBacklogged() && (message = connection.takeMessage()) != null) {
+        messages.add(message);
+        super.doRun();
+      }
+    }
+
+    @Override
+    protected void bindTransaction(Transaction tx) throws TransactionException {
+      // nothing to do
+    }
+
+    @Override
+    protected void handleResults(List messages) throws Exception {
+      // should send back only if remote synch is set or no outbound endpoints
+      if (endpoint.getExchangePattern().hasResponse()) {
+        for (Object result : messages) {
+          ByteArrayOutputStream response = new ByteArrayOutputStream();
+          protocol.write(response, result);
+          connection.send(ByteBuffer.wrap(response.toByteArray()));
+        }
+      }
+    }
+
+    @Override
+    protected CompatibilityMessage preRouteMuleMessage(final CompatibilityMessage message) throws Exception {
+      CompatibilityMessage muleMessage = super.preRouteMuleMessage(message);
+
+      if (connection.remoteAddress != null) {
+        final MuleCompatibilityMessageBuilder builder = new MuleCompatibilityMessageBuilder(muleMessage);
+        builder.addOutboundProperty(MULE_REMOTE_CLIENT_ADDRESS, connection.remoteAddress.toString());
+        return builder.build();
+      } else {
+        return muleMessage;
+      }
+    }
+
+    @Override
+    public void release() {
+      connection.processingFinished();
+    }
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Implemented by the {@link TcpProtocol}s that can also extract messages from the data buffered for a connection, instead of
+ * reading them from a blocking stream. This is what allows {@link NioTcpMessageReceiver} to serve many connections without
+ * dedicating a thread to each one of them.
+ *
+ * @since 4.0
+ */
+public interface TcpFramingProtocol extends TcpProtocol {
+
+  /**
+   * Extracts the next message from the data received so far on a connection.
+   * <p/>
+   * If the buffer contains a whole message, its bytes are consumed from the buffer and any data after it are left for the next
+   * call. Otherwise the buffer is not modified, so the call can be repeated once more data are appended to it.
+   *
+   * @param buffer the data received on a connection and not consumed yet, ready to be read
+   * @param endOfStream whether the peer has closed the connection, so no more data will be appended to the buffer
+   * @return the same message that {@link #read(java.io.InputStream)} would return, or null if the buffer does not contain a whole
+   *         message yet
+   * @throws IOException if the data are not valid for this protocol
+   */
+  Object decode(ByteBuffer buffer, boolean endOfStream) throws IOException;
+
+}
@@ -8,6 +8,7 @@ package org.mule.compatibility.transport.tcp.i18n;
 
 import org.mule.compatibility.transport.tcp.TcpConnector;
 import org.mule.compatibility.transport.tcp.TcpPropertyHelper;
+import org.mule.compatibility.transport.tcp.TcpProtocol;
 import org.mule.runtime.core.config.i18n.I18nMessage;
 import org.mule.runtime.core.config.i18n.I18nMessageFactory;
 
@@ -42,6 +43,10 @@ public class TcpMessages extends I18nMessageFactory {
   public static I18nMessage localhostBoundToAllLocalInterfaces() {
     return factory.createMessage(BUNDLE_PATH, 6, TcpPropertyHelper.MULE_TCP_BIND_LOCALHOST_TO_ALL_LOCAL_INTERFACES_PROPERTY);
   }
+
+  public static I18nMessage protocolCannotFrameBuffers(TcpProtocol protocol) {
+    return factory.createMessage(BUNDLE_PATH, 7, protocol.getClass().getName());
+  }
 }
 
 
@@ -6,8 +6,10 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import org.apache.commons.io.input.ClassLoaderObjectInputStream;
 import org.apache.log4j.Logger;
@@ -30,17 +32,32 @@ public class CustomClassLoadingLengthProtocol extends LengthProtocol {
     if (bytes == null) {
       return null;
     } else {
-      ClassLoaderObjectInputStream classLoaderIS = new ClassLoaderObjectInputStream(this.getClassLoader(), is);
-      try {
-        return classLoaderIS.readObject();
-      } catch (ClassNotFoundException e) {
-        logger.warn(e.getMessage());
-        IOException iox = new IOException();
-        iox.initCause(e);
-        throw iox;
-      } finally {
-        classLoaderIS.close();
-      }
+      return readObject(is);
+    }
+  }
+
+  @Override
+  public Object decode(ByteBuffer buffer, boolean endOfStream) throws IOException {
+    byte[] bytes = (byte[]) super.decode(buffer, endOfStream);
+
+    if (bytes == null) {
+      return null;
+    } else {
+      return readObject(new ByteArrayInputStream(bytes));
+    }
+  }
+
+  private Object readObject(InputStream is) throws IOException {
+    ClassLoaderObjectInputStream classLoaderIS = new ClassLoaderObjectInputStream(this.getClassLoader(), is);
+    try {
+      return classLoaderIS.readObject();
+    } catch (ClassNotFoundException e) {
+      logger.warn(e.getMessage());
+      IOException iox = new IOException();
+      iox.initCause(e);
+      throw iox;
+    } finally {
+      classLoaderIS.close();
     }
   }
 
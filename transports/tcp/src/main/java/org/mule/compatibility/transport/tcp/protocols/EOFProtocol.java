@@ -6,11 +6,15 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import org.mule.compatibility.transport.tcp.TcpFramingProtocol;
+
+import java.nio.ByteBuffer;
+
 /**
  * The EOFProtocol class is an application level tcp protocol that does nothing. Reading is terminated by the stream being closed
  * by the client.
  */
-public class EOFProtocol extends DirectProtocol {
+public class EOFProtocol extends DirectProtocol implements TcpFramingProtocol {
 
   /**
    * Repeat until end of file
@@ -24,4 +28,18 @@ public class EOFProtocol extends DirectProtocol {
     return true;
   }
 
+  /**
+   * The whole data received on the connection is the message, so it is only available once the stream is closed.
+   */
+  @Override
+  public Object decode(ByteBuffer buffer, boolean endOfStream) {
+    if (!endOfStream) {
+      return null;
+    }
+
+    byte[] message = new byte[buffer.remaining()];
+    buffer.get(message);
+    return nullEmptyArray(message);
+  }
+
 }
@@ -6,11 +6,15 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import org.mule.compatibility.transport.tcp.TcpFramingProtocol;
+
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,7 +28,7 @@ import org.slf4j.LoggerFactory;
  * Note that use of this protocol must be symmetric - both the sending and receiving connectors must use the same protocol.
  * </p>
  */
-public class LengthProtocol extends DirectProtocol {
+public class LengthProtocol extends DirectProtocol implements TcpFramingProtocol {
 
   private static final Logger logger = LoggerFactory.getLogger(LengthProtocol.class);
   // TODO - can we not get this from the API somewhere?
@@ -74,6 +78,38 @@ public class LengthProtocol extends DirectProtocol {
     return buffer;
   }
 
+  @Override
+  public Object decode(ByteBuffer buffer, boolean endOfStream) throws IOException {
+    if (buffer.remaining() < SIZE_INT) {
+      return incompleteMessage(buffer, endOfStream);
+    }
+
+    // peek the length, so nothing is consumed until the whole message is available
+    int length = buffer.getInt(buffer.position());
+    if (length < 0 || (getMaxMessageLength() > 0 && length > getMaxMessageLength())) {
+      throw new IOException("Length " + length + " exceeds limit: " + getMaxMessageLength());
+    }
+    if (buffer.remaining() - SIZE_INT < length) {
+      return incompleteMessage(buffer, endOfStream);
+    }
+
+    buffer.position(buffer.position() + SIZE_INT);
+    byte[] message = new byte[length];
+    buffer.get(message);
+    if (logger.isDebugEnabled()) {
+      logger.debug("length decoded: " + length);
+    }
+
+    return message;
+  }
+
+  private Object incompleteMessage(ByteBuffer buffer, boolean endOfStream) throws IOException {
+    if (endOfStream && buffer.hasRemaining()) {
+      throw new EOFException("Connection closed before a message of " + buffer.remaining() + " bytes was complete");
+    }
+    return null;
+  }
+
   @Override
   protected void writeByteArray(OutputStream os, byte[] data) throws IOException {
     // Write the length and then the data.
@@ -6,6 +6,7 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import org.mule.compatibility.transport.tcp.TcpFramingProtocol;
 import org.mule.compatibility.transport.tcp.TcpProtocol;
 import org.mule.runtime.core.ResponseOutputStream;
 import org.mule.runtime.core.api.serialization.DefaultObjectSerializer;
@@ -15,6 +16,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 
 import javax.inject.Inject;
 
@@ -23,11 +25,11 @@ import javax.inject.Inject;
  * because previously people tended to use DefaultProtocol without considering packet fragmentation etc. You should probably
  * change to LengthProtocol. Remember - both sender and receiver must use the same protocol.
  */
-public class SafeProtocol implements TcpProtocol {
+public class SafeProtocol implements TcpFramingProtocol {
 
   public static final String COOKIE = "You are using SafeProtocol";
-  private TcpProtocol delegate = new LengthProtocol();
-  private TcpProtocol cookieProtocol = new LengthProtocol(COOKIE.length());
+  private LengthProtocol delegate = new LengthProtocol();
+  private LengthProtocol cookieProtocol = new LengthProtocol(COOKIE.length());
 
   @Override
   public Object read(InputStream is) throws IOException {
@@ -43,6 +45,33 @@ public class SafeProtocol implements TcpProtocol {
     }
   }
 
+  @Override
+  public Object decode(ByteBuffer buffer, boolean endOfStream) throws IOException {
+    int start = buffer.position();
+
+    Object cookie = null;
+    try {
+      cookie = cookieProtocol.decode(buffer, endOfStream);
+    } catch (Exception e) {
+      helpUser(e);
+    }
+    if (null == cookie) {
+      return null;
+    }
+    assertCookie(cookie);
+
+    Object result = delegate.decode(buffer, endOfStream);
+    if (null == result) {
+      if (endOfStream) {
+        // EOF after cookie but before data
+        helpUser();
+      }
+      // wait for the rest of the message, including the cookie
+      buffer.position(start);
+    }
+    return result;
+  }
+
   @Override
   public void write(OutputStream os, Object data) throws IOException {
     assureSibling(os);
@@ -71,16 +100,19 @@ public class SafeProtocol implements TcpProtocol {
       helpUser(e);
     }
     if (null != cookie) {
-      if (!(cookie instanceof byte[] && ((byte[]) cookie).length == COOKIE.length()
-          && COOKIE.equals(new String((byte[]) cookie)))) {
-        helpUser();
-      } else {
-        return true;
-      }
+      assertCookie(cookie);
+      return true;
     }
     return false; // eof
   }
 
+  private void assertCookie(Object cookie) throws IOException {
+    if (!(cookie instanceof byte[] && ((byte[]) cookie).length == COOKIE.length()
+        && COOKIE.equals(new String((byte[]) cookie)))) {
+      helpUser();
+    }
+  }
+
   private void helpUser() throws IOException {
     throw new IOException("You are not using a consistent protocol on your TCP transport. "
         + "Please read the documentation for the TCP transport, " + "paying particular attention to the protocol parameter.");
@@ -9,9 +9,11 @@ package org.mule.compatibility.transport.tcp.protocols;
 import org.mule.compatibility.transport.tcp.TcpInputStream;
 import org.mule.compatibility.transport.tcp.TcpProtocol;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 public class StreamingProtocol extends EOFProtocol implements TcpProtocol {
 
@@ -27,6 +29,15 @@ public class StreamingProtocol extends EOFProtocol implements TcpProtocol {
     return is;
   }
 
+  /**
+   * Keeps the payload a stream, although the data have already been received entirely.
+   */
+  @Override
+  public Object decode(ByteBuffer buffer, boolean endOfStream) {
+    byte[] message = (byte[]) super.decode(buffer, endOfStream);
+    return message == null ? null : new ByteArrayInputStream(message);
+  }
+
   /**
    * 
    * @param is
@@ -6,6 +6,8 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import java.nio.ByteBuffer;
+
 /**
  * Extend {@link org.mule.compatibility.transport.tcp.protocols.XmlMessageProtocol} to continue reading until either a new message
  * or EOF is found.
@@ -25,4 +27,16 @@ public class XmlMessageEOFProtocol extends XmlMessageProtocol {
     return patternIndex < 0;
   }
 
+  /**
+   * Wait for EOF or a new document
+   *
+   * @param buffer the data received and not consumed yet, ready to be read
+   * @param endOfStream whether the peer has closed the connection
+   * @return true if the data in the buffer have to be returned as a message
+   */
+  @Override
+  protected boolean isDocumentComplete(ByteBuffer buffer, boolean endOfStream) {
+    return endOfStream;
+  }
+
 }
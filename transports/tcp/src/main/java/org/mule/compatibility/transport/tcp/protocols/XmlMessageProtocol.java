@@ -6,9 +6,12 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import org.mule.compatibility.transport.tcp.TcpFramingProtocol;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -37,9 +40,10 @@ import java.util.concurrent.ConcurrentMap;
  * insure that unread characters remain on the stream so that all data may be read later.
  * </p>
  */
-public class XmlMessageProtocol extends AbstractByteProtocol {
+public class XmlMessageProtocol extends AbstractByteProtocol implements TcpFramingProtocol {
 
   private static final String XML_PATTERN = "<?xml";
+  private static final byte[] XML_PATTERN_BYTES = XML_PATTERN.getBytes();
 
   private static final int READ_BUFFER_SIZE = 4096;
   private static final int PUSHBACK_BUFFER_SIZE = READ_BUFFER_SIZE * 2;
@@ -105,6 +109,55 @@ public class XmlMessageProtocol extends AbstractByteProtocol {
     }
   }
 
+  /**
+   * Returns the data up to the start of the next document. As in {@link #read(InputStream)}, when there is no next document the
+   * data received so far are returned as a message, unless the last read filled the buffer and more data may be waiting.
+   */
+  @Override
+  public Object decode(ByteBuffer buffer, boolean endOfStream) {
+    // start search at 2nd byte to find the beginning of the next document
+    int patternIndex = indexOf(buffer, XML_PATTERN_BYTES, 1);
+    int length;
+    if (patternIndex > 0) {
+      length = patternIndex;
+    } else if (isDocumentComplete(buffer, endOfStream)) {
+      length = buffer.remaining();
+    } else {
+      return null;
+    }
+
+    byte[] message = new byte[length];
+    buffer.get(message);
+    return nullEmptyArray(message);
+  }
+
+  private int indexOf(ByteBuffer buffer, byte[] pattern, int fromIndex) {
+    final int start = buffer.position();
+    final int last = buffer.limit() - pattern.length;
+    for (int i = start + fromIndex; i <= last; i++) {
+      int j = 0;
+      while (j < pattern.length && buffer.get(i + j) == pattern[j]) {
+        j++;
+      }
+      if (j == pattern.length) {
+        return i - start;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Whether the data in the buffer, which do not contain the start of another document, are a whole document. This class,
+   * following {@link #isRepeat(int, int, int)}, only waits for more data while the buffer was filled by the last read.
+   *
+   * @param buffer the data received and not consumed yet, ready to be read
+   * @param endOfStream whether the peer has closed the connection
+   * @return true if the data in the buffer have to be returned as a message
+   */
+  protected boolean isDocumentComplete(ByteBuffer buffer, boolean endOfStream) {
+    return endOfStream || (buffer.hasRemaining() && buffer.limit() < buffer.capacity());
+  }
+
   /**
    * Show we continue reading? This class, following previous implementations, only reads while input is saturated.
    * 
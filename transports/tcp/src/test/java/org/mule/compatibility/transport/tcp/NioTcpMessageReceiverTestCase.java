@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.compatibility.transport.tcp.NioTcpMessageReceiver.MAX_MESSAGE_LENGTH_PROPERTY;
+import static org.mule.compatibility.transport.tcp.NioTcpMessageReceiver.MAX_PENDING_WRITE_BYTES_PROPERTY;
+
+import org.mule.functional.extensions.CompatibilityFunctionalTestCase;
+import org.mule.runtime.core.api.client.MuleClient;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.tck.junit4.rule.DynamicPort;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public class NioTcpMessageReceiverTestCase extends CompatibilityFunctionalTestCase {
+
+  private static final int CONNECTIONS = 20;
+  private static final int PIPELINED_MESSAGES = NioTcpMessageReceiver.MAX_QUEUED_MESSAGES * 3;
+  private static final int SOCKET_TIMEOUT = 30 * 1000;
+  private static final String TEST_MESSAGE = "Test TCP Request";
+  private static final String RESPONSE_SUFFIX = " Received";
+  private static final int MAX_MESSAGE_LENGTH = 512 * 1024;
+
+  @ClassRule
+  public static DynamicPort dynamicPort1 = new DynamicPort("port1");
+
+  @ClassRule
+  public static SystemProperty maxMessageLength =
+      new SystemProperty(MAX_MESSAGE_LENGTH_PROPERTY, Integer.toString(MAX_MESSAGE_LENGTH));
+
+  // lower than the size of the bigger responses, so their connections stop being read until they are written
+  @ClassRule
+  public static SystemProperty maxPendingWriteBytes = new SystemProperty(MAX_PENDING_WRITE_BYTES_PROPERTY, "16384");
+
+  public NioTcpMessageReceiverTestCase() {
+    setDisposeContextPerClass(true);
+  }
+
+  @Override
+  protected String getConfigFile() {
+    return "tcp-nio-receiver-test-flow.xml";
+  }
+
+  @Test
+  public void send() throws Exception {
+    MuleClient client = muleContext.getClient();
+    InternalMessage result = client.send("nioEndpoint", TEST_MESSAGE, null).getRight();
+    assertThat(getPayloadAsString(result), is(TEST_MESSAGE + RESPONSE_SUFFIX));
+  }
+
+  @Test
+  public void responsesKeepRequestsOrder() throws Exception {
+    // more messages than a connection queues, so reading from it is suspended and resumed
+    try (Socket socket = connect()) {
+      for (int i = 0; i < PIPELINED_MESSAGES; i++) {
+        write(socket, TEST_MESSAGE + i);
+      }
+      for (int i = 0; i < PIPELINED_MESSAGES; i++) {
+        assertThat(read(socket), is(TEST_MESSAGE + i + RESPONSE_SUFFIX));
+      }
+    }
+  }
+
+  @Test
+  public void messageLargerThanBuffer() throws Exception {
+    StringBuilder message = new StringBuilder();
+    while (message.length() < 100 * 1024) {
+      message.append(TEST_MESSAGE);
+    }
+
+    try (Socket socket = connect()) {
+      write(socket, message.toString());
+      assertThat(read(socket), is(message + RESPONSE_SUFFIX));
+    }
+  }
+
+  @Test
+  public void messageLongerThanMaximumClosesConnection() throws Exception {
+    try (Socket socket = connect()) {
+      write(socket, new String(new char[2 * MAX_MESSAGE_LENGTH]).replace('\0', 'm'));
+      read(socket);
+      fail("The connection was expected to be closed");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void concurrentConnections() throws Exception {
+    List<Socket> sockets = new ArrayList<>(CONNECTIONS);
+    try {
+      for (int i = 0; i < CONNECTIONS; i++) {
+        sockets.add(connect());
+      }
+      for (int i = 0; i < CONNECTIONS; i++) {
+        write(sockets.get(i), TEST_MESSAGE + i);
+      }
+      for (int i = 0; i < CONNECTIONS; i++) {
+        assertThat(read(sockets.get(i)), is(TEST_MESSAGE + i + RESPONSE_SUFFIX));
+      }
+    } finally {
+      for (Socket socket : sockets) {
+        socket.close();
+      }
+    }
+  }
+
+  private Socket connect() throws IOException {
+    Socket socket = new Socket("localhost", dynamicPort1.getNumber());
+    socket.setSoTimeout(SOCKET_TIMEOUT);
+    return socket;
+  }
+
+  private void write(Socket socket, String message) throws IOException {
+    DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+    byte[] data = message.getBytes();
+    out.writeInt(data.length);
+    out.write(data);
+    out.flush();
+  }
+
+  private String read(Socket socket) throws IOException {
+    DataInputStream in = new DataInputStream(socket.getInputStream());
+    byte[] data = new byte[in.readInt()];
+    in.readFully(data);
+    return new String(data);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp.protocols;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.mule.compatibility.transport.tcp.TcpFramingProtocol;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+@SmallTest
+public class TcpFramingProtocolTestCase extends AbstractMuleTestCase {
+
+  private static final String FIRST_MESSAGE = "first message";
+  private static final String SECOND_MESSAGE = "second message";
+  private static final String FIRST_DOCUMENT = "<?xml version=\"1.0\"?><first/>";
+  private static final String SECOND_DOCUMENT = "<?xml version=\"1.0\"?><second/>";
+
+  @Test
+  public void lengthProtocolWaitsForWholeMessage() throws Exception {
+    LengthProtocol protocol = new LengthProtocol();
+    byte[] data = write(protocol, FIRST_MESSAGE, SECOND_MESSAGE);
+
+    ByteBuffer buffer = ByteBuffer.allocate(data.length);
+    buffer.put(data, 0, 6).flip();
+    assertThat(protocol.decode(buffer, false), is(nullValue()));
+    assertThat(buffer.position(), is(0));
+
+    buffer.compact().put(data, 6, data.length - 6).flip();
+    assertThat(decodeString(protocol, buffer, false), is(FIRST_MESSAGE));
+    assertThat(decodeString(protocol, buffer, false), is(SECOND_MESSAGE));
+    assertThat(protocol.decode(buffer, true), is(nullValue()));
+  }
+
+  @Test(expected = IOException.class)
+  public void lengthProtocolChecksMaxLength() throws Exception {
+    LengthProtocol protocol = new LengthProtocol(FIRST_MESSAGE.length() - 1);
+    protocol.decode(ByteBuffer.wrap(write(new LengthProtocol(), FIRST_MESSAGE)), false);
+  }
+
+  @Test(expected = EOFException.class)
+  public void lengthProtocolFailsOnTruncatedMessage() throws Exception {
+    LengthProtocol protocol = new LengthProtocol();
+    byte[] data = write(protocol, FIRST_MESSAGE);
+    protocol.decode(ByteBuffer.wrap(data, 0, data.length - 1), true);
+  }
+
+  @Test
+  public void safeProtocolKeepsCookieUntilWholeMessage() throws Exception {
+    SafeProtocol protocol = new SafeProtocol();
+    byte[] data = write(protocol, FIRST_MESSAGE);
+
+    ByteBuffer buffer = ByteBuffer.wrap(data, 0, data.length - 1);
+    assertThat(protocol.decode(buffer, false), is(nullValue()));
+    assertThat(buffer.position(), is(0));
+
+    buffer = ByteBuffer.wrap(data);
+    assertThat(decodeString(protocol, buffer, false), is(FIRST_MESSAGE));
+    assertThat(buffer.hasRemaining(), is(false));
+  }
+
+  @Test(expected = IOException.class)
+  public void safeProtocolRejectsMissingCookie() throws Exception {
+    new SafeProtocol().decode(ByteBuffer.wrap(write(new LengthProtocol(), FIRST_MESSAGE)), false);
+  }
+
+  @Test
+  public void eofProtocolWaitsForEndOfStream() throws Exception {
+    EOFProtocol protocol = new EOFProtocol();
+    ByteBuffer buffer = ByteBuffer.wrap(FIRST_MESSAGE.getBytes());
+
+    assertThat(protocol.decode(buffer, false), is(nullValue()));
+    assertThat(decodeString(protocol, buffer, true), is(FIRST_MESSAGE));
+    assertThat(protocol.decode(buffer, true), is(nullValue()));
+  }
+
+  @Test
+  public void xmlProtocolSplitsDocuments() throws Exception {
+    XmlMessageProtocol protocol = new XmlMessageProtocol();
+    ByteBuffer buffer = ByteBuffer.allocate(1024);
+    buffer.put((FIRST_DOCUMENT + SECOND_DOCUMENT).getBytes()).flip();
+
+    assertThat(decodeString(protocol, buffer, false), is(FIRST_DOCUMENT));
+    assertThat(decodeString(protocol, buffer, false), is(SECOND_DOCUMENT));
+    assertThat(protocol.decode(buffer, false), is(nullValue()));
+  }
+
+  @Test
+  public void xmlProtocolWaitsWhileBufferIsFull() throws Exception {
+    XmlMessageProtocol protocol = new XmlMessageProtocol();
+    ByteBuffer buffer = ByteBuffer.wrap(FIRST_DOCUMENT.getBytes());
+
+    assertThat(protocol.decode(buffer, false), is(nullValue()));
+    assertThat(decodeString(protocol, buffer, true), is(FIRST_DOCUMENT));
+  }
+
+  @Test
+  public void xmlEofProtocolWaitsForEndOfStream() throws Exception {
+    XmlMessageEOFProtocol protocol = new XmlMessageEOFProtocol();
+    ByteBuffer buffer = ByteBuffer.allocate(1024);
+    buffer.put((FIRST_DOCUMENT + SECOND_DOCUMENT).getBytes()).flip();
+
+    assertThat(decodeString(protocol, buffer, false), is(FIRST_DOCUMENT));
+    assertThat(protocol.decode(buffer, false), is(nullValue()));
+    assertThat(decodeString(protocol, buffer, true), is(SECOND_DOCUMENT));
+  }
+
+  @Test
+  public void decodeMatchesRead() throws Exception {
+    LengthProtocol protocol = new LengthProtocol();
+    byte[] data = write(protocol, FIRST_MESSAGE);
+
+    byte[] read = (byte[]) protocol.read(new ByteArrayInputStream(data));
+    byte[] decoded = (byte[]) protocol.decode(ByteBuffer.wrap(data), false);
+    assertThat(decoded, equalTo(read));
+  }
+
+  private String decodeString(TcpFramingProtocol protocol, ByteBuffer buffer, boolean endOfStream) throws IOException {
+    return new String((byte[]) protocol.decode(buffer, endOfStream));
+  }
+
+  private byte[] write(TcpFramingProtocol protocol, String... messages) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (String message : messages) {
+      protocol.write(out, message);
+    }
+    return out.toByteArray();
+  }
+}